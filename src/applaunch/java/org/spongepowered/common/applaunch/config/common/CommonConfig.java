@@ -70,6 +70,10 @@ public final class CommonConfig implements Config {
     @Setting
     public final IpForwardingCategory ipForwarding = new IpForwardingCategory();
 
+    @Setting
+    @Comment("Configuration options related to plugin channels and server list pings")
+    public final NetworkCategory network = new NetworkCategory();
+
     @Setting
     public final ExploitCategory exploits = new ExploitCategory();
 
@@ -110,6 +114,14 @@ public static ConfigurationTransformation transformation() {
                         return null;
                     });
             })
+            .makeVersion(2, builder -> {
+                // Entity collision used to be enabled by default, and that default was written to
+                // every existing config, so turn it off again now that the module is registered
+                builder.addAction(NodePath.path("modules", "entity-collision"), (path, value) -> {
+                    value.set(false);
+                    return null;
+                });
+            })
             .build();
     }
 
@@ -45,7 +45,9 @@ public final class ModuleCategory {
     public boolean blockEntityActivationRange = false;
 
     @Setting("entity-collision")
-    public boolean entityCollision = true;
+    @Comment("Limits how many entities any given entity or block can collide with. \n"
+             + "Limits are configured in the 'entity-collision' category of the world configs.")
+    public boolean entityCollision = false;
 
     @Setting
     public boolean timings = true;
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.applaunch.config.common;
+
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.Setting;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigSerializable
+public final class NetworkCategory {
+
+    @Setting("channel-execution")
+    @Comment("The thread on which inbound payloads of plugin channels are decoded and handled\n"
+            + "by default. Supported values:\n"
+            + "  - MAIN: Handle payloads on the main server thread\n"
+            + "  - WORKER: Handle payloads on a dedicated channel worker pool, payloads of\n"
+            + "            the same connection are still handled in order\n"
+            + "  - NETTY: Handle payloads directly on the network thread which received them\n"
+            + "Handlers which aren't on the main thread must not interact with the world.")
+    public Execution channelExecution = Execution.MAIN;
+
+    @Setting("channel-execution-overrides")
+    @Comment("Per channel overrides of 'channel-execution', for example:\n"
+            + "  \"myplugin:hud\"=WORKER")
+    public final Map<String, Execution> channelExecutionOverrides = new HashMap<>();
+
+    @Setting("channel-worker-threads")
+    @Comment("The number of threads in the channel worker pool.")
+    public int channelWorkerThreads = 2;
+
+    @Setting("inbound-queue-capacity")
+    @Comment("The maximum number of channel payloads of a single connection that may be waiting\n"
+            + "to be handled. Set to 0 to disable the limit.")
+    public int inboundQueueCapacity = 512;
+
+    @Setting("inbound-queue-overflow")
+    @Comment("What to do with a connection which exceeds 'inbound-queue-capacity'. Supported values:\n"
+            + "  - DROP: Discard the payloads which don't fit in the queue\n"
+            + "  - KICK: Disconnect the connection")
+    public OverflowPolicy inboundQueueOverflow = OverflowPolicy.DROP;
+
+    @Setting("status-cache-interval")
+    @Comment("The number of milliseconds the server list status response may be reused for, as long\n"
+            + "as the player count, MOTD and favicon don't change. The response is only reused when\n"
+            + "no plugin listens to server list pings. Set to 0 to build a new response for every ping.")
+    public int statusCacheInterval = 5000;
+
+    @Setting("status-ping-limit")
+    @Comment("The maximum number of server list pings a single IP address may send within\n"
+            + "'status-ping-limit-window' milliseconds, additional pings are disconnected right away.\n"
+            + "Set to 0 to disable the limit. Players behind a shared address, and server list\n"
+            + "monitors, may exceed a low limit.")
+    public int statusPingLimit = 0;
+
+    @Setting("status-ping-limit-window")
+    @Comment("The number of milliseconds over which 'status-ping-limit' counts the server list pings\n"
+            + "of an IP address.")
+    public int statusPingLimitWindow = 10000;
+
+    public enum Execution {
+        MAIN,
+        WORKER,
+        NETTY
+    }
+
+    public enum OverflowPolicy {
+        DROP,
+        KICK
+    }
+}
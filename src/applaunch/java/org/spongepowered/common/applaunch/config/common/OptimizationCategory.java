@@ -112,6 +112,48 @@ public final class OptimizationCategory {
         "are `persistent`. Does not drastically improve performance.")
     public boolean disableScheduledUpdatesForPersistentLeafBlocks = true;
 
+    @Setting("cache-explosions")
+    @Comment("If 'true', explosions in the same tick share their work. Explosions\n" +
+        "at the same position and with the same power reuse the blocks found by\n" +
+        "the first one, and how much of an entity is exposed to an explosion is\n" +
+        "only computed once per position. The results are thrown away at the end\n" +
+        "of the tick, or as soon as a block changes in a chunk section they were\n" +
+        "computed from. This greatly reduces the cost of TNT cannons and mass TNT\n" +
+        "detonations, but explosions no longer roll their own random ray lengths\n" +
+        "when they share a result.")
+    public boolean cacheExplosions = false;
+
+    @Setting("parallel-registry-bootstrap")
+    @Comment("If 'true', Sponge registries that do not depend on each other have\n" +
+        "their default values built on several threads during startup. The\n" +
+        "registries themselves are still registered in the same order as before.\n" +
+        "The time spent building and registering each registry is logged at the\n" +
+        "debug level.")
+    public boolean parallelRegistryBootstrap = false;
+
+    @Setting("parallel-data-provider-registration")
+    @Comment("If 'true', Sponge's default data providers are created on several\n" +
+        "threads during startup before being registered in their usual order.\n" +
+        "The data provider lookups of every block entity and entity type are\n" +
+        "then built during startup as well, by creating one unused instance of\n" +
+        "each type, instead of the first time such a data holder is accessed.")
+    public boolean parallelDataProviderRegistration = false;
+
+    @Setting("cache-chunk-section-serialization")
+    @Comment("If 'true', the encoded block palette and block states of each chunk\n" +
+        "section are kept after a chunk is saved and reused by the next save\n" +
+        "as long as no block in that section changed. This trades memory for\n" +
+        "less block encoding during saves. Block entities, entities, light and\n" +
+        "scheduled ticks are still written on the server thread on every save.")
+    public boolean cacheChunkSectionSerialization = false;
+
+    @Setting("batch-scoreboard-packets")
+    @Comment("If 'true', scoreboard changes are collected during a tick and sent to\n" +
+        "each viewer once at the end of it. Repeated changes to the same score,\n" +
+        "team or objective within a tick are only sent once and objectives or\n" +
+        "teams that are created and removed again within a tick are not sent.")
+    public boolean batchScoreboardPackets = false;
+
     public OptimizationCategory() {
         // Enabled by default on SpongeVanilla, disabled by default on SpongeForge.
         // Because of how early this constructor gets called, we can't use SpongeImplHooks or even Game
@@ -102,6 +102,13 @@ public final class PhaseTrackerCategory {
                                                             + "The default value should almost always work properly -  it's unlikely you'll ever have to change it.")
     public int maxBlockProcessingDepth = 1000;
 
+    @Setting("lazy-tick-phases")
+    @Comment("If 'true', the tick phases of entities and block entities are only entered once\n"
+             + "something inside the tick interacts with the phase tracker, for example a block\n"
+             + "change, an entity spawn or an event. Ticks which don't do anything trackable skip\n"
+             + "the phase bookkeeping entirely.")
+    public boolean lazyTickPhases = false;
+
     @Setting("report-null-source-blocks-on-neighbor-notifications")
     @Comment("If true, when a mod attempts to perform a neighbor notification\n"
              + "on a block, some mods do not know to perform a 'null' check\n"
@@ -50,4 +50,16 @@ public final class TimingsCategory {
 
     @Setting("history-length")
     public int historyLength = 3600;
+
+    @Setting("local-export")
+    public boolean localExport = false;
+
+    @Setting("recorder-minutes")
+    public int recorderMinutes = 0;
+
+    @Setting("lag-spike-dump-threshold")
+    public int lagSpikeDumpThreshold = 0;
+
+    @Setting("lag-spike-dump-cooldown")
+    public int lagSpikeDumpCooldown = 300;
 }
@@ -37,6 +37,7 @@
 import org.spongepowered.api.event.Cause;
 import org.spongepowered.api.event.EventContext;
 import org.spongepowered.api.event.SpongeEventFactory;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.bridge.server.MinecraftServerBridge;
 import org.spongepowered.common.command.manager.SpongeCommandManager;
 import org.spongepowered.common.data.SpongeDataManager;
@@ -62,8 +63,18 @@
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.stream.Collectors;
 import net.minecraft.core.Registry;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
 
 @Singleton
 public final class SpongeLifecycle {
@@ -108,6 +119,43 @@ public void establishGlobalRegistries() {
     public void callRegisterDataEvent() {
         this.game.eventManager().post(new RegisterDataEventImpl(Cause.of(EventContext.empty(), Sponge.game()), Sponge.game(),
             (SpongeDataManager) this.game.dataManager()));
+        if (!SpongeLifecycle.precomputeDataProviderLookups()) {
+            return;
+        }
+        // Every provider is known now, build the lookups before the game starts accessing them
+        final Set<Class<?>> blockEntityTypes = new LinkedHashSet<>();
+        for (final BlockEntityType<?> blockEntityType : Registry.BLOCK_ENTITY_TYPE) {
+            final BlockEntity blockEntity = blockEntityType.create();
+            if (blockEntity != null) {
+                blockEntityTypes.add(blockEntity.getClass());
+            }
+        }
+        SpongeDataManager.getProviderRegistry().precomputeProviderLookups(blockEntityTypes);
+    }
+
+    public void establishEntityDataProviderLookups(final Server server) {
+        if (!SpongeLifecycle.precomputeDataProviderLookups()) {
+            return;
+        }
+        // Entities can only be created with a level, the entities created here are never added to it
+        final ServerLevel level = ((MinecraftServer) server).getLevel(Level.OVERWORLD);
+        if (level == null) {
+            return;
+        }
+        final Set<Class<?>> entityTypes = new LinkedHashSet<>();
+        entityTypes.add(ServerPlayer.class);
+        for (final EntityType<?> entityType : Registry.ENTITY_TYPE) {
+            final Entity entity = entityType.create(level);
+            if (entity != null) {
+                entityTypes.add(entity.getClass());
+            }
+        }
+        SpongeDataManager.getProviderRegistry().precomputeProviderLookups(entityTypes);
+    }
+
+    private static boolean precomputeDataProviderLookups() {
+        // The lookups are built from the classes of newly created instances, which is only worth it on servers that opted in
+        return SpongeConfigs.getCommon().get().optimizations.parallelDataProviderRegistration;
     }
 
     public void establishDataProviders() {
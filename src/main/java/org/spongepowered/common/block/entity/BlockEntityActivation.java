@@ -0,0 +1,248 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.block.entity;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.block.entity.TickableBlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.bridge.activation.ActivationCapabilityBridge;
+import org.spongepowered.common.bridge.world.level.storage.PrimaryLevelDataBridge;
+import org.spongepowered.common.config.inheritable.BlockEntityActivationCategory;
+import org.spongepowered.common.config.inheritable.InheritableConfigHandle;
+import org.spongepowered.common.config.inheritable.WorldConfig;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which tickable block entities of a world tick, based on their
+ * distance to players and the activation settings of their type.
+ *
+ * <p>Once per tick, before block entities are ticked, every block entity
+ * within the activation range of its type of a player is marked as active
+ * for that tick. Block entities that were not marked are skipped, unless
+ * their type has no range, and active block entities only tick every
+ * {@code tick-rate} ticks, offset by their position.</p>
+ */
+public final class BlockEntityActivation {
+
+    private static final Map<ResourceKey<Level>, Map<BlockEntityType<?>, Counter>> COUNTERS = new ConcurrentHashMap<>();
+
+    /**
+     * Resolves the activation range and tick rate of the given block entity
+     * from the configuration of its world.
+     *
+     * @param blockEntity The block entity
+     */
+    public static void initializeActivationState(final BlockEntity blockEntity) {
+        final ActivationCapabilityBridge activation = (ActivationCapabilityBridge) blockEntity;
+        activation.activation$requiresActivationCacheRefresh(false);
+        if (!(blockEntity.getLevel() instanceof ServerLevel) || !(blockEntity instanceof TickableBlockEntity)) {
+            activation.activation$setDefaultActivationState(true);
+            return;
+        }
+        final @Nullable ResourceLocation key = BlockEntityType.getKey(blockEntity.getType());
+        if (key == null) {
+            activation.activation$setDefaultActivationState(true);
+            return;
+        }
+
+        final InheritableConfigHandle<WorldConfig> adapter = ((PrimaryLevelDataBridge) blockEntity.getLevel().getLevelData()).bridge$configAdapter();
+        final BlockEntityActivationCategory config = adapter.get().blockEntityActivation;
+        BlockEntityActivationCategory.@Nullable MobSubCategory modConfig = config.mods.get(key.getNamespace());
+        if (config.autoPopulate && (modConfig == null || !modConfig.ranges.containsKey(key.getPath()))) {
+            if (modConfig == null) {
+                modConfig = new BlockEntityActivationCategory.MobSubCategory();
+                config.mods.put(key.getNamespace(), modConfig);
+            }
+            modConfig.ranges.put(key.getPath(), modConfig.defaultRange == null ? config.defaultRange : modConfig.defaultRange);
+            modConfig.tickRates.put(key.getPath(), modConfig.defaultTickRate == null ? config.defaultTickRate : modConfig.defaultTickRate);
+            adapter.save();
+        }
+
+        int range = config.defaultRange;
+        int tickRate = config.defaultTickRate;
+        if (modConfig != null) {
+            if (!modConfig.enabled) {
+                activation.activation$setActivationRange(0);
+                activation.activation$setSpongeTickRate(1);
+                activation.activation$setDefaultActivationState(true);
+                return;
+            }
+            if (modConfig.defaultRange != null) {
+                range = modConfig.defaultRange;
+            }
+            if (modConfig.defaultTickRate != null) {
+                tickRate = modConfig.defaultTickRate;
+            }
+            range = modConfig.ranges.getOrDefault(key.getPath(), range);
+            tickRate = modConfig.tickRates.getOrDefault(key.getPath(), tickRate);
+        }
+        activation.activation$setActivationRange(range);
+        activation.activation$setSpongeTickRate(Math.max(1, tickRate));
+        // Without a range only the tick rate applies
+        activation.activation$setDefaultActivationState(range <= 0);
+    }
+
+    /**
+     * Marks every block entity close enough to a player as active for the
+     * current tick.
+     *
+     * @param level The world about to tick its block entities
+     */
+    public static void activateBlockEntities(final ServerLevel level) {
+        if (level.players().isEmpty()) {
+            return;
+        }
+        final long currentTick = level.getGameTime();
+        final int maxRange = BlockEntityActivation.getMaxRange(
+            ((PrimaryLevelDataBridge) level.getLevelData()).bridge$configAdapter().get().blockEntityActivation);
+        if (maxRange <= 0) {
+            return;
+        }
+        final int chunkRange = (maxRange >> 4) + 1;
+
+        for (final ServerPlayer player : level.players()) {
+            if (player.isSpectator()) {
+                continue;
+            }
+            final BlockPos playerPos = player.blockPosition();
+            final int playerChunkX = playerPos.getX() >> 4;
+            final int playerChunkZ = playerPos.getZ() >> 4;
+            for (int chunkX = playerChunkX - chunkRange; chunkX <= playerChunkX + chunkRange; chunkX++) {
+                for (int chunkZ = playerChunkZ - chunkRange; chunkZ <= playerChunkZ + chunkRange; chunkZ++) {
+                    final @Nullable LevelChunk chunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+                    if (chunk == null) {
+                        continue;
+                    }
+                    for (final BlockEntity blockEntity : chunk.getBlockEntities().values()) {
+                        if (!(blockEntity instanceof TickableBlockEntity)) {
+                            continue;
+                        }
+                        final ActivationCapabilityBridge activation = (ActivationCapabilityBridge) blockEntity;
+                        if (activation.activation$getDefaultActivationState() || activation.activation$getActivatedTick() >= currentTick) {
+                            continue;
+                        }
+                        final int range = activation.activation$getActivationRange();
+                        final BlockPos pos = blockEntity.getBlockPos();
+                        if (Math.abs(pos.getX() - playerPos.getX()) <= range
+                            && Math.abs(pos.getY() - playerPos.getY()) <= range
+                            && Math.abs(pos.getZ() - playerPos.getZ()) <= range) {
+                            activation.activation$setActivatedTick(currentTick);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets whether the given block entity should tick this tick, recording
+     * the outcome in the counters of its world. Only called for block
+     * entities that vanilla would tick.
+     *
+     * @param blockEntity The block entity
+     * @return Whether the block entity should tick
+     */
+    public static boolean checkIfActive(final BlockEntity blockEntity) {
+        final ActivationCapabilityBridge activation = (ActivationCapabilityBridge) blockEntity;
+        if (activation.activation$requiresActivationCacheRefresh()) {
+            BlockEntityActivation.initializeActivationState(blockEntity);
+        }
+        final Level level = blockEntity.getLevel();
+        final long currentTick = level.getGameTime();
+        final BlockPos pos = blockEntity.getBlockPos();
+        final boolean active = (activation.activation$getDefaultActivationState() || activation.activation$getActivatedTick() >= currentTick)
+            && BlockEntityTickSchedule.isScheduled(currentTick, pos.getX(), pos.getY(), pos.getZ(), activation.activation$getSpongeTickRate());
+
+        final Counter counter = BlockEntityActivation.COUNTERS.computeIfAbsent(level.dimension(), k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(blockEntity.getType(), k -> new Counter());
+        if (active) {
+            counter.ticked++;
+        } else {
+            counter.skipped++;
+        }
+        return active;
+    }
+
+    /**
+     * Gets the ticked and skipped counters of every block entity type of the
+     * given world.
+     *
+     * @param level The world
+     * @return The counters by block entity type
+     */
+    public static Map<BlockEntityType<?>, Counter> getCounters(final ServerLevel level) {
+        final Map<BlockEntityType<?>, Counter> counters = BlockEntityActivation.COUNTERS.get(level.dimension());
+        return counters == null ? Collections.emptyMap() : Collections.unmodifiableMap(counters);
+    }
+
+    public static void removeWorld(final ServerLevel level) {
+        BlockEntityActivation.COUNTERS.remove(level.dimension());
+    }
+
+    private static int getMaxRange(final BlockEntityActivationCategory config) {
+        int maxRange = config.defaultRange;
+        for (final BlockEntityActivationCategory.MobSubCategory modConfig : config.mods.values()) {
+            if (!modConfig.enabled) {
+                continue;
+            }
+            if (modConfig.defaultRange != null) {
+                maxRange = Math.max(maxRange, modConfig.defaultRange);
+            }
+            for (final int range : modConfig.ranges.values()) {
+                maxRange = Math.max(maxRange, range);
+            }
+        }
+        return maxRange;
+    }
+
+    public static final class Counter {
+
+        // Only ever written by the thread ticking the world
+        volatile long ticked;
+        volatile long skipped;
+
+        public long getTicked() {
+            return this.ticked;
+        }
+
+        public long getSkipped() {
+            return this.skipped;
+        }
+    }
+
+    private BlockEntityActivation() {
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.block.entity;
+
+/**
+ * Which ticks a rate limited block entity ticks on.
+ *
+ * <p>Every block entity is offset by its position, so that block entities
+ * sharing a tick rate are spread over the ticks in between instead of all
+ * ticking on the same one.</p>
+ */
+final class BlockEntityTickSchedule {
+
+    static boolean isScheduled(final long currentTick, final int x, final int y, final int z, final int tickRate) {
+        if (tickRate <= 1) {
+            return true;
+        }
+        return Math.floorMod(currentTick + BlockEntityTickSchedule.offset(x, y, z), (long) tickRate) == 0L;
+    }
+
+    static int offset(final int x, final int y, final int z) {
+        int hash = x * 73856093 ^ y * 19349663 ^ z * 83492791;
+        // Mix the high bits down, small tick rates only look at the low ones
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+    private BlockEntityTickSchedule() {
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.block.entity;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.CompoundContainer;
+import net.minecraft.world.Container;
+import net.minecraft.world.WorldlyContainer;
+import net.minecraft.world.WorldlyContainerHolder;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntitySelector;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.ChestBlock;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.ChestBlockEntity;
+import net.minecraft.world.level.block.entity.RandomizableContainerBlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.accessor.world.CompoundContainerAccessor;
+import org.spongepowered.common.bridge.optimization.HopperOptimizationBridge;
+
+import java.util.List;
+
+/**
+ * Remembers the container a hopper found at one of its neighbouring
+ * positions, mirroring {@code HopperBlockEntity#getContainerAt}.
+ *
+ * <p>The container is reused for as long as the block state at that
+ * position stays the same and its block entities have not been removed.
+ * Containers provided by a {@link WorldlyContainerHolder} depend on more
+ * than the state and are always resolved again. Container entities can
+ * move at any time and are always searched for, unless the position is
+ * occupied by a full block.</p>
+ */
+public final class HopperContainerCache {
+
+    private @Nullable BlockState state;
+    private @Nullable Container container;
+    private boolean fullBlock;
+
+    public @Nullable Container getContainerAt(final Level level, final BlockPos pos) {
+        final BlockState state = level.getBlockState(pos);
+        if (state != this.state || (this.container != null && !HopperContainerCache.isValid(this.container))) {
+            this.resolve(level, pos, state);
+        }
+        final Block block = state.getBlock();
+        if (block instanceof WorldlyContainerHolder) {
+            final Container container = ((WorldlyContainerHolder) block).getContainer(state, level, pos);
+            if (container != null) {
+                return container;
+            }
+        } else if (this.container != null) {
+            return this.container;
+        }
+        if (this.fullBlock) {
+            return null;
+        }
+        final List<Entity> entities = level.getEntities((Entity) null, new AABB(pos), EntitySelector.CONTAINER_ENTITY_SELECTOR);
+        return entities.isEmpty() ? null : (Container) entities.get(level.random.nextInt(entities.size()));
+    }
+
+    private void resolve(final Level level, final BlockPos pos, final BlockState state) {
+        this.state = state;
+        this.container = null;
+        this.fullBlock = state.isCollisionShapeFullBlock(level, pos);
+        final Block block = state.getBlock();
+        if (block instanceof WorldlyContainerHolder || !block.isEntityBlock()) {
+            return;
+        }
+        final BlockEntity blockEntity = level.getBlockEntity(pos);
+        if (blockEntity instanceof Container) {
+            this.container = (Container) blockEntity;
+            if (blockEntity instanceof ChestBlockEntity && block instanceof ChestBlock) {
+                this.container = ChestBlock.getContainer((ChestBlock) block, state, level, pos, true);
+            }
+        }
+    }
+
+    private static boolean isValid(final Container container) {
+        if (container instanceof CompoundContainer) {
+            return HopperContainerCache.isValid(((CompoundContainerAccessor) container).accessor$container1())
+                && HopperContainerCache.isValid(((CompoundContainerAccessor) container).accessor$container2());
+        }
+        return !(container instanceof BlockEntity) || !((BlockEntity) container).isRemoved();
+    }
+
+    /**
+     * Gets whether the given container was found to be empty and has not
+     * changed since. Only containers whose slots don't depend on the side
+     * they are accessed from are tracked.
+     *
+     * @param container The container
+     * @return Whether the container is known to be empty
+     */
+    public static boolean isKnownEmpty(final Container container) {
+        if (container instanceof CompoundContainer) {
+            return HopperContainerCache.isKnownEmpty(((CompoundContainerAccessor) container).accessor$container1())
+                && HopperContainerCache.isKnownEmpty(((CompoundContainerAccessor) container).accessor$container2());
+        }
+        return HopperContainerCache.isTracked(container) && ((HopperOptimizationBridge) container).hopperBridge$isKnownEmpty();
+    }
+
+    public static void setKnownEmpty(final Container container) {
+        if (container instanceof CompoundContainer) {
+            HopperContainerCache.setKnownEmpty(((CompoundContainerAccessor) container).accessor$container1());
+            HopperContainerCache.setKnownEmpty(((CompoundContainerAccessor) container).accessor$container2());
+        } else if (HopperContainerCache.isTracked(container)) {
+            ((HopperOptimizationBridge) container).hopperBridge$setKnownEmpty();
+        }
+    }
+
+    /**
+     * Gets whether the given container was found to be full and has not
+     * changed since. Only containers whose slots don't depend on the side
+     * they are accessed from are tracked.
+     *
+     * @param container The container
+     * @return Whether the container is known to be full
+     */
+    public static boolean isKnownFull(final Container container) {
+        if (container instanceof CompoundContainer) {
+            return HopperContainerCache.isKnownFull(((CompoundContainerAccessor) container).accessor$container1())
+                && HopperContainerCache.isKnownFull(((CompoundContainerAccessor) container).accessor$container2());
+        }
+        return HopperContainerCache.isTracked(container) && ((HopperOptimizationBridge) container).hopperBridge$isKnownFull();
+    }
+
+    public static void setKnownFull(final Container container) {
+        if (container instanceof CompoundContainer) {
+            HopperContainerCache.setKnownFull(((CompoundContainerAccessor) container).accessor$container1());
+            HopperContainerCache.setKnownFull(((CompoundContainerAccessor) container).accessor$container2());
+        } else if (HopperContainerCache.isTracked(container)) {
+            ((HopperOptimizationBridge) container).hopperBridge$setKnownFull();
+        }
+    }
+
+    private static boolean isTracked(final Container container) {
+        // Every slot access of these containers forgets the known state, see HopperKnownContents
+        return container instanceof RandomizableContainerBlockEntity && container instanceof HopperOptimizationBridge
+            && !(container instanceof WorldlyContainer);
+    }
+}
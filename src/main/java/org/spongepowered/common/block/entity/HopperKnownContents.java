@@ -0,0 +1,61 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.block.entity;
+
+/**
+ * Whether a hopper found a container to be empty or full, and whether that
+ * is still true.
+ *
+ * <p>Whatever is known is forgotten as soon as a slot of the container is
+ * read, set or removed from. Reading a slot hands out the stack itself,
+ * which can then be changed without the container being told, so that
+ * counts as a change too.</p>
+ */
+public final class HopperKnownContents {
+
+    private boolean empty;
+    private boolean full;
+
+    public boolean isEmpty() {
+        return this.empty;
+    }
+
+    public boolean isFull() {
+        return this.full;
+    }
+
+    public void markEmpty() {
+        this.empty = true;
+    }
+
+    public void markFull() {
+        this.full = true;
+    }
+
+    public void forget() {
+        this.empty = false;
+        this.full = false;
+    }
+}
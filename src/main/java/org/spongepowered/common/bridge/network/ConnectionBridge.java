@@ -27,6 +27,7 @@
 import org.spongepowered.api.MinecraftVersion;
 import org.spongepowered.api.ResourceKey;
 import org.spongepowered.common.entity.player.ClientType;
+import org.spongepowered.common.network.channel.InboundPayloadQueue;
 import org.spongepowered.common.network.channel.TransactionStore;
 
 import java.net.InetSocketAddress;
@@ -36,6 +37,8 @@ public interface ConnectionBridge {
 
     TransactionStore bridge$getTransactionStore();
 
+    InboundPayloadQueue bridge$getInboundPayloadQueue();
+
     InetSocketAddress bridge$getAddress();
 
     InetSocketAddress bridge$getVirtualHost();
@@ -27,4 +27,30 @@
 public interface HopperOptimizationBridge {
 
     void hopperBridge$setCancelDirtyUpdate(boolean canMarkDirty);
+
+    /**
+     * Gets whether this container was found to be empty and has not been
+     * changed since.
+     *
+     * @return Whether this container is known to be empty
+     */
+    boolean hopperBridge$isKnownEmpty();
+
+    void hopperBridge$setKnownEmpty();
+
+    /**
+     * Gets whether this container was found to be full and has not been
+     * changed since.
+     *
+     * @return Whether this container is known to be full
+     */
+    boolean hopperBridge$isKnownFull();
+
+    void hopperBridge$setKnownFull();
+
+    /**
+     * Forgets whether this container is empty or full, because one of its
+     * slots is being read or changed.
+     */
+    void hopperBridge$forgetKnownContents();
 }
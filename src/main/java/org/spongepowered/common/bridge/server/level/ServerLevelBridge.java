@@ -33,6 +33,7 @@
 import org.spongepowered.api.world.explosion.Explosion;
 import org.spongepowered.api.world.weather.WeatherType;
 import org.spongepowered.common.relocate.co.aikar.timings.WorldTimingsHandler;
+import org.spongepowered.common.world.ExplosionTickCache;
 import org.spongepowered.math.vector.Vector3d;
 
 public interface ServerLevelBridge {
@@ -57,6 +58,8 @@ public interface ServerLevelBridge {
 
     void bridge$triggerExplosion(Explosion explosion);
 
+    ExplosionTickCache bridge$getExplosionTickCache();
+
     void bridge$setManualSave(boolean state);
 
     RegistryHolder bridge$registries();
@@ -25,6 +25,7 @@
 package org.spongepowered.common.bridge.world.storage;
 
 import org.spongepowered.api.map.decoration.MapDecoration;
+import org.spongepowered.common.map.canvas.SpongeMapCanvas;
 
 import java.util.Set;
 import java.util.UUID;
@@ -37,6 +38,14 @@ public interface MapItemSavedDataBridge {
 
     void bridge$updateWholeMap();
 
+    /**
+     * Applies the canvas, only marking the area that differs from the current
+     * colors as dirty for the viewers of this map.
+     *
+     * @param canvas The canvas to apply
+     */
+    void bridge$applyCanvas(SpongeMapCanvas canvas);
+
     int bridge$getMapId();
 
     void bridge$setMapId(int id);
@@ -32,7 +32,9 @@
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.Style;
 import net.kyori.adventure.text.format.TextDecoration;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.Mth;
+import net.minecraft.world.level.block.entity.BlockEntityType;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.ResourceKey;
@@ -47,12 +49,19 @@
 import org.spongepowered.api.world.server.ServerWorld;
 import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
+import org.spongepowered.common.block.entity.BlockEntityActivation;
+import org.spongepowered.common.bridge.server.level.ChunkMapBridge;
 import org.spongepowered.common.bridge.world.WorldBridge;
+import org.spongepowered.common.bridge.world.level.chunk.storage.ChunkStorageBridge;
 import org.spongepowered.common.config.SpongeGameConfigs;
 import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.launch.Launch;
+import org.spongepowered.common.map.canvas.MapCanvasDiff;
 import org.spongepowered.common.relocate.co.aikar.timings.SpongeTimingsFactory;
+import org.spongepowered.common.scoreboard.ScoreboardPacketQueue;
+import org.spongepowered.common.world.storage.ChunkStorageMigration;
+import org.spongepowered.common.world.storage.SaveTimeHistogram;
 import org.spongepowered.plugin.PluginContainer;
 import org.spongepowered.plugin.metadata.PluginContributor;
 import org.spongepowered.plugin.metadata.PluginMetadata;
@@ -67,8 +76,11 @@
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.management.MBeanServer;
@@ -95,6 +107,14 @@ public Command.Parameterized createSpongeCommand() {
                 .executor(this::auditSubcommandExecutor)
                 .build();
 
+        // /sponge blockentities <world>
+        final Command.Parameterized blockEntitiesCommand = Command.builder()
+                .permission("sponge.command.blockentities")
+                .addParameter(CommonParameters.WORLD)
+                .shortDescription(Component.text("Shows how many block entities of each type ticked or were skipped by activation ranges"))
+                .executor(this::blockEntitiesExecutor)
+                .build();
+
         // /sponge chunks
         final Command.Parameterized chunksCommand = this.chunksSubcommand();
 
@@ -134,6 +154,20 @@ public Command.Parameterized createSpongeCommand() {
                 .addChild(pluginsInfoCommand, "info")
                 .build();
 
+        // /sponge maps
+        final Command.Parameterized mapsCommand = Command.builder()
+                .permission("sponge.command.maps")
+                .shortDescription(Component.text("Shows how many map canvas bytes were sent and saved by only resending changed areas"))
+                .executor(this::mapsExecutor)
+                .build();
+
+        // /sponge scoreboards
+        final Command.Parameterized scoreboardsCommand = Command.builder()
+                .permission("sponge.command.scoreboards")
+                .shortDescription(Component.text("Shows how many scoreboard packets were queued, sent and saved by batching"))
+                .executor(this::scoreboardsExecutor)
+                .build();
+
         // /sponge timings
         final Command.Parameterized timingsCommand = this.timingsSubcommand();
 
@@ -184,9 +218,12 @@ public Command.Parameterized createSpongeCommand() {
                 .permission("sponge.command.root")
                 .executor(this::rootCommand)
                 .addChild(auditCommand, "audit")
+                .addChild(blockEntitiesCommand, "blockentities")
                 .addChild(chunksCommand, "chunks")
                 .addChild(heapCommand, "heap")
+                .addChild(mapsCommand, "maps")
                 .addChild(pluginsCommand, "plugins")
+                .addChild(scoreboardsCommand, "scoreboards")
                 .addChild(timingsCommand, "timings")
                 .addChild(tpsCommand, "tps")
                 .addChild(versionCommand, "version")
@@ -245,6 +282,46 @@ private CommandResult auditSubcommandExecutor(final CommandContext context) {
         return CommandResult.success();
     }
 
+    private CommandResult blockEntitiesExecutor(final CommandContext context) {
+        final ServerWorld world = context.requireOne(CommonParameters.WORLD);
+        final Map<BlockEntityType<?>, BlockEntityActivation.Counter> counters = BlockEntityActivation.getCounters((ServerLevel) world);
+        context.sendMessage(Identity.nil(), Component.text().content("World ")
+                .append(Component.text(world.key().toString(), Style.style(TextDecoration.BOLD)))
+                .build());
+        if (counters.isEmpty()) {
+            context.sendMessage(Identity.nil(), Component.text().append(SpongeCommand.INDENT_COMPONENT)
+                    .append(this.value("No block entity activation data")).build());
+            return CommandResult.success();
+        }
+        counters.entrySet().stream()
+                .sorted(Comparator.comparing(entry -> String.valueOf(BlockEntityType.getKey(entry.getKey()))))
+                .forEach(entry -> context.sendMessage(Identity.nil(), Component.text()
+                        .append(SpongeCommand.INDENT_COMPONENT)
+                        .append(this.key(BlockEntityType.getKey(entry.getKey()) + ": "))
+                        .append(this.value(entry.getValue().getTicked() + " ticked, " + entry.getValue().getSkipped() + " skipped"))
+                        .build()));
+        return CommandResult.success();
+    }
+
+    private CommandResult mapsExecutor(final CommandContext context) {
+        context.sendMessage(Identity.nil(), Component.text().append(
+                this.key("Canvas updates: "), this.value(String.valueOf(MapCanvasDiff.getUpdates())),
+                Component.newline(), this.key("Unchanged updates: "), this.value(String.valueOf(MapCanvasDiff.getUnchangedUpdates())),
+                Component.newline(), this.key("Sent bytes: "), this.value(String.valueOf(MapCanvasDiff.getSentBytes())),
+                Component.newline(), this.key("Saved bytes: "), this.value(String.valueOf(MapCanvasDiff.getSavedBytes()))
+        ).build());
+        return CommandResult.success();
+    }
+
+    private CommandResult scoreboardsExecutor(final CommandContext context) {
+        context.sendMessage(Identity.nil(), Component.text().append(
+                this.key("Queued changes: "), this.value(String.valueOf(ScoreboardPacketQueue.getQueuedPackets())),
+                Component.newline(), this.key("Sent packets: "), this.value(String.valueOf(ScoreboardPacketQueue.getSentPackets())),
+                Component.newline(), this.key("Saved packets: "), this.value(String.valueOf(ScoreboardPacketQueue.getSavedPackets()))
+        ).build());
+        return CommandResult.success();
+    }
+
     private Command.Parameterized chunksSubcommand() {
         final Command.Parameterized globalCommand = Command.builder()
                 .executor(context -> {
@@ -280,10 +357,26 @@ private Command.Parameterized chunksSubcommand() {
                     return CommandResult.success();
                 })
                 .build();
+        final Command.Parameterized migrateCommand = Command.builder()
+                .addParameter(CommonParameters.WORLD)
+                .permission("sponge.command.chunk.migrate")
+                .shortDescription(Component.text("Copies the chunks of a world from its region files into its configured chunk storage"))
+                .executor(context -> {
+                    final ServerWorld world = context.requireOne(CommonParameters.WORLD);
+                    final ChunkStorageBridge storage = (ChunkStorageBridge) ((ServerLevel) world).getChunkSource().chunkMap;
+                    if (storage.bridge$getStorageBackend() == null) {
+                        return CommandResult.error(Component.text("World " + world.key() + " uses region files, set 'world.chunk-storage-backend' in its config first."));
+                    }
+                    ChunkStorageMigration.migrateRegionFiles(world.key().toString(), storage);
+                    context.sendMessage(Identity.nil(), Component.text("Migrating the chunks of " + world.key() + ", see the server log for progress."));
+                    return CommandResult.success();
+                })
+                .build();
         return Command.builder()
                 .addChild(globalCommand, "global")
                 .addChild(worldCommand, "world")
                 .addChild(dumpCommand, "dump")
+                .addChild(migrateCommand, "migrate")
                 .permission("sponge.command.chunk")
                 .build();
     }
@@ -380,6 +473,16 @@ private CommandResult pluginsRefreshSubcommandExecutor(final CommandContext cont
                             return CommandResult.success();
                         })
                         .build(), "report", "paste")
+                .addChild(Command.builder()
+                        .executor(context -> {
+                            if (!Timings.isTimingsEnabled()) {
+                                context.sendMessage(Identity.nil(), Component.text("Please enable timings by typing /sponge timings on"));
+                                return CommandResult.empty();
+                            }
+                            SpongeTimingsFactory.dumpReport(context.cause().audience());
+                            return CommandResult.success();
+                        })
+                        .build(), "dump")
                 .addChild(Command.builder()
                         .executor(context -> {
                             Timings.setTimingsEnabled(true);
@@ -566,7 +669,15 @@ protected Component getChunksInfo(final ServerWorld worldserver) {
         if (((WorldBridge) worldserver).bridge$isFake() || worldserver.worldStorage().worldProperties() == null) {
             return Component.text().append(Component.newline(), Component.text("Fake world")).build();
         }
-        return Component.text().append(Component.newline(), Component.text("chunk stuff here")).build();
+        final ChunkMapBridge chunkMap = (ChunkMapBridge) ((ServerLevel) worldserver).getChunkSource().chunkMap;
+        return Component.text().append(
+                Component.newline(), this.key("Loaded chunks: "), this.value(String.valueOf(((ServerLevel) worldserver).getChunkSource().getLoadedChunksCount())),
+                Component.newline(), this.key("Delayed unloads: "), this.value(String.valueOf(chunkMap.bridge$getDelayedUnloadCount())),
+                Component.newline(), this.key("Delayed unload memory: "), this.value((chunkMap.bridge$getDelayedUnloadMemory() / 1024) + " KiB (estimated)"),
+                Component.newline(), this.key("Avoided reloads: "), this.value(String.valueOf(chunkMap.bridge$getAvoidedReloadCount())),
+                Component.newline(), this.key("Chunk saves: "), this.value(this.getSaveTimes(chunkMap.bridge$getChunkSaveTimes(), TimeUnit.MICROSECONDS, "us")),
+                Component.newline(), this.key("Auto-saves: "), this.value(this.getSaveTimes(chunkMap.bridge$getAutoSaveTimes(), TimeUnit.MILLISECONDS, "ms"))
+        ).build();
         /*
                 key("DimensionId: "), value(((WorldServerBridge) worldserver).bridge$getDimensionId()), TextComponent.newline(),
                 key("Loaded chunks: "), value(worldserver.getChunkProvider().getLoadedChunkCount()), TextComponent.newline(),
@@ -577,6 +688,11 @@ protected Component getChunksInfo(final ServerWorld worldserver) {
                 key("Removed Tile Entities: "), value(((WorldAccessor) worldserver).accessor$getTileEntitiesToBeRemoved()), TextComponent.newline()*/
     }
 
+    private String getSaveTimes(final SaveTimeHistogram histogram, final TimeUnit unit, final String suffix) {
+        return histogram.getCount() + " (avg " + histogram.getAverage(unit) + suffix + ", max " + histogram.getMax(unit) + suffix + ") "
+                + histogram.formatBuckets(unit, suffix);
+    }
+
     protected Component key(final String text) {
         return Component.text(text, NamedTextColor.GOLD);
     }
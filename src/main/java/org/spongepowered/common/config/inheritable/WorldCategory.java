@@ -50,4 +50,28 @@ public final class WorldCategory {
     @Setting("log-auto-save")
     @Comment("Log when a world auto-saves its chunk data. Note: This may be spammy depending on the auto-save-interval configured for world.")
     public final boolean logAutoSave = false;
+
+    @Setting("chunk-unload-delay")
+    @Comment("The number of ticks a chunk is kept loaded after nothing requires it anymore. \n"
+        + "While waiting, the chunk is neither ticked nor saved and a player walking back \n"
+        + "into it cancels the unload, avoiding a save and reload from disk. \n"
+        + "Set to 0 to unload chunks immediately. (Default: 0) \n"
+        + "Note: 20 ticks is equivalent to 1 second.")
+    public int chunkUnloadDelay = 0;
+
+    @Setting("max-delayed-chunk-unloads")
+    @Comment("The maximum number of chunks that may wait for a delayed unload at the same time. \n"
+        + "Once reached, chunks are unloaded immediately again. Set to 0 for no limit. \n"
+        + "Note: This has no effect if 'chunk-unload-delay' is 0.")
+    public int maxDelayedChunkUnloads = 1024;
+
+    @Setting("chunk-storage-backend")
+    @Comment("The storage chunks of this world are saved to. 'minecraft:region' uses the \n"
+        + "vanilla region files, 'sponge:packed' stores them in one append only file per \n"
+        + "32x32 chunks in the 'sponge_packed' folder next to the region folder. \n"
+        + "Chunks that are not found in the selected storage are still read from the \n"
+        + "region files and moved over when they are saved next, '/sponge chunks migrate' \n"
+        + "moves all of them at once. Once a world uses another storage, the region files \n"
+        + "are outdated and switching back is refused.")
+    public String chunkStorageBackend = "minecraft:region";
 }
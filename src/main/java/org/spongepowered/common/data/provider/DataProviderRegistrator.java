@@ -53,6 +53,9 @@
 
 import java.lang.reflect.Type;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -69,6 +72,7 @@ public class DataProviderRegistrator {
 
     SpongeDataRegistrationBuilder registrationBuilder;
     SpongeDataStoreBuilder dataStoreBuilder;
+    private final Map<DataStore, List<Key<?>>> spongeDataStores = new LinkedHashMap<>();
 
     public DataProviderRegistrator() {
         this.registrationBuilder = (SpongeDataRegistrationBuilder) DataRegistration.builder();
@@ -101,7 +105,8 @@ public void spongeDataStore(final ResourceKey datastoreKey, final int version, f
         for (Key dataKey : dataKeys) {
             builder.key(dataKey, dataKey.key().value());
         }
-        SpongeDataManager.getDatastoreRegistry().register(builder.build(), Arrays.asList(dataKeys));
+        // Registered together with the providers, registrators may be populated concurrently
+        this.spongeDataStores.put(builder.build(), Arrays.<Key<?>>asList(dataKeys));
     }
 
     public <K, V extends Value<K>> DataProviderRegistrator dataStore(final Key<V> key, final BiConsumer<DataView, K> serializer,
@@ -161,6 +166,8 @@ public <T> ImmutableRegistrator<T> asImmutable(final Class<T> target) {
     }
 
     public void buildAndRegister() {
+        this.spongeDataStores.forEach((dataStore, dataKeys) -> SpongeDataManager.getDatastoreRegistry().register(dataStore, dataKeys));
+        this.spongeDataStores.clear();
         if (!this.dataStoreBuilder.isEmpty()) {
             this.registrationBuilder.store(this.dataStoreBuilder.buildVanillaDataStore());
         }
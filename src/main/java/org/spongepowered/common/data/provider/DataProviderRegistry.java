@@ -26,9 +26,12 @@
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.spongepowered.api.data.DataProvider;
 import org.spongepowered.api.data.Key;
 import org.spongepowered.api.data.value.Value;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.data.key.SpongeKey;
 import org.spongepowered.common.data.provider.block.entity.BlockEntityDataProviders;
 import org.spongepowered.common.data.provider.block.location.LocationDataProviders;
@@ -41,11 +44,20 @@
 import org.spongepowered.common.data.provider.map.MapInfoDataProviders;
 import org.spongepowered.common.data.provider.nbt.NBTDataProviders;
 
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -201,8 +213,49 @@ public <V extends Value<E>, E> DataProvider<V, E> getProvider(final Key<V> key,
      */
     public void register(final DataProvider<?,?> provider) {
         this.dataProviders.put(provider.key(), provider);
-        this.dataProviderCache.clear();
-        this.dataProviderLookupCache.clear();
+        // Only invalidate what the new provider could be a part of
+        this.dataProviderCache.keySet().removeIf(lookupKey -> lookupKey.key.equals(provider.key())
+                && DataProviderRegistry.filterHolderType(provider, lookupKey.holderType));
+        this.dataProviderLookupCache.keySet().removeIf(holderType -> DataProviderRegistry.filterHolderType(provider, holderType));
+    }
+
+    /**
+     * Builds the lookups of the given data holder types, and of every
+     * concrete data holder type that is targeted by a registered
+     * {@link DataProvider}, so they don't have to be built the first time
+     * such a data holder is accessed.
+     *
+     * <p>Lookups are cached by the runtime class of the data holder, so the
+     * given types should be the classes of actual instances, such as the
+     * classes created by each block entity or entity type.</p>
+     *
+     * @param instanceTypes The classes of data holder instances
+     */
+    public void precomputeProviderLookups(final Collection<Class<?>> instanceTypes) {
+        final long start = System.nanoTime();
+        final List<Class<?>> providerHolderTypes = new ArrayList<>();
+        for (final DataProvider<?, ?> provider : this.dataProviders.values()) {
+            if (provider instanceof AbstractDataProvider.KnownHolderType) {
+                providerHolderTypes.add(((AbstractDataProvider.KnownHolderType) provider).getHolderType());
+            }
+        }
+        final Set<Class<?>> holderTypes = DataProviderRegistry.lookupHolderTypes(providerHolderTypes, instanceTypes);
+        for (final Class<?> holderType : holderTypes) {
+            this.getProviderLookup(holderType);
+        }
+        SpongeCommon.getLogger().debug("Precomputed data provider lookups for {} data holder types in {} ms", holderTypes.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    static Set<Class<?>> lookupHolderTypes(final Collection<Class<?>> providerHolderTypes, final Collection<Class<?>> instanceTypes) {
+        final Set<Class<?>> holderTypes = new LinkedHashSet<>();
+        for (final Class<?> holderType : providerHolderTypes) {
+            if (!holderType.isInterface() && !Modifier.isAbstract(holderType.getModifiers())) {
+                holderTypes.add(holderType);
+            }
+        }
+        holderTypes.addAll(instanceTypes);
+        return holderTypes;
     }
 
     public void registerDefaultProviders() {
@@ -220,12 +273,38 @@ public void registerDefaultProviders() {
         );
     }
 
-    private void registerDefaultProviders(DataProviderRegistratorBuilder... dataProviderRegistratorBuilders) {
-        for (DataProviderRegistratorBuilder dataProviderRegistratorBuilder : dataProviderRegistratorBuilders) {
-            dataProviderRegistratorBuilder.register();
+    private void registerDefaultProviders(final DataProviderRegistratorBuilder... dataProviderRegistratorBuilders) {
+        final long start = System.nanoTime();
+        if (SpongeConfigs.getCommon().get().optimizations.parallelDataProviderRegistration) {
+            // Every builder has its own registrator, so only the final registration has to happen in order
+            final ExecutorService executor = Executors.newFixedThreadPool(
+                    Math.min(dataProviderRegistratorBuilders.length, Math.max(1, Runtime.getRuntime().availableProcessors() - 1)),
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("Sponge Data Provider Registration #%d")
+                            .setDaemon(true)
+                            .build());
+            try {
+                final CompletableFuture<?>[] futures = new CompletableFuture<?>[dataProviderRegistratorBuilders.length];
+                for (int i = 0; i < dataProviderRegistratorBuilders.length; i++) {
+                    futures[i] = CompletableFuture.runAsync(dataProviderRegistratorBuilders[i]::registerProviders, executor);
+                }
+                try {
+                    CompletableFuture.allOf(futures).join();
+                } catch (final CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        } else {
+            for (final DataProviderRegistratorBuilder dataProviderRegistratorBuilder : dataProviderRegistratorBuilders) {
+                dataProviderRegistratorBuilder.registerProviders();
+            }
         }
+        for (final DataProviderRegistratorBuilder dataProviderRegistratorBuilder : dataProviderRegistratorBuilders) {
+            dataProviderRegistratorBuilder.registrator.buildAndRegister();
+        }
+        SpongeCommon.getLogger().debug("Registered {} default data providers in {} ms", this.dataProviders.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
-
-
-
 }
@@ -48,8 +48,7 @@ public static void register(final DataProviderRegistrator registrator) {
 				.create(Keys.MAP_CANVAS)
 					.get(mapData -> new SpongeMapByteCanvas(mapData.colors))
 					.set((mapData, mapCanvas) -> {
-						((SpongeMapCanvas)mapCanvas).applyToMapData(mapData);
-						((MapItemSavedDataBridge)mapData).bridge$updateWholeMap();
+						((MapItemSavedDataBridge)mapData).bridge$applyCanvas((SpongeMapCanvas)mapCanvas);
 					})
 				.create(Keys.MAP_LOCATION)
 					.get(mapData -> Vector2i.from(mapData.x, mapData.z))
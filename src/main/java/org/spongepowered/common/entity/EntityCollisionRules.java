@@ -0,0 +1,218 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.core.Registry;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.common.bridge.world.level.storage.PrimaryLevelDataBridge;
+import org.spongepowered.common.config.inheritable.EntityCollisionCategory;
+import org.spongepowered.common.config.inheritable.InheritableConfigHandle;
+import org.spongepowered.common.config.inheritable.WorldConfig;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The entity collision limits of a world, resolved for every registered
+ * entity, item and block type from its {@link EntityCollisionCategory}.
+ *
+ * <p>The tables are immutable and built all at once the first time a world
+ * config is used, and built again once that config has been reloaded. When
+ * auto-populate is enabled, a type is only written to the config the first
+ * time its limit is looked up.</p>
+ */
+public final class EntityCollisionRules {
+
+    private static final Map<InheritableConfigHandle<WorldConfig>, EntityCollisionRules> RULES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final InheritableConfigHandle<WorldConfig> adapter;
+    private final WorldConfig config;
+    private final int defaultMaxCollisions;
+    private final Map<EntityType<?>, Integer> entities;
+    private final Map<Item, Integer> items;
+    private final Map<Block, Integer> blocks;
+    // Types missing from the config, they are written back once they are first looked up
+    private final Map<Object, Populate> unpopulated;
+    private final Set<Object> populated = ConcurrentHashMap.newKeySet();
+
+    private EntityCollisionRules(final InheritableConfigHandle<WorldConfig> adapter) {
+        this.adapter = adapter;
+        this.config = adapter.get();
+        final EntityCollisionCategory category = this.config.entityCollision;
+        this.defaultMaxCollisions = category.maxEntitiesWithinAABB;
+
+        final Map<Object, Populate> unpopulated = new HashMap<>();
+        final Map<String, EntityCollisionCategory.ModSubCategory> createdMods = new HashMap<>();
+
+        final ImmutableMap.Builder<EntityType<?>, Integer> entities = ImmutableMap.builder();
+        for (final EntityType<?> type : Registry.ENTITY_TYPE) {
+            entities.put(type, EntityCollisionRules.resolve(category, type, (ResourceKey) (Object) Registry.ENTITY_TYPE.getKey(type), false, createdMods, unpopulated));
+        }
+        final ImmutableMap.Builder<Item, Integer> items = ImmutableMap.builder();
+        for (final Item item : Registry.ITEM) {
+            items.put(item, EntityCollisionRules.resolve(category, item, (ResourceKey) (Object) Registry.ITEM.getKey(item), false, createdMods, unpopulated));
+        }
+        final ImmutableMap.Builder<Block, Integer> blocks = ImmutableMap.builder();
+        for (final Block block : Registry.BLOCK) {
+            blocks.put(block, EntityCollisionRules.resolve(category, block, (ResourceKey) (Object) Registry.BLOCK.getKey(block), true, createdMods, unpopulated));
+        }
+        this.entities = entities.build();
+        this.items = items.build();
+        this.blocks = blocks.build();
+        this.unpopulated = unpopulated.isEmpty() ? Collections.emptyMap() : unpopulated;
+    }
+
+    /**
+     * Gets how many entities the given entity may collide with, items are
+     * limited by their item type.
+     *
+     * @param level The world the entity is in
+     * @param entity The entity
+     * @return The maximum amount of collisions, or a negative value for no limit
+     */
+    public static int getMaxCollisions(final Level level, final Entity entity) {
+        final EntityCollisionRules rules = EntityCollisionRules.rules(level);
+        final ItemStack stack = entity instanceof ItemEntity ? ((ItemEntity) entity).getItem() : ItemStack.EMPTY;
+        final Integer maxCollisions;
+        if (stack.isEmpty()) {
+            maxCollisions = rules.entities.get(entity.getType());
+            rules.populate(entity.getType());
+        } else {
+            maxCollisions = rules.items.get(stack.getItem());
+            rules.populate(stack.getItem());
+        }
+        return maxCollisions == null ? rules.defaultMaxCollisions : maxCollisions;
+    }
+
+    /**
+     * Gets how many entities the given block may collide with.
+     *
+     * @param level The world the block is in
+     * @param block The block
+     * @return The maximum amount of collisions, or a negative value for no limit
+     */
+    public static int getMaxCollisions(final Level level, final Block block) {
+        final EntityCollisionRules rules = EntityCollisionRules.rules(level);
+        final Integer maxCollisions = rules.blocks.get(block);
+        rules.populate(block);
+        return maxCollisions == null ? rules.defaultMaxCollisions : maxCollisions;
+    }
+
+    public static ResourceKey getKey(final Entity entity) {
+        if (entity instanceof ItemEntity && !((ItemEntity) entity).getItem().isEmpty()) {
+            return (ResourceKey) (Object) Registry.ITEM.getKey(((ItemEntity) entity).getItem().getItem());
+        }
+        return (ResourceKey) (Object) Registry.ENTITY_TYPE.getKey(entity.getType());
+    }
+
+    private static EntityCollisionRules rules(final Level level) {
+        final InheritableConfigHandle<WorldConfig> adapter = ((PrimaryLevelDataBridge) level.getLevelData()).bridge$configAdapter();
+        EntityCollisionRules rules = EntityCollisionRules.RULES.get(adapter);
+        // Reloading the config replaces the config object, which invalidates the tables built from it
+        if (rules == null || rules.config != adapter.get()) {
+            rules = new EntityCollisionRules(adapter);
+            EntityCollisionRules.RULES.put(adapter, rules);
+        }
+        return rules;
+    }
+
+    private void populate(final Object type) {
+        if (this.unpopulated.isEmpty()) {
+            return;
+        }
+        final Populate entry = this.unpopulated.get(type);
+        if (entry == null || !this.populated.add(type)) {
+            return;
+        }
+        // The config is only written to disk off the calling thread
+        this.adapter.updateAndSave(config -> {
+            final EntityCollisionCategory.ModSubCategory mod = config.entityCollision.mods
+                .computeIfAbsent(entry.key.namespace(), EntityCollisionCategory.ModSubCategory::new);
+            (entry.block ? mod.blocks : mod.entities).putIfAbsent(entry.key.value(), entry.maxCollisions);
+            return config;
+        });
+    }
+
+    private static int resolve(final EntityCollisionCategory category, final Object type, final ResourceKey key, final boolean block,
+            final Map<String, EntityCollisionCategory.ModSubCategory> createdMods, final Map<Object, Populate> unpopulated) {
+        EntityCollisionCategory.ModSubCategory mod = category.mods.get(key.namespace());
+        if (mod == null) {
+            mod = createdMods.get(key.namespace());
+        }
+        if (mod == null) {
+            if (!category.autoPopulate) {
+                return category.maxEntitiesWithinAABB;
+            }
+            mod = new EntityCollisionCategory.ModSubCategory(key.namespace());
+            createdMods.put(key.namespace(), mod);
+        }
+        if (!mod.enabled) {
+            return -1;
+        }
+
+        int maxCollisions = category.maxEntitiesWithinAABB;
+        // check mod overrides
+        final Integer modMaxCollisions = block ? mod.blockDefault : mod.entityDefault;
+        if (modMaxCollisions != null) {
+            maxCollisions = modMaxCollisions;
+        }
+
+        // type overrides
+        final Integer typeMaxCollisions = (block ? mod.blocks : mod.entities).get(key.value());
+        if (typeMaxCollisions != null) {
+            return typeMaxCollisions;
+        }
+        // don't bother saving for negative values
+        if (category.autoPopulate && maxCollisions > 0) {
+            unpopulated.put(type, new Populate(key, block, maxCollisions));
+        }
+        return maxCollisions;
+    }
+
+    private static final class Populate {
+
+        final ResourceKey key;
+        final boolean block;
+        final int maxCollisions;
+
+        Populate(final ResourceKey key, final boolean block, final int maxCollisions) {
+            this.key = key;
+            this.block = block;
+            this.maxCollisions = maxCollisions;
+        }
+    }
+}
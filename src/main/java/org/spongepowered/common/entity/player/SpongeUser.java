@@ -85,6 +85,7 @@
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
@@ -172,25 +173,59 @@ public void initializeIfRequired() {
     }
 
     public void initialize() {
-        SpongeUser.initializedUsers.add(this);
-        this.compound = new CompoundTag();
         final ServerLevel world = SpongeCommon.getServer().overworld();
-        if (world == null) {
-            return;
-        }
+        this.initialize(world == null ? null : SpongeUser.readDataFile(this.dataFile()));
+    }
 
+    private void initialize(@Nullable final CompoundTag compound) {
+        SpongeUser.initializedUsers.add(this);
+        this.compound = new CompoundTag();
+        if (compound != null) {
+            this.readCompound(compound);
+        }
+    }
+
+    /**
+     * Reads and decompresses the stored data of this user on the given
+     * executor, then applies it on the server thread unless the user was
+     * initialized in the meantime.
+     *
+     * @param executor The executor to do the file I/O on
+     * @return A future completing with this user on the server thread
+     */
+    public CompletableFuture<SpongeUser> initializeAsync(final Executor executor) {
+        if (this.isInitialized() || SpongeCommon.getServer().overworld() == null) {
+            this.initializeIfRequired();
+            return CompletableFuture.completedFuture(this);
+        }
+        final File file = this.dataFile();
+        return CompletableFuture.supplyAsync(() -> SpongeUser.readDataFile(file), executor)
+                .thenApplyAsync(compound -> {
+                    if (!this.isInitialized()) {
+                        this.initialize(compound);
+                    }
+                    return this;
+                }, SpongeCommon.getServer());
+    }
+
+    private File dataFile() {
         final LevelStorageSource.LevelStorageAccess storageSource = ((MinecraftServerAccessor) Sponge.server()).accessor$storageSource();
-        final File file = storageSource.getLevelPath(LevelResource.PLAYER_DATA_DIR).resolve(this.profile.getId().toString() + ".dat").toFile();
+        return storageSource.getLevelPath(LevelResource.PLAYER_DATA_DIR).resolve(this.profile.getId().toString() + ".dat").toFile();
+    }
+
+    @Nullable
+    private static CompoundTag readDataFile(final File file) {
         if (!file.exists()) {
-            return;
+            return null;
         }
 
         try {
             try (final FileInputStream in = new FileInputStream(file)) {
-                this.readCompound(NbtIo.readCompressed(in));
+                return NbtIo.readCompressed(in);
             }
         } catch (final IOException e) {
             SpongeCommon.getLogger().warn("Corrupt user file '{}'!", file, e);
+            return null;
         }
     }
 
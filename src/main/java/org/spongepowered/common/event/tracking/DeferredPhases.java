@@ -0,0 +1,113 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.BiFunction;
+
+/**
+ * Keeps track of the phase a {@link PhaseTracker} deferred and of the
+ * contexts deferred phases created once they were entered, so that each
+ * completion closes the context of its own phase.
+ *
+ * @param <P> The type of the deferred phases
+ * @param <C> The type of the contexts entering a phase creates
+ */
+final class DeferredPhases<P, C> {
+
+    private final BiFunction<P, Object, C> enter;
+    private final Deque<Entered<C>> entered = new ArrayDeque<>();
+    private @Nullable P pending;
+    private @Nullable Object pendingSource;
+
+    DeferredPhases(final BiFunction<P, Object, C> enter) {
+        this.enter = enter;
+    }
+
+    /**
+     * Defers the phase, entering the one that is already deferred first.
+     *
+     * @param phase The phase
+     * @param source The source of the phase
+     */
+    void defer(final P phase, final Object source) {
+        this.enter();
+        this.pending = phase;
+        this.pendingSource = source;
+    }
+
+    /**
+     * Enters the deferred phase, if there is one.
+     */
+    void enter() {
+        final @Nullable P phase = this.pending;
+        if (phase == null) {
+            return;
+        }
+        final Object source = this.pendingSource;
+        // Cleared first, entering the phase accesses the tracker again
+        this.pending = null;
+        this.pendingSource = null;
+        final Entered<C> entered = new Entered<>(source);
+        this.entered.push(entered);
+        entered.context = this.enter.apply(phase, source);
+    }
+
+    /**
+     * Completes the deferred phase of the given source.
+     *
+     * @param source The source of the phase
+     * @return The context the phase created when it was entered, or null if
+     *     it was never entered
+     * @throws IllegalStateException If the most recently deferred phase that
+     *     is not completed yet has another source
+     */
+    @Nullable C complete(final Object source) {
+        if (this.pending != null && this.pendingSource == source) {
+            this.pending = null;
+            this.pendingSource = null;
+            return null;
+        }
+        final @Nullable Entered<C> entered = this.entered.peek();
+        if (entered == null || entered.source != source) {
+            throw new IllegalStateException("Completing a deferred phase of " + source + " which is not the most recently deferred one");
+        }
+        this.entered.pop();
+        return entered.context;
+    }
+
+    private static final class Entered<C> {
+
+        final Object source;
+        @Nullable C context;
+
+        Entered(final Object source) {
+            this.source = source;
+        }
+    }
+}
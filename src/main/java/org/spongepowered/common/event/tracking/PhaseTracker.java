@@ -222,6 +222,7 @@ public static Block validateBlockForNeighborNotification(final ServerLevel world
      */
     private final Deque<PhaseContext<?>> phaseContextProviders = new ArrayDeque<>();
     final PhaseStack stack = new PhaseStack();
+    private final DeferredPhases<DeferredPhase<Object>, PhaseContext<?>> deferredPhases = new DeferredPhases<>(DeferredPhase::enter);
 
 
     PhaseTracker() {
@@ -305,6 +306,7 @@ public IPhaseState<?> getCurrentState() {
         if (Thread.currentThread() != this.getSidedThread()) {
             throw new UnsupportedOperationException("Cannot access the PhaseTracker off-thread, please use the respective PhaseTracker for their proper thread.");
         }
+        this.enterDeferredPhase();
         return this.stack.peekState();
     }
 
@@ -312,6 +314,7 @@ public PhaseContext<?> getPhaseContext() {
         if (Thread.currentThread() != this.getSidedThread()) {
             throw new UnsupportedOperationException("Cannot access the PhaseTracker off-thread, please use the respective PhaseTracker for their proper thread.");
         }
+        this.enterDeferredPhase();
         return this.stack.peekContext();
     }
 
@@ -320,10 +323,68 @@ public Thread getSidedThread() {
         return this.sidedThread != null ? this.sidedThread.get() : null;
     }
 
+    // ----------------- DEFERRED PHASES ----------------------------------
+
+    /**
+     * A phase which is only entered once something observes the phase stack
+     * or the cause stack while it's deferred.
+     *
+     * @param <T> The type of the source of the phase
+     */
+    @FunctionalInterface
+    public interface DeferredPhase<T> {
+
+        /**
+         * Creates the phase context for the source and switches to it.
+         *
+         * @param source The source
+         * @return The phase context that was switched to
+         */
+        PhaseContext<?> enter(T source);
+    }
+
+    /**
+     * Defers entering a phase until anything accesses the phase or cause
+     * stack of this tracker. Every deferred phase must be followed by a call
+     * to {@link #completeDeferredPhase(Object)} with the same source once
+     * the code it wraps completed, on the same thread.
+     *
+     * <p>Deferring a phase while another phase is deferred enters the other
+     * phase first, so the phases end up on the stack in the same order as if
+     * they were entered right away.</p>
+     *
+     * @param phase The phase
+     * @param source The source of the phase
+     * @param <T> The type of the source
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void deferPhase(final DeferredPhase<T> phase, final T source) {
+        this.deferredPhases.defer((DeferredPhase<Object>) phase, source);
+    }
+
+    /**
+     * Completes a phase which was deferred with the given source, closing
+     * the context it created if it was entered. If the phase was never
+     * entered, this only discards it.
+     *
+     * @param source The source of the deferred phase
+     */
+    public void completeDeferredPhase(final Object source) {
+        final @Nullable PhaseContext<?> context = this.deferredPhases.complete(source);
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    private void enterDeferredPhase() {
+        this.deferredPhases.enter();
+    }
+
     // ----------------- STATE ACCESS ----------------------------------
 
     @SuppressWarnings("rawtypes")
     void switchToPhase(final IPhaseState<?> state, final PhaseContext<?> phaseContext) {
+        this.enterDeferredPhase();
         if (phaseContext.createdTracker != this && Thread.currentThread() != this.getSidedThread()) {
             // lol no, report the block change properly
             new PrettyPrinter(60).add("Illegal Async PhaseTracker Access").centre().hr()
@@ -747,6 +808,7 @@ private void enforceMainThread() {
                 ThreadUtil.getDescription(SpongeCommon.getServer().getRunningThread())
             ));
         }
+        this.enterDeferredPhase();
         this.checkProviders();
     }
 
@@ -44,6 +44,7 @@
 import org.spongepowered.api.world.BlockChangeFlags;
 import org.spongepowered.api.world.LocatableBlock;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.block.SpongeBlockSnapshotBuilder;
 import org.spongepowered.common.bridge.CreatorTrackedBridge;
@@ -116,12 +117,37 @@ public final class TrackingUtil {
         });
     public static final int WIDTH = 40;
 
+    private static final PhaseTracker.DeferredPhase<net.minecraft.world.entity.Entity> ENTITY_TICK_PHASE = entity -> {
+        final EntityTickContext context = TickPhase.Tick.ENTITY.createPhaseContext(PhaseTracker.SERVER).source(entity);
+        if (entity instanceof CreatorTrackedBridge) {
+            ((CreatorTrackedBridge) entity).tracked$getNotifierReference().ifPresent(context::notifier);
+            ((CreatorTrackedBridge) entity).tracked$getCreatorReference().ifPresent(context::creator);
+        }
+        return context.buildAndSwitch();
+    };
+    private static final PhaseTracker.DeferredPhase<BlockEntityBridge> TILE_ENTITY_TICK_PHASE = tile -> {
+        final TileEntityTickContext context = TickPhase.Tick.TILE_ENTITY.createPhaseContext(PhaseTracker.SERVER).source(tile);
+        if (tile instanceof CreatorTrackedBridge) {
+            ((CreatorTrackedBridge) tile).tracked$getNotifierReference().ifPresent(context::notifier);
+            ((CreatorTrackedBridge) tile).tracked$getCreatorReference().ifPresent(context::creator);
+        }
+        return context.buildAndSwitch();
+    };
+
+    private static boolean lazyTickPhases() {
+        return SpongeConfigs.getCommon().get().phaseTracker.lazyTickPhases && PhaseTracker.SERVER.onSidedThread();
+    }
+
     public static void tickEntity(final Consumer<net.minecraft.world.entity.Entity> consumer, final net.minecraft.world.entity.Entity entity) {
         checkArgument(entity instanceof Entity, "Entity %s is not an instance of SpongeAPI's Entity!", entity);
         checkNotNull(entity, "Cannot capture on a null ticking entity!");
         if (!((TrackableBridge) entity).bridge$shouldTick()) {
             return;
         }
+        if (TrackingUtil.lazyTickPhases()) {
+            TrackingUtil.tickEntityLazily(consumer, entity);
+            return;
+        }
 
         final EntityTickContext tickContext = TickPhase.Tick.ENTITY.createPhaseContext(PhaseTracker.SERVER).source(entity);
         try (final EntityTickContext context = tickContext;
@@ -147,12 +173,39 @@ public static void tickEntity(final Consumer<net.minecraft.world.entity.Entity>
         }
     }
 
+    /**
+     * Ticks the entity with a deferred tick phase, which is only entered
+     * when the tick interacts with the phase tracker.
+     */
+    private static void tickEntityLazily(final Consumer<net.minecraft.world.entity.Entity> consumer, final net.minecraft.world.entity.Entity entity) {
+        final PhaseTracker tracker = PhaseTracker.SERVER;
+        tracker.deferPhase(TrackingUtil.ENTITY_TICK_PHASE, entity);
+        try (final Timing entityTiming = ((TimingBridge) entity).bridge$getTimingsHandler()) {
+            entityTiming.startTiming();
+            consumer.accept(entity);
+            if (ShouldFire.MOVE_ENTITY_EVENT) {
+                SpongeCommonEventFactory.callNaturalMoveEntityEvent(entity);
+            }
+            if (ShouldFire.ROTATE_ENTITY_EVENT) {
+                SpongeCommonEventFactory.callNaturalRotateEntityEvent(entity);
+            }
+        } catch (final Exception e) {
+            PhasePrinter.printExceptionFromPhase(tracker.stack, e, tracker.getPhaseContext());
+        } finally {
+            tracker.completeDeferredPhase(entity);
+        }
+    }
+
     public static void tickRidingEntity(final net.minecraft.world.entity.Entity entity) {
         checkArgument(entity instanceof Entity, "Entity %s is not an instance of SpongeAPI's Entity!", entity);
         checkNotNull(entity, "Cannot capture on a null ticking entity!");
         if (!((TrackableBridge) entity).bridge$shouldTick()) {
             return;
         }
+        if (TrackingUtil.lazyTickPhases()) {
+            TrackingUtil.tickEntityLazily(net.minecraft.world.entity.Entity::rideTick, entity);
+            return;
+        }
 
         final EntityTickContext tickContext = TickPhase.Tick.ENTITY.createPhaseContext(PhaseTracker.SERVER).source(entity);
         try (
@@ -194,6 +247,23 @@ public static void tickTileEntity(final TrackedWorldBridge mixinWorldServer, fin
             ((ActiveChunkReferantBridge) tile).bridge$setActiveChunk((TrackedLevelChunkBridge) tileEntity.getLevel().getChunkAt(tileEntity.getBlockPos()));
         }
 
+        if (TrackingUtil.lazyTickPhases()) {
+            final PhaseTracker tracker = PhaseTracker.SERVER;
+            tracker.deferPhase(TrackingUtil.TILE_ENTITY_TICK_PHASE, mixinTileEntity);
+            try (final Timing timing = ((TimingBridge) tileEntity).bridge$getTimingsHandler().startTiming()) {
+                tile.tick();
+            } catch (final Exception e) {
+                PhasePrinter.printExceptionFromPhase(tracker.stack, e, tracker.getPhaseContext());
+            } finally {
+                tracker.completeDeferredPhase(mixinTileEntity);
+            }
+            // We delay clearing active chunk if TE is invalidated during tick so we must remove it after
+            if (tileEntity.isRemoved()) {
+                ((ActiveChunkReferantBridge) tileEntity).bridge$setActiveChunk(null);
+            }
+            return;
+        }
+
         final TileEntityTickContext context = TickPhase.Tick.TILE_ENTITY.createPhaseContext(PhaseTracker.SERVER).source(mixinTileEntity);
         try (final PhaseContext<?> phaseContext = context) {
 
@@ -0,0 +1,159 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.map.canvas;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.util.Constants;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The smallest rectangle containing every pixel that differs between two
+ * canvases, which is all that has to be resent to the viewers of a map.
+ */
+public final class MapCanvasDiff {
+
+    private static final LongAdder updates = new LongAdder();
+    private static final LongAdder unchangedUpdates = new LongAdder();
+    private static final LongAdder sentBytes = new LongAdder();
+    private static final LongAdder savedBytes = new LongAdder();
+
+    private final int minX;
+    private final int minY;
+    private final int maxX;
+    private final int maxY;
+
+    private MapCanvasDiff(final int minX, final int minY, final int maxX, final int maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    /**
+     * Computes the dirty rectangle between two canvases.
+     *
+     * @param previous The canvas the viewers have
+     * @param current The new canvas
+     * @return The dirty rectangle, or null if the canvases are identical
+     */
+    public static @Nullable MapCanvasDiff between(final byte[] previous, final byte[] current) {
+        final int size = Constants.Map.MAP_PIXELS;
+        int minY = 0;
+        while (minY < size && MapCanvasDiff.rowEquals(previous, current, minY)) {
+            minY++;
+        }
+        if (minY == size) {
+            return null;
+        }
+        int maxY = size - 1;
+        while (MapCanvasDiff.rowEquals(previous, current, maxY)) {
+            maxY--;
+        }
+        // Every row only needs to be scanned up to the bounds found so far
+        int minX = size - 1;
+        int maxX = 0;
+        for (int y = minY; y <= maxY; y++) {
+            final int row = y * size;
+            for (int x = 0; x < minX; x++) {
+                if (previous[row + x] != current[row + x]) {
+                    minX = x;
+                    break;
+                }
+            }
+            for (int x = size - 1; x > maxX; x--) {
+                if (previous[row + x] != current[row + x]) {
+                    maxX = x;
+                    break;
+                }
+            }
+        }
+        return new MapCanvasDiff(minX, minY, maxX, maxY);
+    }
+
+    private static boolean rowEquals(final byte[] previous, final byte[] current, final int y) {
+        final int start = y * Constants.Map.MAP_PIXELS;
+        final int end = start + Constants.Map.MAP_PIXELS;
+        for (int i = start; i < end; i++) {
+            if (previous[i] != current[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records a canvas update sent to the given number of viewers.
+     *
+     * @param diff The dirty rectangle, or null if nothing changed
+     * @param viewers The number of players viewing the map
+     */
+    public static void record(final @Nullable MapCanvasDiff diff, final int viewers) {
+        MapCanvasDiff.updates.increment();
+        if (diff == null) {
+            MapCanvasDiff.unchangedUpdates.increment();
+            MapCanvasDiff.savedBytes.add((long) Constants.Map.MAP_SIZE * viewers);
+            return;
+        }
+        MapCanvasDiff.sentBytes.add((long) diff.area() * viewers);
+        MapCanvasDiff.savedBytes.add((long) (Constants.Map.MAP_SIZE - diff.area()) * viewers);
+    }
+
+    public static long getUpdates() {
+        return MapCanvasDiff.updates.sum();
+    }
+
+    public static long getUnchangedUpdates() {
+        return MapCanvasDiff.unchangedUpdates.sum();
+    }
+
+    public static long getSentBytes() {
+        return MapCanvasDiff.sentBytes.sum();
+    }
+
+    public static long getSavedBytes() {
+        return MapCanvasDiff.savedBytes.sum();
+    }
+
+    public int minX() {
+        return this.minX;
+    }
+
+    public int minY() {
+        return this.minY;
+    }
+
+    public int maxX() {
+        return this.maxX;
+    }
+
+    public int maxY() {
+        return this.maxY;
+    }
+
+    public int area() {
+        return (this.maxX - this.minX + 1) * (this.maxY - this.minY + 1);
+    }
+}
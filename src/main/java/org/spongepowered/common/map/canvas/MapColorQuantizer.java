@@ -0,0 +1,283 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.map.canvas;
+
+import it.unimi.dsi.fastutil.ints.Int2ByteMap;
+import it.unimi.dsi.fastutil.ints.Int2ByteOpenHashMap;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.map.MapCanvas;
+import org.spongepowered.api.map.color.MapShade;
+import org.spongepowered.api.registry.RegistryTypes;
+import org.spongepowered.common.map.color.SpongeMapColor;
+import org.spongepowered.common.map.color.SpongeMapColorType;
+import org.spongepowered.common.util.Constants;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Converts arbitrary RGB images to map color bytes by picking the nearest
+ * {@link SpongeMapColor} of every color type and shade combination.
+ *
+ * <p>Exact palette matches are looked up directly, anything else goes through
+ * a precomputed cube that maps each 5 bit per channel RGB cell to its nearest
+ * palette entry, so a conversion never searches the palette per pixel.
+ * Pixels with less than half alpha become the transparent map color.</p>
+ */
+public final class MapColorQuantizer {
+
+    private static final int CUBE_BITS = 5;
+    private static final int CUBE_SIZE = 1 << MapColorQuantizer.CUBE_BITS;
+    private static final int CUBE_SHIFT = 8 - MapColorQuantizer.CUBE_BITS;
+    private static final byte TRANSPARENT = 0;
+
+    private static volatile MapColorQuantizer instance;
+
+    private final int[] paletteRgb;
+    private final byte[] paletteColors;
+    private final int[] colorRgb = new int[256];
+    private final Int2ByteMap exact;
+    private final byte[] cube;
+
+    /**
+     * Gets the quantizer for the registered map colors, building it on first
+     * use.
+     *
+     * @return The quantizer
+     */
+    public static MapColorQuantizer get() {
+        MapColorQuantizer quantizer = MapColorQuantizer.instance;
+        if (quantizer == null) {
+            synchronized (MapColorQuantizer.class) {
+                quantizer = MapColorQuantizer.instance;
+                if (quantizer == null) {
+                    quantizer = MapColorQuantizer.fromRegistries();
+                    MapColorQuantizer.instance = quantizer;
+                }
+            }
+        }
+        return quantizer;
+    }
+
+    private static MapColorQuantizer fromRegistries() {
+        final List<SpongeMapColor> colors = new ArrayList<>();
+        final List<MapShade> shades = Sponge.game().registries().registry(RegistryTypes.MAP_SHADE).stream()
+                .collect(Collectors.toList());
+        Sponge.game().registries().registry(RegistryTypes.MAP_COLOR_TYPE).stream().forEach(type -> {
+            // The transparent color has no usable rgb value, it's only picked for transparent pixels
+            if (((SpongeMapColorType) type).getColorIndex() == 0) {
+                return;
+            }
+            for (final MapShade shade : shades) {
+                colors.add(new SpongeMapColor(type, shade));
+            }
+        });
+        final int[] rgb = new int[colors.size()];
+        final byte[] mcColors = new byte[colors.size()];
+        for (int i = 0; i < colors.size(); i++) {
+            rgb[i] = colors.get(i).color().rgb();
+            mcColors[i] = colors.get(i).getMCColor();
+        }
+        return new MapColorQuantizer(rgb, mcColors);
+    }
+
+    MapColorQuantizer(final int[] paletteRgb, final byte[] paletteColors) {
+        if (paletteRgb.length == 0 || paletteRgb.length != paletteColors.length) {
+            throw new IllegalArgumentException("Palette must be non empty and have a color byte for every rgb value");
+        }
+        this.paletteRgb = paletteRgb.clone();
+        this.paletteColors = paletteColors.clone();
+        this.exact = new Int2ByteOpenHashMap(paletteRgb.length);
+        this.exact.defaultReturnValue(MapColorQuantizer.TRANSPARENT);
+        for (int i = 0; i < paletteRgb.length; i++) {
+            this.exact.putIfAbsent(paletteRgb[i] & 0xFFFFFF, paletteColors[i]);
+            this.colorRgb[paletteColors[i] & 0xFF] = paletteRgb[i];
+        }
+        this.cube = new byte[MapColorQuantizer.CUBE_SIZE * MapColorQuantizer.CUBE_SIZE * MapColorQuantizer.CUBE_SIZE];
+        final int half = (1 << MapColorQuantizer.CUBE_SHIFT) >> 1;
+        for (int r = 0; r < MapColorQuantizer.CUBE_SIZE; r++) {
+            for (int g = 0; g < MapColorQuantizer.CUBE_SIZE; g++) {
+                for (int b = 0; b < MapColorQuantizer.CUBE_SIZE; b++) {
+                    this.cube[MapColorQuantizer.cubeIndex(r, g, b)] = this.paletteColors[this.search(
+                            (r << MapColorQuantizer.CUBE_SHIFT) + half,
+                            (g << MapColorQuantizer.CUBE_SHIFT) + half,
+                            (b << MapColorQuantizer.CUBE_SHIFT) + half)];
+                }
+            }
+        }
+    }
+
+    private static int cubeIndex(final int r, final int g, final int b) {
+        return (((r << MapColorQuantizer.CUBE_BITS) | g) << MapColorQuantizer.CUBE_BITS) | b;
+    }
+
+    private int search(final int r, final int g, final int b) {
+        int best = 0;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < this.paletteRgb.length; i++) {
+            final int rgb = this.paletteRgb[i];
+            final int dr = ((rgb >> 16) & 0xFF) - r;
+            final int dg = ((rgb >> 8) & 0xFF) - g;
+            final int db = (rgb & 0xFF) - b;
+            // Weighted towards green, which the eye is most sensitive to
+            final int distance = 2 * dr * dr + 4 * dg * dg + 3 * db * db;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the map color byte nearest to the given color.
+     *
+     * @param argb The color, alpha in the highest byte
+     * @return The map color byte
+     */
+    public byte nearest(final int argb) {
+        if ((argb >>> 24) < 0x80) {
+            return MapColorQuantizer.TRANSPARENT;
+        }
+        final int rgb = argb & 0xFFFFFF;
+        final byte exact = this.exact.get(rgb);
+        if (exact != MapColorQuantizer.TRANSPARENT) {
+            return exact;
+        }
+        return this.cube[MapColorQuantizer.cubeIndex(
+                rgb >> (16 + MapColorQuantizer.CUBE_SHIFT),
+                (rgb >> (8 + MapColorQuantizer.CUBE_SHIFT)) & (MapColorQuantizer.CUBE_SIZE - 1),
+                (rgb & 0xFF) >> MapColorQuantizer.CUBE_SHIFT)];
+    }
+
+    /**
+     * Quantizes a {@link Constants.Map#MAP_PIXELS} square region of the given
+     * pixels into the canvas.
+     *
+     * @param pixels The argb pixels
+     * @param width The width of a row of pixels
+     * @param height The number of rows of pixels
+     * @param offsetX The first column to read
+     * @param offsetY The first row to read
+     * @param canvas The canvas to write, of {@link Constants.Map#MAP_SIZE}
+     * @param dither Whether to spread the error of every pixel over its
+     *     neighbours (Floyd-Steinberg)
+     */
+    public void quantize(final int[] pixels, final int width, final int height, final int offsetX, final int offsetY,
+            final byte[] canvas, final boolean dither) {
+        final int size = Constants.Map.MAP_PIXELS;
+        // Error carried to the current and next row, 3 channels per column plus one column of padding at each side
+        int[] current = dither ? new int[(size + 2) * 3] : null;
+        int[] next = dither ? new int[(size + 2) * 3] : null;
+        for (int y = 0; y < size; y++) {
+            final int py = offsetY + y;
+            for (int x = 0; x < size; x++) {
+                final int px = offsetX + x;
+                if (px >= width || py >= height) {
+                    canvas[x + y * size] = MapColorQuantizer.TRANSPARENT;
+                    continue;
+                }
+                final int argb = pixels[px + py * width];
+                if (!dither || (argb >>> 24) < 0x80) {
+                    canvas[x + y * size] = this.nearest(argb);
+                    continue;
+                }
+                final int e = (x + 1) * 3;
+                final int r = MapColorQuantizer.clamp(((argb >> 16) & 0xFF) + current[e]);
+                final int g = MapColorQuantizer.clamp(((argb >> 8) & 0xFF) + current[e + 1]);
+                final int b = MapColorQuantizer.clamp((argb & 0xFF) + current[e + 2]);
+                final byte color = this.nearest(0xFF000000 | (r << 16) | (g << 8) | b);
+                canvas[x + y * size] = color;
+                final int chosen = this.colorRgb[color & 0xFF];
+                MapColorQuantizer.spread(current, next, e, r - ((chosen >> 16) & 0xFF));
+                MapColorQuantizer.spread(current, next, e + 1, g - ((chosen >> 8) & 0xFF));
+                MapColorQuantizer.spread(current, next, e + 2, b - (chosen & 0xFF));
+            }
+            if (dither) {
+                final int[] swap = current;
+                current = next;
+                next = swap;
+                Arrays.fill(next, 0);
+            }
+        }
+    }
+
+    private static void spread(final int[] current, final int[] next, final int index, final int error) {
+        current[index + 3] += error * 7 / 16;
+        next[index - 3] += error * 3 / 16;
+        next[index] += error * 5 / 16;
+        next[index + 3] += error / 16;
+    }
+
+    private static int clamp(final int value) {
+        return value < 0 ? 0 : (value > 0xFF ? 0xFF : value);
+    }
+
+    /**
+     * Slices an image of any size into a grid of canvases, quantizing the
+     * tiles in parallel. Tiles reaching past the image are transparent there.
+     *
+     * @param image The image
+     * @param dither Whether to dither
+     * @return The canvases, indexed by row then column
+     */
+    public MapCanvas[][] toCanvases(final Image image, final boolean dither) {
+        Objects.requireNonNull(image, "image cannot be null");
+        final BufferedImage bufferedImage = MapColorQuantizer.toArgb(image);
+        final int width = bufferedImage.getWidth();
+        final int height = bufferedImage.getHeight();
+        final int[] pixels = ((DataBufferInt) bufferedImage.getRaster().getDataBuffer()).getData();
+        final int columns = (width + Constants.Map.MAP_PIXELS - 1) / Constants.Map.MAP_PIXELS;
+        final int rows = (height + Constants.Map.MAP_PIXELS - 1) / Constants.Map.MAP_PIXELS;
+        final MapCanvas[][] canvases = new MapCanvas[rows][columns];
+        IntStream.range(0, rows * columns).parallel().forEach(tile -> {
+            final int row = tile / columns;
+            final int column = tile % columns;
+            final byte[] canvas = new byte[Constants.Map.MAP_SIZE];
+            this.quantize(pixels, width, height, column * Constants.Map.MAP_PIXELS, row * Constants.Map.MAP_PIXELS, canvas, dither);
+            canvases[row][column] = new SpongeMapByteCanvas(canvas);
+        });
+        return canvases;
+    }
+
+    static BufferedImage toArgb(final Image image) {
+        if (image instanceof BufferedImage && ((BufferedImage) image).getType() == BufferedImage.TYPE_INT_ARGB) {
+            return (BufferedImage) image;
+        }
+        final BufferedImage converted = new BufferedImage(image.getWidth(null), image.getHeight(null), BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphics = converted.createGraphics();
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+        return converted;
+    }
+}
@@ -24,23 +24,18 @@
  */
 package org.spongepowered.common.map.canvas;
 
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.persistence.DataView;
 import org.spongepowered.api.map.MapCanvas;
 import org.spongepowered.api.map.color.MapColor;
-import org.spongepowered.api.registry.RegistryTypes;
 import org.spongepowered.common.util.MapUtil;
 import org.spongepowered.common.map.color.SpongeMapColor;
 import org.spongepowered.common.util.Constants;
 
 import javax.annotation.Nullable;
-import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
 public final class SpongeMapCanvasBuilder implements MapCanvas.Builder {
@@ -104,40 +99,25 @@ public MapCanvas.Builder reset() {
 
     @Override
     public MapCanvas.Builder fromImage(final Image image) {
+        return this.fromImage(image, false);
+    }
+
+    /**
+     * Paints the canvas from the given image, using the nearest map color for
+     * every pixel.
+     *
+     * @param image The image, {@link Constants.Map#MAP_PIXELS} square
+     * @param dither Whether to dither the image while quantizing
+     * @return This builder, for chaining
+     */
+    public MapCanvas.Builder fromImage(final Image image, final boolean dither) {
         Objects.requireNonNull(image, "image cannot be null");
         if (image.getWidth(null) != Constants.Map.MAP_PIXELS || image.getHeight(null) != Constants.Map.MAP_PIXELS) {
             throw new IllegalArgumentException("image size was invalid!");
         }
-        BufferedImage bufferedImage = null;
-        boolean shouldConvert = true;
-        if (image instanceof BufferedImage) {
-            bufferedImage = (BufferedImage)image;
-            // If its not TYPE_INT_RGB, convert it.
-            shouldConvert = bufferedImage.getType() != BufferedImage.TYPE_INT_RGB;
-        }
-        if (shouldConvert) {
-            bufferedImage = new BufferedImage(image.getWidth(null), image.getHeight(null), BufferedImage.TYPE_INT_RGB);
-            Graphics2D bGr = bufferedImage.createGraphics();
-            bGr.drawImage(image, 0, 0, null);
-            bGr.dispose();
-        }
+        final BufferedImage bufferedImage = MapColorQuantizer.toArgb(image);
         final int[] pixels = ((DataBufferInt) bufferedImage.getRaster().getDataBuffer()).getData();
-        // Get the color palette we are working with
-        final Map<Integer, SpongeMapColor> palette = new HashMap<>();
-        Sponge.game().registries().registry(RegistryTypes.MAP_COLOR_TYPE).stream().forEach(color -> {
-            Sponge.game().registries().registry(RegistryTypes.MAP_SHADE).stream().forEach(shade -> {
-                SpongeMapColor spongeMapColor = new SpongeMapColor(color, shade);
-                palette.put(spongeMapColor.color().rgb(), spongeMapColor);
-            });
-        });
-        final byte[] canvas = getCanvas();
-        for (int i = 0; i < pixels.length; i++) {
-            SpongeMapColor color = palette.get(pixels[i]);
-            if (color == null) {
-                throw new IllegalArgumentException("Can not find a matching color for rgb value: " + Integer.toHexString(pixels[i]) + ". The MapCanvas will have painted all pixels up to this point.");
-            }
-            canvas[i] = color.getMCColor();
-        }
+        MapColorQuantizer.get().quantize(pixels, Constants.Map.MAP_PIXELS, Constants.Map.MAP_PIXELS, 0, 0, this.getCanvas(), dither);
         return this;
     }
 
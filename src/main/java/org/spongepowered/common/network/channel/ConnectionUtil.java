@@ -41,6 +41,10 @@ public static boolean isLoginPhase(final EngineConnection connection) {
                 connection instanceof ServerLoginPacketListener;
     }
 
+    public static Connection getConnection(final EngineConnection connection) {
+        return ((ConnectionHolderBridge) connection).bridge$getConnection();
+    }
+
     public static Set<ResourceKey> getRegisteredChannels(final EngineConnection connection) {
         final Connection networkManager = ((ConnectionHolderBridge) connection).bridge$getConnection();
         return ((ConnectionBridge) networkManager).bridge$getRegisteredChannels();
@@ -51,6 +55,11 @@ public static TransactionStore getTransactionStore(final EngineConnection connec
         return ((ConnectionBridge) networkManager).bridge$getTransactionStore();
     }
 
+    public static InboundPayloadQueue getInboundPayloadQueue(final EngineConnection connection) {
+        final Connection networkManager = ((ConnectionHolderBridge) connection).bridge$getConnection();
+        return ((ConnectionBridge) networkManager).bridge$getInboundPayloadQueue();
+    }
+
     public static void checkHandshakePhase(final EngineConnection connection) {
         if (!ConnectionUtil.isLoginPhase(connection)) {
             throw new IllegalStateException("This dispatcher may only be used for connections in the handshake phase.");
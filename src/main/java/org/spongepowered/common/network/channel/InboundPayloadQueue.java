@@ -0,0 +1,112 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network.channel;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the inbound channel payloads of a single connection which are
+ * waiting to be handled off the network thread. Payloads handled by the
+ * channel worker pool are run one at a time, so they are handled in the
+ * order they were received.
+ */
+public final class InboundPayloadQueue {
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Queue<Runnable> workerTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    /**
+     * Attempts to reserve a place in this queue.
+     *
+     * @param capacity The capacity of the queue, or zero if unbounded
+     * @return Whether a place was reserved
+     */
+    public boolean tryReserve(final int capacity) {
+        while (true) {
+            final int current = this.pending.get();
+            if (capacity > 0 && current >= capacity) {
+                return false;
+            }
+            if (this.pending.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a place which was previously reserved.
+     */
+    public void release() {
+        this.pending.decrementAndGet();
+    }
+
+    /**
+     * Gets the number of payloads which are waiting to be handled.
+     *
+     * @return The number of pending payloads
+     */
+    public int getPending() {
+        return this.pending.get();
+    }
+
+    /**
+     * Submits a task which will be run on the given executor after all
+     * the tasks that were submitted before it completed.
+     *
+     * @param task The task
+     * @param executor The executor
+     */
+    public void submit(final Runnable task, final Executor executor) {
+        this.workerTasks.add(task);
+        this.scheduleDrain(executor);
+    }
+
+    private void scheduleDrain(final Executor executor) {
+        if (this.draining.compareAndSet(false, true)) {
+            executor.execute(() -> this.drain(executor));
+        }
+    }
+
+    private void drain(final Executor executor) {
+        try {
+            Runnable task;
+            while ((task = this.workerTasks.poll()) != null) {
+                task.run();
+            }
+        } finally {
+            this.draining.set(false);
+            // A task may have been added between the last poll and
+            // resetting the draining state
+            if (!this.workerTasks.isEmpty()) {
+                this.scheduleDrain(executor);
+            }
+        }
+    }
+}
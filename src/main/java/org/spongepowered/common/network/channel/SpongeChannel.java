@@ -25,7 +25,9 @@
 package org.spongepowered.common.network.channel;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Multimap;
+import io.netty.buffer.ByteBuf;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -42,13 +44,22 @@
 import org.spongepowered.api.network.channel.ChannelExceptionHandler;
 import org.spongepowered.api.network.channel.ChannelNotSupportedException;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.applaunch.config.common.NetworkCategory;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import net.minecraft.network.Connection;
+import net.minecraft.network.PacketListener;
+import net.minecraft.network.protocol.Packet;
 
 @SuppressWarnings("unchecked")
 public abstract class SpongeChannel implements Channel {
@@ -61,11 +72,30 @@ public abstract class SpongeChannel implements Channel {
     private volatile ChannelExceptionHandler<EngineConnection> exceptionHandler =
             ChannelExceptionHandler.logEverything().suppress(ChannelNotSupportedException.class);
 
+    /**
+     * The network connections which registered this channel. Kept in sync
+     * with the registered channels of each connection by the
+     * {@link SpongeChannelRegistry}, weakly so that closed connections
+     * don't need to be cleaned up explicitly.
+     */
+    private final Set<Connection> connections = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+    private final LongAdder packetsSent = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+
+    private final AtomicInteger inboundQueueDepth = new AtomicInteger();
+    private final LongAdder inboundDropped = new LongAdder();
+    private final LongAdder decodeCount = new LongAdder();
+    private final LongAdder decodeNanos = new LongAdder();
+
+    private volatile NetworkCategory.Execution execution;
+
     public SpongeChannel(final int type, final ResourceKey key, final SpongeChannelRegistry registry) {
         this.type = type;
         this.key = key;
         this.registry = registry;
         this.logger = LogManager.getLogger("channel/" + key.formatted());
+        final NetworkCategory network = SpongeConfigs.getCommon().get().network;
+        this.execution = network.channelExecutionOverrides.getOrDefault(key.formatted(), network.channelExecution);
     }
 
     public int getType() {
@@ -99,6 +129,191 @@ public String toString() {
                 .toString();
     }
 
+    void addConnection(final Connection connection) {
+        this.connections.add(connection);
+    }
+
+    void removeConnection(final Connection connection) {
+        this.connections.remove(connection);
+    }
+
+    /**
+     * Gets all the play phase connections which currently support this channel.
+     *
+     * @return The connections
+     */
+    public Collection<EngineConnection> supportingConnections() {
+        final List<EngineConnection> supporting = new ArrayList<>(this.connections.size());
+        for (final Connection connection : this.connections) {
+            final PacketListener listener = connection.getPacketListener();
+            if (connection.isConnected() && listener instanceof EngineConnection && !ConnectionUtil.isLoginPhase((EngineConnection) listener)) {
+                supporting.add((EngineConnection) listener);
+            }
+        }
+        return supporting;
+    }
+
+    /**
+     * Gets the number of play payloads sent through this channel, counted
+     * when they are handed to their connection.
+     *
+     * @return The number of packets sent
+     */
+    public long getPacketsSent() {
+        return this.packetsSent.sum();
+    }
+
+    /**
+     * Gets the number of payload bytes sent through this channel. Bytes of
+     * a broadcast payload are counted once per receiving connection.
+     *
+     * @return The number of bytes sent
+     */
+    public long getBytesSent() {
+        return this.bytesSent.sum();
+    }
+
+    /**
+     * Gets the thread on which inbound play payloads of this channel are
+     * handled, unless overridden for a specific packet binding.
+     *
+     * @return The execution
+     */
+    public NetworkCategory.Execution getExecution() {
+        return this.execution;
+    }
+
+    public void setExecution(final NetworkCategory.Execution execution) {
+        this.execution = Objects.requireNonNull(execution, "execution");
+    }
+
+    /**
+     * Gets the thread on which the given inbound play payload should be
+     * handled. This is called on the network thread before the payload is
+     * handled and may not modify the reader index of the payload.
+     *
+     * @param payload The payload
+     * @return The execution
+     */
+    public NetworkCategory.Execution getPlayPayloadExecution(final ChannelBuf payload) {
+        return this.execution;
+    }
+
+    /**
+     * Gets the number of inbound payloads of this channel which are
+     * currently waiting to be handled.
+     *
+     * @return The inbound queue depth
+     */
+    public int getInboundQueueDepth() {
+        return this.inboundQueueDepth.get();
+    }
+
+    /**
+     * Gets the number of inbound payloads of this channel which were
+     * dropped because the inbound queue of their connection was full.
+     *
+     * @return The number of dropped payloads
+     */
+    public long getInboundDropped() {
+        return this.inboundDropped.sum();
+    }
+
+    /**
+     * Gets the number of inbound packets which were decoded by this channel.
+     *
+     * @return The number of decoded packets
+     */
+    public long getDecodeCount() {
+        return this.decodeCount.sum();
+    }
+
+    /**
+     * Gets the total time spent decoding inbound packets, in nanoseconds.
+     *
+     * @return The decode time
+     */
+    public long getDecodeNanos() {
+        return this.decodeNanos.sum();
+    }
+
+    void incrementInboundQueueDepth() {
+        this.inboundQueueDepth.incrementAndGet();
+    }
+
+    void decrementInboundQueueDepth() {
+        this.inboundQueueDepth.decrementAndGet();
+    }
+
+    void recordDropped() {
+        this.inboundDropped.increment();
+    }
+
+    public void recordDecode(final long nanos) {
+        this.decodeCount.increment();
+        this.decodeNanos.add(nanos);
+    }
+
+    /**
+     * Creates the packet which sends a play payload of this channel. Every
+     * play payload this channel sends is created here, which is also where
+     * it's counted.
+     *
+     * @param payload The encoded payload
+     * @param side The side the payload is sent from
+     * @return The packet
+     */
+    public Packet<?> createPlayPayload(final ChannelBuf payload, final EngineConnectionSide<?> side) {
+        this.packetsSent.increment();
+        this.bytesSent.add(((ByteBuf) payload).readableBytes());
+        return PacketUtil.createPlayPayload(this.key, payload, side);
+    }
+
+    /**
+     * Sends an already encoded play payload to all the given connections
+     * that support this channel. The payload is shared between all the
+     * outgoing packets instead of being encoded again for every connection.
+     * Every packet holds its own reference to it, which is released once
+     * that packet was sent.
+     *
+     * @param connections The connections to send the payload to
+     * @param payload The encoded payload, ownership is transferred
+     * @return A future which completes once every send completed, failures
+     *     are passed to the exception handler of this channel
+     */
+    public CompletableFuture<Void> sendPlayPayloadTo(final Collection<? extends EngineConnection> connections, final ChannelBuf payload) {
+        final List<EngineConnection> targets = new ArrayList<>(connections.size());
+        for (final EngineConnection connection : connections) {
+            if (!ConnectionUtil.isLoginPhase(connection) && this.connections.contains(ConnectionUtil.getConnection(connection))) {
+                targets.add(connection);
+            }
+        }
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        if (targets.isEmpty()) {
+            ChannelBuffers.release(payload);
+            future.complete(null);
+            return future;
+        }
+        final ByteBuf buf = (ByteBuf) payload;
+        final AtomicInteger remaining = new AtomicInteger(targets.size());
+        for (final EngineConnection connection : targets) {
+            // Every packet holds its own reference and reader index, so it doesn't matter in which order they are written
+            final ByteBuf packetBuf = buf.retainedDuplicate();
+            final Packet<?> mcPacket = this.createPlayPayload(ChannelBuffers.wrap(packetBuf), connection.side());
+            PacketSender.sendTo(connection, mcPacket, sendFuture -> {
+                packetBuf.release();
+                if (!sendFuture.isSuccess()) {
+                    this.handleException(connection, sendFuture.cause(), null);
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    future.complete(null);
+                }
+            });
+        }
+        ChannelBuffers.release(payload);
+        return future;
+    }
+
     public boolean checkSupported(final EngineConnection connection, final CompletableFuture<?> future) {
         if (!ConnectionUtil.getRegisteredChannels(connection).contains(this.key())) {
             this.handleException(connection, new ChannelNotSupportedException("The channel \"" + this.key() + "\" isn't supported."), future);
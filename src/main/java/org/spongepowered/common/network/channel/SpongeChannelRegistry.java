@@ -25,6 +25,7 @@
 package org.spongepowered.common.network.channel;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.Game;
 import org.spongepowered.api.ResourceKey;
@@ -43,6 +44,8 @@
 import org.spongepowered.api.registry.DuplicateRegistrationException;
 import org.spongepowered.api.util.Tuple;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.applaunch.config.common.NetworkCategory;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.accessor.network.protocol.game.ClientboundCustomPayloadPacketAccessor;
 import org.spongepowered.common.accessor.network.protocol.game.ServerboundCustomPayloadPacketAccessor;
 import org.spongepowered.common.accessor.network.protocol.login.ClientboundCustomQueryPacketAccessor;
@@ -63,12 +66,18 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiConsumer;
+import net.minecraft.network.Connection;
+import net.minecraft.network.chat.TextComponent;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientboundCustomPayloadPacket;
 import net.minecraft.network.protocol.game.ServerboundCustomPayloadPacket;
 import net.minecraft.network.protocol.login.ClientboundCustomQueryPacket;
 import net.minecraft.network.protocol.login.ServerboundCustomQueryPacket;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
 import net.minecraft.server.network.ServerLoginPacketListenerImpl;
 
 @SuppressWarnings("unchecked")
@@ -79,6 +88,8 @@ public class SpongeChannelRegistry implements ChannelRegistry {
 
     private final ChannelBufferAllocator bufferAllocator;
 
+    private volatile @Nullable ExecutorService workerPool;
+
     public SpongeChannelRegistry(final ChannelBufferAllocator bufferAllocator) {
         this.bufferAllocator = bufferAllocator;
 
@@ -267,6 +278,7 @@ private ChannelBuf encodeChannelRegistry() {
 
     private void handleChannelRegistry(final EngineConnection connection, final ChannelBuf payload) {
         final Set<ResourceKey> registered = ConnectionUtil.getRegisteredChannels(connection);
+        this.updateChannelConnections(connection, registered, false);
         registered.clear();
 
         final int count = payload.readVarInt();
@@ -275,6 +287,22 @@ private void handleChannelRegistry(final EngineConnection connection, final Chan
             payload.readByte(); // type
             registered.add(key);
         }
+        this.updateChannelConnections(connection, registered, true);
+    }
+
+    private void updateChannelConnections(final EngineConnection connection, final Collection<ResourceKey> keys, final boolean registered) {
+        final Connection networkManager = ConnectionUtil.getConnection(connection);
+        for (final ResourceKey key : keys) {
+            final SpongeChannel channel = this.channels.get(key);
+            if (channel == null) {
+                continue;
+            }
+            if (registered) {
+                channel.addConnection(networkManager);
+            } else {
+                channel.removeConnection(networkManager);
+            }
+        }
     }
 
     public boolean handlePlayPayload(final EngineConnection connection, final ServerboundCustomPayloadPacket packet) {
@@ -296,12 +324,13 @@ public boolean handlePlayPayload(final EngineConnection connection, final Client
     }
 
     private void handleRegisterChannel(final EngineConnection connection, final ChannelBuf payload,
-            final BiConsumer<Set<ResourceKey>, List<ResourceKey>> consumer) {
+            final BiConsumer<Set<ResourceKey>, List<ResourceKey>> consumer, final boolean register) {
         final Set<ResourceKey> registered = ConnectionUtil.getRegisteredChannels(connection);
         final int readerIndex = payload.readerIndex();
         try {
             final List<ResourceKey> modified = RegisterChannelUtil.decodePayload(payload);
             consumer.accept(registered, modified);
+            this.updateChannelConnections(connection, modified, register);
         } finally {
             payload.readerIndex(readerIndex);
         }
@@ -315,25 +344,105 @@ private boolean handlePlayPayload(final EngineConnection connection, final Resou
             this.handleChannelRegistry(connection, payload);
             return true;
         } else if (channelKey.equals(Constants.Channels.REGISTER_KEY)) {
-            this.handleRegisterChannel(connection, payload, Set::addAll);
+            this.handleRegisterChannel(connection, payload, Set::addAll, true);
             return true;
         } else if (channelKey.equals(Constants.Channels.UNREGISTER_KEY)) {
-            this.handleRegisterChannel(connection, payload, Set::removeAll);
+            this.handleRegisterChannel(connection, payload, Set::removeAll, false);
             return true;
         }
         final SpongeChannel channel = this.channels.get(channelKey);
         if (channel != null) {
-            try {
-                channel.handlePlayPayload(connection, payload);
-            } finally {
-                ChannelBuffers.release(payload);
-            }
+            this.handleChannelPayload(connection, channel, payload);
             return true;
         } else {
             return false;
         }
     }
 
+    private void handleChannelPayload(final EngineConnection connection, final SpongeChannel channel, final ChannelBuf payload) {
+        try {
+            channel.handlePlayPayload(connection, payload);
+        } catch (final Throwable ex) {
+            channel.handleException(connection, ex, null);
+        } finally {
+            ChannelBuffers.release(payload);
+        }
+    }
+
+    /**
+     * Dispatches a play payload which was received on the network thread to
+     * the thread selected by its channel. Payloads of the registry channels
+     * and unknown channels are always handled on the main thread.
+     *
+     * @param connection The connection which received the payload
+     * @param packet The payload packet, its data must be retained
+     * @param mainThread The executor of the main thread
+     */
+    public void dispatchPlayPayload(final EngineConnection connection, final ServerboundCustomPayloadPacket packet, final Executor mainThread) {
+        final ServerboundCustomPayloadPacketAccessor accessor = (ServerboundCustomPayloadPacketAccessor) packet;
+
+        final ResourceKey channelKey = (ResourceKey) (Object) accessor.accessor$identifier();
+        final ChannelBuf payload = (ChannelBuf) accessor.accessor$data();
+
+        final SpongeChannel channel = this.channels.get(channelKey);
+        if (channel == null) {
+            mainThread.execute(() -> this.handlePlayPayload(connection, channelKey, payload));
+            return;
+        }
+
+        final NetworkCategory.Execution execution = channel.getPlayPayloadExecution(payload);
+        if (execution == NetworkCategory.Execution.NETTY) {
+            this.handleChannelPayload(connection, channel, payload);
+            return;
+        }
+
+        final NetworkCategory network = SpongeConfigs.getCommon().get().network;
+        final InboundPayloadQueue queue = ConnectionUtil.getInboundPayloadQueue(connection);
+        if (!queue.tryReserve(network.inboundQueueCapacity)) {
+            ChannelBuffers.release(payload);
+            channel.recordDropped();
+            if (network.inboundQueueOverflow == NetworkCategory.OverflowPolicy.KICK) {
+                if (connection instanceof ServerGamePacketListenerImpl) {
+                    mainThread.execute(() -> ((ServerGamePacketListenerImpl) connection).disconnect(
+                            new TextComponent("Too many pending plugin messages")));
+                } else {
+                    ConnectionUtil.getConnection(connection).disconnect(new TextComponent("Too many pending plugin messages"));
+                }
+            }
+            return;
+        }
+
+        channel.incrementInboundQueueDepth();
+        final Runnable task = () -> {
+            queue.release();
+            channel.decrementInboundQueueDepth();
+            this.handleChannelPayload(connection, channel, payload);
+        };
+        if (execution == NetworkCategory.Execution.WORKER) {
+            queue.submit(task, this.getWorkerPool());
+        } else {
+            mainThread.execute(task);
+        }
+    }
+
+    private ExecutorService getWorkerPool() {
+        ExecutorService workerPool = this.workerPool;
+        if (workerPool == null) {
+            synchronized (this) {
+                workerPool = this.workerPool;
+                if (workerPool == null) {
+                    final int threads = Math.max(1, SpongeConfigs.getCommon().get().network.channelWorkerThreads);
+                    workerPool = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                            .setDaemon(true)
+                            .setNameFormat("Sponge Channel Worker #%d")
+                            .build());
+                    this.workerPool = workerPool;
+                }
+            }
+        }
+        return workerPool;
+    }
+
     public boolean handleLoginRequestPayload(final EngineConnection connection, final ClientboundCustomQueryPacket packet) {
         // Server -> Client request
 
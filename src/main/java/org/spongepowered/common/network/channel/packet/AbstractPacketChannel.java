@@ -40,6 +40,7 @@
 import org.spongepowered.api.network.channel.packet.ResponsePacketHandler;
 import org.spongepowered.api.network.channel.packet.TransactionalPacketBinding;
 import org.spongepowered.api.network.channel.packet.TransactionalPacketRegistry;
+import org.spongepowered.common.applaunch.config.common.NetworkCategory;
 import org.spongepowered.common.network.channel.ChannelBuffers;
 import org.spongepowered.common.network.channel.SpongeChannel;
 import org.spongepowered.common.network.channel.SpongeChannelRegistry;
@@ -108,15 +109,29 @@ protected void encodePayloadUnsafe(final ChannelBuf payload, final Packet packet
     protected <P extends Packet> P decodePayload(final Supplier<P> packetSupplier, final ChannelBuf payload) {
         final P packet = packetSupplier.get();
 
+        final long start = System.nanoTime();
         try {
             packet.read(payload.slice());
         } catch (final Exception ex) {
             throw new ChannelIOException("Failed to decode " + packet.getClass(), ex);
+        } finally {
+            this.recordDecode(System.nanoTime() - start);
         }
 
         return packet;
     }
 
+    protected NetworkCategory.Execution getBindingExecution(final int opcode) {
+        final SpongePacketBinding<?> binding = (SpongePacketBinding<?>) this.byOpcode.get(opcode);
+        if (binding != null) {
+            final NetworkCategory.@Nullable Execution execution = binding.getExecution();
+            if (execution != null) {
+                return execution;
+            }
+        }
+        return this.getExecution();
+    }
+
     protected SpongePacketBinding<Packet> requireBinding(final int opcode) {
         final SpongePacketBinding<Packet> binding = (SpongePacketBinding<Packet>) this.byOpcode.get(opcode);
         if (binding == null) {
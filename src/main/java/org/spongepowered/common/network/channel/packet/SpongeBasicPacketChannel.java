@@ -38,6 +38,7 @@
 import org.spongepowered.api.network.channel.packet.RequestPacketHandler;
 import org.spongepowered.api.network.channel.packet.basic.BasicHandshakePacketDispatcher;
 import org.spongepowered.api.network.channel.packet.basic.BasicPacketChannel;
+import org.spongepowered.common.applaunch.config.common.NetworkCategory;
 import org.spongepowered.common.network.channel.ChannelBuffers;
 import org.spongepowered.common.network.channel.ChannelExceptionUtil;
 import org.spongepowered.common.network.channel.ConnectionUtil;
@@ -176,7 +177,7 @@ public CompletableFuture<Void> sendTo(final EngineConnection connection, final P
                 return future;
             }
 
-            final net.minecraft.network.protocol.Packet<?> mcPacket = PacketUtil.createPlayPayload(SpongeBasicPacketChannel.this.key(), payload, connection.side());
+            final net.minecraft.network.protocol.Packet<?> mcPacket = SpongeBasicPacketChannel.this.createPlayPayload(payload, connection.side());
             PacketSender.sendTo(connection, mcPacket, future);
             return future;
         }
@@ -223,6 +224,19 @@ private int readOpcode(final ChannelBuf payload) {
         return payload.readByte() & 0xff;
     }
 
+    @Override
+    public NetworkCategory.Execution getPlayPayloadExecution(final ChannelBuf payload) {
+        if (payload.available() < 1) {
+            return this.getExecution();
+        }
+        final int readerIndex = payload.readerIndex();
+        try {
+            return this.getBindingExecution(this.readOpcode(payload));
+        } finally {
+            payload.readerIndex(readerIndex);
+        }
+    }
+
     @Override
     protected void handlePlayPayload(final EngineConnection connection, final ChannelBuf payload) {
         final int opcode = this.readOpcode(payload);
@@ -25,8 +25,10 @@
 package org.spongepowered.common.network.channel.packet;
 
 import com.google.common.base.MoreObjects;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.network.channel.packet.Packet;
 import org.spongepowered.api.network.channel.packet.PacketBinding;
+import org.spongepowered.common.applaunch.config.common.NetworkCategory;
 import org.spongepowered.common.network.channel.PacketUtil;
 
 import java.util.function.Supplier;
@@ -36,6 +38,7 @@
     private final int opcode;
     private final Class<P> packetType;
     private final Supplier<P> constructor;
+    private volatile NetworkCategory.@Nullable Execution execution;
 
     public SpongePacketBinding(final int opcode, final Class<P> packetType) {
         this.opcode = opcode;
@@ -57,6 +60,20 @@ public Supplier<P> getPacketConstructor() {
         return this.constructor;
     }
 
+    /**
+     * Gets the thread on which inbound packets of this binding are decoded
+     * and handled, or null to use the execution of the channel.
+     *
+     * @return The execution, if overridden
+     */
+    public NetworkCategory.@Nullable Execution getExecution() {
+        return this.execution;
+    }
+
+    public void setExecution(final NetworkCategory.@Nullable Execution execution) {
+        this.execution = execution;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
@@ -36,6 +36,8 @@
 import org.spongepowered.api.network.channel.packet.PacketChannel;
 import org.spongepowered.api.network.channel.packet.RequestPacket;
 import org.spongepowered.api.network.channel.packet.RequestPacketHandler;
+import org.spongepowered.common.applaunch.config.common.NetworkCategory;
+import org.spongepowered.common.network.channel.ChannelBuffers;
 import org.spongepowered.common.network.channel.ConnectionUtil;
 import org.spongepowered.common.network.channel.PacketSender;
 import org.spongepowered.common.network.channel.PacketUtil;
@@ -44,6 +46,7 @@
 import org.spongepowered.common.network.channel.TransactionStore;
 import org.spongepowered.common.util.Constants;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
@@ -119,7 +122,7 @@ private <P extends RequestPacket<R>, R extends Packet> void sendRequestPacketTo(
         } else {
             payload.writeVarLong(SpongePacketChannel.packTypeAndValue(SpongePacketChannel.TYPE_REQUEST, transactionId));
             payload.writeVarInt(binding.opcode());
-            mcPacketSupplier = () -> PacketUtil.createPlayPayload(this.key(), payload, side);
+            mcPacketSupplier = () -> this.createPlayPayload(payload, side);
         }
 
         try {
@@ -170,7 +173,7 @@ private <P extends RequestPacket<R>, R extends Packet> void sendResponsePacketTo
                 }
             } else {
                 payload.writeVarLong(SpongePacketChannel.packTypeAndValue(type, transactionId));
-                mcPacketSupplier = () -> PacketUtil.createPlayPayload(this.key(), payload, side);
+                mcPacketSupplier = () -> this.createPlayPayload(payload, side);
             }
         } else {
             // Dynamic opcode
@@ -188,7 +191,7 @@ private <P extends RequestPacket<R>, R extends Packet> void sendResponsePacketTo
             } else {
                 payload.writeVarLong(SpongePacketChannel.packTypeAndValue(SpongePacketChannel.TYPE_DYNAMIC_RESPONSE, transactionId));
                 payload.writeVarInt(opcode);
-                mcPacketSupplier = () -> PacketUtil.createPlayPayload(this.key(), payload, side);
+                mcPacketSupplier = () -> this.createPlayPayload(payload, side);
             }
         }
 
@@ -225,7 +228,7 @@ private <P extends Packet> void sendNormalPacketTo(final EngineConnection connec
             }
         } else {
             payload.writeVarLong(SpongePacketChannel.packTypeAndValue(SpongePacketChannel.TYPE_NORMAL, binding.opcode()));
-            mcPacketSupplier = () -> PacketUtil.createPlayPayload(this.key(), payload, side);
+            mcPacketSupplier = () -> this.createPlayPayload(payload, side);
         }
 
         try {
@@ -239,6 +242,51 @@ private <P extends Packet> void sendNormalPacketTo(final EngineConnection connec
         PacketSender.sendTo(connection, mcPacket, future);
     }
 
+    /**
+     * Sends the packet to all the given play phase connections which support
+     * this channel. Normal packets are encoded only once and the encoded
+     * payload is shared between all the connections, request packets need a
+     * transaction per connection and are sent individually.
+     *
+     * @param connections The connections to send the packet to
+     * @param packet The packet to send
+     * @return A future which completes once the packet was sent to every connection
+     */
+    public CompletableFuture<Void> sendTo(final Collection<? extends EngineConnection> connections, final Packet packet) {
+        Objects.requireNonNull(connections, "connections");
+        Objects.requireNonNull(packet, "packet");
+        if (packet instanceof RequestPacket) {
+            final CompletableFuture<?>[] futures = connections.stream()
+                    .filter(this::isSupportedBy)
+                    .map(connection -> this.sendTo(connection, packet))
+                    .toArray(CompletableFuture[]::new);
+            return CompletableFuture.allOf(futures);
+        }
+        final SpongePacketBinding<Packet> binding = (SpongePacketBinding) this.requireBinding(packet.getClass());
+        final ChannelBuf payload = this.registry().getBufferAllocator().buffer();
+        payload.writeVarLong(SpongePacketChannel.packTypeAndValue(SpongePacketChannel.TYPE_NORMAL, binding.opcode()));
+        try {
+            this.encodePayload(payload, packet);
+        } catch (final Throwable ex) {
+            ChannelBuffers.release(payload);
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+            return future;
+        }
+        return this.sendPlayPayloadTo(connections, payload);
+    }
+
+    /**
+     * Sends the packet to every play phase connection which supports this
+     * channel, see {@link #sendTo(Collection, Packet)}.
+     *
+     * @param packet The packet to send
+     * @return A future which completes once the packet was sent to every connection
+     */
+    public CompletableFuture<Void> sendToAll(final Packet packet) {
+        return this.sendTo(this.supportingConnections(), packet);
+    }
+
     @Override
     public <R extends Packet> CompletableFuture<R> sendTo(final EngineConnection connection, final RequestPacket<R> packet) {
         final CompletableFuture<R> future = new CompletableFuture<>();
@@ -343,6 +391,25 @@ private void handleNormalPacket(final EngineConnection connection, final int opc
         }
     }
 
+    @Override
+    public NetworkCategory.Execution getPlayPayloadExecution(final ChannelBuf payload) {
+        final int readerIndex = payload.readerIndex();
+        try {
+            final long typeAndValue = payload.readVarLong();
+            final int type = SpongePacketChannel.extractType(typeAndValue);
+            if (type == SpongePacketChannel.TYPE_NORMAL) {
+                return this.getBindingExecution(SpongePacketChannel.extractValue(typeAndValue));
+            } else if (type == SpongePacketChannel.TYPE_REQUEST) {
+                return this.getBindingExecution(payload.readVarInt());
+            }
+        } catch (final Exception ignored) {
+            // Malformed payloads are reported once they are handled
+        } finally {
+            payload.readerIndex(readerIndex);
+        }
+        return this.getExecution();
+    }
+
     @Override
     protected void handlePlayPayload(final EngineConnection connection, final ChannelBuf payload) {
         final long typeAndValue = payload.readVarLong();
@@ -32,7 +32,6 @@
 import org.spongepowered.common.network.channel.ConcurrentMultimap;
 import org.spongepowered.common.network.channel.ConnectionUtil;
 import org.spongepowered.common.network.channel.PacketSender;
-import org.spongepowered.common.network.channel.PacketUtil;
 import org.spongepowered.common.network.channel.SpongeChannel;
 
 import java.util.Collection;
@@ -116,11 +115,46 @@ public CompletableFuture<Void> sendTo(final EngineConnection connection, final C
             return future;
         }
 
-        final Packet<?> mcPacket = PacketUtil.createPlayPayload(this.parent.key(), payload, connection.side());
+        final Packet<?> mcPacket = this.parent.createPlayPayload(payload, connection.side());
         PacketSender.sendTo(connection, mcPacket, future);
         return future;
     }
 
+    /**
+     * Sends the payload to all the given play phase connections which support
+     * this channel. The payload is written only once and shared between all
+     * the connections.
+     *
+     * @param connections The connections to send the payload to
+     * @param consumer The payload writer
+     * @return A future which completes once the payload was sent to every connection
+     */
+    public CompletableFuture<Void> sendTo(final Collection<? extends EngineConnection> connections, final Consumer<ChannelBuf> consumer) {
+        Objects.requireNonNull(connections, "connections");
+        Objects.requireNonNull(consumer, "payload");
+
+        final ChannelBuf payload;
+        try {
+            payload = this.parent.encodePayload(consumer);
+        } catch (final Throwable ex) {
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+            return future;
+        }
+        return this.parent.sendPlayPayloadTo(connections, payload);
+    }
+
+    /**
+     * Sends the payload to every play phase connection which supports this
+     * channel, see {@link #sendTo(Collection, Consumer)}.
+     *
+     * @param consumer The payload writer
+     * @return A future which completes once the payload was sent to every connection
+     */
+    public CompletableFuture<Void> sendToAll(final Consumer<ChannelBuf> consumer) {
+        return this.sendTo(this.parent.supportingConnections(), consumer);
+    }
+
     private <C extends EngineConnection> Collection<RawPlayDataHandler<? super C>> getHandlers(final C connection) {
         return (Collection) SpongeChannel.getResponseHandlers(connection, this.handlers.get());
     }
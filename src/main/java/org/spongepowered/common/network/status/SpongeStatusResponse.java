@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.network.status;
 
+import com.google.gson.Gson;
+import net.minecraft.network.chat.Component;
 import net.minecraft.network.protocol.status.ServerStatus;
 import net.minecraft.server.MinecraftServer;
 import org.spongepowered.api.MinecraftVersion;
@@ -36,6 +38,7 @@
 import org.spongepowered.api.network.status.StatusResponse;
 import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.adventure.SpongeAdventure;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.util.NetworkUtil;
 
 import javax.annotation.Nullable;
@@ -43,9 +46,54 @@
 
 public final class SpongeStatusResponse {
 
+    @Nullable private static volatile CachedStatus cached;
+
     private SpongeStatusResponse() {
     }
 
+    /**
+     * Gets a status response which is shared between pings. It's rebuilt
+     * when the player count, description or favicon of the server status
+     * change, or once the configured cache interval passed. The returned
+     * response must not be modified.
+     *
+     * @param server The server
+     * @return The shared status response
+     */
+    public static ServerStatus getCached(final MinecraftServer server) {
+        final ServerStatus original = server.getStatus();
+        final long now = System.currentTimeMillis();
+        final CachedStatus cached = SpongeStatusResponse.cached;
+        if (cached != null && now < cached.expires && cached.matches(original)) {
+            return cached.response;
+        }
+        final long interval = SpongeConfigs.getCommon().get().network.statusCacheInterval;
+        final CachedStatus status = new CachedStatus(original, SpongeStatusResponse.create(server), now + interval);
+        SpongeStatusResponse.cached = status;
+        return status.response;
+    }
+
+    /**
+     * Serializes the given status response, the serialized form of the
+     * shared response is only created once.
+     *
+     * @param gson The gson instance of the status response packet
+     * @param response The response
+     * @return The serialized response
+     */
+    public static String toJson(final Gson gson, final ServerStatus response) {
+        final CachedStatus cached = SpongeStatusResponse.cached;
+        if (cached == null || cached.response != response) {
+            return gson.toJson(response);
+        }
+        String json = cached.json;
+        if (json == null) {
+            json = gson.toJson(response);
+            cached.json = json;
+        }
+        return json;
+    }
+
     @Nullable
     public static ServerStatus post(final MinecraftServer server, final StatusClient client) {
         return SpongeStatusResponse.call(SpongeStatusResponse.create(server), client);
@@ -104,6 +152,35 @@ private static ServerStatus.Version clone(@Nullable final ServerStatus.Version o
         return original != null ? new ServerStatus.Version(original.getName(), original.getProtocol()) : null;
     }
 
+    private static final class CachedStatus {
+
+        final ServerStatus response;
+        final long expires;
+        @Nullable final Component description;
+        @Nullable final String favicon;
+        final int maxPlayers;
+        final int numPlayers;
+        @Nullable volatile String json;
+
+        CachedStatus(final ServerStatus original, final ServerStatus response, final long expires) {
+            this.response = response;
+            this.expires = expires;
+            this.description = original.getDescription();
+            this.favicon = original.getFavicon();
+            final ServerStatus.Players players = original.getPlayers();
+            this.maxPlayers = players == null ? -1 : players.getMaxPlayers();
+            this.numPlayers = players == null ? -1 : players.getNumPlayers();
+        }
+
+        boolean matches(final ServerStatus original) {
+            final ServerStatus.Players players = original.getPlayers();
+            return this.description == original.getDescription()
+                    && this.favicon == original.getFavicon()
+                    && this.maxPlayers == (players == null ? -1 : players.getMaxPlayers())
+                    && this.numPlayers == (players == null ? -1 : players.getNumPlayers());
+        }
+    }
+
     public static String getMotd(final ServerStatus response) {
         return SpongeStatusResponse.getFirstLine(SpongeAdventure.legacySection(SpongeAdventure.asAdventure(response.getDescription())));
     }
@@ -0,0 +1,88 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network.status;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limits the number of server list pings per IP address within a fixed
+ * window of time.
+ */
+public final class StatusPingLimiter {
+
+    private static final int SWEEP_THRESHOLD = 1024;
+
+    private static final Map<InetAddress, Window> windows = new ConcurrentHashMap<>();
+    private static volatile long lastSweep;
+
+    private static final class Window {
+
+        long start;
+        int count;
+    }
+
+    /**
+     * Attempts to acquire a ping for the given address.
+     *
+     * @param address The remote address of the connection
+     * @param limit The maximum number of pings within the window, or zero
+     *     if unlimited
+     * @param windowMillis The length of the window, in milliseconds
+     * @return Whether the ping may be answered
+     */
+    public static boolean tryAcquire(final SocketAddress address, final int limit, final long windowMillis) {
+        if (limit <= 0 || !(address instanceof InetSocketAddress)) {
+            return true;
+        }
+        final InetAddress inetAddress = ((InetSocketAddress) address).getAddress();
+        if (inetAddress == null) {
+            return true;
+        }
+        final long now = System.currentTimeMillis();
+        if (StatusPingLimiter.windows.size() > StatusPingLimiter.SWEEP_THRESHOLD && now - StatusPingLimiter.lastSweep > windowMillis) {
+            StatusPingLimiter.lastSweep = now;
+            StatusPingLimiter.windows.values().removeIf(window -> {
+                synchronized (window) {
+                    return now - window.start >= windowMillis;
+                }
+            });
+        }
+        final Window window = StatusPingLimiter.windows.computeIfAbsent(inetAddress, key -> new Window());
+        synchronized (window) {
+            if (now - window.start >= windowMillis) {
+                window.start = now;
+                window.count = 0;
+            }
+            return ++window.count <= limit;
+        }
+    }
+
+    private StatusPingLimiter() {
+    }
+}
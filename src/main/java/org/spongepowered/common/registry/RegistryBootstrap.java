@@ -0,0 +1,192 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.registry;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.registry.RegistryType;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.util.graph.DirectedGraph;
+import org.spongepowered.common.util.graph.TopologicalOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Builds and registers a set of registries, building the default values of
+ * registries that do not depend on each other at the same time.
+ *
+ * <p>Registries are grouped into stages using the declared dependencies, a
+ * registry only ever being built once every registry it depends on has been
+ * registered. Registration itself always happens on the calling thread and
+ * in declaration order, so the resulting registries are identical to the
+ * ones a sequential bootstrap would create.</p>
+ */
+final class RegistryBootstrap {
+
+    private final Map<RegistryType<?>, Entry<?>> entries = new LinkedHashMap<>();
+
+    <T> RegistryBootstrap add(final RegistryType<T> type, final Supplier<@Nullable RegistryLoader<T>> loader,
+        final RegistryType<?>... dependencies) {
+        return this.add(type, loader, false, dependencies);
+    }
+
+    <T> RegistryBootstrap add(final RegistryType<T> type, final Supplier<@Nullable RegistryLoader<T>> loader, final boolean isDynamic,
+        final RegistryType<?>... dependencies) {
+        if (this.entries.put(type, new Entry<>(type, loader, isDynamic, Arrays.asList(dependencies))) != null) {
+            throw new IllegalArgumentException(String.format("Registry '%s' has already been added", type.location()));
+        }
+        return this;
+    }
+
+    /**
+     * Builds and registers every added registry into the given holder.
+     *
+     * @param holder The holder
+     * @param parallel Whether independent registries may be built concurrently
+     */
+    void register(final SpongeRegistryHolder holder, final boolean parallel) {
+        final List<List<Entry<?>>> stages = this.createStages();
+        final long start = System.nanoTime();
+        if (!parallel) {
+            for (final List<Entry<?>> stage : stages) {
+                for (final Entry<?> entry : stage) {
+                    entry.build();
+                    entry.register(holder);
+                }
+            }
+        } else {
+            final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge Registry Bootstrap #%d")
+                    .setDaemon(true)
+                    .build());
+            try {
+                for (final List<Entry<?>> stage : stages) {
+                    final List<CompletableFuture<?>> futures = new ArrayList<>(stage.size());
+                    for (final Entry<?> entry : stage) {
+                        futures.add(CompletableFuture.runAsync(entry::build, executor));
+                    }
+                    try {
+                        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+                    } catch (final CompletionException e) {
+                        throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                    }
+                    for (final Entry<?> entry : stage) {
+                        entry.register(holder);
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        final Logger logger = SpongeCommon.getLogger();
+        if (logger.isDebugEnabled()) {
+            for (final Entry<?> entry : this.entries.values()) {
+                logger.debug("Registry '{}' built in {} us and registered in {} us", entry.type.location(),
+                    TimeUnit.NANOSECONDS.toMicros(entry.buildNanos), TimeUnit.NANOSECONDS.toMicros(entry.registerNanos));
+            }
+        }
+        logger.info("Bootstrapped {} registries in {} stage(s) in {} ms", this.entries.size(), stages.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private List<List<Entry<?>>> createStages() {
+        final DirectedGraph<Entry<?>> graph = new DirectedGraph<>();
+        for (final Entry<?> entry : this.entries.values()) {
+            graph.add(entry);
+            for (final RegistryType<?> dependency : entry.dependencies) {
+                final Entry<?> dependencyEntry = this.entries.get(dependency);
+                if (dependencyEntry == null) {
+                    // Registered before the bootstrap, such as the Minecraft registries
+                    continue;
+                }
+                graph.addEdge(entry, dependencyEntry);
+            }
+        }
+
+        final List<List<Entry<?>>> stages = TopologicalOrder.createStages(graph);
+        // Keep the declaration order within each stage
+        final Map<Entry<?>, Integer> declarationOrder = new HashMap<>();
+        for (final Entry<?> entry : this.entries.values()) {
+            declarationOrder.put(entry, declarationOrder.size());
+        }
+        for (final List<Entry<?>> stage : stages) {
+            stage.sort(Comparator.comparingInt(declarationOrder::get));
+        }
+        return stages;
+    }
+
+    private static final class Entry<T> {
+
+        final RegistryType<T> type;
+        final Supplier<@Nullable RegistryLoader<T>> loaderSupplier;
+        final boolean isDynamic;
+        final List<RegistryType<?>> dependencies;
+
+        private @Nullable RegistryLoader<T> loader;
+        long buildNanos;
+        long registerNanos;
+
+        Entry(final RegistryType<T> type, final Supplier<@Nullable RegistryLoader<T>> loaderSupplier, final boolean isDynamic,
+            final List<RegistryType<?>> dependencies) {
+            this.type = type;
+            this.loaderSupplier = loaderSupplier;
+            this.isDynamic = isDynamic;
+            this.dependencies = dependencies;
+        }
+
+        void build() {
+            final long start = System.nanoTime();
+            this.loader = this.loaderSupplier.get();
+            this.buildNanos = System.nanoTime() - start;
+        }
+
+        void register(final SpongeRegistryHolder holder) {
+            final long start = System.nanoTime();
+            holder.createRegistry(this.type, this.loader, this.isDynamic);
+            this.registerNanos = System.nanoTime() - start;
+            this.loader = null;
+        }
+
+        @Override
+        public String toString() {
+            return this.type.location().toString();
+        }
+    }
+}
@@ -25,58 +25,60 @@
 package org.spongepowered.common.registry;
 
 import org.spongepowered.api.registry.RegistryTypes;
-import org.spongepowered.api.service.economy.Currency;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 
 public final class SpongeRegistries {
 
     public static void registerGlobalRegistries(final SpongeRegistryHolder holder) {
         VanillaRegistryLoader.load(holder);
 
-        holder.createRegistry(RegistryTypes.ACCOUNT_DELETION_RESULT_TYPE, SpongeRegistryLoaders.accountDeletionResultType());
-        holder.createRegistry(RegistryTypes.BAN_TYPE, SpongeRegistryLoaders.banType());
-        holder.createRegistry(SpongeRegistryTypes.TRANSACTION_TYPE, SpongeRegistryLoaders.blockTransactionTypes());
-        holder.createRegistry(RegistryTypes.BODY_PART, SpongeRegistryLoaders.bodyPart());
-        holder.createRegistry(RegistryTypes.REGISTRY_KEYED_VALUE_PARAMETER, SpongeRegistryLoaders.valueParameter());
-        holder.createRegistry(RegistryTypes.CLICK_TYPE, SpongeRegistryLoaders.clickType());
-        holder.createRegistry(RegistryTypes.CAT_TYPE, SpongeRegistryLoaders.catType());
-        holder.createRegistry(RegistryTypes.CLIENT_COMPLETION_KEY, SpongeRegistryLoaders.clientCompletionKey());
-        holder.createRegistry(RegistryTypes.CLIENT_COMPLETION_TYPE, SpongeRegistryLoaders.clientCompletionType());
-        holder.createRegistry(RegistryTypes.COMMAND_REGISTRAR_TYPE, SpongeRegistryLoaders.commandRegistrarType(), true);
-        holder.createRegistry(RegistryTypes.CURRENCY, (RegistryLoader<Currency>) null, true);
-        holder.createRegistry(RegistryTypes.DAMAGE_TYPE, SpongeRegistryLoaders.damageType());
-        holder.createRegistry(RegistryTypes.DAMAGE_MODIFIER_TYPE, SpongeRegistryLoaders.damageModifierType());
-        holder.createRegistry(RegistryTypes.DISMOUNT_TYPE, SpongeRegistryLoaders.dismountType());
-        holder.createRegistry(RegistryTypes.DISPLAY_SLOT, SpongeRegistryLoaders.displaySlot());
-        holder.createRegistry(RegistryTypes.GOAL_EXECUTOR_TYPE, SpongeRegistryLoaders.goalExecutorType());
-        holder.createRegistry(RegistryTypes.GOAL_TYPE, SpongeRegistryLoaders.goalType());
-        holder.createRegistry(RegistryTypes.HORSE_COLOR, SpongeRegistryLoaders.horseColor());
-        holder.createRegistry(RegistryTypes.HORSE_STYLE, SpongeRegistryLoaders.horseStyle());
-        holder.createRegistry(RegistryTypes.LLAMA_TYPE, SpongeRegistryLoaders.llamaType());
-        holder.createRegistry(RegistryTypes.MATTER_TYPE, SpongeRegistryLoaders.matterType());
-        holder.createRegistry(RegistryTypes.MOVEMENT_TYPE, SpongeRegistryLoaders.movementType());
-        holder.createRegistry(RegistryTypes.MUSIC_DISC, SpongeRegistryLoaders.musicDisc());
-        holder.createRegistry(RegistryTypes.NOTE_PITCH, SpongeRegistryLoaders.notePitch());
-        holder.createRegistry(RegistryTypes.OPERATION, SpongeRegistryLoaders.operation());
-        holder.createRegistry(RegistryTypes.PALETTE_TYPE, SpongeRegistryLoaders.paletteType());
-        holder.createRegistry(RegistryTypes.PARROT_TYPE, SpongeRegistryLoaders.parrotType());
-        holder.createRegistry(RegistryTypes.PARTICLE_OPTION, SpongeRegistryLoaders.particleOption());
-        holder.createRegistry(RegistryTypes.PLACEHOLDER_PARSER, SpongeRegistryLoaders.placeholderParser(), true);
-        holder.createRegistry(RegistryTypes.PORTAL_TYPE, SpongeRegistryLoaders.portalType());
-        holder.createRegistry(RegistryTypes.QUERY_TYPE, SpongeRegistryLoaders.queryType());
-        holder.createRegistry(RegistryTypes.RABBIT_TYPE, SpongeRegistryLoaders.rabbitType());
-        holder.createRegistry(RegistryTypes.RESOLVE_OPERATION, SpongeRegistryLoaders.resolveOperation());
-        holder.createRegistry(RegistryTypes.SELECTOR_TYPE, SpongeRegistryLoaders.selectorType());
-        holder.createRegistry(RegistryTypes.SELECTOR_SORT_ALGORITHM, SpongeRegistryLoaders.selectorSortAlgorithm());
-        holder.createRegistry(RegistryTypes.SKIN_PART, SpongeRegistryLoaders.skinPart());
-        holder.createRegistry(RegistryTypes.SPAWN_TYPE, SpongeRegistryLoaders.spawnType());
-        holder.createRegistry(RegistryTypes.TELEPORT_HELPER_FILTER, SpongeRegistryLoaders.teleportHelperFilter());
-        holder.createRegistry(SpongeRegistryTypes.VALIDATION_TYPE, SpongeRegistryLoaders.validationType());
-        holder.createRegistry(RegistryTypes.WEATHER_TYPE, SpongeRegistryLoaders.weather());
-        holder.createRegistry(RegistryTypes.DATA_FORMAT, SpongeRegistryLoaders.dataFormat());
-        holder.createRegistry(RegistryTypes.MAP_COLOR_TYPE, SpongeRegistryLoaders.mapColorType());
-        holder.createRegistry(RegistryTypes.MAP_DECORATION_ORIENTATION, SpongeRegistryLoaders.mapDecorationOrientation());
-        holder.createRegistry(RegistryTypes.MAP_DECORATION_TYPE, SpongeRegistryLoaders.mapDecorationType());
-        holder.createRegistry(RegistryTypes.MAP_SHADE, SpongeRegistryLoaders.mapShade());
+        new RegistryBootstrap()
+            .add(RegistryTypes.ACCOUNT_DELETION_RESULT_TYPE, SpongeRegistryLoaders::accountDeletionResultType)
+            .add(RegistryTypes.BAN_TYPE, SpongeRegistryLoaders::banType)
+            .add(SpongeRegistryTypes.TRANSACTION_TYPE, SpongeRegistryLoaders::blockTransactionTypes)
+            .add(RegistryTypes.BODY_PART, SpongeRegistryLoaders::bodyPart)
+            .add(RegistryTypes.REGISTRY_KEYED_VALUE_PARAMETER, SpongeRegistryLoaders::valueParameter)
+            .add(RegistryTypes.CLICK_TYPE, SpongeRegistryLoaders::clickType)
+            .add(RegistryTypes.CAT_TYPE, SpongeRegistryLoaders::catType)
+            .add(RegistryTypes.CLIENT_COMPLETION_KEY, SpongeRegistryLoaders::clientCompletionKey)
+            .add(RegistryTypes.CLIENT_COMPLETION_TYPE, SpongeRegistryLoaders::clientCompletionType)
+            .add(RegistryTypes.COMMAND_REGISTRAR_TYPE, SpongeRegistryLoaders::commandRegistrarType, true)
+            .add(RegistryTypes.CURRENCY, () -> null, true)
+            .add(RegistryTypes.DAMAGE_TYPE, SpongeRegistryLoaders::damageType)
+            .add(RegistryTypes.DAMAGE_MODIFIER_TYPE, SpongeRegistryLoaders::damageModifierType)
+            .add(RegistryTypes.DISMOUNT_TYPE, SpongeRegistryLoaders::dismountType)
+            .add(RegistryTypes.DISPLAY_SLOT, SpongeRegistryLoaders::displaySlot)
+            .add(RegistryTypes.GOAL_EXECUTOR_TYPE, SpongeRegistryLoaders::goalExecutorType)
+            .add(RegistryTypes.GOAL_TYPE, SpongeRegistryLoaders::goalType)
+            .add(RegistryTypes.HORSE_COLOR, SpongeRegistryLoaders::horseColor)
+            .add(RegistryTypes.HORSE_STYLE, SpongeRegistryLoaders::horseStyle)
+            .add(RegistryTypes.LLAMA_TYPE, SpongeRegistryLoaders::llamaType)
+            .add(RegistryTypes.MATTER_TYPE, SpongeRegistryLoaders::matterType)
+            .add(RegistryTypes.MOVEMENT_TYPE, SpongeRegistryLoaders::movementType)
+            .add(RegistryTypes.MUSIC_DISC, SpongeRegistryLoaders::musicDisc)
+            .add(RegistryTypes.NOTE_PITCH, SpongeRegistryLoaders::notePitch)
+            .add(RegistryTypes.OPERATION, SpongeRegistryLoaders::operation)
+            .add(RegistryTypes.PALETTE_TYPE, SpongeRegistryLoaders::paletteType)
+            .add(RegistryTypes.PARROT_TYPE, SpongeRegistryLoaders::parrotType)
+            .add(RegistryTypes.PARTICLE_OPTION, SpongeRegistryLoaders::particleOption)
+            .add(RegistryTypes.PLACEHOLDER_PARSER, SpongeRegistryLoaders::placeholderParser, true)
+            .add(RegistryTypes.PORTAL_TYPE, SpongeRegistryLoaders::portalType)
+            .add(RegistryTypes.QUERY_TYPE, SpongeRegistryLoaders::queryType)
+            .add(RegistryTypes.RABBIT_TYPE, SpongeRegistryLoaders::rabbitType)
+            .add(RegistryTypes.RESOLVE_OPERATION, SpongeRegistryLoaders::resolveOperation)
+            .add(RegistryTypes.SELECTOR_TYPE, SpongeRegistryLoaders::selectorType)
+            .add(RegistryTypes.SELECTOR_SORT_ALGORITHM, SpongeRegistryLoaders::selectorSortAlgorithm)
+            .add(RegistryTypes.SKIN_PART, SpongeRegistryLoaders::skinPart)
+            .add(RegistryTypes.SPAWN_TYPE, SpongeRegistryLoaders::spawnType)
+            .add(RegistryTypes.TELEPORT_HELPER_FILTER, SpongeRegistryLoaders::teleportHelperFilter)
+            .add(SpongeRegistryTypes.VALIDATION_TYPE, SpongeRegistryLoaders::validationType)
+            .add(RegistryTypes.WEATHER_TYPE, SpongeRegistryLoaders::weather)
+            .add(RegistryTypes.DATA_FORMAT, SpongeRegistryLoaders::dataFormat)
+            .add(RegistryTypes.MAP_COLOR_TYPE, SpongeRegistryLoaders::mapColorType)
+            .add(RegistryTypes.MAP_DECORATION_ORIENTATION, SpongeRegistryLoaders::mapDecorationOrientation)
+            .add(RegistryTypes.MAP_DECORATION_TYPE, SpongeRegistryLoaders::mapDecorationType, RegistryTypes.DYE_COLOR)
+            .add(RegistryTypes.MAP_SHADE, SpongeRegistryLoaders::mapShade)
+            .register(holder, SpongeConfigs.getCommon().get().optimizations.parallelRegistryBootstrap);
     }
 
     public static void registerServerRegistries(final SpongeRegistryHolder holder) {
@@ -85,6 +85,9 @@ public void stopTiming() {
         this.minuteData.curTickTotal = this.record.curTickTotal;
         this.minuteData.curTickCount = 1;
         boolean violated = this.isViolated();
+        if (TimingsManager.lagSpikeDumpThreshold > 0 && this.record.curTickTotal > TimingsManager.lagSpikeDumpThreshold) {
+            TimingsExport.requestLagSpikeDump(this.record.curTickTotal);
+        }
         this.minuteData.processTick(violated);
         TimingsManager.TIMINGS_TICK.processTick(violated);
         this.processTick(violated);
@@ -95,7 +98,11 @@ public void stopTiming() {
             this.minuteData.reset();
         }
         if (TimingHistory.timedTicks % Timings.getHistoryInterval() == 0) {
-            TimingsManager.HISTORY.add(new TimingHistory());
+            final TimingHistory history = new TimingHistory();
+            TimingsManager.HISTORY.add(history);
+            if (TimingsManager.RECORDER != null) {
+                TimingsManager.RECORDER.add(history);
+            }
             TimingsManager.resetTimings();
         }
         TimingsExport.reportTimings();
@@ -45,6 +45,7 @@ public final class SpongeTimingsFactory implements TimingsFactory {
     private boolean verboseEnabled = true;
     private int historyInterval = -1;
     private int historyLength = -1;
+    private int recorderMinutes = 0;
     private final boolean moduleEnabled;
 
     public SpongeTimingsFactory() {
@@ -55,10 +56,14 @@ public TimingsFactory init() {
         final TimingsCategory category = SpongeConfigs.getCommon().get().timings;
         TimingsManager.privacy = category.serverNamePrivacy;
         TimingsManager.hiddenConfigs.addAll(category.hiddenConfigEntries);
+        TimingsManager.localExport = category.localExport;
+        TimingsManager.lagSpikeDumpThreshold = TimeUnit.MILLISECONDS.toNanos(Math.max(0, category.lagSpikeDumpThreshold));
+        TimingsManager.lagSpikeDumpCooldown = TimeUnit.SECONDS.toMillis(Math.max(0, category.lagSpikeDumpCooldown));
         this.setVerboseTimingsEnabled(category.verbose);
         this.setTimingsEnabled(this.moduleEnabled && category.enabled);
         this.setHistoryInterval(category.historyInterval);
         this.setHistoryLength(category.historyLength);
+        this.setRecorderMinutes(category.recorderMinutes);
 
         SpongeCommon.getLogger().debug("Sponge Timings: " + this.timingsEnabled +
                                     " - Verbose: " + this.verboseEnabled +
@@ -122,6 +127,27 @@ public void setHistoryInterval(int interval) {
         if (this.historyLength != -1) {
             this.setHistoryLength(this.historyLength);
         }
+        this.setRecorderMinutes(this.recorderMinutes);
+    }
+
+    /**
+     * Sets how many minutes of history frames are kept for dumps, unaffected
+     * by the history length and timings resets.
+     *
+     * @param minutes The minutes to keep, 0 to disable recording
+     */
+    public void setRecorderMinutes(int minutes) {
+        this.recorderMinutes = Math.max(0, minutes);
+        if (this.recorderMinutes == 0 || this.historyInterval == -1) {
+            TimingsManager.RECORDER = null;
+            return;
+        }
+        Queue<TimingHistory> oldQueue = TimingsManager.RECORDER;
+        int frames = (int) Math.ceil(this.recorderMinutes * 1200D / this.historyInterval);
+        TimingsManager.RECORDER = EvictingQueue.create(frames);
+        if (oldQueue != null) {
+            TimingsManager.RECORDER.addAll(oldQueue);
+        }
     }
 
     @Override
@@ -166,6 +192,16 @@ public void generateReport(Audience channel) {
         TimingsExport.requestingReport.add(channel);
     }
 
+    /**
+     * Writes a report to disk at the end of the current tick, using the
+     * recorded history if recording is enabled.
+     *
+     * @param channel The audience to notify
+     */
+    public static void dumpReport(Audience channel) {
+        TimingsExport.requestingDump.add(channel);
+    }
+
     public static long getCost() {
         return TimingsExport.getCost();
     }
@@ -40,6 +40,7 @@
 import org.spongepowered.api.Platform;
 import org.spongepowered.api.ResourceKey;
 import org.spongepowered.api.Sponge;
+import org.spongepowered.api.adventure.Audiences;
 import org.spongepowered.api.block.entity.BlockEntityType;
 import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.network.RconConnection;
@@ -60,28 +61,46 @@
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.GZIPOutputStream;
 
+import javax.annotation.Nullable;
+
 class TimingsExport extends Thread {
 
     private static final Joiner AUTHOR_LIST_JOINER = Joiner.on(", ");
     private static final Joiner RUNTIME_FLAG_JOINER = Joiner.on(" ");
     private static final Joiner CONFIG_PATH_JOINER = Joiner.on(".");
 
+    private static final String VIEWER_RESOURCE = "/assets/sponge/timings-viewer.html";
+    private static final String VIEWER_FILE = "timings-viewer.html";
+    private static final DateTimeFormatter DUMP_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss");
+
     private final TimingsReportListener listeners;
     private final JsonObject out;
     private final TimingHistory[] history;
+    @Nullable private final Path exportFile;
     private static long lastReport = 0;
+    private static long lastLagSpikeDump = 0;
     final static List<Audience> requestingReport = Lists.newArrayList();
+    final static List<Audience> requestingDump = Lists.newArrayList();
 
-    TimingsExport(TimingsReportListener listeners, JsonObject out, TimingHistory[] history) {
-        super("Timings paste thread");
+    TimingsExport(TimingsReportListener listeners, JsonObject out, TimingHistory[] history, @Nullable Path exportFile) {
+        super(exportFile == null ? "Timings paste thread" : "Timings export thread");
         this.listeners = listeners;
         this.out = out;
         this.history = history;
+        this.exportFile = exportFile;
     }
 
     private static String getServerName() {
@@ -92,6 +111,7 @@ private static String getServerName() {
      * Builds an XML report of the timings to be uploaded for parsing.
      */
     static void reportTimings() {
+        TimingsExport.dumpTimings();
         if (TimingsExport.requestingReport.isEmpty()) {
             return;
         }
@@ -114,14 +134,70 @@ static void reportTimings() {
         listeners.send(Component.text("Preparing Timings Report...", NamedTextColor.GREEN));
         TimingsExport.lastReport = now;
 
+        final TimingHistory[] history = TimingsExport.collectHistory(TimingsManager.HISTORY);
+        new TimingsExport(listeners, TimingsExport.buildReport(history, TimingsManager.timingStart), history,
+                TimingsManager.localExport ? TimingsExport.newExportFile("timings-report-") : null).start();
+    }
+
+    /**
+     * Writes the requested dumps to disk, from the recorded history if
+     * recording is enabled. Unlike uploaded reports these are not rate
+     * limited, so they can be taken right after a lag spike.
+     */
+    private static void dumpTimings() {
+        if (TimingsExport.requestingDump.isEmpty()) {
+            return;
+        }
+        TimingsReportListener listeners = new TimingsReportListener(TimingsExport.requestingDump);
+        TimingsExport.requestingDump.clear();
+        listeners.send(Component.text("Preparing Timings Dump...", NamedTextColor.GREEN));
+
+        final TimingHistory[] history = TimingsExport.collectHistory(TimingsManager.RECORDER == null ? TimingsManager.HISTORY : TimingsManager.RECORDER);
+        // Recorded frames can reach back past the last reset
+        final long start = Math.min(TimingsManager.timingStart, history[0].startTime * 1000);
+        new TimingsExport(listeners, TimingsExport.buildReport(history, start), history, TimingsExport.newExportFile("timings-dump-")).start();
+    }
+
+    /**
+     * Requests a dump after a tick took too long, unless one was written
+     * within the configured cooldown.
+     *
+     * @param tickTime The time the tick took, in nanoseconds
+     */
+    static void requestLagSpikeDump(long tickTime) {
+        long now = System.currentTimeMillis();
+        if (now - TimingsExport.lastLagSpikeDump < TimingsManager.lagSpikeDumpCooldown || TimingsExport.requestingDump.contains(Audiences.system())) {
+            return;
+        }
+        TimingsExport.lastLagSpikeDump = now;
+        SpongeCommon.getLogger().warn("Tick took {}ms, writing a timings dump", TimeUnit.NANOSECONDS.toMillis(tickTime));
+        TimingsExport.requestingDump.add(Audiences.system());
+    }
+
+    private static Path newExportFile(String prefix) {
+        return SpongeCommon.getGameDirectory().resolve("dumps")
+                .resolve(prefix + TimingsExport.DUMP_DATE_FORMAT.format(LocalDateTime.now()) + ".json.gz");
+    }
+
+    private static TimingHistory[] collectHistory(Collection<TimingHistory> frames) {
+        TimingHistory[] history = new TimingHistory[frames.size() + 1];
+        int i = 0;
+        for (TimingHistory timingHistory : frames) {
+            history[i++] = timingHistory;
+        }
+        history[i] = new TimingHistory(); // Current snapshot
+        return history;
+    }
+
+    private static JsonObject buildReport(TimingHistory[] history, long start) {
         Platform platform = SpongeCommon.getGame().platform();
         JsonObjectBuilder builder = JSONUtil.objectBuilder()
                 // Get some basic system details about the server
                 .add("version", platform.container(IMPLEMENTATION).getMetadata().getVersion())
                 .add("maxplayers", SpongeCommon.getGame().server().maxPlayers())
-                .add("start", TimingsManager.timingStart / 1000)
+                .add("start", start / 1000)
                 .add("end", System.currentTimeMillis() / 1000)
-                .add("sampletime", (System.currentTimeMillis() - TimingsManager.timingStart) / 1000);
+                .add("sampletime", (System.currentTimeMillis() - start) / 1000);
         if (!TimingsManager.privacy) {
             builder.add("server", TimingsExport.getServerName())
                     .add("motd", SpongeAdventure.plain(Sponge.server().motd()))
@@ -147,20 +223,11 @@ static void reportTimings() {
 
         Set<BlockEntityType> blockEntityTypeSet = Sets.newHashSet();
         Set<EntityType<?>> entityTypeSet = Sets.newHashSet();
-
-        int size = TimingsManager.HISTORY.size();
-        TimingHistory[] history = new TimingHistory[size + 1];
-        int i = 0;
-        for (TimingHistory timingHistory : TimingsManager.HISTORY) {
+        for (TimingHistory timingHistory : history) {
             blockEntityTypeSet.addAll(timingHistory.tileEntityTypeSet);
             entityTypeSet.addAll(timingHistory.entityTypeSet);
-            history[i++] = timingHistory;
         }
 
-        history[i] = new TimingHistory(); // Current snapshot
-        blockEntityTypeSet.addAll(history[i].tileEntityTypeSet);
-        entityTypeSet.addAll(history[i].entityTypeSet);
-
         JsonObjectBuilder handlersBuilder = JSONUtil.objectBuilder();
         for (TimingIdentifier.TimingGroup group : TimingIdentifier.GROUP_MAP.values()) {
             for (TimingHandler id : group.handlers) {
@@ -210,7 +277,7 @@ static void reportTimings() {
         builder.add("config", JSONUtil.objectBuilder()
                 .add("sponge", TimingsExport.serializeConfigNode(SpongeConfigs.getCommon().getNode())));
 
-        new TimingsExport(listeners, builder.build(), history).start();
+        return builder.build();
     }
 
     static long getCost() {
@@ -293,6 +360,11 @@ public synchronized void start() {
     public void run() {
         this.out.add("data", JSONUtil.mapArray(this.history, TimingHistory::export));
 
+        if (this.exportFile != null) {
+            this.writeExport(this.exportFile);
+            return;
+        }
+
         String response = null;
         String timingsURL = null;
         try {
@@ -349,6 +421,30 @@ public void run() {
         }
     }
 
+    private void writeExport(Path file) {
+        String location = null;
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+                out.write(JSONUtil.toString(this.out).getBytes(StandardCharsets.UTF_8));
+            }
+            // Keep a copy of the viewer next to the reports, it opens them without any network access
+            try (InputStream viewer = TimingsExport.class.getResourceAsStream(TimingsExport.VIEWER_RESOURCE)) {
+                if (viewer != null) {
+                    Files.copy(viewer, file.resolveSibling(TimingsExport.VIEWER_FILE), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            location = file.toAbsolutePath().normalize().toString();
+            this.listeners.send(Component.text("Timings report written to " + location + ", open it with "
+                    + TimingsExport.VIEWER_FILE + " in the same directory", NamedTextColor.GREEN));
+        } catch (IOException ex) {
+            this.listeners.send(Component.text("Error writing timings, check your logs for more information", NamedTextColor.RED));
+            SpongeCommon.getLogger().error("Could not write timings to {}", file, ex);
+        } finally {
+            this.listeners.done(location);
+        }
+    }
+
     private String getResponse(HttpURLConnection con) throws IOException {
         InputStream is = null;
         try {
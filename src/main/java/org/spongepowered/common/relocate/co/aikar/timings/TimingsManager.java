@@ -40,6 +40,8 @@
 import java.util.Map;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 public final class TimingsManager {
 
     static final Map<TimingIdentifier, TimingHandler> TIMING_MAP = Collections.synchronizedMap(
@@ -53,11 +55,18 @@ public final class TimingsManager {
     public static final Timing PLUGIN_GROUP_HANDLER = SpongeTimingsFactory.ofSafe("Plugins");
     public static List<String> hiddenConfigs = new ArrayList<>();
     public static boolean privacy = false;
+    // Whether reports are written to disk instead of being uploaded
+    public static boolean localExport = false;
+    // Ticks taking longer than this many nanoseconds write a timings dump, 0 disables this
+    static long lagSpikeDumpThreshold = 0;
+    static long lagSpikeDumpCooldown = 0;
 
     static final Collection<TimingHandler> HANDLERS = new ArrayDeque<>();
     static final ArrayDeque<TimingHistory.MinuteReport> MINUTE_REPORTS = new ArrayDeque<>();
 
     static EvictingQueue<TimingHistory> HISTORY = EvictingQueue.create(12);
+    // Keeps the last history frames regardless of resets, so they can be dumped at any time
+    @Nullable static EvictingQueue<TimingHistory> RECORDER;
     static TimingHandler CURRENT;
     static long timingStart = 0;
     static long historyStart = 0;
@@ -0,0 +1,236 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scoreboard;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Coalesces scoreboard changes so that sending the result leaves a client
+ * in the same state as sending every change in order.
+ *
+ * <p>The last change to a score, objective, team or display slot wins.
+ * Objectives and teams that are created and removed again are dropped
+ * together with everything queued for them, unless a display slot still
+ * shows the objective. Removing an objective or a team also drops the
+ * changes queued for it. Everything else keeps its order.</p>
+ *
+ * @param <P> The packet type
+ */
+final class ScoreboardPacketCoalescer<P> {
+
+    private final LinkedHashMap<Object, P> packets = new LinkedHashMap<>();
+    // Objectives and teams created since the last drain, by name
+    private final Map<String, Object> addedObjectives = new HashMap<>();
+    private final Map<String, Object> addedTeams = new HashMap<>();
+    // The objective each queued display packet shows, by slot
+    private final Map<Integer, String> displayedObjectives = new HashMap<>();
+    private int queued;
+
+    /**
+     * Gets how many changes were queued since the last drain.
+     *
+     * @return The amount of queued changes
+     */
+    int queued() {
+        return this.queued;
+    }
+
+    /**
+     * Queues a change or removal of a score.
+     *
+     * @param objective The objective, or null to reset the owner in every objective
+     * @param owner The owner of the score
+     * @param packet The packet
+     */
+    void score(final @Nullable String objective, final String owner, final P packet) {
+        this.queued++;
+        if (objective == null) {
+            // Resets the owner in every objective, which overrides all pending changes to it
+            this.packets.keySet().removeIf(key -> key instanceof Key && ((Key) key).type == KeyType.SCORE
+                    && owner.equals(((Key) key).second));
+        }
+        this.replace(new Key(KeyType.SCORE, objective, owner), packet);
+    }
+
+    void addObjective(final String name, final P packet) {
+        this.queued++;
+        final Object key = new Object();
+        this.addedObjectives.put(name, key);
+        this.packets.put(key, packet);
+    }
+
+    void changeObjective(final String name, final P packet) {
+        this.queued++;
+        this.replace(new Key(KeyType.OBJECTIVE, name, null), packet);
+    }
+
+    void removeObjective(final String name, final P packet) {
+        this.queued++;
+        final Object added = this.addedObjectives.remove(name);
+        boolean displayed = false;
+        final Iterator<Map.Entry<Object, P>> iterator = this.packets.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Object key = iterator.next().getKey();
+            if (!(key instanceof Key)) {
+                continue;
+            }
+            final Key typed = (Key) key;
+            if ((typed.type == KeyType.SCORE || typed.type == KeyType.OBJECTIVE) && name.equals(typed.first)) {
+                // Removing the objective removes its scores on the client as well
+                iterator.remove();
+            } else if (typed.type == KeyType.DISPLAY && name.equals(this.displayedObjectives.get(typed.first))) {
+                displayed = true;
+            }
+        }
+        if (added != null && !displayed) {
+            this.packets.remove(added);
+            return;
+        }
+        // The display packet replaced what the slot showed before, so the client has to learn
+        // about the objective in order to clear the slot again when it is removed
+        this.packets.put(new Object(), packet);
+    }
+
+    void display(final int slot, final @Nullable String objective, final P packet) {
+        this.queued++;
+        this.displayedObjectives.put(slot, objective);
+        this.replace(new Key(KeyType.DISPLAY, slot, null), packet);
+    }
+
+    void addTeam(final String name, final P packet) {
+        this.queued++;
+        final Object key = new Object();
+        this.addedTeams.put(name, key);
+        this.packets.put(key, packet);
+    }
+
+    void changeTeam(final String name, final P packet) {
+        this.queued++;
+        this.replace(new Key(KeyType.TEAM, name, null), packet);
+    }
+
+    /**
+     * Queues players joining or leaving a team, these depend on their order.
+     *
+     * @param name The team name
+     * @param packet The packet
+     */
+    void teamMembers(final String name, final P packet) {
+        this.queued++;
+        this.packets.put(new TeamMembers(name), packet);
+    }
+
+    void removeTeam(final String name, final P packet) {
+        this.queued++;
+        final Object added = this.addedTeams.remove(name);
+        this.packets.keySet().removeIf(key -> key == added
+                || key instanceof Key && ((Key) key).type == KeyType.TEAM && name.equals(((Key) key).first)
+                || key instanceof TeamMembers && name.equals(((TeamMembers) key).team));
+        if (added == null) {
+            this.packets.put(new Object(), packet);
+        }
+    }
+
+    void other(final P packet) {
+        this.queued++;
+        this.packets.put(new Object(), packet);
+    }
+
+    /**
+     * Gets the coalesced packets in the order they have to be sent and
+     * resets this coalescer.
+     *
+     * @return The packets to send
+     */
+    List<P> drain() {
+        final List<P> drained = new ArrayList<>(this.packets.values());
+        this.packets.clear();
+        this.addedObjectives.clear();
+        this.addedTeams.clear();
+        this.displayedObjectives.clear();
+        this.queued = 0;
+        return drained;
+    }
+
+    private void replace(final Key key, final P packet) {
+        // Re-inserting moves the change behind everything queued before it
+        this.packets.remove(key);
+        this.packets.put(key, packet);
+    }
+
+    private enum KeyType {
+        SCORE,
+        OBJECTIVE,
+        DISPLAY,
+        TEAM
+    }
+
+    private static final class Key {
+
+        final KeyType type;
+        final @Nullable Object first;
+        final @Nullable Object second;
+
+        Key(final KeyType type, final @Nullable Object first, final @Nullable Object second) {
+            this.type = type;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return this.type == key.type && Objects.equals(this.first, key.first) && Objects.equals(this.second, key.second);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.type, this.first, this.second);
+        }
+    }
+
+    private static final class TeamMembers {
+
+        final String team;
+
+        TeamMembers(final String team) {
+            this.team = team;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scoreboard;
+
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundSetDisplayObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetPlayerTeamPacket;
+import net.minecraft.network.protocol.game.ClientboundSetScorePacket;
+import net.minecraft.server.level.ServerPlayer;
+import org.spongepowered.common.accessor.network.protocol.game.ClientboundSetDisplayObjectivePacketAccessor;
+import org.spongepowered.common.accessor.network.protocol.game.ClientboundSetObjectivePacketAccessor;
+import org.spongepowered.common.accessor.network.protocol.game.ClientboundSetPlayerTeamPacketAccessor;
+import org.spongepowered.common.accessor.network.protocol.game.ClientboundSetScorePacketAccessor;
+import org.spongepowered.common.util.Constants;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects the packets a scoreboard sends to its viewers during a tick and
+ * sends them once at the end of it.
+ *
+ * <p>Packets are coalesced by a {@link ScoreboardPacketCoalescer}, so the
+ * viewers end up in the same state as if every packet had been sent in
+ * order. Packets may be queued from any thread, they are sent with the
+ * next flush.</p>
+ */
+public final class ScoreboardPacketQueue {
+
+    private static final Object LOCK = new Object();
+    private static final Set<ScoreboardPacketQueue> PENDING = Collections.newSetFromMap(new IdentityHashMap<>());
+    private static long queuedPackets;
+    private static long sentPackets;
+    private static long savedPackets;
+
+    private final List<ServerPlayer> viewers;
+    private final ScoreboardPacketCoalescer<Packet<?>> packets = new ScoreboardPacketCoalescer<>();
+    // Whether this queue is pending, readable without taking the lock
+    private volatile boolean pending;
+
+    public ScoreboardPacketQueue(final List<ServerPlayer> viewers) {
+        this.viewers = viewers;
+    }
+
+    public static void flushAll() {
+        synchronized (ScoreboardPacketQueue.LOCK) {
+            if (ScoreboardPacketQueue.PENDING.isEmpty()) {
+                return;
+            }
+            for (final ScoreboardPacketQueue queue : ScoreboardPacketQueue.PENDING) {
+                queue.send();
+            }
+            ScoreboardPacketQueue.PENDING.clear();
+        }
+    }
+
+    public static long getQueuedPackets() {
+        synchronized (ScoreboardPacketQueue.LOCK) {
+            return ScoreboardPacketQueue.queuedPackets;
+        }
+    }
+
+    public static long getSentPackets() {
+        synchronized (ScoreboardPacketQueue.LOCK) {
+            return ScoreboardPacketQueue.sentPackets;
+        }
+    }
+
+    public static long getSavedPackets() {
+        synchronized (ScoreboardPacketQueue.LOCK) {
+            return ScoreboardPacketQueue.savedPackets;
+        }
+    }
+
+    public void queue(final Packet<?> packet) {
+        synchronized (ScoreboardPacketQueue.LOCK) {
+            if (this.viewers.isEmpty()) {
+                return;
+            }
+            ScoreboardPacketQueue.queuedPackets++;
+            ScoreboardPacketQueue.PENDING.add(this);
+            this.pending = true;
+            this.coalesce(packet);
+        }
+    }
+
+    /**
+     * Sends everything that is queued right away, needed before packets are
+     * sent to viewers directly.
+     */
+    public void flush() {
+        // Nothing was queued since the last send, which is always the case while batching is disabled
+        if (!this.pending) {
+            return;
+        }
+        synchronized (ScoreboardPacketQueue.LOCK) {
+            if (ScoreboardPacketQueue.PENDING.remove(this)) {
+                this.send();
+            }
+        }
+    }
+
+    private void coalesce(final Packet<?> packet) {
+        if (packet instanceof ClientboundSetScorePacket) {
+            final ClientboundSetScorePacketAccessor score = (ClientboundSetScorePacketAccessor) packet;
+            this.packets.score(score.accessor$objectiveName(), score.accessor$owner(), packet);
+        } else if (packet instanceof ClientboundSetObjectivePacket) {
+            final ClientboundSetObjectivePacketAccessor objective = (ClientboundSetObjectivePacketAccessor) packet;
+            final String name = objective.accessor$objectiveName();
+            if (objective.accessor$method() == Constants.Scoreboards.OBJECTIVE_PACKET_CHANGE) {
+                this.packets.changeObjective(name, packet);
+            } else if (objective.accessor$method() == Constants.Scoreboards.OBJECTIVE_PACKET_REMOVE) {
+                this.packets.removeObjective(name, packet);
+            } else {
+                this.packets.addObjective(name, packet);
+            }
+        } else if (packet instanceof ClientboundSetDisplayObjectivePacket) {
+            final ClientboundSetDisplayObjectivePacketAccessor display = (ClientboundSetDisplayObjectivePacketAccessor) packet;
+            this.packets.display(display.accessor$slot(), display.accessor$objectiveName(), packet);
+        } else if (packet instanceof ClientboundSetPlayerTeamPacket) {
+            final ClientboundSetPlayerTeamPacketAccessor team = (ClientboundSetPlayerTeamPacketAccessor) packet;
+            final String name = team.accessor$name();
+            if (team.accessor$method() == Constants.Scoreboards.TEAM_PACKET_CHANGE) {
+                this.packets.changeTeam(name, packet);
+            } else if (team.accessor$method() == Constants.Scoreboards.TEAM_PACKET_REMOVE) {
+                this.packets.removeTeam(name, packet);
+            } else if (team.accessor$method() == Constants.Scoreboards.TEAM_PACKET_ADD) {
+                this.packets.addTeam(name, packet);
+            } else {
+                this.packets.teamMembers(name, packet);
+            }
+        } else {
+            this.packets.other(packet);
+        }
+    }
+
+    private void send() {
+        this.pending = false;
+        final int queued = this.packets.queued();
+        final List<Packet<?>> packets = this.packets.drain();
+        for (final ServerPlayer viewer : this.viewers) {
+            for (final Packet<?> packet : packets) {
+                viewer.connection.send(packet);
+            }
+        }
+        ScoreboardPacketQueue.sentPackets += (long) packets.size() * this.viewers.size();
+        ScoreboardPacketQueue.savedPackets += (long) (queued - packets.size()) * this.viewers.size();
+    }
+}
@@ -37,6 +37,8 @@
 import org.spongepowered.common.accessor.server.players.StoredUserListAccessor;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.profile.SpongeGameProfile;
+import org.spongepowered.common.util.BanUtil;
+import org.spongepowered.common.util.IpSet;
 import org.spongepowered.common.util.UserListUtil;
 
 import java.net.InetAddress;
@@ -44,9 +46,11 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
+import javax.annotation.Nullable;
 import net.minecraft.server.players.IpBanList;
 import net.minecraft.server.players.IpBanListEntry;
 import net.minecraft.server.players.StoredUserEntry;
@@ -66,6 +70,8 @@
 @Singleton
 public final class SpongeBanService implements BanService {
 
+    private @Nullable SpongeIpRangeBanList rangeBans;
+
     @Override
     public CompletableFuture<Collection<? extends Ban>> bans() {
         final Collection<Ban.Profile> bans = this.profileBans().join();
@@ -108,7 +114,14 @@ public CompletableFuture<Optional<Ban.IP>> banFor(final InetAddress address) {
         final StoredUserListAccessor<String, IpBanListEntry> accessor = ((StoredUserListAccessor<String, IpBanListEntry>) this.getIPBanList());
 
         accessor.invoker$removeExpired();
-        return CompletableFuture.completedFuture(Optional.ofNullable((Ban.IP) accessor.accessor$map().get(accessor.invoker$getKeyForUser(((IpBanListAccessor) accessor).invoker$getIpFromAddress(new InetSocketAddress(address, 0))))));
+        final Ban.IP ban = (Ban.IP) accessor.accessor$map().get(accessor.invoker$getKeyForUser(((IpBanListAccessor) accessor).invoker$getIpFromAddress(new InetSocketAddress(address, 0))));
+        if (ban != null) {
+            return CompletableFuture.completedFuture(Optional.of(ban));
+        }
+        // Present the ban of a range as a ban of the address itself, so it is
+        // handled like any other ban when the address tries to log in
+        return CompletableFuture.completedFuture(this.rangeBanFor(address).map(entry -> (Ban.IP) new IpBanListEntry(
+                BanUtil.addressToBanCompatibleString(address), entry.getCreated(), entry.getSource(), entry.getExpires(), entry.getReason())));
     }
 
     @SuppressWarnings("unchecked")
@@ -127,7 +140,41 @@ public CompletableFuture<Boolean> isBanned(final InetAddress address) {
         final StoredUserListAccessor<String, IpBanListEntry> accessor = ((StoredUserListAccessor<String, IpBanListEntry>) this.getIPBanList());
 
         accessor.invoker$removeExpired();
-        return CompletableFuture.completedFuture(accessor.accessor$map().containsKey(accessor.invoker$getKeyForUser(((IpBanListAccessor) accessor).invoker$getIpFromAddress(new InetSocketAddress(address, 0)))));
+        return CompletableFuture.completedFuture(accessor.accessor$map().containsKey(accessor.invoker$getKeyForUser(((IpBanListAccessor) accessor).invoker$getIpFromAddress(new InetSocketAddress(address, 0))))
+                || this.rangeBanFor(address).isPresent());
+    }
+
+    /**
+     * Gets the ban of the most specific banned range which contains the
+     * given address.
+     *
+     * @param address The address
+     * @return The range ban, if any
+     */
+    public Optional<SpongeIpRangeBanList.Entry> rangeBanFor(final InetAddress address) {
+        return this.getRangeBanList().match(address);
+    }
+
+    public Collection<SpongeIpRangeBanList.Entry> rangeBans() {
+        return this.getRangeBanList().entries();
+    }
+
+    /**
+     * Bans all the addresses in the given range.
+     *
+     * @param range The range
+     * @param source The source of the ban
+     * @param expires When the ban expires, or null if it is permanent
+     * @param reason The reason of the ban
+     * @return The previous ban of exactly the same range, if any
+     */
+    public Optional<SpongeIpRangeBanList.Entry> banRange(final IpSet range, final @Nullable String source, final @Nullable Date expires,
+            final @Nullable String reason) {
+        return this.getRangeBanList().add(new SpongeIpRangeBanList.Entry(range, new Date(), source, expires, reason));
+    }
+
+    public boolean pardonRange(final IpSet range) {
+        return this.getRangeBanList().remove(range);
     }
 
     @SuppressWarnings("unchecked")
@@ -143,10 +190,11 @@ public CompletableFuture<Boolean> pardon(final GameProfile profile) {
     @SuppressWarnings("unchecked")
     @Override
     public CompletableFuture<Boolean> pardon(final InetAddress address) {
-        final CompletableFuture<Optional<Ban.IP>> ban = this.banFor(address);
         final StoredUserListAccessor<String, IpBanListEntry> accessor = ((StoredUserListAccessor<String, IpBanListEntry>) this.getIPBanList());
         accessor.invoker$removeExpired();
-        return CompletableFuture.completedFuture(ban.join().isPresent() && this.removeBan(ban.join().get()).join());
+        // Only pardon the address itself, range bans have to be pardoned explicitly
+        final Ban.IP ban = (Ban.IP) accessor.accessor$map().get(accessor.invoker$getKeyForUser(((IpBanListAccessor) accessor).invoker$getIpFromAddress(new InetSocketAddress(address, 0))));
+        return CompletableFuture.completedFuture(ban != null && this.removeBan(ban).join());
     }
 
     @Override
@@ -205,6 +253,14 @@ private UserBanList getUserBanList() {
         return SpongeCommon.getServer().getPlayerList().getBans();
     }
 
+    private synchronized SpongeIpRangeBanList getRangeBanList() {
+        if (this.rangeBans == null) {
+            this.rangeBans = new SpongeIpRangeBanList(SpongeIpRangeBanList.FILE);
+            this.rangeBans.load();
+        }
+        return this.rangeBans;
+    }
+
     private IpBanList getIPBanList() {
         return SpongeCommon.getServer().getPlayerList().getIpBans();
     }
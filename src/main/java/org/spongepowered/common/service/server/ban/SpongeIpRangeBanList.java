@@ -0,0 +1,238 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.server.ban;
+
+import com.google.common.base.Charsets;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.util.IpSet;
+import org.spongepowered.common.util.IpSetTrie;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The IP range bans of the server, stored next to the vanilla ban lists.
+ *
+ * <p>Ranges are indexed by an {@link IpSetTrie}, so checking whether an
+ * address is banned only depends on the length of the address and not on
+ * the number of banned ranges.</p>
+ */
+public final class SpongeIpRangeBanList {
+
+    public static final Path FILE = Paths.get("banned-ip-ranges.json");
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss Z";
+    private static final String FOREVER = "forever";
+
+    private final Path file;
+    private final IpSetTrie<Entry> trie = new IpSetTrie<>();
+    private final Map<IpSet, Entry> entries = new LinkedHashMap<>();
+
+    public SpongeIpRangeBanList(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Gets the ban of the most specific range which contains the given
+     * address. Expired bans are removed.
+     *
+     * @param address The address
+     * @return The ban, if the address is banned
+     */
+    public synchronized Optional<Entry> match(final InetAddress address) {
+        final byte[] raw = address.getAddress();
+        Entry entry;
+        while ((entry = this.trie.match(raw)) != null && entry.hasExpired()) {
+            this.remove0(entry.range);
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    public synchronized Optional<Entry> get(final IpSet range) {
+        final Entry entry = this.trie.get(range);
+        if (entry != null && entry.hasExpired()) {
+            this.remove0(range);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    public synchronized Optional<Entry> add(final Entry entry) {
+        final Entry previous = this.trie.put(entry.range, entry);
+        this.entries.put(entry.range, entry);
+        this.save();
+        return Optional.ofNullable(previous);
+    }
+
+    public synchronized boolean remove(final IpSet range) {
+        if (this.remove0(range)) {
+            this.save();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean remove0(final IpSet range) {
+        this.entries.remove(range);
+        return this.trie.remove(range) != null;
+    }
+
+    public synchronized Collection<Entry> entries() {
+        this.entries.values().removeIf(entry -> entry.hasExpired() && this.trie.remove(entry.range) != null);
+        return Collections.unmodifiableCollection(new ArrayList<>(this.entries.values()));
+    }
+
+    public synchronized void load() {
+        this.trie.clear();
+        this.entries.clear();
+        if (Files.notExists(this.file)) {
+            return;
+        }
+        final SimpleDateFormat format = new SimpleDateFormat(SpongeIpRangeBanList.DATE_FORMAT);
+        try (final BufferedReader reader = Files.newBufferedReader(this.file, Charsets.UTF_8)) {
+            final JsonArray array = SpongeIpRangeBanList.GSON.fromJson(reader, JsonArray.class);
+            if (array == null) {
+                return;
+            }
+            for (final JsonElement element : array) {
+                final JsonObject object = element.getAsJsonObject();
+                try {
+                    final IpSet range = IpSet.fromCidr(object.get("range").getAsString());
+                    final Entry entry = new Entry(range,
+                            SpongeIpRangeBanList.parseDate(format, object, "created", new Date()),
+                            SpongeIpRangeBanList.getString(object, "source"),
+                            SpongeIpRangeBanList.parseDate(format, object, "expires", null),
+                            SpongeIpRangeBanList.getString(object, "reason"));
+                    this.trie.put(range, entry);
+                    this.entries.put(range, entry);
+                } catch (final IllegalArgumentException | NullPointerException e) {
+                    SpongeCommon.getLogger().warn("Skipping invalid IP range ban {} in {}", object, this.file, e);
+                }
+            }
+        } catch (final IOException | JsonParseException | IllegalStateException e) {
+            SpongeCommon.getLogger().error("Failed to load the IP range bans from {}", this.file, e);
+        }
+    }
+
+    private void save() {
+        final SimpleDateFormat format = new SimpleDateFormat(SpongeIpRangeBanList.DATE_FORMAT);
+        final JsonArray array = new JsonArray();
+        for (final Entry entry : this.entries.values()) {
+            final JsonObject object = new JsonObject();
+            object.addProperty("range", entry.range.toString());
+            object.addProperty("created", format.format(entry.created));
+            object.addProperty("source", entry.source);
+            object.addProperty("expires", entry.expires == null ? SpongeIpRangeBanList.FOREVER : format.format(entry.expires));
+            object.addProperty("reason", entry.reason);
+            array.add(object);
+        }
+        try (final BufferedWriter writer = Files.newBufferedWriter(this.file, Charsets.UTF_8)) {
+            SpongeIpRangeBanList.GSON.toJson(array, writer);
+        } catch (final IOException e) {
+            SpongeCommon.getLogger().error("Failed to save the IP range bans to {}", this.file, e);
+        }
+    }
+
+    private static @Nullable String getString(final JsonObject object, final String key) {
+        final JsonElement element = object.get(key);
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+
+    private static @Nullable Date parseDate(final SimpleDateFormat format, final JsonObject object, final String key, final @Nullable Date def) {
+        final String value = SpongeIpRangeBanList.getString(object, key);
+        if (value == null || value.equals(SpongeIpRangeBanList.FOREVER)) {
+            return def;
+        }
+        try {
+            return format.parse(value);
+        } catch (final ParseException e) {
+            return def;
+        }
+    }
+
+    public static final class Entry {
+
+        private final IpSet range;
+        private final Date created;
+        private final @Nullable String source;
+        private final @Nullable Date expires;
+        private final @Nullable String reason;
+
+        public Entry(final IpSet range, final Date created, final @Nullable String source, final @Nullable Date expires,
+                final @Nullable String reason) {
+            this.range = range;
+            this.created = created;
+            this.source = source;
+            this.expires = expires;
+            this.reason = reason;
+        }
+
+        public IpSet getRange() {
+            return this.range;
+        }
+
+        public Date getCreated() {
+            return this.created;
+        }
+
+        public @Nullable String getSource() {
+            return this.source;
+        }
+
+        public @Nullable Date getExpires() {
+            return this.expires;
+        }
+
+        public @Nullable String getReason() {
+            return this.reason;
+        }
+
+        public boolean hasExpired() {
+            return this.expires != null && this.expires.before(new Date());
+        }
+    }
+}
@@ -26,6 +26,7 @@
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.level.storage.PlayerDataStorage;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -47,12 +48,21 @@
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -65,6 +75,15 @@ public final class ServerUserProvider {
     private final Set<UUID> knownUUIDs = new HashSet<>();
     private final Cache<UUID, User> userCache;
 
+    // Lowercase names of the known users, so name matching doesn't have to scan every cached profile
+    private final NavigableMap<String, Set<UUID>> knownNames = new TreeMap<>();
+    private final Map<UUID, String> indexedNames = new HashMap<>();
+
+    // Reads user files off the server thread, the pool size bounds how many are read at once
+    private final ExecutorService loadExecutorService = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)),
+            new ThreadFactoryBuilder().setNameFormat("Sponge - User Loader #%d").setDaemon(true).build());
+
     private final Map<String, MutableWatchEvent> watcherUpdateMap = new HashMap<>();
 
     @Nullable private WatchService filesystemWatchService = null;
@@ -123,6 +142,8 @@ void refreshFilesystemProfiles() {
             this.watchKey.reset();
         }
         this.knownUUIDs.clear();
+        this.knownNames.clear();
+        this.indexedNames.clear();
         this.userCache.invalidateAll();
 
         // Add all known profiles from the data files
@@ -144,7 +165,45 @@ void refreshFilesystemProfiles() {
                 continue;
             }
 
-            this.knownUUIDs.add(uuid);
+            this.addKnownUUID(uuid);
+        }
+    }
+
+    private void addKnownUUID(final UUID uuid) {
+        this.knownUUIDs.add(uuid);
+        final com.mojang.authlib.GameProfile gameProfile = this.server.getProfileCache().get(uuid);
+        if (gameProfile != null) {
+            this.indexName(uuid, gameProfile.getName());
+        }
+    }
+
+    private void removeKnownUUID(final UUID uuid) {
+        this.knownUUIDs.remove(uuid);
+        this.indexName(uuid, null);
+    }
+
+    private void indexName(final UUID uuid, @Nullable final String name) {
+        final String lowercaseName = name == null ? null : name.toLowerCase(Locale.ROOT);
+        final String previousName = lowercaseName == null ? this.indexedNames.remove(uuid) : this.indexedNames.put(uuid, lowercaseName);
+        if (previousName != null && !previousName.equals(lowercaseName)) {
+            final Set<UUID> uuids = this.knownNames.get(previousName);
+            if (uuids != null && uuids.remove(uuid) && uuids.isEmpty()) {
+                this.knownNames.remove(previousName);
+            }
+        }
+        if (lowercaseName != null) {
+            this.knownNames.computeIfAbsent(lowercaseName, k -> new HashSet<>(1)).add(uuid);
+        }
+    }
+
+    void updateKnownName(final UUID uuid, @Nullable final String name) {
+        if (!this.server.isSameThread()) {
+            // Profiles may be cached by lookups completing on other threads
+            this.server.execute(() -> this.updateKnownName(uuid, name));
+            return;
+        }
+        if (name != null && this.knownUUIDs.contains(uuid)) {
+            this.indexName(uuid, name);
         }
     }
 
@@ -196,21 +255,65 @@ User getOrCreateUser(final GameProfile profile, final boolean force) {
         final User user = new SpongeUser(resolvedProfile);
         this.userCache.put(profile.uniqueId(), user);
         this.knownUUIDs.add(profile.uniqueId());
+        if (resolvedProfile.getName() != null) {
+            this.indexName(profile.uniqueId(), resolvedProfile.getName());
+        }
         return user;
     }
 
+    CompletableFuture<Optional<User>> loadUser(final UUID uuid) {
+        return this.loadUser(this.getUser(uuid));
+    }
+
+    CompletableFuture<Optional<User>> loadUser(final GameProfile profile) {
+        return this.loadUser(this.getUser(profile));
+    }
+
+    private CompletableFuture<Optional<User>> loadUser(final Optional<User> user) {
+        if (!user.isPresent()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return ((SpongeUser) user.get()).initializeAsync(this.loadExecutorService).thenApply(Optional::of);
+    }
+
+    CompletableFuture<Map<UUID, User>> loadUsers(final Collection<UUID> uniqueIds) {
+        final List<CompletableFuture<SpongeUser>> futures = new ArrayList<>(uniqueIds.size());
+        for (final UUID uniqueId : uniqueIds) {
+            this.getUser(uniqueId).ifPresent(user -> futures.add(((SpongeUser) user).initializeAsync(this.loadExecutorService)));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            final Map<UUID, User> users = new HashMap<>(futures.size());
+            for (final CompletableFuture<SpongeUser> future : futures) {
+                final SpongeUser user = future.join();
+                users.put(user.uniqueId(), user);
+            }
+            return users;
+        });
+    }
+
     boolean deleteUser(final UUID uuid) {
         if (this.deleteStoredPlayerData(uuid)) {
             this.userCache.invalidate(uuid);
-            this.knownUUIDs.remove(uuid);
+            this.removeKnownUUID(uuid);
             return true;
         }
         return false;
     }
 
     Stream<GameProfile> matchKnownProfiles(final String lowercaseName) {
-        return ((Server) this.server).gameProfileManager().cache().streamOfMatches(lowercaseName)
-                .filter(gameProfile -> this.knownUUIDs.contains(gameProfile.uniqueId()));
+        this.pollFilesystemWatcher();
+        final Map<String, Set<UUID>> matches = lowercaseName.isEmpty() ? this.knownNames
+                : this.knownNames.subMap(lowercaseName, true, lowercaseName + Character.MAX_VALUE, false);
+        final List<UUID> uuids = new ArrayList<>();
+        matches.values().forEach(uuids::addAll);
+        final GameProfileCache cache = ((Server) this.server).gameProfileManager().cache();
+        // The cached name may have changed since it was indexed
+        return uuids.stream()
+                .map(cache::byId)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .filter(gameProfile -> gameProfile.name().isPresent()
+                        && gameProfile.name().get().toLowerCase(Locale.ROOT).startsWith(lowercaseName));
     }
 
     Stream<GameProfile> streamAll() {
@@ -277,9 +380,9 @@ private void pollFilesystemWatcher() {
 
                             // It will only be create or delete here.
                             if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
-                                this.knownUUIDs.add(uuid);
+                                this.addKnownUUID(uuid);
                             } else {
-                                this.knownUUIDs.remove(uuid);
+                                this.removeKnownUUID(uuid);
                                 // We don't do this, in case we were caught at a bad time.
                                 // Everything else should handle it for us, however.
                                 // this.userCache.invalidate(uuid);
@@ -27,6 +27,7 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.Server;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.profile.GameProfile;
@@ -35,8 +36,10 @@
 
 import java.util.Collection;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -78,6 +81,53 @@ public User findOrCreate(final GameProfile profile) {
         return this.serverUserProvider.getOrCreateUser(this.ensureNonEmptyUUID(profile), false);
     }
 
+    /**
+     * Finds the user with the given unique id, reading its stored data off
+     * the server thread.
+     *
+     * @param uniqueId The unique id of the user
+     * @return A future completing on the server thread with the user, if it
+     *     exists
+     */
+    public CompletableFuture<Optional<User>> load(final UUID uniqueId) {
+        return this.serverUserProvider.loadUser(checkNotNull(uniqueId, "uniqueId"));
+    }
+
+    /**
+     * Finds the user with the given profile, reading its stored data off the
+     * server thread.
+     *
+     * @param profile The profile of the user
+     * @return A future completing on the server thread with the user, if it
+     *     exists
+     */
+    public CompletableFuture<Optional<User>> load(final GameProfile profile) {
+        return this.serverUserProvider.loadUser(checkNotNull(profile, "profile"));
+    }
+
+    /**
+     * Finds all users with the given unique ids, reading their stored data
+     * off the server thread with a bounded number of reads at once.
+     *
+     * @param uniqueIds The unique ids of the users
+     * @return A future completing on the server thread with the users that
+     *     exist, by unique id
+     */
+    public CompletableFuture<Map<UUID, User>> loadAll(final Collection<UUID> uniqueIds) {
+        return this.serverUserProvider.loadUsers(checkNotNull(uniqueIds, "uniqueIds"));
+    }
+
+    /**
+     * Keeps the name index of the known users up to date with a profile that
+     * was added to the game profile cache.
+     *
+     * @param uniqueId The unique id of the profile
+     * @param name The name of the profile, if known
+     */
+    public void onProfileCached(final UUID uniqueId, @Nullable final String name) {
+        this.serverUserProvider.updateKnownName(uniqueId, name);
+    }
+
     public User forceRecreateUser(final GameProfile profile) {
         return this.serverUserProvider.getOrCreateUser(profile, true);
     }
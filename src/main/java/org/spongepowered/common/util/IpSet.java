@@ -36,6 +36,7 @@
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Arrays;
 
 public final class IpSet implements Predicate<InetAddress> {
     private final InetAddress addr;
@@ -62,7 +63,7 @@ public boolean apply(final InetAddress input) {
             }
         }
         for (byte i = 0; i < overlap; ++i) {
-            if (((checkAddr[completeSegments + 1] >> (7 - i)) & 0x1) != ((address[completeSegments + 1] >> (7 - i)) & 0x1)) {
+            if (((checkAddr[completeSegments] >> (7 - i)) & 0x1) != ((address[completeSegments] >> (7 - i)) & 0x1)) {
                 return false;
             }
         }
@@ -70,9 +71,42 @@ public boolean apply(final InetAddress input) {
         return true;
     }
 
+    public InetAddress getAddress() {
+        return this.addr;
+    }
+
+    public int getPrefixLength() {
+        return this.prefixLen;
+    }
+
     public static IpSet fromAddrPrefix(final InetAddress address, final int prefixLen) {
         IpSet.validatePrefixLength(checkNotNull(address, "address"), checkNotNull(prefixLen, "prefixLen"));
-        return new IpSet(address, prefixLen);
+        return new IpSet(IpSet.maskHostBits(address, prefixLen), prefixLen);
+    }
+
+    /**
+     * Clears every bit after the prefix, so that sets written with different
+     * host bits, like 10.1.2.3/8 and 10.0.0.0/8, are equal.
+     */
+    private static InetAddress maskHostBits(final InetAddress address, final int prefixLen) {
+        final byte[] bytes = address.getAddress();
+        boolean masked = false;
+        for (int i = 0; i < bytes.length; i++) {
+            final int keep = Math.min(8, Math.max(0, prefixLen - (i << 3)));
+            final byte mask = (byte) (0xFF00 >> keep);
+            if ((bytes[i] & ~mask) != 0) {
+                bytes[i] &= mask;
+                masked = true;
+            }
+        }
+        if (!masked) {
+            return address;
+        }
+        try {
+            return InetAddress.getByAddress(bytes);
+        } catch (final UnknownHostException e) {
+            throw new IllegalArgumentException(address + " does not contain a valid IP address", e);
+        }
     }
 
     /**
@@ -82,13 +116,10 @@ public static IpSet fromAddrPrefix(final InetAddress address, final int prefixLe
      */
     public static IpSet fromCidr(final String spec) {
         final String addrString;
-        final int prefixLen;
         final int slashIndex = checkNotNull(spec, "spec").lastIndexOf("/");
         if (slashIndex == -1) {
-            prefixLen = 32;
             addrString = spec;
         } else {
-            prefixLen = Integer.parseInt(spec.substring(slashIndex + 1));
             addrString = spec.substring(0, slashIndex);
         }
 
@@ -99,6 +130,8 @@ public static IpSet fromCidr(final String spec) {
             throw new IllegalArgumentException(addrString + " does not contain a valid IP address");
         }
 
+        // A single address covers all of its bits
+        final int prefixLen = slashIndex == -1 ? IpSet.getMaxPrefixLength(addr) : Integer.parseInt(spec.substring(slashIndex + 1));
         return IpSet.fromAddrPrefix(addr, prefixLen);
     }
 
@@ -121,6 +154,23 @@ private static int getMaxPrefixLength(final InetAddress address) {
         throw new IllegalArgumentException("Unknown IP address type " + address);
     }
 
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IpSet)) {
+            return false;
+        }
+        final IpSet other = (IpSet) o;
+        return this.prefixLen == other.prefixLen && Arrays.equals(this.addr.getAddress(), other.addr.getAddress());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(this.addr.getAddress()) + this.prefixLen;
+    }
+
     @Override
     public String toString() {
         return this.addr.getHostAddress() + "/" + this.prefixLen;
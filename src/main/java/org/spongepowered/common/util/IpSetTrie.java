@@ -0,0 +1,206 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.net.InetAddress;
+
+/**
+ * A binary trie which maps {@link IpSet}s to values, separately for IPv4 and
+ * IPv6 addresses. Looking up the value of an address takes at most one step
+ * per bit of the longest prefix, without any string conversions.
+ *
+ * <p>This class is not thread safe.</p>
+ *
+ * @param <V> The value type
+ */
+public final class IpSetTrie<V> {
+
+    private static final class Node<V> {
+
+        @Nullable Node<V> zero;
+        @Nullable Node<V> one;
+        @Nullable V value;
+
+        @Nullable Node<V> child(final int bit) {
+            return bit == 0 ? this.zero : this.one;
+        }
+
+        void setChild(final int bit, final @Nullable Node<V> node) {
+            if (bit == 0) {
+                this.zero = node;
+            } else {
+                this.one = node;
+            }
+        }
+
+        boolean isEmpty() {
+            return this.value == null && this.zero == null && this.one == null;
+        }
+    }
+
+    private final Node<V> ipv4 = new Node<>();
+    private final Node<V> ipv6 = new Node<>();
+    private int size;
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        this.ipv4.zero = this.ipv4.one = null;
+        this.ipv4.value = null;
+        this.ipv6.zero = this.ipv6.one = null;
+        this.ipv6.value = null;
+        this.size = 0;
+    }
+
+    /**
+     * Associates the value with the given set.
+     *
+     * @param set The set
+     * @param value The value
+     * @return The value that was previously associated with the set
+     */
+    public @Nullable V put(final IpSet set, final V value) {
+        final byte[] address = set.getAddress().getAddress();
+        Node<V> node = this.root(address);
+        for (int i = 0; i < set.getPrefixLength(); i++) {
+            final int bit = IpSetTrie.bit(address, i);
+            Node<V> child = node.child(bit);
+            if (child == null) {
+                child = new Node<>();
+                node.setChild(bit, child);
+            }
+            node = child;
+        }
+        final V previous = node.value;
+        node.value = value;
+        if (previous == null) {
+            this.size++;
+        }
+        return previous;
+    }
+
+    /**
+     * Gets the value which is associated with exactly the given set.
+     *
+     * @param set The set
+     * @return The value, if present
+     */
+    public @Nullable V get(final IpSet set) {
+        final byte[] address = set.getAddress().getAddress();
+        Node<V> node = this.root(address);
+        for (int i = 0; i < set.getPrefixLength() && node != null; i++) {
+            node = node.child(IpSetTrie.bit(address, i));
+        }
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Removes the value which is associated with exactly the given set.
+     *
+     * @param set The set
+     * @return The removed value, if present
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V remove(final IpSet set) {
+        final byte[] address = set.getAddress().getAddress();
+        final int prefixLength = set.getPrefixLength();
+        final Node<V>[] path = new Node[prefixLength + 1];
+        Node<V> node = this.root(address);
+        path[0] = node;
+        for (int i = 0; i < prefixLength; i++) {
+            node = node.child(IpSetTrie.bit(address, i));
+            if (node == null) {
+                return null;
+            }
+            path[i + 1] = node;
+        }
+        final V previous = node.value;
+        if (previous == null) {
+            return null;
+        }
+        node.value = null;
+        this.size--;
+        // Prune the nodes which no longer lead to any value
+        for (int i = prefixLength; i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].setChild(IpSetTrie.bit(address, i - 1), null);
+        }
+        return previous;
+    }
+
+    /**
+     * Gets the value of the most specific set which contains the given
+     * address.
+     *
+     * @param address The address
+     * @return The value, if any set contains the address
+     */
+    public @Nullable V match(final InetAddress address) {
+        return this.match(address.getAddress());
+    }
+
+    /**
+     * Gets the value of the most specific set which contains the given
+     * raw address.
+     *
+     * @param address The raw address, 4 bytes for IPv4 or 16 for IPv6
+     * @return The value, if any set contains the address
+     */
+    public @Nullable V match(final byte[] address) {
+        Node<V> node = this.root(address);
+        V match = node.value;
+        final int bits = address.length << 3;
+        for (int i = 0; i < bits; i++) {
+            node = node.child(IpSetTrie.bit(address, i));
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                match = node.value;
+            }
+        }
+        return match;
+    }
+
+    private Node<V> root(final byte[] address) {
+        if (address.length == 4) {
+            return this.ipv4;
+        } else if (address.length == 16) {
+            return this.ipv6;
+        }
+        throw new IllegalArgumentException("Unknown IP address length " + address.length);
+    }
+
+    private static int bit(final byte[] address, final int index) {
+        return (address[index >> 3] >> (7 - (index & 7))) & 0x1;
+    }
+}
@@ -55,19 +55,7 @@ public static <T> List<T> createOrderedLoad(DirectedGraph<T> graph) {
             }
             if (next == null) {
                 // We have a cycle
-                // Find all cycles for reporting purposes
-                TarjanCycleDetector detector = new TarjanCycleDetector(graph);
-                List<DataNode<?>[]> cycles = detector.getCycles();
-                StringBuilder msg = new StringBuilder();
-                msg.append("Graph is cyclic! Cycles:\n");
-                for (DataNode<?>[] cycle : cycles) {
-                    msg.append("[");
-                    for (DataNode<?> node : cycle) {
-                        msg.append(node.getData().toString()).append(" ");
-                    }
-                    msg.append("]\n");
-                }
-                throw new CyclicGraphException(cycles, msg.toString());
+                throw TopologicalOrder.cyclicGraph(graph);
             }
             orderedList.add(next.getData());
             graph.remove(next.getData());
@@ -75,6 +63,50 @@ public static <T> List<T> createOrderedLoad(DirectedGraph<T> graph) {
         return orderedList;
     }
 
+    /**
+     * Groups the nodes of the directed graph into stages, where every node
+     * only depends on nodes of earlier stages. Nodes within the same stage do
+     * not depend on each other. Like {@link #createOrderedLoad}, this empties
+     * the graph.
+     *
+     * @throws CyclicGraphException if the graph contains a cycle.
+     */
+    public static <T> List<List<T>> createStages(DirectedGraph<T> graph) {
+        final List<List<T>> stages = new ArrayList<>();
+        while (graph.getNodeCount() != 0) {
+            final List<T> stage = new ArrayList<>();
+            for (DirectedGraph.DataNode<T> node : graph.getNodes()) {
+                if (node.getEdgeCount() == 0) {
+                    stage.add(node.getData());
+                }
+            }
+            if (stage.isEmpty()) {
+                throw TopologicalOrder.cyclicGraph(graph);
+            }
+            for (T data : stage) {
+                graph.remove(data);
+            }
+            stages.add(stage);
+        }
+        return stages;
+    }
+
+    private static CyclicGraphException cyclicGraph(DirectedGraph<?> graph) {
+        // Find all cycles for reporting purposes
+        TarjanCycleDetector detector = new TarjanCycleDetector(graph);
+        List<DataNode<?>[]> cycles = detector.getCycles();
+        StringBuilder msg = new StringBuilder();
+        msg.append("Graph is cyclic! Cycles:\n");
+        for (DataNode<?>[] cycle : cycles) {
+            msg.append("[");
+            for (DataNode<?> node : cycle) {
+                msg.append(node.getData().toString()).append(" ");
+            }
+            msg.append("]\n");
+        }
+        return new CyclicGraphException(cycles, msg.toString());
+    }
+
     /**
      * Uses Tarjan's strongly connected components algorithm to find all cycles
      * in a graph.
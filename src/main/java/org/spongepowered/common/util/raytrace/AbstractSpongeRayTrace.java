@@ -160,7 +160,15 @@
     @Override
     public Optional<RayTraceResult<@NonNull T>> execute() {
         this.setupEnd();
+        return this.execute(this.resolveWorld());
+    }
+
+    private ServerWorld resolveWorld() {
+        return Sponge.server().worldManager().world(this.world)
+                .orElseThrow(() -> new IllegalStateException("World with key " + this.world.formatted() + " is not loaded!"));
+    }
 
+    private Optional<RayTraceResult<@NonNull T>> execute(final ServerWorld serverWorld) {
         // get the direction
         final Vector3d directionWithLength = this.end.sub(this.start);
         final double length = directionWithLength.length();
@@ -168,44 +176,56 @@
         if (direction.lengthSquared() == 0) {
             throw new IllegalStateException("The start and end must be two different vectors");
         }
-
-        final ServerWorld serverWorld = Sponge.server().worldManager().world(this.world)
-                .orElseThrow(() -> new IllegalStateException("World with key " + this.world.formatted() + " is not loaded!"));
-
-        Vector3i currentBlock = this.initialBlock(direction);
-        final Vector3i steps = this.createSteps(direction);
-
-        // The ray equation is, vec(u) + t vec(d). From a point (x, y), there is a t
-        // that we need to traverse to get to a boundary. We work that out now...
-        TData tData = this.createInitialTData(direction);
-        Vector3d currentLocation = new Vector3d(this.start.getX(), this.start.getY(), this.start.getZ());
+        final double dx = direction.getX();
+        final double dy = direction.getY();
+        final double dz = direction.getZ();
+        final BlockTraversal traversal = new BlockTraversal(this.start.getX(), this.start.getY(), this.start.getZ(),
+                dx, dy, dz, this.end.getX(), this.end.getY(), this.end.getZ());
+
+        // Entities are fetched one chunk section at a time, and narrowed down to the current block as we go.
+        // A single query for the box around the whole ray would grow with the cube of its length.
         final boolean requiresEntityTracking = this.requiresEntityTracking();
-
+        List<net.minecraft.world.entity.Entity> selectable = Collections.emptyList();
+        List<net.minecraft.world.entity.Entity> failing = Collections.emptyList();
+        int sectionX = 0;
+        int sectionY = 0;
+        int sectionZ = 0;
+        boolean sectionFetched = false;
+
+        net.minecraft.world.phys.Vec3 vec3dstart = VecHelper.toVanillaVector3d(this.start);
         boolean requireAdvancement = true;
         while (requireAdvancement) {
-            final net.minecraft.world.phys.Vec3 vec3dstart = VecHelper.toVanillaVector3d(currentLocation);
+            final int blockX = traversal.blockX();
+            final int blockY = traversal.blockY();
+            final int blockZ = traversal.blockZ();
             // As this iteration is for the CURRENT block location, we need to check where we are with the filter.
-            if (this.continueWhileLocation != null && !this.continueWhileLocation.test(ServerLocation.of(serverWorld, currentBlock))) {
+            if (this.continueWhileLocation != null && !this.continueWhileLocation.test(ServerLocation.of(serverWorld, blockX, blockY, blockZ))) {
                 return Optional.empty();
             }
-            final Vector3d nextLocation;
+            if (requiresEntityTracking && (!sectionFetched || blockX >> 4 != sectionX || blockY >> 4 != sectionY || blockZ >> 4 != sectionZ)) {
+                sectionX = blockX >> 4;
+                sectionY = blockY >> 4;
+                sectionZ = blockZ >> 4;
+                sectionFetched = true;
+                final AABB sectionAABB = new AABB(sectionX << 4, sectionY << 4, sectionZ << 4,
+                        (sectionX + 1) << 4, (sectionY + 1) << 4, (sectionZ + 1) << 4);
+                selectable = this.selectEntities(serverWorld, sectionAABB);
+                if (this.continueWhileEntity != null) {
+                    failing = this.getFailingEntities(serverWorld, sectionAABB);
+                }
+            }
+            final double nextStep = traversal.nextStep();
             final net.minecraft.world.phys.Vec3 vec3dend;
-            if (tData.getTotalTWithNextStep() > length) {
+            if (traversal.totalT() + nextStep > length) {
                 // This is the last step, we break out of the loop after this set of checks.
                 requireAdvancement = false;
-                nextLocation = this.end;
                 vec3dend = VecHelper.toVanillaVector3d(this.end);
             } else {
-                nextLocation = currentLocation.add(
-                        direction.getX() * tData.getNextStep(),
-                        direction.getY() * tData.getNextStep(),
-                        direction.getZ() * tData.getNextStep()
-                );
-                vec3dend = VecHelper.toVanillaVector3d(nextLocation);
+                vec3dend = new net.minecraft.world.phys.Vec3(vec3dstart.x + dx * nextStep, vec3dstart.y + dy * nextStep, vec3dstart.z + dz * nextStep);
             }
 
             // Get the selection result.
-            final Optional<RayTraceResult<@NonNull T>> result = this.testSelectLocation(serverWorld, vec3dstart, vec3dend);
+            final Optional<RayTraceResult<@NonNull T>> result = this.testSelectLocation(serverWorld, vec3dstart, vec3dend, selectable);
             if (result.isPresent() && !this.shouldCheckFailures()) {
                 // either this is a block ray, so no failures need to be checked, else
                 // we return the entity later if there isn't an entity in front of it
@@ -219,16 +239,19 @@
             }
 
             // Ensure that the entities in the block can be travelled through.
-            if (requiresEntityTracking && this.continueWhileEntity != null) {
+            if (!failing.isEmpty()) {
                 final double resultDistance;
                 if (result.isPresent()) {
-                    resultDistance = result.get().hitPosition().distanceSquared(currentLocation);
+                    resultDistance = result.get().hitPosition().distanceSquared(vec3dstart.x, vec3dstart.y, vec3dstart.z);
                 } else {
                     resultDistance = Double.MAX_VALUE;
                 }
-                final AABB targetAABB = this.getBlockAABB(currentBlock);
-                for (final net.minecraft.world.entity.Entity entity : this.getFailingEntities(serverWorld, targetAABB)) {
-                    final Optional<net.minecraft.world.phys.Vec3> vec3d = entity.getBoundingBox().clip(vec3dstart, vec3dend);
+                for (final net.minecraft.world.entity.Entity entity : failing) {
+                    final AABB boundingBox = entity.getBoundingBox();
+                    if (!boundingBox.intersects(blockX, blockY, blockZ, blockX + 1, blockY + 1, blockZ + 1)) {
+                        continue;
+                    }
+                    final Optional<net.minecraft.world.phys.Vec3> vec3d = boundingBox.clip(vec3dstart, vec3dend);
                     if (vec3d.isPresent()) {
                         final net.minecraft.world.phys.Vec3 hitPosition = vec3d.get();
                         final double sqdist = hitPosition.distanceToSqr(vec3dstart);
@@ -246,9 +269,8 @@
             }
 
             if (requireAdvancement) {
-                currentLocation = nextLocation;
-                currentBlock = this.getNextBlock(currentBlock, tData, steps);
-                tData = this.advance(tData, steps, direction);
+                vec3dstart = vec3dend;
+                traversal.advance();
             }
         }
 
@@ -268,27 +290,6 @@
         return this;
     }
 
-    final Vector3i getNextBlock(final Vector3i current, final TData data, final Vector3i steps) {
-        return current.add(
-                data.nextStepWillAdvanceX() ? steps.getX() : 0,
-                data.nextStepWillAdvanceY() ? steps.getY() : 0,
-                data.nextStepWillAdvanceZ() ? steps.getX() : 0
-        );
-    }
-
-    final Vector3i createSteps(final Vector3d direction) {
-        return new Vector3i(
-                Math.signum(direction.getX()),
-                Math.signum(direction.getY()),
-                Math.signum(direction.getZ())
-        );
-    }
-
-    final AABB getBlockAABB(final Vector3i currentBlock) {
-        return new AABB(currentBlock.getX(),
-                currentBlock.getY(), currentBlock.getZ(), currentBlock.getX() + 1, currentBlock.getY() + 1, currentBlock.getZ() + 1);
-    }
-
     private List<net.minecraft.world.entity.Entity> getFailingEntities(final ServerWorld serverWorld, final AABB targetAABB) {
         return ((Level) serverWorld).getEntities((net.minecraft.world.entity.Entity) null, targetAABB, (Predicate) this.continueWhileEntity.negate());
     }
@@ -303,7 +304,8 @@ List<net.minecraft.world.entity.Entity> selectEntities(final ServerWorld serverW
 
     abstract Optional<RayTraceResult<@NonNull T>> testSelectLocation(final ServerWorld serverWorld,
             final net.minecraft.world.phys.Vec3 location,
-            final net.minecraft.world.phys.Vec3 exitLocation);
+            final net.minecraft.world.phys.Vec3 exitLocation,
+            final List<net.minecraft.world.entity.Entity> selectable);
 
     final LocatableBlock getBlock(final ServerWorld world, final net.minecraft.world.phys.Vec3 in, final net.minecraft.world.phys.Vec3 out) {
         final Vector3i coord = new Vector3i(
@@ -347,95 +349,4 @@ final void setupEnd() {
         }
     }
 
-    final Vector3i initialBlock(final Vector3d direction) {
-        return new Vector3i(
-                this.start.getX() - (direction.getX() < 0 && this.start.getX() == 0 ? 1 : 0),
-                this.start.getY() - (direction.getY() < 0 && this.start.getY() == 0 ? 1 : 0),
-                this.start.getZ() - (direction.getZ() < 0 && this.start.getZ() == 0 ? 1 : 0)
-        );
-    }
-
-    final TData createInitialTData(final Vector3d direction) {
-        return new TData(
-                0,
-                this.getT(this.start.getX(), direction.getX(), this.end.getX()),
-                this.getT(this.start.getY(), direction.getY(), this.end.getY()),
-                this.getT(this.start.getZ(), direction.getZ(), this.end.getZ())
-        );
-    }
-
-    final TData advance(final TData data, final Vector3i steps, final Vector3d direction) {
-        final double nextStep = data.getNextStep();
-        return new TData(
-                data.getTotalTWithNextStep(),
-                data.nextStepWillAdvanceX() ? steps.getX() / direction.getX() : data.gettToX() - nextStep,
-                data.nextStepWillAdvanceY() ? steps.getY() / direction.getY() : data.gettToY() - nextStep,
-                data.nextStepWillAdvanceZ() ? steps.getZ() / direction.getZ() : data.gettToZ() - nextStep
-        );
-    }
-
-    private double getT(final double start, final double direction, final double end) {
-        if (direction > 0) {
-            return (Math.min(end, Math.ceil(start)) - start) / direction;
-        } else if (direction < 0) {
-            return (Math.max(end, Math.floor(start)) - start) / direction;
-        } else {
-            // Infinity - indicates we never reach a boundary.
-            return Double.POSITIVE_INFINITY;
-        }
-    }
-
-    static final class TData {
-
-        private final double totalT;
-        private final double tToX;
-        private final double tToY;
-        private final double tToZ;
-        private final double nextStep;
-
-        TData(final double totalT, final double tToX, final double tToY, final double tToZ) {
-            this.totalT = totalT;
-            this.tToX = tToX;
-            this.tToY = tToY;
-            this.tToZ = tToZ;
-            this.nextStep = Math.min(tToX, Math.min(tToY, tToZ));
-        }
-
-        public double getTotalT() {
-            return this.totalT;
-        }
-
-        public double gettToX() {
-            return this.tToX;
-        }
-
-        public double gettToY() {
-            return this.tToY;
-        }
-
-        public double gettToZ() {
-            return this.tToZ;
-        }
-
-        public boolean nextStepWillAdvanceX() {
-            return this.tToX <= this.nextStep;
-        }
-
-        public boolean nextStepWillAdvanceY() {
-            return this.tToY <= this.nextStep;
-        }
-
-        public boolean nextStepWillAdvanceZ() {
-            return this.tToZ <= this.nextStep;
-        }
-
-        public double getNextStep() {
-            return this.nextStep;
-        }
-
-        public double getTotalTWithNextStep() {
-            return this.nextStep + this.totalT;
-        }
-    }
-
 }
@@ -0,0 +1,140 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.raytrace;
+
+/**
+ * Walks the blocks a ray passes through, in order.
+ *
+ * <p>The ray equation is, vec(u) + t vec(d). From a point (x, y), there is a
+ * t that we need to traverse to get to a boundary on each axis. The
+ * smallest of those is the next step, and every axis whose boundary is
+ * reached by it moves on to the next block.</p>
+ */
+final class BlockTraversal {
+
+    private final double dx;
+    private final double dy;
+    private final double dz;
+    private final int stepX;
+    private final int stepY;
+    private final int stepZ;
+
+    private int blockX;
+    private int blockY;
+    private int blockZ;
+    private double tToX;
+    private double tToY;
+    private double tToZ;
+    private double totalT;
+
+    BlockTraversal(final double startX, final double startY, final double startZ,
+            final double dx, final double dy, final double dz,
+            final double endX, final double endY, final double endZ) {
+        this.dx = dx;
+        this.dy = dy;
+        this.dz = dz;
+        this.stepX = (int) Math.signum(dx);
+        this.stepY = (int) Math.signum(dy);
+        this.stepZ = (int) Math.signum(dz);
+        this.blockX = BlockTraversal.initialBlock(startX, dx);
+        this.blockY = BlockTraversal.initialBlock(startY, dy);
+        this.blockZ = BlockTraversal.initialBlock(startZ, dz);
+        this.tToX = BlockTraversal.getT(startX, dx, endX);
+        this.tToY = BlockTraversal.getT(startY, dy, endY);
+        this.tToZ = BlockTraversal.getT(startZ, dz, endZ);
+    }
+
+    int blockX() {
+        return this.blockX;
+    }
+
+    int blockY() {
+        return this.blockY;
+    }
+
+    int blockZ() {
+        return this.blockZ;
+    }
+
+    /**
+     * Gets the distance travelled along the ray to get to the current block.
+     *
+     * @return The distance travelled
+     */
+    double totalT() {
+        return this.totalT;
+    }
+
+    /**
+     * Gets the distance along the ray from the current position to the
+     * next block boundary.
+     *
+     * @return The next step
+     */
+    double nextStep() {
+        return Math.min(this.tToX, Math.min(this.tToY, this.tToZ));
+    }
+
+    /**
+     * Moves on to the next block along the ray.
+     */
+    void advance() {
+        final double nextStep = this.nextStep();
+        this.totalT += nextStep;
+        if (this.tToX <= nextStep) {
+            this.blockX += this.stepX;
+            this.tToX = this.stepX / this.dx;
+        } else {
+            this.tToX -= nextStep;
+        }
+        if (this.tToY <= nextStep) {
+            this.blockY += this.stepY;
+            this.tToY = this.stepY / this.dy;
+        } else {
+            this.tToY -= nextStep;
+        }
+        if (this.tToZ <= nextStep) {
+            this.blockZ += this.stepZ;
+            this.tToZ = this.stepZ / this.dz;
+        } else {
+            this.tToZ -= nextStep;
+        }
+    }
+
+    private static int initialBlock(final double start, final double direction) {
+        return (int) Math.floor(start - (direction < 0 && start == 0 ? 1 : 0));
+    }
+
+    private static double getT(final double start, final double direction, final double end) {
+        if (direction > 0) {
+            return (Math.min(end, Math.ceil(start)) - start) / direction;
+        } else if (direction < 0) {
+            return (Math.max(end, Math.floor(start)) - start) / direction;
+        } else {
+            // Infinity - indicates we never reach a boundary.
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+}
@@ -32,6 +32,7 @@
 import org.spongepowered.api.world.server.ServerWorld;
 import org.spongepowered.common.util.VecHelper;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 import net.minecraft.world.phys.Vec3;
@@ -50,7 +51,8 @@ public final class SpongeBlockRayTrace extends AbstractSpongeRayTrace<@NonNull L
     @Override
     final Optional<RayTraceResult<@NonNull LocatableBlock>> testSelectLocation(final ServerWorld serverWorld,
             final Vec3 location,
-            final Vec3 exitLocation) {
+            final Vec3 exitLocation,
+            final List<net.minecraft.world.entity.Entity> selectable) {
 
         final LocatableBlock initialBlock = this.getBlock(serverWorld, location, exitLocation);
         if (this.select.test(initialBlock)) {
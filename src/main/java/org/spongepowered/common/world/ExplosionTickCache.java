@@ -0,0 +1,217 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Explosion;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Shares the expensive parts of explosions between the explosions of a
+ * single world tick.
+ *
+ * <p>The blocks found by the rays of an explosion are kept by position and
+ * power, so that TNT detonating in the same spot reuses them, and entity
+ * exposure is kept by position and entity bounds. Both depend on the blocks
+ * around them, so a result is only reused while no block changed in the
+ * chunk sections it was computed from. Everything is dropped at the start
+ * of every tick.</p>
+ */
+public final class ExplosionTickCache {
+
+    // How far a ray can travel, each step of 0.3 blocks costs at least 0.225 of its up to 1.3 times the radius
+    private static final double RAY_REACH = 1.3D / 0.225D * 0.3D;
+
+    private final Map<Origin, AffectedBlocks> affectedBlocks = new HashMap<>();
+    private final Map<Exposure, SeenPercent> exposures = new HashMap<>();
+    private final SectionChangeStamps changes = new SectionChangeStamps();
+    private long gameTime = Long.MIN_VALUE;
+
+    /**
+     * Drops everything cached if the world has moved on to another tick.
+     *
+     * @param gameTime The current game time of the world
+     */
+    public void startTick(final long gameTime) {
+        if (this.gameTime != gameTime) {
+            this.gameTime = gameTime;
+            this.invalidate();
+        }
+    }
+
+    public void invalidate() {
+        if (!this.affectedBlocks.isEmpty()) {
+            this.affectedBlocks.clear();
+        }
+        if (!this.exposures.isEmpty()) {
+            this.exposures.clear();
+        }
+        this.changes.clear();
+    }
+
+    /**
+     * Records that the block at the given position is changing, which
+     * invalidates the results computed from its chunk section.
+     *
+     * @param pos The position of the block
+     */
+    public void onBlockChange(final BlockPos pos) {
+        // Nothing computed yet can depend on it
+        if (this.affectedBlocks.isEmpty() && this.exposures.isEmpty()) {
+            return;
+        }
+        this.changes.changed(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    public @Nullable List<BlockPos> getAffectedBlocks(final double x, final double y, final double z, final float radius) {
+        final Origin origin = new Origin(x, y, z, radius);
+        final AffectedBlocks cached = this.affectedBlocks.get(origin);
+        if (cached == null) {
+            return null;
+        }
+        final double reach = radius * ExplosionTickCache.RAY_REACH;
+        if (!this.changes.unchangedSince(cached.stamp, Mth.floor(x - reach), Mth.floor(y - reach), Mth.floor(z - reach),
+                Mth.floor(x + reach), Mth.floor(y + reach), Mth.floor(z + reach))) {
+            this.affectedBlocks.remove(origin);
+            return null;
+        }
+        return cached.blocks;
+    }
+
+    public void putAffectedBlocks(final double x, final double y, final double z, final float radius, final Collection<BlockPos> blocks) {
+        this.affectedBlocks.put(new Origin(x, y, z, radius), new AffectedBlocks(new ArrayList<>(blocks), this.changes.current()));
+    }
+
+    public float getSeenPercent(final Vec3 origin, final Entity entity) {
+        final AABB bounds = entity.getBoundingBox();
+        final Exposure key = new Exposure(origin, bounds);
+        final SeenPercent cached = this.exposures.get(key);
+        // The rays go from points within the bounds to the origin
+        if (cached != null && this.changes.unchangedSince(cached.stamp,
+                Mth.floor(Math.min(origin.x, bounds.minX)), Mth.floor(Math.min(origin.y, bounds.minY)), Mth.floor(Math.min(origin.z, bounds.minZ)),
+                Mth.floor(Math.max(origin.x, bounds.maxX)), Mth.floor(Math.max(origin.y, bounds.maxY)), Mth.floor(Math.max(origin.z, bounds.maxZ)))) {
+            return cached.seen;
+        }
+        final float seen = Explosion.getSeenPercent(origin, entity);
+        this.exposures.put(key, new SeenPercent(seen, this.changes.current()));
+        return seen;
+    }
+
+    private static final class AffectedBlocks {
+
+        final List<BlockPos> blocks;
+        final long stamp;
+
+        AffectedBlocks(final List<BlockPos> blocks, final long stamp) {
+            this.blocks = blocks;
+            this.stamp = stamp;
+        }
+    }
+
+    private static final class SeenPercent {
+
+        final float seen;
+        final long stamp;
+
+        SeenPercent(final float seen, final long stamp) {
+            this.seen = seen;
+            this.stamp = stamp;
+        }
+    }
+
+    private static final class Origin {
+
+        private final double x;
+        private final double y;
+        private final double z;
+        private final float radius;
+
+        Origin(final double x, final double y, final double z, final float radius) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.radius = radius;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Origin)) {
+                return false;
+            }
+            final Origin that = (Origin) o;
+            return Double.compare(this.x, that.x) == 0
+                && Double.compare(this.y, that.y) == 0
+                && Double.compare(this.z, that.z) == 0
+                && Float.compare(this.radius, that.radius) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.x, this.y, this.z, this.radius);
+        }
+    }
+
+    private static final class Exposure {
+
+        private final Vec3 origin;
+        private final AABB bounds;
+
+        Exposure(final Vec3 origin, final AABB bounds) {
+            this.origin = origin;
+            this.bounds = bounds;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Exposure)) {
+                return false;
+            }
+            final Exposure that = (Exposure) o;
+            return this.origin.equals(that.origin) && this.bounds.equals(that.bounds);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.origin.hashCode() + this.bounds.hashCode();
+        }
+    }
+}
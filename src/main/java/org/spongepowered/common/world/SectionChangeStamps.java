@@ -0,0 +1,101 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+
+/**
+ * Remembers when each chunk section last had a block changed, so results
+ * computed from the blocks of a region can tell whether they are still
+ * valid.
+ *
+ * <p>Every change gets a new, increasing stamp. A result remembers the
+ * {@link #current() current stamp} when it is computed, and stays valid for
+ * as long as none of the sections it read from changed after that.</p>
+ */
+public final class SectionChangeStamps {
+
+    // Section position -> stamp of the last change in it
+    private final Long2LongOpenHashMap changes = new Long2LongOpenHashMap();
+    private long stamp;
+
+    public long current() {
+        return this.stamp;
+    }
+
+    /**
+     * Records that the block at the given position changed.
+     *
+     * @param x The block x coordinate
+     * @param y The block y coordinate
+     * @param z The block z coordinate
+     */
+    public void changed(final int x, final int y, final int z) {
+        this.changes.put(SectionChangeStamps.sectionKey(x >> 4, y >> 4, z >> 4), ++this.stamp);
+    }
+
+    /**
+     * Gets whether no block in any section overlapping the given block
+     * region has changed after the given stamp.
+     *
+     * @param stamp The stamp the result was computed at
+     * @param minX The lowest block x coordinate, inclusive
+     * @param minY The lowest block y coordinate, inclusive
+     * @param minZ The lowest block z coordinate, inclusive
+     * @param maxX The highest block x coordinate, inclusive
+     * @param maxY The highest block y coordinate, inclusive
+     * @param maxZ The highest block z coordinate, inclusive
+     * @return Whether the region is unchanged
+     */
+    public boolean unchangedSince(final long stamp, final int minX, final int minY, final int minZ,
+            final int maxX, final int maxY, final int maxZ) {
+        if (this.stamp == stamp || this.changes.isEmpty()) {
+            return true;
+        }
+        for (int sectionX = minX >> 4; sectionX <= maxX >> 4; sectionX++) {
+            for (int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+                for (int sectionZ = minZ >> 4; sectionZ <= maxZ >> 4; sectionZ++) {
+                    if (this.changes.get(SectionChangeStamps.sectionKey(sectionX, sectionY, sectionZ)) > stamp) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Forgets every change, after which nothing computed before now may be
+     * checked anymore.
+     */
+    public void clear() {
+        this.changes.clear();
+    }
+
+    private static long sectionKey(final int x, final int y, final int z) {
+        // Same layout as SectionPos#asLong
+        return ((long) x & 0x3FFFFFL) << 42 | ((long) y & 0xFFFFFL) | ((long) z & 0x3FFFFFL) << 20;
+    }
+}
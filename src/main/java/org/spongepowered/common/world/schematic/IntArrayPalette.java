@@ -0,0 +1,284 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import com.google.common.collect.HashBiMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.registry.Registry;
+import org.spongepowered.api.registry.RegistryHolder;
+import org.spongepowered.api.registry.RegistryType;
+import org.spongepowered.api.world.schematic.Palette;
+import org.spongepowered.api.world.schematic.PaletteReference;
+import org.spongepowered.api.world.schematic.PaletteType;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A {@link Palette.Mutable} keyed by primitive ids. Ids index directly into
+ * a reference array and the reverse lookup is an open addressed
+ * {@code Object2IntMap}, so neither direction boxes the id. Resolved values
+ * are cached per id, which keeps {@link #get(int, RegistryHolder)} cheap for
+ * large volumes that hit the same few ids millions of times.
+ *
+ * @param <T> The type of value being stored
+ * @param <R> The registry type
+ */
+public final class IntArrayPalette<T, R> implements Palette.Mutable<T, R> {
+
+    private static final int DEFAULT_ALLOCATION_SIZE = 64;
+    private static final int NO_ID = -1;
+
+    private final PaletteType<T, R> paletteType;
+    private final Registry<R> registry;
+    private final RegistryType<R> registryType;
+    private final Object2IntOpenHashMap<PaletteReference<T, R>> idsr;
+    private @Nullable PaletteReference<T, R>[] ids;
+    private @Nullable Object[] resolved;
+    private int maxId = 0;
+    private int nextFree = 0;
+
+    public IntArrayPalette(final PaletteType<T, R> paletteType, final Registry<R> registry, final RegistryType<R> registryType) {
+        this(paletteType, registry, registryType, IntArrayPalette.DEFAULT_ALLOCATION_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public IntArrayPalette(final PaletteType<T, R> paletteType, final Registry<R> registry, final RegistryType<R> registryType,
+        final int expectedSize
+    ) {
+        this.paletteType = paletteType;
+        this.registry = registry;
+        this.registryType = registryType;
+        final int capacity = Math.max(expectedSize, 1);
+        this.ids = new PaletteReference[capacity];
+        this.resolved = new Object[capacity];
+        this.idsr = new Object2IntOpenHashMap<>(capacity);
+        this.idsr.defaultReturnValue(IntArrayPalette.NO_ID);
+    }
+
+    @Override
+    public PaletteType<T, R> type() {
+        return this.paletteType;
+    }
+
+    @Override
+    public int highestId() {
+        return this.maxId;
+    }
+
+    @Override
+    public OptionalInt get(final T state) {
+        final int id = this.idsr.getInt(MutableBimapPalette.createPaletteReference(state, this.paletteType, this.registry));
+        return id == IntArrayPalette.NO_ID ? OptionalInt.empty() : OptionalInt.of(id);
+    }
+
+    @Override
+    public int orAssign(final T state) {
+        final PaletteReference<T, R> ref = MutableBimapPalette.createPaletteReference(state, this.paletteType, this.registry);
+        final int existing = this.idsr.getInt(ref);
+        if (existing != IntArrayPalette.NO_ID) {
+            return existing;
+        }
+        while (this.nextFree < this.ids.length && this.ids[this.nextFree] != null) {
+            this.nextFree++;
+        }
+        final int id = this.nextFree;
+        this.put(id, ref, state);
+        return id;
+    }
+
+    /**
+     * Assigns the given state to an explicit id, as read from a serialized
+     * palette. Any reference previously held by that id is replaced.
+     *
+     * @param state The state
+     * @param id The id to assign
+     * @return The id
+     */
+    public int assign(final T state, final int id) {
+        this.put(id, MutableBimapPalette.createPaletteReference(state, this.paletteType, this.registry), state);
+        return id;
+    }
+
+    /**
+     * Assigns a raw palette reference to an explicit id without resolving it
+     * against the registry. Used by the streaming schematic reader so that
+     * unknown entries survive a load/save round trip.
+     *
+     * @param ref The reference
+     * @param id The id to assign
+     * @return The id
+     */
+    public int assign(final PaletteReference<T, R> ref, final int id) {
+        this.put(id, ref, null);
+        return id;
+    }
+
+    private void put(final int id, final PaletteReference<T, R> ref, final @Nullable T state) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Palette ids must not be negative: " + id);
+        }
+        this.ensureCapacity(id + 1);
+        final @Nullable PaletteReference<T, R> previous = this.ids[id];
+        if (previous != null) {
+            this.idsr.removeInt(previous);
+        }
+        this.ids[id] = ref;
+        this.resolved[id] = state;
+        this.idsr.put(ref, id);
+        if (this.maxId < id) {
+            this.maxId = id;
+        }
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > this.ids.length) {
+            final int newLength = Math.max(capacity, this.ids.length + (this.ids.length >> 1));
+            this.ids = Arrays.copyOf(this.ids, newLength);
+            this.resolved = Arrays.copyOf(this.resolved, newLength);
+        }
+    }
+
+    @Override
+    public Optional<PaletteReference<T, R>> get(final int id) {
+        if (id < 0 || id >= this.ids.length) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(this.ids[id]);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Optional<T> get(final int id, final RegistryHolder holder) {
+        if (id < 0 || id >= this.ids.length) {
+            return Optional.empty();
+        }
+        final @Nullable Object cached = this.resolved[id];
+        if (cached != null) {
+            return Optional.of((T) cached);
+        }
+        final @Nullable PaletteReference<T, R> ref = this.ids[id];
+        if (ref == null) {
+            return Optional.empty();
+        }
+        Optional<T> value = this.paletteType.resolver().apply(ref.value(), this.registry);
+        if (!value.isPresent()) {
+            value = Objects.requireNonNull(holder, "RegistryHolder cannot be null")
+                .findRegistry(ref.registry())
+                .flatMap(reg -> this.paletteType.resolver().apply(ref.value(), reg));
+        }
+        value.ifPresent(resolvedValue -> this.resolved[id] = resolvedValue);
+        return value;
+    }
+
+    @Override
+    public boolean remove(final T state) {
+        final int id = this.idsr.removeInt(MutableBimapPalette.createPaletteReference(state, this.paletteType, this.registry));
+        if (id == IntArrayPalette.NO_ID) {
+            return false;
+        }
+        this.ids[id] = null;
+        this.resolved[id] = null;
+        if (id < this.nextFree) {
+            this.nextFree = id;
+        }
+        if (id == this.maxId) {
+            int max = id;
+            while (max > 0 && this.ids[max] == null) {
+                max--;
+            }
+            this.maxId = max;
+        }
+        return true;
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return this.streamWithIds().map(Map.Entry::getKey);
+    }
+
+    @Override
+    public Stream<Map.Entry<T, Integer>> streamWithIds() {
+        final @Nullable PaletteReference<T, R>[] copy = Arrays.copyOf(this.ids, this.maxId + 1);
+        return IntStream.range(0, copy.length)
+            .filter(id -> copy[id] != null)
+            .mapToObj(id -> this.paletteType.resolver().apply(copy[id].value(), this.registry)
+                .map(value -> new AbstractMap.SimpleEntry<>(value, id)))
+            .filter(Optional::isPresent)
+            .map(Optional::get);
+    }
+
+    @Override
+    public Immutable<T, R> asImmutable() {
+        final HashBiMap<Integer, PaletteReference<T, R>> map = HashBiMap.create(this.idsr.size());
+        for (int id = 0; id <= this.maxId && id < this.ids.length; id++) {
+            final @Nullable PaletteReference<T, R> ref = this.ids[id];
+            if (ref != null) {
+                map.put(id, ref);
+            }
+        }
+        return new ImmutableBimapPalette<>(this.paletteType, this.registry, this.registryType, map);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        final IntArrayPalette<?, ?> that = (IntArrayPalette<?, ?>) o;
+        if (this.maxId != that.maxId || !this.paletteType.equals(that.paletteType)) {
+            return false;
+        }
+        for (int id = 0; id <= this.maxId; id++) {
+            if (!Objects.equals(this.reference(id), that.reference(id))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private @Nullable PaletteReference<T, R> reference(final int id) {
+        return id < this.ids.length ? this.ids[id] : null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(this.paletteType, this.maxId);
+        for (int id = 0; id <= this.maxId && id < this.ids.length; id++) {
+            result = 31 * result + Objects.hashCode(this.ids[id]);
+        }
+        return result;
+    }
+}
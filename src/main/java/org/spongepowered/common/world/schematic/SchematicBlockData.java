@@ -0,0 +1,165 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.common.world.volume.buffer.block.BlockBackingData;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes and decodes the varint block ids of a schematic.
+ *
+ * <p>Schematics order their ids y, then z, then x, while block buffers are
+ * ordered x, then z, then y. Ids are translated between the two orders as
+ * they are read or written, so neither side needs a copy of the whole
+ * volume.</p>
+ */
+final class SchematicBlockData {
+
+    /**
+     * Source of palette ids, relative to the minimum position of a volume.
+     */
+    interface Ids {
+
+        int id(int x, int y, int z);
+    }
+
+    /**
+     * Gets the index of a position in a block buffer of the given size.
+     */
+    static int index(final int x, final int y, final int z, final int height, final int length) {
+        return (x * length + z) * height + y;
+    }
+
+    /**
+     * Decodes {@code byteLength} bytes of varints into packed backing data
+     * sized for {@code highestId}.
+     */
+    static BlockBackingData.PackedBackingData read(final DataInput input, final int byteLength, final int width, final int height,
+        final int length, final int highestId
+    ) throws IOException {
+        final int volume = width * height * length;
+        final BlockBackingData.PackedBackingData data = new BlockBackingData.PackedBackingData(volume, Math.max(1, highestId));
+        final int[] read = new int[1];
+        int x = 0;
+        int y = 0;
+        int z = 0;
+        int count = 0;
+        while (read[0] < byteLength) {
+            final int id = SchematicBlockData.readVarInt(input, read);
+            if (count++ >= volume) {
+                throw new InvalidDataException("Schematic block data has more entries than its volume of " + volume);
+            }
+            if (id > highestId) {
+                throw new InvalidDataException("Schematic block data references palette id " + id + " which is not in the palette");
+            }
+            data.set(SchematicBlockData.index(x, y, z, height, length), id);
+            if (++x == width) {
+                x = 0;
+                if (++z == length) {
+                    z = 0;
+                    y++;
+                }
+            }
+        }
+        if (read[0] != byteLength) {
+            throw new InvalidDataException("Schematic block data ends in the middle of an id");
+        }
+        if (count != volume) {
+            throw new InvalidDataException("Schematic block data has " + count + " entries but its volume is " + volume);
+        }
+        return data;
+    }
+
+    /**
+     * Gets the number of bytes {@link #write} will write, which NBT needs
+     * before the data itself.
+     */
+    static int encodedLength(final Ids ids, final int width, final int height, final int length) {
+        int byteLength = 0;
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++) {
+                    byteLength += SchematicBlockData.varIntSize(ids.id(x, y, z));
+                }
+            }
+        }
+        return byteLength;
+    }
+
+    static void write(final DataOutput output, final Ids ids, final int width, final int height, final int length) throws IOException {
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++) {
+                    SchematicBlockData.writeVarInt(output, ids.id(x, y, z));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a single varint, adding the number of bytes it took up to
+     * {@code read[0]}.
+     */
+    static int readVarInt(final DataInput input, final int[] read) throws IOException {
+        int value = 0;
+        int varIntLength = 0;
+        byte current;
+        do {
+            current = input.readByte();
+            read[0]++;
+            value |= (current & 0x7F) << (varIntLength++ * 7);
+            if (varIntLength > 5) {
+                throw new InvalidDataException("VarInt too big (probably corrupted data)");
+            }
+        } while ((current & 0x80) == 0x80);
+        return value;
+    }
+
+    static int varIntSize(final int value) {
+        int size = 1;
+        int remaining = value >>> 7;
+        while (remaining != 0) {
+            size++;
+            remaining >>>= 7;
+        }
+        return size;
+    }
+
+    static void writeVarInt(final DataOutput output, final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & -128) != 0) {
+            output.writeByte(remaining & 127 | 128);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+
+    private SchematicBlockData() {
+    }
+}
@@ -72,6 +72,10 @@ public SpongeSchematic(final Vector3i start, final Vector3i size,
         this.metadata = metadata;
     }
 
+    public SpongeArchetypeVolume getVolume() {
+        return this.volume;
+    }
+
     @Override
     public Palette<BlockState, BlockType> blockPalette() {
         return this.volume.getBlockPalette();
@@ -0,0 +1,560 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.Tag;
+import net.minecraft.nbt.TagTypes;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockType;
+import org.spongepowered.api.block.entity.BlockEntityArchetype;
+import org.spongepowered.api.block.entity.BlockEntityType;
+import org.spongepowered.api.data.persistence.DataContainer;
+import org.spongepowered.api.data.persistence.DataView;
+import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.api.entity.EntityArchetype;
+import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.api.registry.RegistryHolder;
+import org.spongepowered.api.registry.RegistryTypes;
+import org.spongepowered.api.world.biome.Biome;
+import org.spongepowered.api.world.schematic.PaletteReference;
+import org.spongepowered.api.world.schematic.PaletteTypes;
+import org.spongepowered.api.world.volume.archetype.entity.EntityArchetypeEntry;
+import org.spongepowered.common.block.entity.SpongeBlockEntityArchetypeBuilder;
+import org.spongepowered.common.data.persistence.NBTTranslator;
+import org.spongepowered.common.entity.SpongeEntityArchetypeBuilder;
+import org.spongepowered.common.world.volume.buffer.archetype.SpongeArchetypeVolume;
+import org.spongepowered.common.world.volume.buffer.block.ArrayMutableBlockBuffer;
+import org.spongepowered.common.world.volume.buffer.block.BlockBackingData;
+import org.spongepowered.math.vector.Vector3d;
+import org.spongepowered.math.vector.Vector3i;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads Sponge schematics (versions 1 through 3) straight from a binary NBT
+ * stream.
+ *
+ * <p>Unlike going through a full {@link DataView}, the block data varints
+ * are decoded directly from the stream into a
+ * {@link BlockBackingData.PackedBackingData} as they arrive, and the palette
+ * is kept as primitive ids in an {@link IntArrayPalette} whose entries are
+ * only resolved against the registry the first time they are queried. Only
+ * the comparatively small sections (metadata, block entities and entities)
+ * are materialized as NBT.</p>
+ */
+public final class StreamingSchematicReader {
+
+    private static final String ROOT = "Schematic";
+    private static final String VERSION = "Version";
+    private static final String WIDTH = "Width";
+    private static final String HEIGHT = "Height";
+    private static final String LENGTH = "Length";
+    private static final String OFFSET = "Offset";
+    private static final String METADATA = "Metadata";
+    private static final String PALETTE = "Palette";
+    private static final String PALETTE_MAX = "PaletteMax";
+    private static final String BLOCK_DATA = "BlockData";
+    private static final String BIOME_PALETTE = "BiomePalette";
+    private static final String BIOME_DATA = "BiomeData";
+    private static final String BLOCK_ENTITIES = "BlockEntities";
+    private static final String V1_TILE_ENTITIES = "TileEntities";
+    private static final String ENTITIES = "Entities";
+    private static final String V3_BLOCKS = "Blocks";
+    private static final String V3_BIOMES = "Biomes";
+    private static final String V3_DATA = "Data";
+    private static final String ID = "Id";
+    private static final String POS = "Pos";
+
+    private static final int MAX_VERSION = 3;
+    private static final int GZIP_MAGIC_FIRST_BYTE = 0x1f;
+
+    private int version = -1;
+    private int width = -1;
+    private int height = -1;
+    private int length = -1;
+    private int[] offset = new int[3];
+    private @Nullable IntArrayPalette<BlockState, BlockType> blockPalette;
+    private int paletteMax = -1;
+    private @Nullable BlockBackingData blockData;
+    private byte @Nullable [] deferredBlockData;
+    private final Int2ObjectOpenHashMap<String> biomePalette = new Int2ObjectOpenHashMap<>();
+    private byte @Nullable [] biomeData;
+    private boolean threeDimensionalBiomes;
+    private @Nullable CompoundTag metadata;
+    private final List<CompoundTag> blockEntities = new ArrayList<>();
+    private final List<CompoundTag> entities = new ArrayList<>();
+
+    private StreamingSchematicReader() {
+    }
+
+    /**
+     * Reads a schematic from the given stream, which may be either raw or
+     * gzip compressed NBT. The stream is not closed.
+     *
+     * @param stream The stream to read
+     * @return The schematic
+     * @throws IOException If the stream could not be read
+     * @throws InvalidDataException If the stream does not contain a valid schematic
+     */
+    public static SpongeSchematic read(final InputStream stream) throws IOException {
+        final PushbackInputStream pushback = new PushbackInputStream(stream, 1);
+        final int first = pushback.read();
+        if (first == -1) {
+            throw new InvalidDataException("Schematic stream is empty");
+        }
+        pushback.unread(first);
+        final InputStream source = first == StreamingSchematicReader.GZIP_MAGIC_FIRST_BYTE ? new GZIPInputStream(pushback, 8192) : pushback;
+        final DataInputStream input = new DataInputStream(new BufferedInputStream(source, 8192));
+        final StreamingSchematicReader reader = new StreamingSchematicReader();
+        reader.readRoot(input);
+        return reader.build(Sponge.game().registries());
+    }
+
+    private void readRoot(final DataInput input) throws IOException {
+        final byte type = input.readByte();
+        if (type != Tag.TAG_COMPOUND) {
+            throw new InvalidDataException("Schematic root must be a compound, found tag type " + type);
+        }
+        input.readUTF();
+        this.readSchematicCompound(input);
+    }
+
+    private void readSchematicCompound(final DataInput input) throws IOException {
+        byte type;
+        while ((type = input.readByte()) != Tag.TAG_END) {
+            final String name = input.readUTF();
+            switch (name) {
+                case StreamingSchematicReader.ROOT:
+                    // Version 3 nests everything inside of a "Schematic" compound
+                    StreamingSchematicReader.expect(name, type, Tag.TAG_COMPOUND);
+                    this.readSchematicCompound(input);
+                    break;
+                case StreamingSchematicReader.VERSION:
+                    this.version = StreamingSchematicReader.readInt(name, type, input);
+                    break;
+                case StreamingSchematicReader.WIDTH:
+                    this.width = StreamingSchematicReader.readInt(name, type, input) & 0xFFFF;
+                    break;
+                case StreamingSchematicReader.HEIGHT:
+                    this.height = StreamingSchematicReader.readInt(name, type, input) & 0xFFFF;
+                    break;
+                case StreamingSchematicReader.LENGTH:
+                    this.length = StreamingSchematicReader.readInt(name, type, input) & 0xFFFF;
+                    break;
+                case StreamingSchematicReader.OFFSET:
+                    StreamingSchematicReader.expect(name, type, Tag.TAG_INT_ARRAY);
+                    this.offset = StreamingSchematicReader.readIntArray(input);
+                    if (this.offset.length != 3) {
+                        throw new InvalidDataException("Schematic offset was not of length 3");
+                    }
+                    break;
+                case StreamingSchematicReader.PALETTE_MAX:
+                    this.paletteMax = StreamingSchematicReader.readInt(name, type, input);
+                    break;
+                case StreamingSchematicReader.PALETTE:
+                    StreamingSchematicReader.expect(name, type, Tag.TAG_COMPOUND);
+                    this.readBlockPalette(input);
+                    break;
+                case StreamingSchematicReader.BLOCK_DATA:
+                    StreamingSchematicReader.expect(name, type, Tag.TAG_BYTE_ARRAY);
+                    this.readBlockData(input);
+                    break;
+                case StreamingSchematicReader.V3_BLOCKS:
+                    StreamingSchematicReader.expect(name, type, Tag.TAG_COMPOUND);
+                    this.readV3Blocks(input);
+                    break;
+                case StreamingSchematicReader.BIOME_PALETTE:
+                    StreamingSchematicReader.expect(name, type, Tag.TAG_COMPOUND);
+                    this.readBiomePalette(input);
+                    break;
+                case StreamingSchematicReader.BIOME_DATA:
+                    StreamingSchematicReader.expect(name, type, Tag.TAG_BYTE_ARRAY);
+                    this.biomeData = StreamingSchematicReader.readByteArray(input);
+                    break;
+                case StreamingSchematicReader.V3_BIOMES:
+                    StreamingSchematicReader.expect(name, type, Tag.TAG_COMPOUND);
+                    this.readV3Biomes(input);
+                    break;
+                case StreamingSchematicReader.METADATA:
+                    StreamingSchematicReader.expect(name, type, Tag.TAG_COMPOUND);
+                    this.metadata = (CompoundTag) StreamingSchematicReader.readTag(type, input);
+                    break;
+                case StreamingSchematicReader.BLOCK_ENTITIES:
+                case StreamingSchematicReader.V1_TILE_ENTITIES:
+                    StreamingSchematicReader.readCompoundList(name, type, input, this.blockEntities);
+                    break;
+                case StreamingSchematicReader.ENTITIES:
+                    StreamingSchematicReader.readCompoundList(name, type, input, this.entities);
+                    break;
+                default:
+                    StreamingSchematicReader.skip(type, input);
+            }
+        }
+    }
+
+    private void readV3Blocks(final DataInput input) throws IOException {
+        byte type;
+        while ((type = input.readByte()) != Tag.TAG_END) {
+            final String name = input.readUTF();
+            switch (name) {
+                case StreamingSchematicReader.PALETTE:
+                    StreamingSchematicReader.expect(name, type, Tag.TAG_COMPOUND);
+                    this.readBlockPalette(input);
+                    break;
+                case StreamingSchematicReader.V3_DATA:
+                    StreamingSchematicReader.expect(name, type, Tag.TAG_BYTE_ARRAY);
+                    this.readBlockData(input);
+                    break;
+                case StreamingSchematicReader.BLOCK_ENTITIES:
+                    StreamingSchematicReader.readCompoundList(name, type, input, this.blockEntities);
+                    break;
+                default:
+                    StreamingSchematicReader.skip(type, input);
+            }
+        }
+    }
+
+    private void readV3Biomes(final DataInput input) throws IOException {
+        this.threeDimensionalBiomes = true;
+        byte type;
+        while ((type = input.readByte()) != Tag.TAG_END) {
+            final String name = input.readUTF();
+            switch (name) {
+                case StreamingSchematicReader.PALETTE:
+                    StreamingSchematicReader.expect(name, type, Tag.TAG_COMPOUND);
+                    this.readBiomePalette(input);
+                    break;
+                case StreamingSchematicReader.V3_DATA:
+                    StreamingSchematicReader.expect(name, type, Tag.TAG_BYTE_ARRAY);
+                    this.biomeData = StreamingSchematicReader.readByteArray(input);
+                    break;
+                default:
+                    StreamingSchematicReader.skip(type, input);
+            }
+        }
+    }
+
+    private void readBlockPalette(final DataInput input) throws IOException {
+        final IntArrayPalette<BlockState, BlockType> palette = new IntArrayPalette<>(
+            PaletteTypes.BLOCK_STATE_PALETTE.get(),
+            Sponge.game().registries().registry(RegistryTypes.BLOCK_TYPE),
+            RegistryTypes.BLOCK_TYPE,
+            this.paletteMax > 0 ? this.paletteMax + 1 : 64
+        );
+        byte type;
+        while ((type = input.readByte()) != Tag.TAG_END) {
+            final String state = input.readUTF();
+            final int id = StreamingSchematicReader.readInt(state, type, input);
+            palette.assign(PaletteReference.<BlockState, BlockType>byString(RegistryTypes.BLOCK_TYPE, state), id);
+        }
+        this.blockPalette = palette;
+        this.decodeDeferredBlockData();
+    }
+
+    private void readBiomePalette(final DataInput input) throws IOException {
+        byte type;
+        while ((type = input.readByte()) != Tag.TAG_END) {
+            final String biome = input.readUTF();
+            this.biomePalette.put(StreamingSchematicReader.readInt(biome, type, input), biome);
+        }
+    }
+
+    private boolean canDecodeBlockData() {
+        return this.blockPalette != null && this.width >= 0 && this.height >= 0 && this.length >= 0;
+    }
+
+    private void readBlockData(final DataInput input) throws IOException {
+        final int byteLength = input.readInt();
+        if (!this.canDecodeBlockData()) {
+            // The palette or dimensions haven't been seen yet, so the ids can't be sized. NBT compounds
+            // are unordered, so hold on to the raw varints until they have been read.
+            final byte[] raw = new byte[byteLength];
+            input.readFully(raw);
+            this.deferredBlockData = raw;
+            return;
+        }
+        this.decodeBlockData(input, byteLength);
+    }
+
+    private void decodeDeferredBlockData() throws IOException {
+        if (this.deferredBlockData != null && this.canDecodeBlockData()) {
+            final byte[] deferred = this.deferredBlockData;
+            this.deferredBlockData = null;
+            this.decodeBlockData(new DataInputStream(new ByteArrayInputStream(deferred)), deferred.length);
+        }
+    }
+
+    private void decodeBlockData(final DataInput input, final int byteLength) throws IOException {
+        this.blockData = SchematicBlockData.read(input, byteLength, this.width, this.height, this.length, this.blockPalette.highestId());
+    }
+
+    private SpongeSchematic build(final RegistryHolder registries) {
+        if (this.version > StreamingSchematicReader.MAX_VERSION) {
+            throw new InvalidDataException(String.format("Unknown schematic version %d (newest readable version is %d)", this.version,
+                StreamingSchematicReader.MAX_VERSION));
+        }
+        if (this.width < 0 || this.height < 0 || this.length < 0) {
+            throw new InvalidDataException("Schematic is missing its dimensions");
+        }
+        if (this.blockPalette == null) {
+            throw new InvalidDataException("Missing Palette for Schematic");
+        }
+        try {
+            this.decodeDeferredBlockData();
+        } catch (final IOException e) {
+            throw new InvalidDataException("Could not decode Schematic block data", e);
+        }
+        if (this.blockData == null) {
+            throw new InvalidDataException("Missing BlockData for Schematic");
+        }
+        final Vector3i start = new Vector3i(-this.offset[0], -this.offset[1], -this.offset[2]);
+        final Vector3i size = new Vector3i(this.width, this.height, this.length);
+        final ArrayMutableBlockBuffer blocks = new ArrayMutableBlockBuffer(this.blockPalette, this.blockData, start, size);
+        final SpongeArchetypeVolume volume = new SpongeArchetypeVolume(start, size, blocks, registries);
+
+        this.applyBiomes(volume, registries, start);
+        for (final CompoundTag blockEntity : this.blockEntities) {
+            this.readBlockEntity(volume, blockEntity, start);
+        }
+        for (final CompoundTag entity : this.entities) {
+            this.readEntity(volume, entity, start);
+        }
+
+        final DataContainer metadata = this.metadata == null
+            ? DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED)
+            : NBTTranslator.INSTANCE.translate(this.metadata);
+        return new SpongeSchematic(start, size, volume, metadata);
+    }
+
+    private void applyBiomes(final SpongeArchetypeVolume volume, final RegistryHolder registries, final Vector3i start) {
+        if (this.biomeData == null || this.biomePalette.isEmpty()) {
+            return;
+        }
+        final Int2ObjectOpenHashMap<Biome> resolved = new Int2ObjectOpenHashMap<>(this.biomePalette.size());
+        for (final Int2ObjectMap.Entry<String> entry : this.biomePalette.int2ObjectEntrySet()) {
+            registries.registry(RegistryTypes.BIOME).findValue(ResourceKey.resolve(entry.getValue()))
+                .ifPresent(biome -> resolved.put(entry.getIntKey(), biome));
+        }
+        final byte[] biomes = this.biomeData;
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(biomes));
+        final int columns = this.width * this.length;
+        final int[] read = new int[1];
+        int index = 0;
+        try {
+            while (read[0] < biomes.length) {
+                final @Nullable Biome biome = resolved.get(SchematicBlockData.readVarInt(input, read));
+                if (biome != null) {
+                    final int x = index % this.width;
+                    final int z = (index % columns) / this.width;
+                    if (this.threeDimensionalBiomes) {
+                        volume.setBiome(start.getX() + x, start.getY() + index / columns, start.getZ() + z, biome);
+                    } else {
+                        for (int y = 0; y < this.height; y++) {
+                            volume.setBiome(start.getX() + x, start.getY() + y, start.getZ() + z, biome);
+                        }
+                    }
+                }
+                index++;
+            }
+        } catch (final IOException e) {
+            throw new InvalidDataException("Could not decode Schematic biome data", e);
+        }
+    }
+
+    private void readBlockEntity(final SpongeArchetypeVolume volume, final CompoundTag tag, final Vector3i start) {
+        final int[] pos = tag.getIntArray(StreamingSchematicReader.POS);
+        if (pos.length != 3 || !tag.contains(StreamingSchematicReader.ID, Tag.TAG_STRING)) {
+            return;
+        }
+        final Optional<BlockEntityType> type = Sponge.game().registries().registry(RegistryTypes.BLOCK_ENTITY_TYPE)
+            .findValue(ResourceKey.resolve(tag.getString(StreamingSchematicReader.ID)));
+        if (!type.isPresent()) {
+            return;
+        }
+        final CompoundTag data;
+        if (tag.contains(StreamingSchematicReader.V3_DATA, Tag.TAG_COMPOUND)) {
+            data = tag.getCompound(StreamingSchematicReader.V3_DATA);
+        } else {
+            data = tag.copy();
+            data.remove(StreamingSchematicReader.POS);
+        }
+        final int x = start.getX() + pos[0];
+        final int y = start.getY() + pos[1];
+        final int z = start.getZ() + pos[2];
+        final BlockEntityArchetype archetype = new SpongeBlockEntityArchetypeBuilder()
+            .state(volume.block(x, y, z))
+            .blockEntity(type.get())
+            .blockEntityData(NBTTranslator.INSTANCE.translate(data))
+            .build();
+        volume.addBlockEntity(x, y, z, archetype);
+    }
+
+    private void readEntity(final SpongeArchetypeVolume volume, final CompoundTag tag, final Vector3i start) {
+        final ListTag pos = tag.getList(StreamingSchematicReader.POS, Tag.TAG_DOUBLE);
+        if (pos.size() != 3 || !tag.contains(StreamingSchematicReader.ID, Tag.TAG_STRING)) {
+            return;
+        }
+        final Optional<EntityType<?>> type = Sponge.game().registries().registry(RegistryTypes.ENTITY_TYPE)
+            .findValue(ResourceKey.resolve(tag.getString(StreamingSchematicReader.ID)));
+        if (!type.isPresent()) {
+            return;
+        }
+        final CompoundTag data = tag.contains(StreamingSchematicReader.V3_DATA, Tag.TAG_COMPOUND)
+            ? tag.getCompound(StreamingSchematicReader.V3_DATA)
+            : tag;
+        final EntityArchetype archetype = new SpongeEntityArchetypeBuilder()
+            .type(type.get())
+            .entityData(NBTTranslator.INSTANCE.translate(data))
+            .build();
+        final Vector3d position = new Vector3d(start.getX() + pos.getDouble(0), start.getY() + pos.getDouble(1), start.getZ() + pos.getDouble(2));
+        volume.addEntity(EntityArchetypeEntry.of(archetype, position));
+    }
+
+    private static void expect(final String name, final byte actual, final int expected) {
+        if (actual != expected) {
+            throw new InvalidDataException(String.format("Schematic tag '%s' has type %d but %d was expected", name, actual, expected));
+        }
+    }
+
+    private static int readInt(final String name, final byte type, final DataInput input) throws IOException {
+        switch (type) {
+            case Tag.TAG_BYTE:
+                return input.readByte();
+            case Tag.TAG_SHORT:
+                return input.readShort();
+            case Tag.TAG_INT:
+                return input.readInt();
+            default:
+                throw new InvalidDataException(String.format("Schematic tag '%s' has type %d but a number was expected", name, type));
+        }
+    }
+
+    private static int[] readIntArray(final DataInput input) throws IOException {
+        final int[] array = new int[input.readInt()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = input.readInt();
+        }
+        return array;
+    }
+
+    private static byte[] readByteArray(final DataInput input) throws IOException {
+        final byte[] array = new byte[input.readInt()];
+        input.readFully(array);
+        return array;
+    }
+
+    private static Tag readTag(final byte type, final DataInput input) throws IOException {
+        return TagTypes.getType(type).load(input, 0, NbtAccounter.UNLIMITED);
+    }
+
+    private static void readCompoundList(final String name, final byte type, final DataInput input, final List<CompoundTag> into)
+        throws IOException {
+        StreamingSchematicReader.expect(name, type, Tag.TAG_LIST);
+        final ListTag list = (ListTag) StreamingSchematicReader.readTag(type, input);
+        for (int i = 0; i < list.size(); i++) {
+            into.add(list.getCompound(i));
+        }
+    }
+
+    private static void skipFully(final DataInput input, final int count) throws IOException {
+        int remaining = count;
+        while (remaining > 0) {
+            final int skipped = input.skipBytes(remaining);
+            if (skipped > 0) {
+                remaining -= skipped;
+            } else {
+                input.readByte();
+                remaining--;
+            }
+        }
+    }
+
+    private static void skip(final byte type, final DataInput input) throws IOException {
+        switch (type) {
+            case Tag.TAG_BYTE:
+                StreamingSchematicReader.skipFully(input, 1);
+                break;
+            case Tag.TAG_SHORT:
+                StreamingSchematicReader.skipFully(input, 2);
+                break;
+            case Tag.TAG_INT:
+            case Tag.TAG_FLOAT:
+                StreamingSchematicReader.skipFully(input, 4);
+                break;
+            case Tag.TAG_LONG:
+            case Tag.TAG_DOUBLE:
+                StreamingSchematicReader.skipFully(input, 8);
+                break;
+            case Tag.TAG_BYTE_ARRAY:
+                StreamingSchematicReader.skipFully(input, input.readInt());
+                break;
+            case Tag.TAG_STRING:
+                StreamingSchematicReader.skipFully(input, input.readUnsignedShort());
+                break;
+            case Tag.TAG_INT_ARRAY:
+                StreamingSchematicReader.skipFully(input, input.readInt() * 4);
+                break;
+            case Tag.TAG_LONG_ARRAY:
+                StreamingSchematicReader.skipFully(input, input.readInt() * 8);
+                break;
+            case Tag.TAG_LIST: {
+                final byte elementType = input.readByte();
+                final int size = input.readInt();
+                for (int i = 0; i < size; i++) {
+                    StreamingSchematicReader.skip(elementType, input);
+                }
+                break;
+            }
+            case Tag.TAG_COMPOUND: {
+                byte entryType;
+                while ((entryType = input.readByte()) != Tag.TAG_END) {
+                    StreamingSchematicReader.skipFully(input, input.readUnsignedShort());
+                    StreamingSchematicReader.skip(entryType, input);
+                }
+                break;
+            }
+            default:
+                throw new InvalidDataException("Unknown NBT tag type " + type);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.DoubleTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockType;
+import org.spongepowered.api.block.entity.BlockEntityArchetype;
+import org.spongepowered.api.entity.EntityArchetype;
+import org.spongepowered.api.registry.Registry;
+import org.spongepowered.api.registry.RegistryTypes;
+import org.spongepowered.api.world.biome.Biome;
+import org.spongepowered.api.world.schematic.Palette;
+import org.spongepowered.api.world.schematic.PaletteReference;
+import org.spongepowered.api.world.schematic.PaletteTypes;
+import org.spongepowered.api.world.schematic.Schematic;
+import org.spongepowered.api.world.volume.archetype.entity.EntityArchetypeEntry;
+import org.spongepowered.common.data.AbstractArchetype;
+import org.spongepowered.common.data.persistence.NBTTranslator;
+import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.volume.buffer.block.ArrayMutableBlockBuffer;
+import org.spongepowered.common.world.volume.buffer.block.BlockBackingData;
+import org.spongepowered.math.vector.Vector3d;
+import org.spongepowered.math.vector.Vector3i;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes Sponge schematics (version 2) straight to a gzip compressed binary
+ * NBT stream.
+ *
+ * <p>The block data varints are written directly from the schematic's
+ * backing ids to the stream, so no intermediate {@code byte[]} or
+ * {@code DataView} of the whole volume is ever built. The encoded length,
+ * which NBT requires up front, is computed in a cheap first pass over the
+ * ids.</p>
+ */
+public final class StreamingSchematicWriter {
+
+    private final Schematic schematic;
+    private final int width;
+    private final int height;
+    private final int length;
+    private final Vector3i min;
+    private final BlockIds blockIds;
+
+    private StreamingSchematicWriter(final Schematic schematic) {
+        this.schematic = schematic;
+        this.min = schematic.blockMin();
+        final Vector3i size = schematic.blockSize();
+        this.width = size.getX();
+        this.height = size.getY();
+        this.length = size.getZ();
+        if (this.width > Constants.Sponge.Schematic.MAX_SIZE || this.height > Constants.Sponge.Schematic.MAX_SIZE
+            || this.length > Constants.Sponge.Schematic.MAX_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                "Schematic is larger than maximum allowable size (found: (%d, %d, %d) max: (%d, %<d, %<d)",
+                this.width, this.height, this.length, Constants.Sponge.Schematic.MAX_SIZE));
+        }
+        if (schematic instanceof SpongeSchematic) {
+            final ArrayMutableBlockBuffer buffer = ((SpongeSchematic) schematic).getVolume().getBlockBuffer();
+            this.blockIds = new BackedBlockIds(buffer.getPalette(), buffer.getBackingData());
+        } else {
+            this.blockIds = new LookupBlockIds();
+        }
+    }
+
+    /**
+     * Writes the schematic to the given stream as gzip compressed NBT. The
+     * stream is not closed.
+     *
+     * @param schematic The schematic to write
+     * @param stream The stream to write to
+     * @throws IOException If the stream could not be written
+     */
+    public static void write(final Schematic schematic, final OutputStream stream) throws IOException {
+        final GZIPOutputStream gzip = new GZIPOutputStream(stream, 8192);
+        final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(gzip, 8192));
+        new StreamingSchematicWriter(schematic).writeRoot(output);
+        output.flush();
+        gzip.finish();
+    }
+
+    private void writeRoot(final DataOutput output) throws IOException {
+        output.writeByte(Tag.TAG_COMPOUND);
+        output.writeUTF("Schematic");
+
+        StreamingSchematicWriter.writeInt(output, "Version", Constants.Sponge.Schematic.CURRENT_VERSION);
+        StreamingSchematicWriter.writeInt(output, "DataVersion", Constants.MINECRAFT_DATA_VERSION);
+        StreamingSchematicWriter.writeShort(output, "Width", this.width);
+        StreamingSchematicWriter.writeShort(output, "Height", this.height);
+        StreamingSchematicWriter.writeShort(output, "Length", this.length);
+        output.writeByte(Tag.TAG_INT_ARRAY);
+        output.writeUTF("Offset");
+        output.writeInt(3);
+        output.writeInt(-this.min.getX());
+        output.writeInt(-this.min.getY());
+        output.writeInt(-this.min.getZ());
+
+        StreamingSchematicWriter.writeTag(output, "Metadata", NBTTranslator.INSTANCE.translate(this.schematic.metadata()));
+
+        // The lookup based ids assign the palette as they go, so the length pass has to happen first
+        final int blockDataLength = this.blockDataLength();
+        this.writeBlockPalette(output);
+        output.writeByte(Tag.TAG_BYTE_ARRAY);
+        output.writeUTF("BlockData");
+        output.writeInt(blockDataLength);
+        SchematicBlockData.write(output, this.blockIds, this.width, this.height, this.length);
+
+        this.writeBiomes(output);
+
+        final ListTag blockEntities = new ListTag();
+        for (final Map.Entry<Vector3i, BlockEntityArchetype> entry : this.schematic.blockEntityArchetypes().entrySet()) {
+            final Vector3i pos = entry.getKey();
+            final BlockEntityArchetype archetype = entry.getValue();
+            final CompoundTag tag = StreamingSchematicWriter.compound(archetype);
+            tag.putIntArray("Pos", new int[] {pos.getX() - this.min.getX(), pos.getY() - this.min.getY(), pos.getZ() - this.min.getZ()});
+            tag.putString("Id", Sponge.game().registries().registry(RegistryTypes.BLOCK_ENTITY_TYPE).valueKey(archetype.blockEntityType()).asString());
+            blockEntities.add(tag);
+        }
+        StreamingSchematicWriter.writeTag(output, "BlockEntities", blockEntities);
+
+        final ListTag entities = new ListTag();
+        this.schematic.entitiesByPosition().forEach(entry -> entities.add(this.entity(entry)));
+        StreamingSchematicWriter.writeTag(output, "Entities", entities);
+
+        output.writeByte(Tag.TAG_END);
+    }
+
+    private int blockDataLength() {
+        return SchematicBlockData.encodedLength(this.blockIds, this.width, this.height, this.length);
+    }
+
+    private void writeBlockPalette(final DataOutput output) throws IOException {
+        final Palette<BlockState, BlockType> palette = this.blockIds.palette();
+        output.writeByte(Tag.TAG_COMPOUND);
+        output.writeUTF("Palette");
+        for (int id = 0; id <= palette.highestId(); id++) {
+            final Optional<PaletteReference<BlockState, BlockType>> ref = palette.get(id);
+            if (ref.isPresent()) {
+                StreamingSchematicWriter.writeInt(output, ref.get().value(), id);
+            }
+        }
+        output.writeByte(Tag.TAG_END);
+        StreamingSchematicWriter.writeInt(output, "PaletteMax", palette.highestId() + 1);
+    }
+
+    private void writeBiomes(final DataOutput output) throws IOException {
+        final Registry<Biome> registry = Sponge.game().registries().registry(RegistryTypes.BIOME);
+        final IntArrayPalette<Biome, Biome> palette = new IntArrayPalette<>(PaletteTypes.BIOME_PALETTE.get(), registry, RegistryTypes.BIOME);
+        final int[] ids = new int[this.width * this.length];
+        int byteLength = 0;
+        for (int z = 0; z < this.length; z++) {
+            for (int x = 0; x < this.width; x++) {
+                final int id = palette.orAssign(this.schematic.biome(this.min.getX() + x, this.min.getY(), this.min.getZ() + z));
+                ids[z * this.width + x] = id;
+                byteLength += SchematicBlockData.varIntSize(id);
+            }
+        }
+        output.writeByte(Tag.TAG_COMPOUND);
+        output.writeUTF("BiomePalette");
+        for (int id = 0; id <= palette.highestId(); id++) {
+            final Optional<PaletteReference<Biome, Biome>> ref = palette.get(id);
+            if (ref.isPresent()) {
+                StreamingSchematicWriter.writeInt(output, ref.get().value(), id);
+            }
+        }
+        output.writeByte(Tag.TAG_END);
+        StreamingSchematicWriter.writeInt(output, "BiomePaletteMax", palette.highestId() + 1);
+        output.writeByte(Tag.TAG_BYTE_ARRAY);
+        output.writeUTF("BiomeData");
+        output.writeInt(byteLength);
+        for (final int id : ids) {
+            SchematicBlockData.writeVarInt(output, id);
+        }
+    }
+
+    private CompoundTag entity(final EntityArchetypeEntry entry) {
+        final EntityArchetype archetype = entry.archetype();
+        final CompoundTag tag = StreamingSchematicWriter.compound(archetype);
+        final Vector3d pos = entry.position();
+        final ListTag position = new ListTag();
+        position.add(DoubleTag.valueOf(pos.getX() - this.min.getX()));
+        position.add(DoubleTag.valueOf(pos.getY() - this.min.getY()));
+        position.add(DoubleTag.valueOf(pos.getZ() - this.min.getZ()));
+        tag.put("Pos", position);
+        tag.putString("Id", Sponge.game().registries().registry(RegistryTypes.ENTITY_TYPE).valueKey(archetype.type()).asString());
+        return tag;
+    }
+
+    private static CompoundTag compound(final BlockEntityArchetype archetype) {
+        if (archetype instanceof AbstractArchetype) {
+            return ((AbstractArchetype<?, ?, ?>) archetype).getCompound().copy();
+        }
+        return NBTTranslator.INSTANCE.translate(archetype.blockEntityData());
+    }
+
+    private static CompoundTag compound(final EntityArchetype archetype) {
+        if (archetype instanceof AbstractArchetype) {
+            return ((AbstractArchetype<?, ?, ?>) archetype).getCompound().copy();
+        }
+        return NBTTranslator.INSTANCE.translate(archetype.entityData());
+    }
+
+    private static void writeInt(final DataOutput output, final String name, final int value) throws IOException {
+        output.writeByte(Tag.TAG_INT);
+        output.writeUTF(name);
+        output.writeInt(value);
+    }
+
+    private static void writeShort(final DataOutput output, final String name, final int value) throws IOException {
+        output.writeByte(Tag.TAG_SHORT);
+        output.writeUTF(name);
+        output.writeShort(value);
+    }
+
+    private static void writeTag(final DataOutput output, final String name, final Tag tag) throws IOException {
+        output.writeByte(tag.getId());
+        output.writeUTF(name);
+        tag.write(output);
+    }
+
+    /**
+     * Source of palette ids for the blocks of the schematic, relative to its
+     * minimum position.
+     */
+    private interface BlockIds extends SchematicBlockData.Ids {
+
+        Palette<BlockState, BlockType> palette();
+    }
+
+    /**
+     * Reads the ids straight out of an {@link ArrayMutableBlockBuffer}, which
+     * are already relative to its palette.
+     */
+    private final class BackedBlockIds implements BlockIds {
+
+        private final Palette<BlockState, BlockType> palette;
+        private final BlockBackingData data;
+
+        BackedBlockIds(final Palette<BlockState, BlockType> palette, final BlockBackingData data) {
+            this.palette = palette;
+            this.data = data;
+        }
+
+        @Override
+        public Palette<BlockState, BlockType> palette() {
+            return this.palette;
+        }
+
+        @Override
+        public int id(final int x, final int y, final int z) {
+            final StreamingSchematicWriter writer = StreamingSchematicWriter.this;
+            return this.data.get(SchematicBlockData.index(x, y, z, writer.height, writer.length));
+        }
+    }
+
+    /**
+     * Fallback for foreign schematic implementations, assigning ids through
+     * a fresh palette as blocks are looked up.
+     */
+    private final class LookupBlockIds implements BlockIds {
+
+        private final IntArrayPalette<BlockState, BlockType> palette = new IntArrayPalette<>(
+            PaletteTypes.BLOCK_STATE_PALETTE.get(),
+            Sponge.game().registries().registry(RegistryTypes.BLOCK_TYPE),
+            RegistryTypes.BLOCK_TYPE
+        );
+
+        @Override
+        public Palette<BlockState, BlockType> palette() {
+            return this.palette;
+        }
+
+        @Override
+        public int id(final int x, final int y, final int z) {
+            final Vector3i min = StreamingSchematicWriter.this.min;
+            return this.palette.orAssign(StreamingSchematicWriter.this.schematic.block(min.getX() + x, min.getY() + y, min.getZ() + z));
+        }
+    }
+}
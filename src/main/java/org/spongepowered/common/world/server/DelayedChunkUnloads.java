@@ -0,0 +1,142 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.server;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Keeps track of the chunks of a world whose unload is being delayed.
+ *
+ * <p>A chunk goes through at most one delay per unload: once its delay ran
+ * out it is released and won't be delayed again until it either actually
+ * unloaded or something else requested it again.</p>
+ */
+public final class DelayedChunkUnloads {
+
+    // Chunk position -> game time the delay started
+    private final Long2LongOpenHashMap delayedSince = new Long2LongOpenHashMap();
+    // Chunk position -> estimated memory held by the chunk
+    private final Long2LongOpenHashMap memory = new Long2LongOpenHashMap();
+    // Chunks whose delay ran out, these are allowed to unload
+    private final LongSet released = new LongOpenHashSet();
+    private long totalMemory;
+    private long avoidedReloads;
+
+    /**
+     * Starts delaying the unload of the given chunk, unless it already went
+     * through its delay or too many chunks are delayed already.
+     *
+     * @param pos The chunk position
+     * @param gameTime The current game time
+     * @param memory The estimated memory held by the chunk
+     * @param maxDelayed The maximum amount of delayed chunks, or 0 for no limit
+     * @return True if the unload of the chunk is now delayed
+     */
+    public boolean delay(final long pos, final long gameTime, final long memory, final int maxDelayed) {
+        if (this.released.contains(pos) || this.delayedSince.containsKey(pos)) {
+            return false;
+        }
+        if (maxDelayed > 0 && this.delayedSince.size() >= maxDelayed) {
+            return false;
+        }
+        this.delayedSince.put(pos, gameTime);
+        this.memory.put(pos, memory);
+        this.totalMemory += memory;
+        return true;
+    }
+
+    /**
+     * Ends the delay of every chunk that was requested again, is gone or
+     * waited long enough.
+     *
+     * @param gameTime The current game time
+     * @param delay The number of ticks to delay unloads for
+     * @param loaded Whether the chunk at a position is still loaded
+     * @param requested Whether anything other than the delay keeps the chunk
+     *     at a position loaded
+     * @param ended Called for every chunk that is not delayed anymore
+     */
+    public void tick(final long gameTime, final int delay, final LongPredicate loaded, final LongPredicate requested, final LongConsumer ended) {
+        // A released chunk that was requested again before it unloaded starts over
+        final LongIterator released = this.released.iterator();
+        while (released.hasNext()) {
+            if (requested.test(released.nextLong())) {
+                released.remove();
+            }
+        }
+
+        final LongIterator iterator = this.delayedSince.keySet().iterator();
+        while (iterator.hasNext()) {
+            final long pos = iterator.nextLong();
+            if (loaded.test(pos)) {
+                if (requested.test(pos)) {
+                    this.avoidedReloads++;
+                } else if (gameTime - this.delayedSince.get(pos) < delay) {
+                    continue;
+                } else {
+                    this.released.add(pos);
+                }
+            }
+            iterator.remove();
+            this.totalMemory -= this.memory.remove(pos);
+            ended.accept(pos);
+        }
+    }
+
+    /**
+     * Forgets about the given chunk once it actually unloaded.
+     *
+     * @param pos The chunk position
+     */
+    public void unloaded(final long pos) {
+        this.released.remove(pos);
+    }
+
+    public boolean isDelayed(final long pos) {
+        return this.delayedSince.containsKey(pos);
+    }
+
+    public boolean isReleased(final long pos) {
+        return this.released.contains(pos);
+    }
+
+    public int count() {
+        return this.delayedSince.size();
+    }
+
+    public long memory() {
+        return this.totalMemory;
+    }
+
+    public long avoidedReloads() {
+        return this.avoidedReloads;
+    }
+}
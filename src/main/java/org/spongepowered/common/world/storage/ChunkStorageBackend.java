@@ -0,0 +1,90 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.ChunkPos;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Stores the serialized chunks of a world in place of the region files.
+ *
+ * <p>Implementations are created through {@link ChunkStorageBackends} and
+ * must be safe to use from several threads at once, reads happen on the
+ * server thread as well as the world generation workers.</p>
+ */
+public interface ChunkStorageBackend extends AutoCloseable {
+
+    /**
+     * Reads the chunk at the given position, including writes that are still
+     * pending.
+     *
+     * @param pos The chunk position
+     * @return The chunk data, or null if nothing is stored at that position
+     * @throws IOException If the data could not be read
+     */
+    @Nullable CompoundTag read(ChunkPos pos) throws IOException;
+
+    /**
+     * Queues the chunk data to be written. The data may not be modified
+     * afterwards.
+     *
+     * @param pos The chunk position
+     * @param data The chunk data
+     * @return A future completing once the data has been written
+     */
+    CompletableFuture<Void> write(ChunkPos pos, CompoundTag data);
+
+    /**
+     * Queues the chunk data to be written unless something is already stored
+     * or queued at that position by the time it is processed. This is used to
+     * migrate chunks while the world is in use.
+     *
+     * @param pos The chunk position
+     * @param data The chunk data
+     * @return A future completing with whether the data was written
+     */
+    CompletableFuture<Boolean> writeIfAbsent(ChunkPos pos, CompoundTag data);
+
+    /**
+     * Gets the positions of every chunk that has data stored.
+     *
+     * @return The stored chunk positions
+     * @throws IOException If the storage could not be listed
+     */
+    Collection<ChunkPos> storedChunks() throws IOException;
+
+    /**
+     * Waits for all pending writes and makes sure they reached the disk.
+     */
+    void flush();
+
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,132 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.SpongeCommon;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The known {@link ChunkStorageBackend}s, selected per world through
+ * {@code world.chunk-storage-backend}.
+ */
+public final class ChunkStorageBackends {
+
+    /**
+     * The vanilla region files, which are used without a backend.
+     */
+    public static final String REGION = "minecraft:region";
+    public static final String PACKED = "sponge:packed";
+
+    // Holds the id of the backend the chunks of a world are stored in, absent while the region files are used
+    private static final String MARKER = "sponge_chunk_storage";
+
+    private static final Map<String, Factory> FACTORIES = new ConcurrentHashMap<>();
+
+    static {
+        ChunkStorageBackends.register(ChunkStorageBackends.PACKED, PackedChunkStorageBackend::new);
+    }
+
+    private ChunkStorageBackends() {
+    }
+
+    public static void register(final String id, final Factory factory) {
+        if (ChunkStorageBackends.REGION.equals(id) || ChunkStorageBackends.FACTORIES.putIfAbsent(id, factory) != null) {
+            throw new IllegalArgumentException("A chunk storage backend with the id '" + id + "' is already registered");
+        }
+    }
+
+    /**
+     * Creates the backend with the given id for the given region folder.
+     *
+     * <p>Once a world stored its chunks in a backend, the region files are
+     * outdated. Switching that world to another backend, or back to the
+     * region files, is refused and the backend the chunks are in is used
+     * instead.</p>
+     *
+     * @param id The backend id
+     * @param regionFolder The folder the region files of the world are in
+     * @return The backend, or null if the region files should be used
+     * @throws IllegalStateException If the chunks of the world are stored in
+     *     a backend that isn't available
+     */
+    public static @Nullable ChunkStorageBackend create(final String id, final Path regionFolder) {
+        final Path marker = regionFolder.resolveSibling(ChunkStorageBackends.MARKER);
+        final @Nullable String current = ChunkStorageBackends.readMarker(marker);
+        if (current != null && !current.equals(id)) {
+            SpongeCommon.getLogger().error("The chunks of '{}' are stored in '{}', refusing to switch to '{}' as its data would be outdated. "
+                    + "Set world.chunk-storage-backend back to '{}' to get rid of this message.", regionFolder, current, id, current);
+            return ChunkStorageBackends.create(current, regionFolder);
+        }
+        if (ChunkStorageBackends.REGION.equals(id)) {
+            return null;
+        }
+        final Factory factory = ChunkStorageBackends.FACTORIES.get(id);
+        if (factory == null) {
+            if (current != null) {
+                throw new IllegalStateException("The chunks of '" + regionFolder + "' are stored in the unknown chunk storage backend '" + id + "'");
+            }
+            SpongeCommon.getLogger().warn("Unknown chunk storage backend '{}' for '{}', falling back to region files", id, regionFolder);
+            return null;
+        }
+        final ChunkStorageBackend backend;
+        try {
+            backend = factory.create(regionFolder);
+            if (current == null) {
+                Files.write(marker, id.getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (final IOException e) {
+            if (current != null) {
+                throw new IllegalStateException("Failed to open chunk storage backend '" + id + "' for '" + regionFolder + "'", e);
+            }
+            SpongeCommon.getLogger().error("Failed to create chunk storage backend '{}' for '{}', falling back to region files", id, regionFolder, e);
+            return null;
+        }
+        return backend;
+    }
+
+    private static @Nullable String readMarker(final Path marker) {
+        if (!Files.exists(marker)) {
+            return null;
+        }
+        try {
+            return new String(Files.readAllBytes(marker), StandardCharsets.UTF_8).trim();
+        } catch (final IOException e) {
+            throw new IllegalStateException("Failed to read which chunk storage backend " + marker.getParent() + " uses", e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Factory {
+
+        ChunkStorageBackend create(Path regionFolder) throws IOException;
+    }
+}
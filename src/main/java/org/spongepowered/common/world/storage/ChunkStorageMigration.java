@@ -0,0 +1,132 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.ChunkPos;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.bridge.world.level.chunk.storage.ChunkStorageBridge;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copies the chunks of a world from its region files into the
+ * {@link ChunkStorageBackend} it is configured to use.
+ */
+public final class ChunkStorageMigration {
+
+    private ChunkStorageMigration() {
+    }
+
+    /**
+     * Starts copying every chunk from the region files of the given storage
+     * that its backend does not have yet. This runs on its own thread and
+     * logs its progress, chunks saved by the world in the meantime are never
+     * overwritten.
+     *
+     * @param name The name of the world, for logging
+     * @param storage The chunk storage of the world
+     * @return A future completing with the number of migrated chunks
+     */
+    public static CompletableFuture<Integer> migrateRegionFiles(final String name, final ChunkStorageBridge storage) {
+        final ChunkStorageBackend backend = storage.bridge$getStorageBackend();
+        if (backend == null) {
+            throw new IllegalStateException("World '" + name + "' uses region files");
+        }
+        final CompletableFuture<Integer> result = new CompletableFuture<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                result.complete(ChunkStorageMigration.migrate(name, storage, backend));
+            } catch (final Throwable t) {
+                SpongeCommon.getLogger().error("Failed to migrate the chunks of world '{}'", name, t);
+                result.completeExceptionally(t);
+            }
+        }, "Sponge Chunk Migration - " + name);
+        thread.setDaemon(true);
+        thread.start();
+        return result;
+    }
+
+    private static int migrate(final String name, final ChunkStorageBridge storage, final ChunkStorageBackend backend) throws IOException {
+        final Path regionFolder = storage.bridge$getRegionFolder();
+        if (!Files.isDirectory(regionFolder)) {
+            SpongeCommon.getLogger().info("World '{}' has no region files to migrate", name);
+            return 0;
+        }
+        final long start = System.nanoTime();
+        long readNanos = 0;
+        int read = 0;
+        int migrated = 0;
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(regionFolder, "r.*.*.mca")) {
+            for (final Path path : stream) {
+                final String[] parts = path.getFileName().toString().split("\\.");
+                final int regionX;
+                final int regionZ;
+                try {
+                    regionX = Integer.parseInt(parts[1]);
+                    regionZ = Integer.parseInt(parts[2]);
+                } catch (final NumberFormatException e) {
+                    continue;
+                }
+                final List<CompletableFuture<Boolean>> writes = new ArrayList<>();
+                for (int z = 0; z < 32; z++) {
+                    for (int x = 0; x < 32; x++) {
+                        final ChunkPos pos = new ChunkPos((regionX << 5) + x, (regionZ << 5) + z);
+                        final long readStart = System.nanoTime();
+                        final CompoundTag data = storage.bridge$readFromRegion(pos);
+                        readNanos += System.nanoTime() - readStart;
+                        if (data != null) {
+                            read++;
+                            writes.add(backend.writeIfAbsent(pos, data));
+                        }
+                    }
+                }
+                for (final CompletableFuture<Boolean> write : writes) {
+                    if (write.join()) {
+                        migrated++;
+                    }
+                }
+                SpongeCommon.getLogger().info("Migrated region {}, {} of world '{}' ({} chunks so far)", regionX, regionZ, name, migrated);
+            }
+        }
+        backend.flush();
+        final long elapsed = System.nanoTime() - start;
+        SpongeCommon.getLogger().info("Migrated {} of {} chunks of world '{}' in {}ms (reading {} chunks/s, overall {} chunks/s)",
+                migrated, read, name, TimeUnit.NANOSECONDS.toMillis(elapsed), ChunkStorageMigration.perSecond(read, readNanos),
+                ChunkStorageMigration.perSecond(read, elapsed));
+        return migrated;
+    }
+
+    private static long perSecond(final int count, final long nanos) {
+        return nanos == 0 ? 0 : count * TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+}
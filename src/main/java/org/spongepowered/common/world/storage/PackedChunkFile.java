@@ -0,0 +1,223 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * A single append only file of a {@link PackedChunkStorageBackend}, holding
+ * the chunks of one 32x32 chunk group.
+ *
+ * <p>Each record starts with a magic number, the chunk index within the
+ * group, the length of the data and a CRC32 of the data. The latest record
+ * of a chunk wins. Reading the file stops at the first record that doesn't
+ * check out. Everything from there on is kept in a backup next to the file
+ * and cut off, so new records are never appended behind garbage.</p>
+ */
+final class PackedChunkFile {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    static final int CHUNKS_PER_FILE = 32 * 32;
+    static final int RECORD_HEADER = 16;
+    // "SPK1"
+    static final int MAGIC = 0x53504B31;
+    static final long COMPACT_THRESHOLD = 1024 * 1024;
+
+    final Path path;
+    private final long[] offsets = new long[PackedChunkFile.CHUNKS_PER_FILE];
+    private final int[] lengths = new int[PackedChunkFile.CHUNKS_PER_FILE];
+    private final int[] checksums = new int[PackedChunkFile.CHUNKS_PER_FILE];
+    private FileChannel channel;
+    private long liveBytes;
+
+    PackedChunkFile(final Path path) throws IOException {
+        this.path = path;
+        this.channel = PackedChunkFile.open(path);
+        this.index();
+    }
+
+    private static FileChannel open(final Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static int checksum(final ByteBuffer data) {
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    private void index() throws IOException {
+        Arrays.fill(this.offsets, -1);
+        this.liveBytes = 0;
+        final long size = this.channel.size();
+        final ByteBuffer header = ByteBuffer.allocate(PackedChunkFile.RECORD_HEADER);
+        ByteBuffer data = ByteBuffer.allocate(0);
+        long position = 0;
+        while (position + PackedChunkFile.RECORD_HEADER <= size) {
+            header.clear();
+            this.readFully(header, position);
+            header.flip();
+            final int magic = header.getInt();
+            final int index = header.getInt();
+            final int length = header.getInt();
+            final int checksum = header.getInt();
+            if (magic != PackedChunkFile.MAGIC || index < 0 || index >= PackedChunkFile.CHUNKS_PER_FILE || length <= 0
+                    || position + PackedChunkFile.RECORD_HEADER + length > size) {
+                break;
+            }
+            if (data.capacity() < length) {
+                data = ByteBuffer.allocate(length);
+            }
+            data.clear().limit(length);
+            this.readFully(data, position + PackedChunkFile.RECORD_HEADER);
+            data.flip();
+            if (PackedChunkFile.checksum(data) != checksum) {
+                break;
+            }
+            this.track(index, position, length, checksum);
+            position += PackedChunkFile.RECORD_HEADER + length;
+        }
+        if (position < size) {
+            // Usually a write that was cut off, everything before the bad record is intact
+            final Path backup = this.path.resolveSibling(this.path.getFileName() + ".corrupt");
+            PackedChunkFile.LOGGER.warn("Discarding {} bytes of invalid chunk data at the end of {}, a copy of the file is kept at {}",
+                    size - position, this.path, backup);
+            this.channel.force(false);
+            Files.copy(this.path, backup, StandardCopyOption.REPLACE_EXISTING);
+            this.channel.truncate(position);
+        }
+    }
+
+    private void track(final int index, final long position, final int length, final int checksum) {
+        if (this.offsets[index] != -1) {
+            this.liveBytes -= PackedChunkFile.RECORD_HEADER + this.lengths[index];
+        }
+        this.offsets[index] = position;
+        this.lengths[index] = length;
+        this.checksums[index] = checksum;
+        this.liveBytes += PackedChunkFile.RECORD_HEADER + length;
+    }
+
+    synchronized boolean contains(final int index) {
+        return this.offsets[index] != -1;
+    }
+
+    synchronized byte @Nullable [] read(final int index) throws IOException {
+        if (this.offsets[index] == -1) {
+            return null;
+        }
+        final ByteBuffer data = ByteBuffer.allocate(this.lengths[index]);
+        this.readFully(data, this.offsets[index] + PackedChunkFile.RECORD_HEADER);
+        data.flip();
+        if (PackedChunkFile.checksum(data) != this.checksums[index]) {
+            throw new IOException("Chunk " + index + " in " + this.path + " does not match its checksum");
+        }
+        return data.array();
+    }
+
+    synchronized void write(final int index, final byte[] data) throws IOException {
+        if (data.length == 0) {
+            throw new IllegalArgumentException("Chunk data may not be empty");
+        }
+        final long position = this.channel.size();
+        final int checksum = PackedChunkFile.checksum(ByteBuffer.wrap(data));
+        final ByteBuffer record = ByteBuffer.allocate(PackedChunkFile.RECORD_HEADER + data.length);
+        record.putInt(PackedChunkFile.MAGIC).putInt(index).putInt(data.length).putInt(checksum).put(data);
+        record.flip();
+        PackedChunkFile.writeFully(this.channel, record, position);
+        this.track(index, position, data.length, checksum);
+    }
+
+    synchronized boolean needsCompaction() throws IOException {
+        final long deadBytes = this.channel.size() - this.liveBytes;
+        return deadBytes > PackedChunkFile.COMPACT_THRESHOLD && deadBytes > this.liveBytes;
+    }
+
+    synchronized void compact() throws IOException {
+        final Path temp = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        try (final FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            long position = 0;
+            for (int index = 0; index < PackedChunkFile.CHUNKS_PER_FILE; index++) {
+                if (this.offsets[index] == -1) {
+                    continue;
+                }
+                final ByteBuffer record = ByteBuffer.allocate(PackedChunkFile.RECORD_HEADER + this.lengths[index]);
+                this.readFully(record, this.offsets[index]);
+                record.flip();
+                PackedChunkFile.writeFully(out, record, position);
+                position += record.capacity();
+            }
+            out.force(true);
+        }
+        this.channel.close();
+        Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.channel = PackedChunkFile.open(this.path);
+        this.index();
+    }
+
+    synchronized long size() throws IOException {
+        return this.channel.size();
+    }
+
+    synchronized void force() throws IOException {
+        this.channel.force(false);
+    }
+
+    synchronized void close() throws IOException {
+        this.channel.close();
+    }
+
+    private void readFully(final ByteBuffer buffer, final long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            final int read = this.channel.read(buffer, offset);
+            if (read < 0) {
+                throw new IOException("Unexpected end of " + this.path + " at " + offset);
+            }
+            offset += read;
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.world.level.ChunkPos;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.SpongeCommon;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Stores chunks in one append only file per 32x32 chunk group, next to the
+ * region folder of the world.
+ *
+ * <p>Each record is the deflated NBT of one chunk, see {@link PackedChunkFile}
+ * for the format. Files are compacted once more than half of them is
+ * outdated. All writes, including compression, happen on a single storage
+ * thread and are synced to disk in batches.</p>
+ */
+public final class PackedChunkStorageBackend implements ChunkStorageBackend {
+
+    private static final String DIRECTORY = "sponge_packed";
+    private static final String EXTENSION = ".spk";
+    private static final int SYNC_INTERVAL = 64;
+
+    private final Path directory;
+    private final ExecutorService executor;
+    private final Long2ObjectMap<PackedChunkFile> files = new Long2ObjectOpenHashMap<>();
+    private final Map<ChunkPos, CompoundTag> pendingWrites = new ConcurrentHashMap<>();
+    // Only accessed from the storage thread
+    private final Set<PackedChunkFile> unsyncedFiles = new HashSet<>();
+    private int unsyncedWrites;
+
+    public PackedChunkStorageBackend(final Path regionFolder) throws IOException {
+        this.directory = regionFolder.resolveSibling(PackedChunkStorageBackend.DIRECTORY);
+        Files.createDirectories(this.directory);
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("Sponge Chunk Storage - " + this.directory)
+                .setDaemon(true)
+                .build());
+    }
+
+    @Override
+    public @Nullable CompoundTag read(final ChunkPos pos) throws IOException {
+        final CompoundTag pending = this.pendingWrites.get(pos);
+        if (pending != null) {
+            return pending;
+        }
+        final PackedChunkFile file = this.file(pos, false);
+        if (file == null) {
+            return null;
+        }
+        final byte[] data = file.read(PackedChunkStorageBackend.index(pos));
+        return data == null ? null : PackedChunkStorageBackend.decode(data);
+    }
+
+    @Override
+    public CompletableFuture<Void> write(final ChunkPos pos, final CompoundTag data) {
+        this.pendingWrites.put(pos, data);
+        return CompletableFuture.runAsync(() -> {
+            // A newer write for the same chunk is queued, that one will be written instead
+            if (this.pendingWrites.get(pos) != data) {
+                return;
+            }
+            this.store(pos, data);
+        }, this.executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> writeIfAbsent(final ChunkPos pos, final CompoundTag data) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (this.pendingWrites.containsKey(pos)) {
+                return false;
+            }
+            try {
+                final PackedChunkFile file = this.file(pos, false);
+                if (file != null && file.contains(PackedChunkStorageBackend.index(pos))) {
+                    return false;
+                }
+            } catch (final IOException e) {
+                SpongeCommon.getLogger().error("Failed to open chunk storage for {}", pos, e);
+                return false;
+            }
+            this.pendingWrites.put(pos, data);
+            this.store(pos, data);
+            return true;
+        }, this.executor);
+    }
+
+    @Override
+    public Collection<ChunkPos> storedChunks() throws IOException {
+        final List<ChunkPos> chunks = new ArrayList<>();
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, "p.*.*" + PackedChunkStorageBackend.EXTENSION)) {
+            for (final Path path : stream) {
+                final String[] parts = path.getFileName().toString().split("\\.");
+                final int groupX;
+                final int groupZ;
+                try {
+                    groupX = Integer.parseInt(parts[1]);
+                    groupZ = Integer.parseInt(parts[2]);
+                } catch (final NumberFormatException e) {
+                    continue;
+                }
+                final PackedChunkFile file = this.file(new ChunkPos(groupX << 5, groupZ << 5), false);
+                if (file == null) {
+                    continue;
+                }
+                for (int index = 0; index < PackedChunkFile.CHUNKS_PER_FILE; index++) {
+                    if (file.contains(index)) {
+                        chunks.add(new ChunkPos((groupX << 5) + (index & 31), (groupZ << 5) + (index >> 5)));
+                    }
+                }
+            }
+        }
+        return chunks;
+    }
+
+    @Override
+    public void flush() {
+        CompletableFuture.runAsync(this::sync, this.executor).join();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.flush();
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this.files) {
+            for (final PackedChunkFile file : this.files.values()) {
+                file.close();
+            }
+            this.files.clear();
+        }
+    }
+
+    private void store(final ChunkPos pos, final CompoundTag data) {
+        try {
+            final PackedChunkFile file = this.file(pos, true);
+            file.write(PackedChunkStorageBackend.index(pos), PackedChunkStorageBackend.encode(data));
+            this.unsyncedFiles.add(file);
+            if (++this.unsyncedWrites >= PackedChunkStorageBackend.SYNC_INTERVAL) {
+                this.sync();
+            }
+        } catch (final IOException e) {
+            SpongeCommon.getLogger().error("Failed to store chunk {}", pos, e);
+        } finally {
+            this.pendingWrites.remove(pos, data);
+        }
+    }
+
+    private void sync() {
+        for (final PackedChunkFile file : this.unsyncedFiles) {
+            try {
+                if (file.needsCompaction()) {
+                    file.compact();
+                } else {
+                    file.force();
+                }
+            } catch (final IOException e) {
+                SpongeCommon.getLogger().error("Failed to sync chunk storage file {}", file.path, e);
+            }
+        }
+        this.unsyncedFiles.clear();
+        this.unsyncedWrites = 0;
+    }
+
+    private @Nullable PackedChunkFile file(final ChunkPos pos, final boolean create) throws IOException {
+        final long key = ChunkPos.asLong(pos.x >> 5, pos.z >> 5);
+        synchronized (this.files) {
+            PackedChunkFile file = this.files.get(key);
+            if (file == null) {
+                final Path path = this.directory.resolve("p." + (pos.x >> 5) + "." + (pos.z >> 5) + PackedChunkStorageBackend.EXTENSION);
+                if (!create && !Files.exists(path)) {
+                    return null;
+                }
+                file = new PackedChunkFile(path);
+                this.files.put(key, file);
+            }
+            return file;
+        }
+    }
+
+    private static int index(final ChunkPos pos) {
+        return (pos.x & 31) | ((pos.z & 31) << 5);
+    }
+
+    private static byte[] encode(final CompoundTag data) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (final DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            NbtIo.write(data, out);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static CompoundTag decode(final byte[] data) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            return NbtIo.read(in);
+        }
+    }
+}
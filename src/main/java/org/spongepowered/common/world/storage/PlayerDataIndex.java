@@ -0,0 +1,215 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The file the first joined and last played times of every player are
+ * stored in.
+ *
+ * <p>The file starts with a header, followed by fixed size records that are
+ * only ever appended. The last record of a player wins, and the file is
+ * rewritten with one record per player once outdated records dominate
+ * it.</p>
+ */
+final class PlayerDataIndex {
+
+    private static final int MAGIC = 0x53504458; // SPDX
+    private static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_SIZE = 32;
+    private static final int COMPACT_THRESHOLD = 4096;
+
+    private final Path file;
+    private int records;
+    private boolean incompleteRecord;
+
+    PlayerDataIndex(final Path file) {
+        this.file = file;
+    }
+
+    boolean exists() {
+        return Files.exists(this.file);
+    }
+
+    /**
+     * Gets the number of records in the file, including outdated ones.
+     *
+     * @return The number of records
+     */
+    int records() {
+        return this.records;
+    }
+
+    /**
+     * Gets whether the last read ended with a partially written record,
+     * which was discarded.
+     *
+     * @return Whether a record was discarded
+     */
+    boolean hadIncompleteRecord() {
+        return this.incompleteRecord;
+    }
+
+    /**
+     * Gets whether the file should be rewritten, which is the case once it
+     * has more than twice as many records as players.
+     *
+     * @param players The number of players
+     * @return Whether the file should be compacted
+     */
+    boolean shouldCompact(final int players) {
+        return this.records > PlayerDataIndex.COMPACT_THRESHOLD && this.records > players * 2;
+    }
+
+    /**
+     * Reads the latest entry of every player in the file.
+     *
+     * @param entries The map to put the entries in
+     * @return False if the file is not a player data index
+     * @throws IOException If the file could not be read
+     */
+    boolean read(final Map<UUID, Entry> entries) throws IOException {
+        int records = 0;
+        this.incompleteRecord = false;
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.file), 1 << 16))) {
+            if (in.readInt() != PlayerDataIndex.MAGIC || in.readInt() != PlayerDataIndex.VERSION) {
+                return false;
+            }
+            while (true) {
+                final long mostSigBits;
+                try {
+                    mostSigBits = in.readLong();
+                } catch (final EOFException e) {
+                    break;
+                }
+                final Entry entry = new Entry(new UUID(mostSigBits, in.readLong()), in.readLong(), in.readLong());
+                entries.put(entry.uniqueId, entry);
+                records++;
+            }
+        } catch (final EOFException e) {
+            // A partially written record, the records before it are still valid
+            this.incompleteRecord = true;
+        }
+        this.records = records;
+        return true;
+    }
+
+    /**
+     * Replaces the file with one that only contains the given entries.
+     *
+     * @param entries The entries
+     * @throws IOException If the file could not be written
+     */
+    void write(final Collection<Entry> entries) throws IOException {
+        final Path newFile = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        try (final FileChannel channel = FileChannel.open(newFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            buffer.putInt(PlayerDataIndex.MAGIC).putInt(PlayerDataIndex.VERSION);
+            int records = 0;
+            for (final Entry entry : entries) {
+                if (buffer.remaining() < PlayerDataIndex.RECORD_SIZE) {
+                    PlayerDataIndex.writeFully(channel, buffer);
+                }
+                entry.put(buffer);
+                records++;
+            }
+            PlayerDataIndex.writeFully(channel, buffer);
+            this.records = records;
+        }
+        Files.move(newFile, this.file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Appends the given entries, overwriting a partially written record at
+     * the end of the file if there is one.
+     *
+     * @param entries The entries
+     * @throws IOException If the file could not be written
+     */
+    void append(final Collection<Entry> entries) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(PlayerDataIndex.HEADER_SIZE + entries.size() * PlayerDataIndex.RECORD_SIZE);
+        try (final FileChannel channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            final long size = channel.size();
+            if (size < PlayerDataIndex.HEADER_SIZE) {
+                buffer.putInt(PlayerDataIndex.MAGIC).putInt(PlayerDataIndex.VERSION);
+                channel.position(0);
+            } else {
+                channel.position(size - (size - PlayerDataIndex.HEADER_SIZE) % PlayerDataIndex.RECORD_SIZE);
+            }
+            for (final Entry entry : entries) {
+                entry.put(buffer);
+            }
+            PlayerDataIndex.writeFully(channel, buffer);
+            this.records += entries.size();
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * The times of a single player. Entries are never changed once created,
+     * so they can be read from any thread.
+     */
+    static final class Entry {
+
+        final UUID uniqueId;
+        final long firstJoined;
+        final long lastJoined;
+
+        Entry(final UUID uniqueId, final long firstJoined, final long lastJoined) {
+            this.uniqueId = uniqueId;
+            this.firstJoined = firstJoined;
+            this.lastJoined = lastJoined;
+        }
+
+        void put(final ByteBuffer buffer) {
+            buffer.putLong(this.uniqueId.getMostSignificantBits())
+                    .putLong(this.uniqueId.getLeastSignificantBits())
+                    .putLong(this.firstJoined)
+                    .putLong(this.lastJoined);
+        }
+    }
+}
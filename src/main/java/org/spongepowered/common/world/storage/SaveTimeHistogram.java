@@ -0,0 +1,114 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed bucket histogram of how long saving took, used to track chunk and
+ * auto-save times of a world.
+ */
+public final class SaveTimeHistogram {
+
+    private final long[] bounds;
+    private final AtomicLongArray counts;
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Creates a histogram with one bucket per upper bound, plus one for
+     * everything above the last bound.
+     *
+     * @param unit The unit of the bounds
+     * @param bounds The ascending upper bounds of each bucket
+     */
+    public SaveTimeHistogram(final TimeUnit unit, final long... bounds) {
+        this.bounds = new long[bounds.length];
+        for (int i = 0; i < bounds.length; i++) {
+            this.bounds[i] = unit.toNanos(bounds[i]);
+        }
+        this.counts = new AtomicLongArray(bounds.length + 1);
+    }
+
+    public void record(final long nanos) {
+        int bucket = 0;
+        while (bucket < this.bounds.length && nanos > this.bounds[bucket]) {
+            bucket++;
+        }
+        this.counts.incrementAndGet(bucket);
+        this.total.addAndGet(nanos);
+        long max;
+        do {
+            max = this.max.get();
+        } while (nanos > max && !this.max.compareAndSet(max, nanos));
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < this.counts.length(); i++) {
+            count += this.counts.get(i);
+        }
+        return count;
+    }
+
+    public long getMax(final TimeUnit unit) {
+        return unit.convert(this.max.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getAverage(final TimeUnit unit) {
+        final long count = this.getCount();
+        return count == 0 ? 0 : unit.convert(this.total.get() / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Formats the non empty buckets as {@code <=bound: count}, with the
+     * bounds expressed in the given unit.
+     *
+     * @param unit The unit to show the bounds in
+     * @param suffix The suffix for that unit
+     * @return The formatted buckets
+     */
+    public String formatBuckets(final TimeUnit unit, final String suffix) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < this.counts.length(); i++) {
+            final long count = this.counts.get(i);
+            if (count == 0) {
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            if (i < this.bounds.length) {
+                builder.append("<=").append(unit.convert(this.bounds[i], TimeUnit.NANOSECONDS));
+            } else {
+                builder.append('>').append(unit.convert(this.bounds[this.bounds.length - 1], TimeUnit.NANOSECONDS));
+            }
+            builder.append(suffix).append(": ").append(count);
+        }
+        return builder.length() == 0 ? "none" : builder.toString();
+    }
+}
@@ -24,7 +24,7 @@
  */
 package org.spongepowered.common.world.storage;
 
-
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.spongepowered.api.Server;
 import org.spongepowered.api.data.persistence.DataContainer;
 import org.spongepowered.api.data.persistence.DataQuery;
@@ -33,75 +33,210 @@
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.world.server.SpongeWorldManager;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.DirectoryIteratorException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.Nullable;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtIo;
 
+/**
+ * Stores the first joined and last played times of every player that ever
+ * joined the server.
+ *
+ * <p>All the entries are kept in a single append-only index file in which
+ * every save appends a fixed size record, the last record of a player wins.
+ * The index is read in the background once the server started, and is
+ * compacted when it mostly consists of outdated records. Player data stored
+ * in the per player files of older versions is migrated into the index the
+ * first time it's created.</p>
+ *
+ * <p>Reading the index never blocks the caller. Until it is loaded, only the
+ * players that joined since the server started are known, their entries are
+ * merged with the ones read from the index afterwards.</p>
+ */
 public final class SpongePlayerDataManager {
 
     private static final String SPONGE_DATA = "sponge";
+    private static final String INDEX_FILE = "players.idx";
+
     private final Server server;
-    private final Map<UUID, SpongePlayerData> playerDataByUniqueId;
+    // Entries are replaced instead of changed, so they can be read while being saved
+    private final Map<UUID, PlayerDataIndex.Entry> playerDataByUniqueId;
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ExecutorService executor;
     @org.checkerframework.checker.nullness.qual.Nullable private Path playersDirectory = null;
+    @org.checkerframework.checker.nullness.qual.Nullable private PlayerDataIndex index = null;
+    private volatile CompletableFuture<Void> loaded = CompletableFuture.completedFuture(null);
 
     public SpongePlayerDataManager(final Server server) {
         this.server = server;
         this.playerDataByUniqueId = new ConcurrentHashMap<>();
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("Sponge - Player Data Thread").build());
     }
 
     public void load() {
         try {
             this.playersDirectory = ((SpongeWorldManager) this.server.worldManager()).getDefaultWorldDirectory().resolve("data").resolve(
                 SpongePlayerDataManager.SPONGE_DATA);
+            this.index = new PlayerDataIndex(this.playersDirectory.resolve(SpongePlayerDataManager.INDEX_FILE));
             Files.createDirectories(this.playersDirectory);
+        } catch (final Exception ex) {
+            throw new RuntimeException("Encountered an exception while creating the player data handler!", ex);
+        }
+        this.loaded = CompletableFuture.runAsync(this::loadIndex, this.executor);
+    }
 
-            final List<Path> playerFiles = new ArrayList<>();
-            try (final DirectoryStream<Path> stream = Files.newDirectoryStream(this.playersDirectory, "*.{dat}")) {
-                for (final Path entry : stream) {
-                    playerFiles.add(entry);
-                }
-            } catch (final DirectoryIteratorException e) {
-                SpongeCommon.getLogger().error("Something happened when trying to gather all player files", e);
+    /**
+     * Saves all the pending changes and stops the background thread.
+     */
+    public void close() {
+        this.scheduleFlush();
+        this.executor.shutdown();
+        try {
+            if (!this.executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                SpongeCommon.getLogger().warn("Timed out while saving the player data index.");
             }
-            for (final Path playerFile : playerFiles) {
-                if (Files.isReadable(playerFile)) {
-                    final CompoundTag compound;
-
-                    try (final InputStream stream = Files.newInputStream(playerFile)) {
-                        compound = NbtIo.readCompressed(stream);
-                    } catch (final Exception e) {
-                        throw new RuntimeException("Failed to decompress playerdata for playerfile " + playerFile, e);
-                    }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-                    if (compound.isEmpty()) {
-                        throw new RuntimeException("Failed to decompress player data within [" + playerFile + "]!");
-                    }
+    private static PlayerDataIndex.Entry merge(final PlayerDataIndex.Entry first, final PlayerDataIndex.Entry second) {
+        return new PlayerDataIndex.Entry(first.uniqueId, Math.min(first.firstJoined, second.firstJoined),
+            Math.max(first.lastJoined, second.lastJoined));
+    }
+
+    private void mergeLoaded(final PlayerDataIndex.Entry entry) {
+        // Players who joined while the index was loading already have an entry, which has to be saved again
+        if (this.playerDataByUniqueId.merge(entry.uniqueId, entry, SpongePlayerDataManager::merge) != entry) {
+            this.dirty.add(entry.uniqueId);
+        }
+    }
 
-                    final DataContainer container = NBTTranslator.INSTANCE.translateFrom(compound);
-                    final SpongePlayerData data = container.getSerializable(DataQuery.of(), SpongePlayerData.class).get();
-                    this.playerDataByUniqueId.put(data.getUniqueId(), data);
+    private void loadIndex() {
+        final PlayerDataIndex index = this.index;
+        try {
+            if (index.exists()) {
+                final Map<UUID, PlayerDataIndex.Entry> entries = new HashMap<>();
+                if (index.read(entries)) {
+                    if (index.hadIncompleteRecord()) {
+                        SpongeCommon.getLogger().warn("The player data index ends with an incomplete record, it will be discarded.");
+                    }
+                    entries.values().forEach(this::mergeLoaded);
+                    if (index.shouldCompact(this.playerDataByUniqueId.size())) {
+                        index.write(this.playerDataByUniqueId.values());
+                    }
+                    return;
                 }
+                SpongeCommon.getLogger().warn("The player data index is invalid, rebuilding it.");
             }
-            playerFiles.clear();
+            this.migrateLegacyFiles();
+            index.write(this.playerDataByUniqueId.values());
+        } catch (final Exception e) {
+            SpongeCommon.getLogger().error("Failed to load the player data index", e);
+        }
+    }
 
-        } catch (final Exception ex) {
-            throw new RuntimeException("Encountered an exception while creating the player data handler!", ex);
+    private void migrateLegacyFiles() {
+        final List<Path> playerFiles = new ArrayList<>();
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(this.playersDirectory, "*.{dat}")) {
+            for (final Path entry : stream) {
+                playerFiles.add(entry);
+            }
+        } catch (final IOException | DirectoryIteratorException e) {
+            SpongeCommon.getLogger().error("Something happened when trying to gather all player files", e);
+        }
+        int migrated = 0;
+        for (final Path playerFile : playerFiles) {
+            if (!Files.isReadable(playerFile)) {
+                continue;
+            }
+            final CompoundTag compound;
+            try (final InputStream stream = Files.newInputStream(playerFile)) {
+                compound = NbtIo.readCompressed(stream);
+            } catch (final Exception e) {
+                SpongeCommon.getLogger().error("Failed to decompress playerdata for playerfile {}", playerFile, e);
+                continue;
+            }
+            if (compound.isEmpty()) {
+                SpongeCommon.getLogger().error("Failed to decompress player data within [{}]!", playerFile);
+                continue;
+            }
+            final DataContainer container = NBTTranslator.INSTANCE.translateFrom(compound);
+            final Optional<SpongePlayerData> data = container.getSerializable(DataQuery.of(), SpongePlayerData.class);
+            if (data.isPresent()) {
+                this.mergeLoaded(new PlayerDataIndex.Entry(data.get().getUniqueId(), data.get().getFirstJoined(), data.get().getLastJoined()));
+                migrated++;
+            }
+        }
+        if (migrated > 0) {
+            SpongeCommon.getLogger().info("Migrated the data of {} players into the player data index.", migrated);
+        }
+    }
+
+    private void scheduleFlush() {
+        if (this.flushScheduled.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(this::flush);
+            } catch (final Exception e) {
+                // The executor was shut down, save on this thread instead
+                this.flush();
+            }
+        }
+    }
+
+    private void flush() {
+        this.flushScheduled.set(false);
+        final PlayerDataIndex index = this.index;
+        if (index == null || this.dirty.isEmpty()) {
+            return;
+        }
+        final List<PlayerDataIndex.Entry> pending = new ArrayList<>(this.dirty.size());
+        for (final UUID uniqueId : this.dirty) {
+            this.dirty.remove(uniqueId);
+            final PlayerDataIndex.Entry entry = this.playerDataByUniqueId.get(uniqueId);
+            if (entry != null) {
+                pending.add(entry);
+            }
+        }
+        try {
+            index.append(pending);
+        } catch (final IOException e) {
+            SpongeCommon.getLogger().error("Failed to save player data for {} players!", pending.size(), e);
+            for (final PlayerDataIndex.Entry entry : pending) {
+                this.dirty.add(entry.uniqueId);
+            }
+            return;
+        }
+        // Rejoining players keep appending records, so the index is also compacted while the server runs
+        if (index.shouldCompact(this.playerDataByUniqueId.size())) {
+            try {
+                index.write(this.playerDataByUniqueId.values());
+            } catch (final IOException e) {
+                SpongeCommon.getLogger().error("Failed to compact the player data index", e);
+            }
         }
     }
 
@@ -145,34 +280,14 @@ public void saveSpongePlayerData(final UUID uniqueId) {
             throw new IllegalArgumentException("Player unique id cannot be null!");
         }
 
-        @Nullable final SpongePlayerData data = this.playerDataByUniqueId.get(uniqueId);
-        if (data != null) {
-            this.saveFile(uniqueId.toString(), this.createCompoundFor(data));
+        if (this.playerDataByUniqueId.containsKey(uniqueId)) {
+            this.dirty.add(uniqueId);
+            this.scheduleFlush();
         } else {
             SpongeCommon.getLogger().error("Couldn't find a player data for the uuid: " + uniqueId.toString());
         }
     }
 
-    private CompoundTag createCompoundFor(final SpongePlayerData data) {
-        return NBTTranslator.INSTANCE.translate(data.toContainer());
-    }
-
-    private void saveFile(final String id, final CompoundTag compound) {
-        try {
-            // Ensure that where we want to put this at ALWAYS exists
-            Files.createDirectories(this.playersDirectory);
-
-            final Path finalDatPath = this.playersDirectory.resolve(id + ".dat");
-            final Path newDatPath = this.playersDirectory.resolve(id + ".dat.tmp");
-            try (final OutputStream stream = Files.newOutputStream(newDatPath, StandardOpenOption.CREATE)) {
-                NbtIo.writeCompressed(compound, stream);
-            }
-            Files.move(newDatPath, finalDatPath, StandardCopyOption.REPLACE_EXISTING);
-        } catch (Exception e) {
-            SpongeCommon.getLogger().error("Failed to save player data for [{}]!", id, e);
-        }
-    }
-
     public void setPlayerInfo(final UUID playerUniqueId, final Instant join, final Instant last) {
         if (playerUniqueId == null) {
             throw new IllegalArgumentException("Player unique id cannot be null!");
@@ -184,23 +299,22 @@ public void setPlayerInfo(final UUID playerUniqueId, final Instant join, final I
             throw new IllegalArgumentException("Last joined date cannot be null!");
         }
 
-        SpongePlayerData data = this.playerDataByUniqueId.get(playerUniqueId);
-        if (data == null) {
-            data = new SpongePlayerData();
-            data.setUniqueId(playerUniqueId);
+        final PlayerDataIndex.Entry entry = new PlayerDataIndex.Entry(playerUniqueId, join.toEpochMilli(), last.toEpochMilli());
+        if (this.loaded.isDone()) {
+            this.playerDataByUniqueId.put(playerUniqueId, entry);
+        } else {
+            // The join time of a player whose entry wasn't read yet is only a guess, the index may know an earlier one
+            this.playerDataByUniqueId.merge(playerUniqueId, entry, SpongePlayerDataManager::merge);
         }
-        data.setFirstJoined(join.toEpochMilli());
-        data.setLastJoined(last.toEpochMilli());
-        this.playerDataByUniqueId.put(playerUniqueId, data);
     }
 
     public Optional<Instant> getFirstJoined(final UUID uniqueId) {
-        final SpongePlayerData data = this.playerDataByUniqueId.get(uniqueId);
-        return Optional.ofNullable(data == null ? null : Instant.ofEpochMilli(data.getFirstJoined()));
+        final PlayerDataIndex.Entry entry = this.playerDataByUniqueId.get(uniqueId);
+        return Optional.ofNullable(entry == null ? null : Instant.ofEpochMilli(entry.firstJoined));
     }
 
     public Optional<Instant> getLastPlayed(final UUID uniqueId) {
-        final SpongePlayerData data = this.playerDataByUniqueId.get(uniqueId);
-        return Optional.ofNullable(data == null ? null : Instant.ofEpochMilli(data.getLastJoined()));
+        final PlayerDataIndex.Entry entry = this.playerDataByUniqueId.get(uniqueId);
+        return Optional.ofNullable(entry == null ? null : Instant.ofEpochMilli(entry.lastJoined));
     }
 }
@@ -78,6 +78,27 @@ public SpongeArchetypeVolume(final Vector3i start, final Vector3i size, final Re
         this.entities = new ObjectArrayMutableEntityArchetypeBuffer(start, size);
     }
 
+    /**
+     * Creates a volume around an already populated block buffer, without
+     * copying it.
+     *
+     * @param start The start block position
+     * @param size The block size
+     * @param blocks The block buffer
+     * @param registries The registry holder used for the biome palette
+     */
+    public SpongeArchetypeVolume(final Vector3i start, final Vector3i size, final ArrayMutableBlockBuffer blocks, final RegistryHolder registries) {
+        super(start, size);
+        this.blocks = blocks;
+        this.blockEntities = new MutableMapBlockEntityArchetypeBuffer(blocks);
+        this.biomes = new ByteArrayMutableBiomeBuffer(
+            PaletteTypes.BIOME_PALETTE.get().create(registries, RegistryTypes.BIOME),
+            start,
+            size
+        );
+        this.entities = new ObjectArrayMutableEntityArchetypeBuffer(start, size);
+    }
+
     @Override
     public Optional<BlockEntityArchetype> blockEntityArchetype(final int x, final int y, final int z) {
         return Optional.empty();
@@ -185,6 +206,10 @@ public void removeBlockEntity(final int x, final int y, final int z) {
         this.blockEntities.removeBlockEntity(x, y, z);
     }
 
+    public ArrayMutableBlockBuffer getBlockBuffer() {
+        return this.blocks;
+    }
+
     public Palette<BlockState, BlockType> getBlockPalette() {
         return this.blocks.getPalette();
     }
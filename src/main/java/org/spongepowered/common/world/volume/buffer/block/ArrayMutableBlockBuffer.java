@@ -106,7 +106,7 @@ public ArrayMutableBlockBuffer(final Palette<BlockState, BlockType> palette, fin
      * @param start The start block position
      * @param size The block size
      */
-    ArrayMutableBlockBuffer(final Palette<BlockState, BlockType> palette, final BlockBackingData blocks, final Vector3i start, final Vector3i size) {
+    public ArrayMutableBlockBuffer(final Palette<BlockState, BlockType> palette, final BlockBackingData blocks, final Vector3i start, final Vector3i size) {
         super(start, size);
         this.palette = palette.asMutable(Sponge.game().registries());
         this.data = blocks;
@@ -217,6 +217,16 @@ public ArrayMutableBlockBuffer copy() {
         return  new ArrayMutableBlockBuffer(this.palette, this.data.copyOf(), this.start, this.size);
     }
 
+    /**
+     * Does not copy! The ids are only meaningful against
+     * {@link #getPalette()}.
+     *
+     * @return The backing data
+     */
+    public BlockBackingData getBackingData() {
+        return this.data;
+    }
+
     public BlockBackingData getCopiedBackingData() {
         return this.data.copyOf();
     }
@@ -44,8 +44,11 @@
 import org.spongepowered.common.bridge.world.storage.MapDecorationBridge;
 import org.spongepowered.common.bridge.world.storage.MapItemSavedDataBridge;
 import org.spongepowered.common.map.SpongeMapStorage;
+import org.spongepowered.common.map.canvas.MapCanvasDiff;
+import org.spongepowered.common.map.canvas.SpongeMapCanvas;
 import org.spongepowered.common.util.Constants;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -70,6 +73,8 @@ public abstract class MapItemSavedDataMixin extends SavedData implements MapItem
      */
     // @formatter:off
     @Final @Shadow public Map<String, MapDecoration> decorations;
+    @Final @Shadow private List<MapItemSavedData.HoldingPlayer> carriedBy;
+    @Shadow public byte[] colors;
 
     @Shadow public abstract void shadow$setDirty(int x, int y);
     // @formatter:on
@@ -88,6 +93,21 @@ public MapItemSavedDataMixin(final String name) {
         this.shadow$setDirty(Constants.Map.MAP_MAX_INDEX, Constants.Map.MAP_MAX_INDEX);
     }
 
+    @Override
+    public void bridge$applyCanvas(final SpongeMapCanvas canvas) {
+        final byte[] previous = this.colors.clone();
+        canvas.applyToMapData((MapItemSavedData) (Object) this);
+        final MapCanvasDiff diff = MapCanvasDiff.between(previous, this.colors);
+        MapCanvasDiff.record(diff, this.carriedBy.size());
+        if (diff == null) {
+            // Nothing changed, don't resend the same frame to the viewers
+            return;
+        }
+        // Viewers merge these into the rectangle of their next map update packet
+        this.shadow$setDirty(diff.minX(), diff.minY());
+        this.shadow$setDirty(diff.maxX(), diff.maxY());
+    }
+
     @SuppressWarnings("SuspiciousMethodCalls")
     @Override
     public void bridge$setDecorations(final Set<org.spongepowered.api.map.decoration.MapDecoration> newDecorations) {
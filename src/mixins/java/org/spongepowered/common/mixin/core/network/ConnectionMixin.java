@@ -36,6 +36,7 @@
 import org.spongepowered.common.SpongeMinecraftVersion;
 import org.spongepowered.common.bridge.network.ConnectionBridge;
 import org.spongepowered.common.entity.player.ClientType;
+import org.spongepowered.common.network.channel.InboundPayloadQueue;
 import org.spongepowered.common.network.channel.TransactionStore;
 import org.spongepowered.common.util.Constants;
 
@@ -58,6 +59,7 @@ public abstract class ConnectionMixin extends SimpleChannelInboundHandler<Packet
     @Shadow public abstract SocketAddress getRemoteAddress();
 
     private final TransactionStore impl$transactionStore = new TransactionStore(() -> (EngineConnection) this.packetListener);
+    private final InboundPayloadQueue impl$inboundPayloadQueue = new InboundPayloadQueue();
     private final Set<ResourceKey> impl$registeredChannels = Sets.newConcurrentHashSet();
 
     @Nullable private InetSocketAddress impl$virtualHost;
@@ -70,6 +72,11 @@ public abstract class ConnectionMixin extends SimpleChannelInboundHandler<Packet
         return this.impl$transactionStore;
     }
 
+    @Override
+    public InboundPayloadQueue bridge$getInboundPayloadQueue() {
+        return this.impl$inboundPayloadQueue;
+    }
+
     @Override
     public Set<ResourceKey> bridge$getRegisteredChannels() {
         return this.impl$registeredChannels;
@@ -24,12 +24,15 @@
  */
 package org.spongepowered.common.mixin.core.network.protocol.status;
 
+import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import net.minecraft.network.protocol.status.ClientboundStatusResponsePacket;
+import net.minecraft.network.protocol.status.ServerStatus;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.common.adventure.SpongeAdventure;
+import org.spongepowered.common.network.status.SpongeStatusResponse;
 
 import java.lang.reflect.Type;
 
@@ -41,4 +44,9 @@ public abstract class ClientboundStatusResponsePacketMixin {
       return SpongeAdventure.GSON.populator().apply(instance.registerTypeAdapter(type, adapter));
    }
 
+   @Redirect(method = "write", at = @At(value = "INVOKE", target = "Lcom/google/gson/Gson;toJson(Ljava/lang/Object;)Ljava/lang/String;"))
+   private String impl$reuseSharedResponseJson(final Gson gson, final Object response) {
+      return SpongeStatusResponse.toJson(gson, (ServerStatus) response);
+   }
+
 }
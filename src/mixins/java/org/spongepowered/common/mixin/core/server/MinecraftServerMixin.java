@@ -65,6 +65,7 @@
 import org.spongepowered.common.bridge.commands.CommandSourceBridge;
 import org.spongepowered.common.bridge.server.MinecraftServerBridge;
 import org.spongepowered.common.bridge.server.players.GameProfileCacheBridge;
+import org.spongepowered.common.bridge.server.level.ChunkMapBridge;
 import org.spongepowered.common.bridge.server.level.ServerLevelBridge;
 import org.spongepowered.common.bridge.world.level.storage.PrimaryLevelDataBridge;
 import org.spongepowered.common.config.inheritable.InheritableConfigHandle;
@@ -74,6 +75,7 @@
 import org.spongepowered.common.relocate.co.aikar.timings.SpongeTimings;
 import org.spongepowered.common.relocate.co.aikar.timings.TimingsManager;
 import org.spongepowered.common.resourcepack.SpongeResourcePack;
+import org.spongepowered.common.scoreboard.ScoreboardPacketQueue;
 import org.spongepowered.common.service.server.SpongeServerScopedServiceProvider;
 
 import java.io.IOException;
@@ -150,6 +152,7 @@ public Subject subject() {
     @Inject(method = "tickServer", at = @At("TAIL"))
     private void impl$tickServerScheduler(final BooleanSupplier hasTimeLeft, final CallbackInfo ci) {
         this.scheduler().tick();
+        ScoreboardPacketQueue.flushAll();
     }
 
     @Override
@@ -192,6 +195,11 @@ public String getServerModName() {
         TimingsManager.FULL_SERVER_TICK.stopTiming();
     }
 
+    @Inject(method = "stopServer", at = @At(value = "TAIL"))
+    private void impl$closePlayerDataManager(final CallbackInfo ci) {
+        ((SpongeServer) this).getPlayerDataManager().close();
+    }
+
     @Inject(method = "stopServer", at = @At(value = "TAIL"))
     private void impl$closeLevelSaveForOtherWorlds(final CallbackInfo ci) {
         for (final Map.Entry<ResourceKey<Level>, ServerLevel> entry : this.levels.entrySet()) {
@@ -278,7 +286,11 @@ public boolean saveAllChunks(final boolean suppressLog, final boolean flush, fin
                     }
                 }
 
+                final long saveStart = System.nanoTime();
                 world.save(null, false, world.noSave);
+                if (this.bridge$performAutosaveChecks()) {
+                    ((ChunkMapBridge) world.getChunkSource().chunkMap).bridge$getAutoSaveTimes().record(System.nanoTime() - saveStart);
+                }
 
                 if (log) {
                     if (this.bridge$performAutosaveChecks()) {
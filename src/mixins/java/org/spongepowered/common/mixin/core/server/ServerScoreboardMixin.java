@@ -58,9 +58,11 @@
 import org.spongepowered.common.accessor.world.scores.PlayerTeamAccessor;
 import org.spongepowered.common.accessor.world.scores.ScoreboardAccessor;
 import org.spongepowered.common.adventure.SpongeAdventure;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.bridge.world.scores.ScoreBridge;
 import org.spongepowered.common.bridge.world.scores.ObjectiveBridge;
 import org.spongepowered.common.bridge.server.ServerScoreboardBridge;
+import org.spongepowered.common.scoreboard.ScoreboardPacketQueue;
 import org.spongepowered.common.scoreboard.SpongeObjective;
 import org.spongepowered.common.scoreboard.SpongeScore;
 import org.spongepowered.common.util.Constants;
@@ -83,6 +85,7 @@ public abstract class ServerScoreboardMixin extends Scoreboard implements Server
     @Shadow protected abstract void shadow$setDirty();
 
     private final List<ServerPlayer> impl$players = new ArrayList<>();
+    private final ScoreboardPacketQueue impl$packetQueue = new ScoreboardPacketQueue(this.impl$players);
 
     // Update objective in display slot
 
@@ -201,6 +204,15 @@ public abstract class ServerScoreboardMixin extends Scoreboard implements Server
 
     @Override
     public void bridge$sendToPlayers(final Packet<?> packet) {
+        if (this.impl$players.isEmpty()) {
+            return;
+        }
+        if (SpongeConfigs.getCommon().get().optimizations.batchScoreboardPackets) {
+            // Also queued off the server thread, so these packets keep their order with the queued ones
+            this.impl$packetQueue.queue(packet);
+            return;
+        }
+        this.impl$packetQueue.flush();
         for (final ServerPlayer player: this.impl$players) {
             player.connection.send(packet);
         }
@@ -208,6 +220,7 @@ public abstract class ServerScoreboardMixin extends Scoreboard implements Server
 
     @Override
     public void bridge$addPlayer(final ServerPlayer player, final boolean sendPackets) {
+        this.impl$flushPacketQueue();
         this.impl$players.add(player);
         if (sendPackets) {
             for (final PlayerTeam team : this.getPlayerTeams()) {
@@ -235,6 +248,7 @@ public abstract class ServerScoreboardMixin extends Scoreboard implements Server
 
     @Override
     public void bridge$removePlayer(final ServerPlayer player, final boolean sendPackets) {
+        this.impl$flushPacketQueue();
         this.impl$players.remove(player);
         if (sendPackets) {
             this.impl$removeScoreboard(player);
@@ -385,15 +399,22 @@ public void setDisplayObjective(final int slot, @Nullable final net.minecraft.wo
     @Redirect(method = "startTrackingObjective",
         at = @At(value = "INVOKE", target = "Ljava/util/List;iterator()Ljava/util/Iterator;", ordinal = 0, remap = false))
     private Iterator impl$useOurScoreboardForPlayers(final List list) {
+        this.impl$flushPacketQueue();
         return this.impl$players.iterator();
     }
 
     @Redirect(method = "stopTrackingObjective",
         at = @At(value = "INVOKE", target = "Ljava/util/List;iterator()Ljava/util/Iterator;", ordinal = 0, remap = false))
     private Iterator impl$useOurScoreboardForPlayersOnRemoval(final List list) {
+        this.impl$flushPacketQueue();
         return this.impl$players.iterator();
     }
 
+    private void impl$flushPacketQueue() {
+        // Packets are about to be sent to viewers directly, everything queued has to reach them first
+        this.impl$packetQueue.flush();
+    }
+
     private void impl$removeScoreboard(final ServerPlayer player) {
         this.impl$removeTeams(player);
         this.impl$removeObjectives(player);
@@ -24,13 +24,22 @@
  */
 package org.spongepowered.common.mixin.core.server.level;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ChunkHolder;
 import net.minecraft.server.level.ChunkMap;
+import net.minecraft.server.level.DistanceManager;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.Ticket;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.util.SortedArraySet;
 import net.minecraft.world.entity.ai.village.poi.PoiManager;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.chunk.ChunkAccess;
 import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
 import net.minecraft.world.level.chunk.storage.ChunkSerializer;
 import org.spongepowered.api.ResourceKey;
 import org.spongepowered.api.event.SpongeEventFactory;
@@ -44,19 +53,152 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.Slice;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.accessor.server.level.DistanceManagerAccessor;
+import org.spongepowered.common.bridge.server.level.ChunkMapBridge;
+import org.spongepowered.common.bridge.world.level.chunk.LevelChunkBridge;
+import org.spongepowered.common.bridge.world.level.chunk.storage.ChunkStorageBridge;
 import org.spongepowered.common.bridge.world.level.storage.PrimaryLevelDataBridge;
+import org.spongepowered.common.config.inheritable.WorldCategory;
 import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.world.server.DelayedChunkUnloads;
+import org.spongepowered.common.world.storage.ChunkStorageBackends;
+import org.spongepowered.common.world.storage.SaveTimeHistogram;
 import org.spongepowered.math.vector.Vector3i;
 
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
 @Mixin(ChunkMap.class)
-public abstract class ChunkMapMixin {
+public abstract class ChunkMapMixin implements ChunkMapBridge {
+
+    private static final TicketType<ChunkPos> IMPL$DELAYED_UNLOAD = TicketType.create("sponge_delayed_unload", Comparator.comparingLong(ChunkPos::toLong));
 
     // @formatter:off
+    @Shadow @Final public static int MAX_CHUNK_DISTANCE;
+
     @Shadow @Final private ServerLevel level;
+    @Shadow @Final private LongSet toDrop;
+    @Shadow private volatile Long2ObjectLinkedOpenHashMap<ChunkHolder> updatingChunkMap;
+
+    @Shadow protected abstract DistanceManager shadow$getDistanceManager();
     // @formatter:on
 
+    private final DelayedChunkUnloads impl$delayedUnloads = new DelayedChunkUnloads();
+    private final SaveTimeHistogram impl$chunkSaveTimes = new SaveTimeHistogram(TimeUnit.MICROSECONDS, 100, 250, 500, 1000, 2500, 5000, 10000);
+    private final SaveTimeHistogram impl$autoSaveTimes = new SaveTimeHistogram(TimeUnit.MILLISECONDS, 5, 10, 25, 50, 100, 250, 500);
+    private long impl$saveStart;
+
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void impl$selectStorageBackend(final CallbackInfo ci) {
+        final PrimaryLevelDataBridge levelData = (PrimaryLevelDataBridge) this.level.getLevelData();
+        if (levelData.bridge$configAdapter() == null) {
+            return;
+        }
+        final ChunkStorageBridge storage = (ChunkStorageBridge) this;
+        storage.bridge$setStorageBackend(ChunkStorageBackends.create(levelData.bridge$configAdapter().get().world.chunkStorageBackend,
+                storage.bridge$getRegionFolder()));
+    }
+
+    @Override
+    public int bridge$getDelayedUnloadCount() {
+        return this.impl$delayedUnloads.count();
+    }
+
+    @Override
+    public long bridge$getDelayedUnloadMemory() {
+        return this.impl$delayedUnloads.memory();
+    }
+
+    @Override
+    public long bridge$getAvoidedReloadCount() {
+        return this.impl$delayedUnloads.avoidedReloads();
+    }
+
+    @Inject(method = "processUnloads", at = @At("HEAD"))
+    private void impl$delayChunkUnloads(final BooleanSupplier hasMoreTime, final CallbackInfo ci) {
+        final WorldCategory config = ((PrimaryLevelDataBridge) this.level.getLevelData()).bridge$configAdapter().get().world;
+        final long gameTime = this.level.getGameTime();
+        this.impl$delayedUnloads.tick(gameTime, config.chunkUnloadDelay, this::impl$isLoaded, this::impl$isRequested, pos -> {
+            final ChunkHolder holder = this.updatingChunkMap.get(pos);
+            final ChunkAccess chunk = holder == null ? null : holder.getLastAvailable();
+            if (chunk instanceof LevelChunk) {
+                ((LevelChunkBridge) chunk).bridge$setScheduledForUnload(-1);
+            }
+            final ChunkPos chunkPos = new ChunkPos(pos);
+            this.level.getChunkSource().removeRegionTicket(ChunkMapMixin.IMPL$DELAYED_UNLOAD, chunkPos, 0, chunkPos);
+        });
+        if (config.chunkUnloadDelay <= 0) {
+            return;
+        }
+
+        // Instead of dropping a fully loaded chunk, keep it resident as a border chunk until the delay runs out
+        final LongIterator iterator = this.toDrop.iterator();
+        while (iterator.hasNext()) {
+            final long pos = iterator.nextLong();
+            if (this.impl$delayedUnloads.isReleased(pos) || !this.impl$isLoaded(pos)) {
+                continue;
+            }
+            final LevelChunk chunk = (LevelChunk) this.updatingChunkMap.get(pos).getLastAvailable();
+            if (!this.impl$delayedUnloads.delay(pos, gameTime, ChunkMapMixin.impl$estimateMemory(chunk), config.maxDelayedChunkUnloads)) {
+                continue;
+            }
+            ((LevelChunkBridge) chunk).bridge$setScheduledForUnload(gameTime);
+            this.level.getChunkSource().addRegionTicket(ChunkMapMixin.IMPL$DELAYED_UNLOAD, chunk.getPos(), 0, chunk.getPos());
+            iterator.remove();
+        }
+    }
+
+    private boolean impl$isLoaded(final long pos) {
+        final ChunkHolder holder = this.updatingChunkMap.get(pos);
+        return holder != null && holder.getLastAvailable() instanceof LevelChunk;
+    }
+
+    /**
+     * Gets whether anything other than a delayed unload keeps the chunk at
+     * the given position loaded. The ticket level of the chunk itself can't
+     * tell, as the delayed unload ticket already holds it at the maximum
+     * loaded level.
+     */
+    private boolean impl$isRequested(final long pos) {
+        final SortedArraySet<Ticket<?>> tickets = ((DistanceManagerAccessor) this.shadow$getDistanceManager()).accessor$tickets().get(pos);
+        if (tickets != null) {
+            for (final Ticket<?> ticket : tickets) {
+                if (ticket.getType() != ChunkMapMixin.IMPL$DELAYED_UNLOAD && ticket.getTicketLevel() <= ChunkMapMixin.MAX_CHUNK_DISTANCE) {
+                    return true;
+                }
+            }
+        }
+        // Ticket levels spread to the neighbours plus one, a neighbour below the maximum keeps this chunk loaded as well
+        final int x = ChunkPos.getX(pos);
+        final int z = ChunkPos.getZ(pos);
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                if (dx == 0 && dz == 0) {
+                    continue;
+                }
+                final ChunkHolder neighbour = this.updatingChunkMap.get(ChunkPos.asLong(x + dx, z + dz));
+                if (neighbour != null && neighbour.getTicketLevel() < ChunkMapMixin.MAX_CHUNK_DISTANCE) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static long impl$estimateMemory(final LevelChunk chunk) {
+        long memory = 0;
+        for (final LevelChunkSection section : chunk.getSections()) {
+            if (!LevelChunkSection.isEmpty(section)) {
+                memory += section.getSerializedSize();
+            }
+        }
+        return memory;
+    }
+
     @Redirect(method = "save", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/ai/village/poi/PoiManager;flush(Lnet/minecraft/world/level/ChunkPos;)V"))
     private void impl$useSerializationBehaviorForPOI(PoiManager pointOfInterestManager, ChunkPos p_219112_1_) {
         final PrimaryLevelDataBridge infoBridge = (PrimaryLevelDataBridge) this.level.getLevelData();
@@ -94,6 +236,7 @@ public abstract class ChunkMapMixin {
     )
     private void impl$onSetUnloaded(final ServerLevel level, final LevelChunk chunk) {
         level.unload(chunk);
+        this.impl$delayedUnloads.unloaded(chunk.getPos().toLong());
         final Vector3i chunkPos = new Vector3i(chunk.getPos().x, 0, chunk.getPos().z);
         final ChunkEvent.Unload event = SpongeEventFactory.createChunkEventUnload(PhaseTracker.getInstance().currentCause(), chunkPos, (ResourceKey) (Object) this.level.dimension().location());
         SpongeCommon.postEvent(event);
@@ -101,6 +244,7 @@ public abstract class ChunkMapMixin {
 
     @Inject(method = "save", at = @At(value = "RETURN"))
     private void impl$onSaved(final ChunkAccess var1, final CallbackInfoReturnable<Boolean> cir) {
+        this.impl$chunkSaveTimes.record(System.nanoTime() - this.impl$saveStart);
         final Vector3i chunkPos = new Vector3i(var1.getPos().x, 0, var1.getPos().z);
         final ChunkEvent.Save.Post postSave = SpongeEventFactory.createChunkEventSavePost(PhaseTracker.getInstance().currentCause(), chunkPos,
                         (ResourceKey) (Object) this.level.dimension().location());
@@ -109,6 +253,7 @@ public abstract class ChunkMapMixin {
 
     @Inject(method = "save", at = @At(value = "HEAD"), cancellable = true)
     private void impl$onSave(final ChunkAccess var1, final CallbackInfoReturnable<Boolean> cir) {
+        this.impl$saveStart = System.nanoTime();
         if (var1 instanceof Chunk) {
             final Vector3i chunkPos = new Vector3i(var1.getPos().x, 0, var1.getPos().z);
             final ChunkEvent.Save.Pre postSave = SpongeEventFactory.createChunkEventSavePre(PhaseTracker.getInstance().currentCause(),
@@ -81,6 +81,7 @@
 import org.spongepowered.common.mixin.core.world.level.LevelMixin;
 import org.spongepowered.common.registry.SpongeRegistryHolder;
 import org.spongepowered.common.relocate.co.aikar.timings.WorldTimingsHandler;
+import org.spongepowered.common.world.ExplosionTickCache;
 import org.spongepowered.math.vector.Vector3d;
 import org.spongepowered.math.vector.Vector3i;
 
@@ -107,6 +108,7 @@ public abstract class ServerLevelMixin extends LevelMixin implements ServerLevel
     private SpongeRegistryHolder impl$registerHolder;
     private ChunkProgressListener impl$chunkStatusListener;
     private Map<Entity, Vector3d> impl$rotationUpdates;
+    private final ExplosionTickCache impl$explosionTickCache = new ExplosionTickCache();
 
     private boolean impl$isManualSave = false;
     protected WorldTimingsHandler impl$timings = new WorldTimingsHandler((ServerLevel) (Object) this);
@@ -227,6 +229,12 @@ public abstract class ServerLevelMixin extends LevelMixin implements ServerLevel
         // Sponge End
     }
 
+    @Override
+    public ExplosionTickCache bridge$getExplosionTickCache() {
+        this.impl$explosionTickCache.startTick(this.shadow$getLevelData().getGameTime());
+        return this.impl$explosionTickCache;
+    }
+
     @Override
     public void bridge$setManualSave(final boolean state) {
         this.impl$isManualSave = state;
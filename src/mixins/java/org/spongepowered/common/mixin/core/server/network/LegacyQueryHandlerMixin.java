@@ -37,8 +37,11 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.applaunch.config.common.NetworkCategory;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.network.status.SpongeLegacyMinecraftVersion;
 import org.spongepowered.common.network.status.SpongeStatusResponse;
+import org.spongepowered.common.network.status.StatusPingLimiter;
 import org.spongepowered.common.util.NetworkUtil;
 
 import java.net.InetSocketAddress;
@@ -116,6 +119,9 @@ public void channelRead(final ChannelHandlerContext ctx, final Object msg) throw
         switch (i) {
             case 0:
                 LegacyQueryHandlerMixin.LOGGER.debug("Ping: (<=1.3) from {}:{}", client.getAddress(), client.getPort());
+                if (!this.impl$tryAcquirePing(ctx, client)) {
+                    break;
+                }
 
                 response = SpongeStatusResponse.postLegacy(server, client, SpongeLegacyMinecraftVersion.V1_3, null);
                 if (response != null) {
@@ -134,6 +140,9 @@ public void channelRead(final ChannelHandlerContext ctx, final Object msg) throw
                 }
 
                 LegacyQueryHandlerMixin.LOGGER.debug("Ping: (1.4-1.5) from {}:{}", client.getAddress(), client.getPort());
+                if (!this.impl$tryAcquirePing(ctx, client)) {
+                    break;
+                }
 
                 response = SpongeStatusResponse.postLegacy(server, client, SpongeLegacyMinecraftVersion.V1_5, null);
                 if (response != null) {
@@ -176,6 +185,9 @@ public void channelRead(final ChannelHandlerContext ctx, final Object msg) throw
                 final int port = buf.readInt();
 
                 LegacyQueryHandlerMixin.LOGGER.debug("Ping: (1.6) from {}:{}", client.getAddress(), client.getPort());
+                if (!this.impl$tryAcquirePing(ctx, client)) {
+                    break;
+                }
 
                 response =
                         SpongeStatusResponse.postLegacy(server, client,
@@ -198,6 +210,15 @@ public void channelRead(final ChannelHandlerContext ctx, final Object msg) throw
         return true;
     }
 
+    private boolean impl$tryAcquirePing(final ChannelHandlerContext ctx, final InetSocketAddress client) {
+        final NetworkCategory network = SpongeConfigs.getCommon().get().network;
+        if (StatusPingLimiter.tryAcquire(client, network.statusPingLimit, network.statusPingLimitWindow)) {
+            return true;
+        }
+        ctx.close();
+        return false;
+    }
+
     private void writeResponse(final ChannelHandlerContext ctx, final String response) {
         this.shadow$sendFlushAndClose(ctx, this.shadow$createReply(response));
     }
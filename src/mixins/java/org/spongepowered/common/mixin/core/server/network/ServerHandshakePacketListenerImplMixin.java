@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.core.server.network;
 
 import net.minecraft.network.Connection;
+import net.minecraft.network.ConnectionProtocol;
 import net.minecraft.network.protocol.handshake.ClientIntentionPacket;
 import net.minecraft.server.network.ServerHandshakePacketListenerImpl;
 import org.spongepowered.asm.mixin.Final;
@@ -34,8 +35,11 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.accessor.network.protocol.handshake.ClientIntentionPacketAccessor;
+import org.spongepowered.common.applaunch.config.common.NetworkCategory;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.bridge.network.ConnectionBridge;
 import org.spongepowered.common.bridge.network.ConnectionHolderBridge;
+import org.spongepowered.common.network.status.StatusPingLimiter;
 import org.spongepowered.common.util.NetworkUtil;
 
 @Mixin(ServerHandshakePacketListenerImpl.class)
@@ -43,6 +47,19 @@ public abstract class ServerHandshakePacketListenerImplMixin implements Connecti
 
     @Shadow @Final private Connection connection;
 
+    @Inject(method = "handleIntention", at = @At("HEAD"), cancellable = true)
+    private void impl$limitStatusPings(final ClientIntentionPacket packetIn, final CallbackInfo ci) {
+        if (packetIn.getIntention() != ConnectionProtocol.STATUS) {
+            return;
+        }
+        // Checked before the status listener and its response are created
+        final NetworkCategory network = SpongeConfigs.getCommon().get().network;
+        if (!StatusPingLimiter.tryAcquire(this.connection.getRemoteAddress(), network.statusPingLimit, network.statusPingLimitWindow)) {
+            this.connection.disconnect(null);
+            ci.cancel();
+        }
+    }
+
     @Inject(method = "handleIntention", at = @At("HEAD"))
     private void impl$updateVersionAndHost(final ClientIntentionPacket packetIn, final CallbackInfo ci) {
         final ConnectionBridge info = (ConnectionBridge) this.connection;
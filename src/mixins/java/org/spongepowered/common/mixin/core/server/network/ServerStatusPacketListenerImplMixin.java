@@ -31,10 +31,12 @@
 import net.minecraft.network.protocol.status.ServerboundStatusRequestPacket;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerStatusPacketListenerImpl;
+import org.spongepowered.api.event.ShouldFire;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.network.status.SpongeStatusClient;
 import org.spongepowered.common.network.status.SpongeStatusResponse;
 
@@ -49,7 +51,8 @@ public abstract class ServerStatusPacketListenerImplMixin {
 
     /**
      * @author Minecrell - January 18th, 2015
-     * @reason Post the server status ping event for plugins.
+     * @reason Post the server status ping event for plugins and share the
+     * response between pings if nobody listens to them.
      */
     @Overwrite
     public void handleStatusRequest(final ServerboundStatusRequestPacket packetIn) {
@@ -58,7 +61,12 @@ public void handleStatusRequest(final ServerboundStatusRequestPacket packetIn) {
         } else {
             this.hasRequestedStatus = true;
 
-            final ServerStatus response = SpongeStatusResponse.post(this.server, new SpongeStatusClient(this.connection));
+            final ServerStatus response;
+            if (!ShouldFire.CLIENT_PING_SERVER_EVENT && SpongeConfigs.getCommon().get().network.statusCacheInterval > 0) {
+                response = SpongeStatusResponse.getCached(this.server);
+            } else {
+                response = SpongeStatusResponse.post(this.server, new SpongeStatusClient(this.connection));
+            }
             if (response != null) {
                 this.connection.send(new ClientboundStatusResponsePacket(response));
             } else {
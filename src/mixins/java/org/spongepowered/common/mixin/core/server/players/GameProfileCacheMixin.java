@@ -42,6 +42,7 @@
 import org.spongepowered.common.bridge.server.players.GameProfileCacheBridge;
 import org.spongepowered.common.bridge.server.players.GameProfileCache_GameProfileInfoBridge;
 import org.spongepowered.common.profile.SpongeGameProfile;
+import org.spongepowered.common.user.SpongeUserManager;
 
 import java.util.Collections;
 import java.util.List;
@@ -156,6 +157,7 @@ public abstract class GameProfileCacheMixin implements GameProfileCacheBridge {
     @Inject(method = "add", at = @At(value = "RETURN"))
     private void impl$UpdateCacheUsername(final com.mojang.authlib.GameProfile profile, final CallbackInfo ci) {
         ((SpongeServer) Sponge.server()).getUsernameCache().setUsername(profile.getId(), profile.getName());
+        ((SpongeUserManager) Sponge.server().userManager()).onProfileCached(profile.getId(), profile.getName());
     }
 
     @Redirect(method = "lookupGameProfile",
@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.core.world.level;
 
 import com.google.common.collect.Sets;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.event.Cause;
 import org.spongepowered.api.event.SpongeEventFactory;
 import org.spongepowered.api.event.world.ExplosionEvent;
@@ -39,10 +40,13 @@
 import org.spongepowered.asm.mixin.injection.Surrogate;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
+import org.spongepowered.common.bridge.server.level.ServerLevelBridge;
 import org.spongepowered.common.bridge.world.level.ExplosionBridge;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.ExplosionTickCache;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -52,12 +56,15 @@
 import java.util.Set;
 import java.util.StringJoiner;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.Mth;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.item.PrimedTnt;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.enchantment.ProtectionEnchantment;
+import net.minecraft.world.level.EntityBasedExplosionDamageCalculator;
 import net.minecraft.world.level.ExplosionDamageCalculator;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
@@ -132,7 +139,12 @@ public void explode() {
         // Sponge End
 
         // Sponge Start - If the explosion should not break blocks, don't bother calculating it on server thread
-        if (this.impl$shouldBreakBlocks) {
+        final ExplosionTickCache tickCache = this.impl$getTickCache();
+        final List<BlockPos> cachedBlocks = this.impl$shouldBreakBlocks && tickCache != null
+            ? tickCache.getAffectedBlocks(this.x, this.y, this.z, this.radius) : null;
+        if (cachedBlocks != null) {
+            this.toBlow.addAll(cachedBlocks);
+        } else if (this.impl$shouldBreakBlocks) {
             final Set<BlockPos> set = Sets.newHashSet();
             final int i = 16;
 
@@ -175,6 +187,9 @@ public void explode() {
             }
 
             this.toBlow.addAll(set);
+            if (tickCache != null) {
+                tickCache.putAffectedBlocks(this.x, this.y, this.z, this.radius, set);
+            }
         }
         // Sponge End
 
@@ -247,7 +262,10 @@ public void explode() {
                         d5 = d5 / d13;
                         d7 = d7 / d13;
                         d9 = d9 / d13;
-                        final double d14 = (double) net.minecraft.world.level.Explosion.getSeenPercent(vec3d, entity);
+                        // Sponge - Share the exposure with other explosions at the same position
+                        final double d14 = (double) (tickCache == null
+                            ? net.minecraft.world.level.Explosion.getSeenPercent(vec3d, entity)
+                            : tickCache.getSeenPercent(vec3d, entity));
                         final double d10 = (1.0D - d12) * d14;
                         entity.hurt(this.shadow$getDamageSource(), (float)((int)((d10 * d10 + d10) / 2.0D * 7.0D * (double)f3 + 1.0D)));
                         double d11 = d10;
@@ -271,6 +289,20 @@ public void explode() {
         }
     }
 
+    private @Nullable ExplosionTickCache impl$getTickCache() {
+        if (!(this.level instanceof ServerLevel) || !SpongeConfigs.getCommon().get().optimizations.cacheExplosions) {
+            return null;
+        }
+        // Only explosions that use the block resistances as-is can share their results,
+        // minecarts and wither skulls adjust them through their source entity.
+        final Class<?> calculator = this.damageCalculator.getClass();
+        if (calculator != ExplosionDamageCalculator.class
+            && (calculator != EntityBasedExplosionDamageCalculator.class || this.source == null || this.source.getClass() != PrimedTnt.class)) {
+            return null;
+        }
+        return ((ServerLevelBridge) this.level).bridge$getExplosionTickCache();
+    }
+
     @Override
     public boolean bridge$getShouldDamageBlocks() {
         return this.impl$shouldBreakBlocks;
@@ -0,0 +1,96 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.level.chunk;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
+
+@Mixin(PalettedContainer.class)
+public abstract class PalettedContainerMixin {
+
+    // Only covers the block palette and states of a section, the rest of a chunk is serialized
+    // on the server thread on every save. Cleared whenever the contents are encoded, set again
+    // by any change afterwards
+    private volatile boolean impl$dirty = true;
+    private @Nullable String impl$cachedPaletteName;
+    private @Nullable Tag impl$cachedPalette;
+    private @Nullable String impl$cachedStatesName;
+    private @Nullable Tag impl$cachedStates;
+
+    @Inject(method = "getAndSet(ILjava/lang/Object;)Ljava/lang/Object;", at = @At("HEAD"))
+    private void impl$markDirtyOnGetAndSet(final CallbackInfoReturnable<Object> cir) {
+        this.impl$dirty = true;
+    }
+
+    @Inject(method = {
+            "set(ILjava/lang/Object;)V",
+            "read(Lnet/minecraft/nbt/ListTag;[J)V"
+    }, at = @At("HEAD"))
+    private void impl$markDirty(final CallbackInfo ci) {
+        this.impl$dirty = true;
+    }
+
+    @Inject(method = "write", at = @At("HEAD"), cancellable = true)
+    private void impl$writeCachedStates(final CompoundTag tag, final String paletteName, final String statesName, final CallbackInfo ci) {
+        if (!SpongeConfigs.getCommon().get().optimizations.cacheChunkSectionSerialization) {
+            this.impl$cachedPalette = null;
+            this.impl$cachedStates = null;
+            return;
+        }
+        if (!this.impl$dirty && this.impl$cachedPalette != null && this.impl$cachedStates != null
+                && paletteName.equals(this.impl$cachedPaletteName) && statesName.equals(this.impl$cachedStatesName)) {
+            tag.put(paletteName, this.impl$cachedPalette.copy());
+            tag.put(statesName, this.impl$cachedStates.copy());
+            ci.cancel();
+            return;
+        }
+        this.impl$dirty = false;
+        this.impl$cachedPalette = null;
+        this.impl$cachedStates = null;
+    }
+
+    @Inject(method = "write", at = @At("RETURN"))
+    private void impl$cacheWrittenStates(final CompoundTag tag, final String paletteName, final String statesName, final CallbackInfo ci) {
+        if (this.impl$dirty || !SpongeConfigs.getCommon().get().optimizations.cacheChunkSectionSerialization) {
+            return;
+        }
+        final Tag palette = tag.get(paletteName);
+        final Tag states = tag.get(statesName);
+        if (palette != null && states != null) {
+            this.impl$cachedPaletteName = paletteName;
+            this.impl$cachedPalette = palette.copy();
+            this.impl$cachedStatesName = statesName;
+            this.impl$cachedStates = states.copy();
+        }
+    }
+}
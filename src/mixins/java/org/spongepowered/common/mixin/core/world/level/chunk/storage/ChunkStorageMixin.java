@@ -0,0 +1,116 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.level.chunk.storage;
+
+import com.mojang.datafixers.DataFixer;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.storage.ChunkStorage;
+import net.minecraft.world.level.chunk.storage.IOWorker;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.bridge.world.level.chunk.storage.ChunkStorageBridge;
+import org.spongepowered.common.world.storage.ChunkStorageBackend;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+@Mixin(ChunkStorage.class)
+public abstract class ChunkStorageMixin implements ChunkStorageBridge {
+
+    // @formatter:off
+    @Shadow @Final private IOWorker worker;
+    // @formatter:on
+
+    private Path impl$regionFolder;
+    private @Nullable ChunkStorageBackend impl$storageBackend;
+
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void impl$rememberRegionFolder(final File folder, final DataFixer fixerUpper, final boolean sync, final CallbackInfo ci) {
+        this.impl$regionFolder = folder.toPath();
+    }
+
+    @Override
+    public Path bridge$getRegionFolder() {
+        return this.impl$regionFolder;
+    }
+
+    @Override
+    public @Nullable ChunkStorageBackend bridge$getStorageBackend() {
+        return this.impl$storageBackend;
+    }
+
+    @Override
+    public void bridge$setStorageBackend(final @Nullable ChunkStorageBackend backend) {
+        this.impl$storageBackend = backend;
+    }
+
+    @Override
+    public @Nullable CompoundTag bridge$readFromRegion(final ChunkPos pos) throws IOException {
+        return this.worker.load(pos);
+    }
+
+    @Redirect(method = "read", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/level/chunk/storage/IOWorker;load(Lnet/minecraft/world/level/ChunkPos;)Lnet/minecraft/nbt/CompoundTag;"))
+    private @Nullable CompoundTag impl$readFromStorageBackend(final IOWorker worker, final ChunkPos pos) throws IOException {
+        if (this.impl$storageBackend != null) {
+            final CompoundTag data = this.impl$storageBackend.read(pos);
+            if (data != null) {
+                return data;
+            }
+            // Not migrated yet, the next save moves it over to the backend
+        }
+        return worker.load(pos);
+    }
+
+    @Redirect(method = "write", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/level/chunk/storage/IOWorker;store(Lnet/minecraft/world/level/ChunkPos;Lnet/minecraft/nbt/CompoundTag;)Ljava/util/concurrent/CompletableFuture;"))
+    private CompletableFuture<Void> impl$writeToStorageBackend(final IOWorker worker, final ChunkPos pos, final CompoundTag data) {
+        if (this.impl$storageBackend != null) {
+            return this.impl$storageBackend.write(pos, data);
+        }
+        return worker.store(pos, data);
+    }
+
+    @Inject(method = "flushWorker", at = @At("HEAD"))
+    private void impl$flushStorageBackend(final CallbackInfo ci) {
+        if (this.impl$storageBackend != null) {
+            this.impl$storageBackend.flush();
+        }
+    }
+
+    @Inject(method = "close", at = @At("HEAD"))
+    private void impl$closeStorageBackend(final CallbackInfo ci) throws IOException {
+        if (this.impl$storageBackend != null) {
+            this.impl$storageBackend.close();
+        }
+    }
+}
@@ -25,57 +25,40 @@
 package org.spongepowered.common.mixin.entitycollision.entity;
 
 import net.minecraft.world.entity.item.ItemEntity;
-import net.minecraft.world.item.ItemStack;
 import org.spongepowered.api.ResourceKey;
-import org.spongepowered.api.Sponge;
-import org.spongepowered.api.entity.Entity;
-import org.spongepowered.api.registry.RegistryTypes;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
-import org.spongepowered.common.applaunch.config.common.CommonConfig;
-import org.spongepowered.common.applaunch.config.core.ConfigHandle;
-import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.bridge.entitycollision.CollisionCapabilityBridge;
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.level.storage.PrimaryLevelDataBridge;
-import org.spongepowered.common.config.inheritable.EntityCollisionCategory;
-import org.spongepowered.common.config.inheritable.InheritableConfigHandle;
-import org.spongepowered.common.config.inheritable.WorldConfig;
+import org.spongepowered.common.entity.EntityCollisionRules;
 
 @Mixin(value = net.minecraft.world.entity.Entity.class, priority = 1002)
 public abstract class EntityMixin_EntityCollision implements CollisionCapabilityBridge {
 
     @Shadow public abstract net.minecraft.world.level.Level shadow$getCommandSenderWorld();
 
-    private ResourceKey entityCollision$key;
     private int entityCollision$maxCollisions = 8;
     private boolean entityCollision$refreshCache = false;
 
     @Inject(method = "<init>", at = @At("RETURN"))
     private void collisions$InjectActivationInformation(net.minecraft.world.entity.EntityType<?> type, net.minecraft.world.level.Level world, CallbackInfo ci) {
-        if (world != null && !((WorldBridge) world).bridge$isFake() && ((PrimaryLevelDataBridge) world.getLevelData()).bridge$valid()) {
+        if (world != null && !world.isClientSide() && !((WorldBridge) world).bridge$isFake() && ((PrimaryLevelDataBridge) world.getLevelData()).bridge$valid()) {
             if ((net.minecraft.world.entity.Entity) (Object) this instanceof ItemEntity) {
-                final ItemEntity item = (ItemEntity) (Object) this;
-                final ItemStack itemstack = item.getItem();
-                if (!itemstack.isEmpty()) {
-                    this.entityCollision$key =
-                            Sponge.game().registries().registry(RegistryTypes.ITEM_TYPE).valueKey(((org.spongepowered.api.item.inventory.ItemStack) (Object) itemstack).type());
-                }
+                // The item is set after construction, so the rules are looked up once they are first needed
+                this.entityCollision$refreshCache = true;
             } else {
-                this.entityCollision$key = Sponge.game().registries().registry(RegistryTypes.ENTITY_TYPE).valueKey(((Entity) this).type());
-            }
-            if (!this.shadow$getCommandSenderWorld().isClientSide()) {
-                this.collision$initializeCollisionState(this.shadow$getCommandSenderWorld());
+                this.collision$initializeCollisionState(world);
             }
         }
     }
 
     @Override
     public ResourceKey collision$getKey() {
-        return this.entityCollision$key;
+        return EntityCollisionRules.getKey((net.minecraft.world.entity.Entity) (Object) this);
     }
 
     @Override
@@ -90,60 +73,7 @@ public abstract class EntityMixin_EntityCollision implements CollisionCapability
 
     @Override
     public void collision$initializeCollisionState(final net.minecraft.world.level.Level world) {
-        final InheritableConfigHandle<WorldConfig> worldConfigAdapter = ((PrimaryLevelDataBridge) world.getLevelData()).bridge$configAdapter();
-        final ConfigHandle<CommonConfig> globalConfigAdapter = SpongeConfigs.getCommon();
-        final EntityCollisionCategory.ModSubCategory worldCollMod =
-                worldConfigAdapter.getOrCreateValue(s -> s.entityCollision.mods.get(this.entityCollision$key.namespace()),
-                c -> {
-                    // TODO: save after populating?
-                    final EntityCollisionCategory.ModSubCategory globalCollision = new EntityCollisionCategory.ModSubCategory(this.entityCollision$key.namespace());
-                    c.entityCollision.mods.put(this.entityCollision$key.namespace(), globalCollision);
-                    globalCollision.entities.put(this.entityCollision$key.namespace(), this.collision$getMaxCollisions());
-                }, worldConfigAdapter.get().entityCollision.autoPopulate);
-        final EntityCollisionCategory worldCollCat = worldConfigAdapter.get().entityCollision;
-
-        this.collision$setMaxCollisions(worldCollCat.maxEntitiesWithinAABB);
-
-        boolean requiresSave = false;
-        if (worldCollMod != null) {
-            if (!worldCollMod.enabled) {
-                this.collision$setMaxCollisions(-1);
-                return;
-            }
-            // check mod overrides
-            final Integer modCollisionMax = worldCollMod.entityDefault;
-            if (modCollisionMax != null) {
-                this.collision$setMaxCollisions(modCollisionMax);
-            }
-
-            Integer entityMaxCollision = null;
-            if ((net.minecraft.world.entity.Entity) (Object) this instanceof ItemEntity) {
-                // check if all items are overridden
-                entityMaxCollision = worldCollMod.entities.get(this.entityCollision$key.value());
-            }
-
-            if (entityMaxCollision == null) {
-                entityMaxCollision = worldCollMod.entities.get(this.entityCollision$key.value());
-            }
-
-            // entity overrides
-            if (entityMaxCollision == null && worldCollCat.autoPopulate) {
-                // TODO(zml): Populate better
-                //globalCollMod.getEntityList().put(this.entityCollision$key.getValue(), this.collision$getMaxCollisions());
-                requiresSave = true;
-            } else if (entityMaxCollision != null) {
-                this.collision$setMaxCollisions(entityMaxCollision);
-            }
-        }
-
-        // don't bother saving for negative values
-        if (this.collision$getMaxCollisions() <= 0) {
-            return;
-        }
-
-        if (requiresSave) {
-            globalConfigAdapter.save();
-        }
+        this.collision$setMaxCollisions(EntityCollisionRules.getMaxCollisions(world, (net.minecraft.world.entity.Entity) (Object) this));
     }
 
     @Override
@@ -25,8 +25,8 @@
 package org.spongepowered.common.mixin.entitycollision.world.level.chunk;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
-import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.world.LocatableBlock;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
@@ -34,31 +34,41 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.bridge.entitycollision.CollisionCapabilityBridge;
 import org.spongepowered.common.bridge.world.WorldBridge;
+import org.spongepowered.common.entity.EntityCollisionRules;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 
 import java.util.List;
 import java.util.function.Predicate;
+import net.minecraft.util.ClassInstanceMultiMap;
+import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.boss.enderdragon.EnderDragon;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.phys.AABB;
 
 @Mixin(net.minecraft.world.level.chunk.LevelChunk.class)
 public abstract class LevelChunkMixin_EntityCollision {
 
+    @Shadow @Final private ClassInstanceMultiMap<Entity>[] entitySections;
+
     @Shadow public abstract Level shadow$getLevel();
 
+    // The collision limit of the current entity lookup in this chunk, negative if it does not need to be checked
+    private int entityCollision$limit = -1;
+
     @Inject(method = "getEntities(Lnet/minecraft/world/entity/Entity;Lnet/minecraft/world/phys/AABB;Ljava/util/List;Ljava/util/function/Predicate;)V",
-            at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false), cancellable = true)
-    private void collisionsImpl$checkForCollisionRules(final @Nullable Entity entity,
+            at = @At("HEAD"), cancellable = true)
+    private void collisionsImpl$findCollisionLimit(final @Nullable Entity entity,
             final AABB bb,
             final List<Entity> entities,
             final Predicate<? super Entity> filter,
             final CallbackInfo ci) {
+        this.entityCollision$limit = -1;
         // ignore players and entities with parts (ex. EnderDragon)
         if (this.shadow$getLevel().isClientSide() || entities == null || entity instanceof Player || entity instanceof EnderDragon) {
             return;
@@ -68,61 +78,94 @@ public abstract class LevelChunkMixin_EntityCollision {
             return;
         }
 
-        if (!this.entityCollision$allowEntityCollision(entities)) {
+        this.entityCollision$limit = this.entityCollision$getCollisionLimit(bb, entities);
+        if (this.entityCollision$limit >= 0 && entities.size() >= this.entityCollision$limit) {
             ci.cancel();
         }
     }
 
-    @Inject(method = "getEntitiesOfClass",
+    @Inject(method = "getEntities(Lnet/minecraft/world/entity/Entity;Lnet/minecraft/world/phys/AABB;Ljava/util/List;Ljava/util/function/Predicate;)V",
             at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false), cancellable = true)
-    private <T extends Entity> void collisionsImpl$checkForCollisionRules(final Class<? extends T> entityClass, final AABB bb,
+    private void collisionsImpl$checkForCollisionRules(final @Nullable Entity entity,
+            final AABB bb,
+            final List<Entity> entities,
+            final Predicate<? super Entity> filter,
+            final CallbackInfo ci) {
+        if (this.entityCollision$limit >= 0 && entities.size() >= this.entityCollision$limit) {
+            ci.cancel();
+        }
+    }
+
+    @Inject(method = "getEntitiesOfClass", at = @At("HEAD"), cancellable = true)
+    private <T extends Entity> void collisionsImpl$findCollisionLimit(final Class<? extends T> entityClass, final AABB bb,
             final List<T> entities, final Predicate<? super T> filter, final CallbackInfo ci) {
+        this.entityCollision$limit = -1;
         // ignore player checks
         // ignore item check (ex. Hoppers)
         if (this.shadow$getLevel().isClientSide() || Player.class.isAssignableFrom(entityClass) || ItemEntity.class == entityClass) {
             return;
         }
 
-        if (!this.entityCollision$allowEntityCollision(entities)) {
+        this.entityCollision$limit = this.entityCollision$getCollisionLimit(bb, entities);
+        if (this.entityCollision$limit >= 0 && entities.size() >= this.entityCollision$limit) {
+            ci.cancel();
+        }
+    }
+
+    @Inject(method = "getEntitiesOfClass",
+            at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false), cancellable = true)
+    private <T extends Entity> void collisionsImpl$checkForCollisionRules(final Class<? extends T> entityClass, final AABB bb,
+            final List<T> entities, final Predicate<? super T> filter, final CallbackInfo ci) {
+        if (this.entityCollision$limit >= 0 && entities.size() >= this.entityCollision$limit) {
             ci.cancel();
         }
     }
 
-    private <T extends Entity> boolean entityCollision$allowEntityCollision(final List<T> entities) {
+    private <T extends Entity> int entityCollision$getCollisionLimit(final AABB bb, final List<T> entities) {
         if (((WorldBridge) this.shadow$getLevel()).bridge$isFake()) {
-            return true;
+            return -1;
         }
 
-        if (PhaseTracker.getInstance().getPhaseContext().isCollision()) {
+        final PhaseContext<?> phaseContext = PhaseTracker.getInstance().getPhaseContext();
+        if (phaseContext.isCollision()) {
             // allow explosions
-            return true;
+            return -1;
         }
 
-        final PhaseContext<?> phaseContext = PhaseTracker.getInstance().getPhaseContext();
         final Object source = phaseContext.getSource();
         if (source == null) {
-            return true;
+            return -1;
         }
 
-        CollisionCapabilityBridge collisionBridge = null;
-
+        final int maxCollisions;
         if (source instanceof LocatableBlock) {
-            final LocatableBlock locatable = (LocatableBlock) source;
-            final BlockType blockType = locatable.location().block().type();
-            collisionBridge = (CollisionCapabilityBridge) blockType;
+            final Block block = (Block) ((LocatableBlock) source).location().block().type();
+            maxCollisions = EntityCollisionRules.getMaxCollisions(this.shadow$getLevel(), block);
         } else if (source instanceof CollisionCapabilityBridge) {
-            collisionBridge = (CollisionCapabilityBridge) source;
+            final CollisionCapabilityBridge collisionBridge = (CollisionCapabilityBridge) source;
+            if (collisionBridge.collision$requiresCollisionsCacheRefresh()) {
+                collisionBridge.collision$initializeCollisionState(this.shadow$getLevel());
+                collisionBridge.collision$requiresCollisionsCacheRefresh(false);
+            }
+            maxCollisions = collisionBridge.collision$getMaxCollisions();
+        } else {
+            return -1;
         }
 
-        if (collisionBridge == null) {
-            return true;
+        // Without enough entities in the sections that are looked at the limit can't be reached, no need to check each one
+        if (maxCollisions < 0 || entities.size() + this.entityCollision$countEntities(bb) < maxCollisions) {
+            return -1;
         }
+        return maxCollisions;
+    }
 
-        if (collisionBridge.collision$requiresCollisionsCacheRefresh()) {
-            collisionBridge.collision$initializeCollisionState(this.shadow$getLevel());
-            collisionBridge.collision$requiresCollisionsCacheRefresh(false);
+    private int entityCollision$countEntities(final AABB bb) {
+        final int minSection = Mth.clamp(Mth.floor((bb.minY - 2.0D) / 16.0D), 0, this.entitySections.length - 1);
+        final int maxSection = Mth.clamp(Mth.floor((bb.maxY + 2.0D) / 16.0D), 0, this.entitySections.length - 1);
+        int count = 0;
+        for (int i = minSection; i <= maxSection; i++) {
+            count += this.entitySections[i].size();
         }
-
-        return !((collisionBridge.collision$getMaxCollisions() >= 0) && (entities.size() >= collisionBridge.collision$getMaxCollisions()));
+        return count;
     }
 }
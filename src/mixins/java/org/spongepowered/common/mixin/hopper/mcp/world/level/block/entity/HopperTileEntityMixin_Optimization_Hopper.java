@@ -0,0 +1,124 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.hopper.mcp.world.level.block.entity;
+
+import net.minecraft.core.Direction;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.HopperBlock;
+import net.minecraft.world.level.block.entity.Hopper;
+import net.minecraft.world.level.block.entity.HopperBlockEntity;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.block.entity.HopperContainerCache;
+import org.spongepowered.common.bridge.optimization.HopperContainerCacheBridge;
+import org.spongepowered.common.bridge.optimization.HopperOptimizationBridge;
+
+@Mixin(value = HopperBlockEntity.class, priority = 1300)
+public abstract class HopperTileEntityMixin_Optimization_Hopper extends TileEntityMixin_Optimization_Hopper implements HopperContainerCacheBridge {
+
+    private final HopperContainerCache hopper$attachedContainerCache = new HopperContainerCache();
+    private final HopperContainerCache hopper$sourceContainerCache = new HopperContainerCache();
+
+    @Redirect(method = "tryMoveInItem",
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/world/Container;setItem(ILnet/minecraft/world/item/ItemStack;)V"))
+    private static void hopper$FlipMarkUpdateWhenInserting(final Container destination, final int index, final ItemStack stack) {
+        if (destination instanceof HopperOptimizationBridge) {
+            ((HopperOptimizationBridge) destination).hopperBridge$setCancelDirtyUpdate(true);
+        }
+        destination.setItem(index, stack);
+        if (destination instanceof HopperOptimizationBridge) {
+            ((HopperOptimizationBridge) destination).hopperBridge$setCancelDirtyUpdate(false);
+        }
+    }
+
+    @Override
+    public @Nullable Container hopperBridge$getSourceContainer() {
+        if (this.level == null) {
+            return null;
+        }
+        return this.hopper$sourceContainerCache.getContainerAt(this.level, this.worldPosition.above());
+    }
+
+    // The hopper overrides these without calling the versions in RandomizableContainerBlockEntity
+    @Inject(method = "setItem", at = @At("HEAD"))
+    private void hopper$forgetKnownContentsOnSet(final CallbackInfo ci) {
+        this.hopperBridge$forgetKnownContents();
+    }
+
+    @Inject(method = "removeItem", at = @At("HEAD"))
+    private void hopper$forgetKnownContentsOnRemove(final CallbackInfoReturnable<ItemStack> cir) {
+        this.hopperBridge$forgetKnownContents();
+    }
+
+    @Inject(method = "getAttachedContainer", at = @At("HEAD"), cancellable = true)
+    private void hopper$useCachedAttachedContainer(final CallbackInfoReturnable<Container> cir) {
+        if (this.level != null) {
+            final Direction facing = this.shadow$getBlockState().getValue(HopperBlock.FACING);
+            cir.setReturnValue(this.hopper$attachedContainerCache.getContainerAt(this.level, this.worldPosition.relative(facing)));
+        }
+    }
+
+    @Inject(method = "getSourceContainer", at = @At("HEAD"), cancellable = true)
+    private static void hopper$useCachedSourceContainer(final Hopper hopper, final CallbackInfoReturnable<Container> cir) {
+        if (hopper instanceof HopperContainerCacheBridge) {
+            cir.setReturnValue(((HopperContainerCacheBridge) hopper).hopperBridge$getSourceContainer());
+        }
+    }
+
+    @Inject(method = "isFullContainer", at = @At("HEAD"), cancellable = true)
+    private void hopper$skipKnownFullContainer(final Container container, final Direction side, final CallbackInfoReturnable<Boolean> cir) {
+        if (HopperContainerCache.isKnownFull(container)) {
+            cir.setReturnValue(true);
+        }
+    }
+
+    @Inject(method = "isFullContainer", at = @At("RETURN"))
+    private void hopper$rememberFullContainer(final Container container, final Direction side, final CallbackInfoReturnable<Boolean> cir) {
+        if (cir.getReturnValueZ()) {
+            HopperContainerCache.setKnownFull(container);
+        }
+    }
+
+    @Inject(method = "isEmptyContainer", at = @At("HEAD"), cancellable = true)
+    private static void hopper$skipKnownEmptyContainer(final Container container, final Direction side, final CallbackInfoReturnable<Boolean> cir) {
+        if (HopperContainerCache.isKnownEmpty(container)) {
+            cir.setReturnValue(true);
+        }
+    }
+
+    @Inject(method = "isEmptyContainer", at = @At("RETURN"))
+    private static void hopper$rememberEmptyContainer(final Container container, final Direction side, final CallbackInfoReturnable<Boolean> cir) {
+        if (cir.getReturnValueZ()) {
+            HopperContainerCache.setKnownEmpty(container);
+        }
+    }
+
+}
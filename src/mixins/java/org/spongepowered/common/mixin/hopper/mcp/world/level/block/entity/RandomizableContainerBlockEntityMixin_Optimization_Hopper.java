@@ -22,29 +22,27 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.spongepowered.common.mixin.optimization.mcp.tileentity;
+package org.spongepowered.common.mixin.hopper.mcp.world.level.block.entity;
 
-import net.minecraft.world.Container;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.block.entity.HopperBlockEntity;
+import net.minecraft.world.level.block.entity.RandomizableContainerBlockEntity;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
-import org.spongepowered.asm.mixin.injection.Redirect;
-import org.spongepowered.common.bridge.optimization.HopperOptimizationBridge;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
-@Mixin(value = HopperBlockEntity.class, priority = 1300)
-public abstract class HopperTileEntityMixin_Optimization_Hopper extends TileEntityMixin_Optimization_Hopper {
+@Mixin(value = RandomizableContainerBlockEntity.class, priority = 1300)
+public abstract class RandomizableContainerBlockEntityMixin_Optimization_Hopper extends TileEntityMixin_Optimization_Hopper {
 
-    @Redirect(method = "tryMoveInItem",
-        at = @At(value = "INVOKE", target = "Lnet/minecraft/world/Container;setItem(ILnet/minecraft/world/item/ItemStack;)V"))
-    private static void hopper$FlipMarkUpdateWhenInserting(final Container destination, final int index, final ItemStack stack) {
-        if (destination instanceof HopperOptimizationBridge) {
-            ((HopperOptimizationBridge) destination).hopperBridge$setCancelDirtyUpdate(true);
-        }
-        destination.setItem(index, stack);
-        if (destination instanceof HopperOptimizationBridge) {
-            ((HopperOptimizationBridge) destination).hopperBridge$setCancelDirtyUpdate(false);
-        }
+    // Reading a slot hands out the stack itself, which can be changed without setChanged being called
+    @Inject(method = {"getItem", "removeItem", "removeItemNoUpdate"}, at = @At("HEAD"))
+    private void hopper$forgetKnownContentsOnSlotAccess(final CallbackInfoReturnable<ItemStack> cir) {
+        this.hopperBridge$forgetKnownContents();
     }
 
+    @Inject(method = {"setItem", "clearContent"}, at = @At("HEAD"))
+    private void hopper$forgetKnownContentsOnChange(final CallbackInfo ci) {
+        this.hopperBridge$forgetKnownContents();
+    }
 }
@@ -22,27 +22,69 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.spongepowered.common.mixin.optimization.mcp.tileentity;
+package org.spongepowered.common.mixin.hopper.mcp.world.level.block.entity;
 
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.block.entity.HopperKnownContents;
 import org.spongepowered.common.bridge.optimization.HopperOptimizationBridge;
 
 @Mixin(value = BlockEntity.class, priority = 1300)
 public abstract class TileEntityMixin_Optimization_Hopper implements HopperOptimizationBridge {
 
+    // @formatter:off
+    @Shadow @Nullable protected Level level;
+    @Shadow @Final protected BlockPos worldPosition;
+
+    @Shadow public abstract BlockState shadow$getBlockState();
+    // @formatter:on
+
     private boolean hopper$shouldCancelDirtyUpdate = false;
+    private final HopperKnownContents hopper$knownContents = new HopperKnownContents();
 
     @Override
     public void hopperBridge$setCancelDirtyUpdate(final boolean canMarkDirty) {
         this.hopper$shouldCancelDirtyUpdate = canMarkDirty;
     }
 
+    @Override
+    public boolean hopperBridge$isKnownEmpty() {
+        return this.hopper$knownContents.isEmpty();
+    }
+
+    @Override
+    public void hopperBridge$setKnownEmpty() {
+        this.hopper$knownContents.markEmpty();
+    }
+
+    @Override
+    public boolean hopperBridge$isKnownFull() {
+        return this.hopper$knownContents.isFull();
+    }
+
+    @Override
+    public void hopperBridge$setKnownFull() {
+        this.hopper$knownContents.markFull();
+    }
+
+    @Override
+    public void hopperBridge$forgetKnownContents() {
+        this.hopper$knownContents.forget();
+    }
+
     @Inject(method = "setChanged", at = @At("HEAD"), cancellable = true)
     private void hopper$DoNotUpdateIfMarked(final CallbackInfo ci) {
+        // The contents may have changed even if the update itself is skipped
+        this.hopper$knownContents.forget();
         if (this.hopper$shouldCancelDirtyUpdate) {
             ci.cancel();
         }
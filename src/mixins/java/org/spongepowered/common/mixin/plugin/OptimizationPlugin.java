@@ -57,36 +57,40 @@ public boolean shouldApplyMixin(String targetClassName, String mixinClassName) {
                     optimizationCategory -> optimizationCategory.dropsPreMerge)
             .put("org.spongepowered.common.mixin.optimization.mcp.block.BlockRedstoneWireMixin_Eigen", optimizationCategory -> optimizationCategory.eigenRedstone.enabled)
             .put("org.spongepowered.common.accessor.block.BlockRedstoneWireAccessor_Eigen", optimizationCategory -> optimizationCategory.eigenRedstone.enabled)
-            .put("org.spongepowered.common.mixin.optimization.mcp.entity.passive.TameableEntity_Optimization_Owner",
+            .put("org.spongepowered.common.mixin.optimization.mcp.world.entity.TamableAnimalMixin_Optimization_Owner",
                     optimizationCategory -> optimizationCategory.cacheTameableOwners)
-            .put("org.spongepowered.common.mixin.optimization.mcp.entity.item.ItemFrameEntityMixin_Optimization_Map",
+            .put("org.spongepowered.common.mixin.optimization.mcp.world.entity.decoration.ItemFrameMixin_Optimization_Map",
                     optimizationCategory -> optimizationCategory.optimizeMaps)
             .put("org.spongepowered.common.mixin.invalid.optimization.entity.EntityTrackerEntryMixin_MapOptimization",
                     optimizationCategory -> optimizationCategory.optimizeMaps)
-            .put("org.spongepowered.common.mixin.optimization.mcp.item.ItemMapMixin_MapOptimization",
+            .put("org.spongepowered.common.mixin.optimization.mcp.world.item.MapItemMixin_Optimization_Map",
                     optimizationCategory -> optimizationCategory.optimizeMaps)
             .put("org.spongepowered.common.mixin.optimization.mcp.world.storage.MapDataMixin_MapOptimization",
                     optimizationCategory -> optimizationCategory.optimizeMaps)
-            .put("org.spongepowered.common.mixin.optimization.mcp.world.storage.MapInfoMixin_MapOptimization",
+            .put("org.spongepowered.common.mixin.optimization.mcp.world.level.saveddata.maps.MapItemSavedData_HoldingPlayerMixin_Optimization_Map",
                     optimizationCategory -> optimizationCategory.optimizeMaps)
             .put("org.spongepowered.common.mixin.optimization.mcp.server.MinecraftServerMixin_MapOptimization",
                     optimizationCategory -> optimizationCategory.optimizeMaps)
-            .put("org.spongepowered.common.mixin.optimization.mcp.tileentity.TileEntityMixin_Optimization_Hopper",
+            .put("org.spongepowered.common.mixin.hopper.mcp.world.level.block.entity.TileEntityMixin_Optimization_Hopper",
                     optimizationCategory -> optimizationCategory.optimizeHoppers)
-            .put("org.spongepowered.common.mixin.optimization.mcp.tileentity.HopperTileEntityMixin_Optimization_Hopper",
+            .put("org.spongepowered.common.mixin.hopper.mcp.world.level.block.entity.HopperTileEntityMixin_Optimization_Hopper",
                     optimizationCategory -> optimizationCategory.optimizeHoppers)
-            .put("org.spongepowered.common.mixin.optimization.mcp.entity.EntityMixin_UseActiveChunkForCollisions",
+            .put("org.spongepowered.common.mixin.hopper.mcp.world.level.block.entity.RandomizableContainerBlockEntityMixin_Optimization_Hopper",
+                    optimizationCategory -> optimizationCategory.optimizeHoppers)
+            .put("org.spongepowered.common.mixin.optimization.mcp.entity.EntityMixin_Optimization_Collision",
                     optimizationCategory -> optimizationCategory.useActiveChunksForCollisions)
-            .put("org.spongepowered.common.mixin.optimization.mcp.world.WorldMixin_UseActiveChunkForCollisions",
+            .put("org.spongepowered.common.mixin.optimization.mcp.world.level.LevelReaderMixin_Optimization_Collision",
                     optimizationCategory -> optimizationCategory.useActiveChunksForCollisions)
-            .put("org.spongepowered.common.mixin.optimization.mcp.world.WorldServerMixin_UseActiveChunkForCollisions",
+            .put("org.spongepowered.common.mixin.optimization.mcp.world.server.ServerWorldMixin_Optimization_Collision",
                     optimizationCategory -> optimizationCategory.useActiveChunksForCollisions)
-            .put("org.spongepowered.common.mixin.optimization.mcp.tileentity.ChestTileEntityMixin_Optimization_TileEntity",
+            .put("org.spongepowered.common.mixin.optimization.mcp.world.level.block.entity.ChestBlockEntityMixin_Optimization_BlockEntity",
                     optimizationCategory -> optimizationCategory.optimizeBlockEntityTicking)
-            .put("org.spongepowered.common.mixin.optimization.mcp.tileentity.EnderChestTileEntityMixin_Optimization_TileEntity",
+            .put("org.spongepowered.common.mixin.optimization.mcp.world.level.block.entity.EnderChestBlockEntityMixin_Optimization_BlockEntity",
                     optimizationCategory -> optimizationCategory.optimizeBlockEntityTicking)
-            .put("org.spongepowered.common.mixin.optimization.mcp.block.LeavesBlockMixin_DisablePersistentScheduledUpdate",
+            .put("org.spongepowered.common.mixin.optimization.mcp.world.level.block.LeavesBlockMixin_DisablePersistentScheduledUpdate",
                     optimizationCategory -> optimizationCategory.disableScheduledUpdatesForPersistentLeafBlocks)
+            .put("org.spongepowered.common.mixin.optimization.mcp.world.level.BlockGetterMixin_RayTraceChunkLoadOptimizations",
+                    optimizationCategory -> true)
             .build();
 
 }
@@ -472,6 +472,8 @@ public abstract class ServerLevelMixin_Tracker extends LevelMixin_Tracker implem
         final int limit
     ) {
         final TrackedLevelChunkBridge mixinChunk = (TrackedLevelChunkBridge) chunk;
+        // Explosions computed from the blocks around this one can't be reused anymore
+        ((ServerLevelBridge) this).bridge$getExplosionTickCache().onBlockChange(pos);
 
         // Then build and use the BlockPipeline
         final ChunkPipeline chunkPipeline = mixinChunk.bridge$createChunkPipeline(pos, newState, currentState, spongeFlag, limit);
@@ -0,0 +1,81 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.block.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public final class BlockEntityTickScheduleTest {
+
+    @Test
+    void tickRateOfOneTicksEveryTick() {
+        for (long tick = 0; tick < 100; tick++) {
+            assertTrue(BlockEntityTickSchedule.isScheduled(tick, 12, 64, -7, 1));
+        }
+    }
+
+    @Test
+    void ticksOncePerTickRate() {
+        for (final int tickRate : new int[] {2, 3, 5, 20}) {
+            for (int x = -40; x < 40; x += 3) {
+                for (int z = -40; z < 40; z += 5) {
+                    int ticked = 0;
+                    for (long tick = 1000; tick < 1000 + tickRate * 10L; tick++) {
+                        if (BlockEntityTickSchedule.isScheduled(tick, x, 70, z, tickRate)) {
+                            ticked++;
+                        }
+                    }
+                    assertEquals(10, ticked, "tick rate " + tickRate + " at " + x + ", " + z);
+                }
+            }
+        }
+    }
+
+    @Test
+    void neighboursAreSpreadOverTheTickRate() {
+        // A chunk worth of furnaces in a row, as a smelter array would have
+        for (final int tickRate : new int[] {2, 4, 10, 20}) {
+            final int[] perTick = new int[tickRate];
+            int total = 0;
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int tick = 0; tick < tickRate; tick++) {
+                        if (BlockEntityTickSchedule.isScheduled(tick, x, 64, z, tickRate)) {
+                            perTick[tick]++;
+                            total++;
+                        }
+                    }
+                }
+            }
+            assertEquals(256, total);
+            for (int tick = 0; tick < tickRate; tick++) {
+                final int count = perTick[tick];
+                assertTrue(count <= 2 * 256 / tickRate, "tick " + tick + " of rate " + tickRate + " ticks " + count);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.block.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public final class HopperKnownContentsTest {
+
+    /**
+     * Mirrors how the hopper optimization drives a container: every slot
+     * access forgets what is known, and a hopper only scans the slots when
+     * nothing is known.
+     */
+    private static final class Container {
+
+        final HopperKnownContents known = new HopperKnownContents();
+        final int[][] slots;
+        int scans;
+
+        Container(final int size) {
+            this.slots = new int[size][1];
+        }
+
+        int[] getItem(final int index) {
+            this.known.forget();
+            return this.slots[index];
+        }
+
+        void setItem(final int index, final int count) {
+            this.known.forget();
+            this.slots[index] = new int[] {count};
+        }
+
+        boolean isEmptyForHopper() {
+            if (this.known.isEmpty()) {
+                return true;
+            }
+            this.scans++;
+            for (int i = 0; i < this.slots.length; i++) {
+                if (this.getItem(i)[0] > 0) {
+                    return false;
+                }
+            }
+            this.known.markEmpty();
+            return true;
+        }
+
+        boolean isFullForHopper(final int max) {
+            if (this.known.isFull()) {
+                return true;
+            }
+            this.scans++;
+            for (int i = 0; i < this.slots.length; i++) {
+                if (this.getItem(i)[0] < max) {
+                    return false;
+                }
+            }
+            this.known.markFull();
+            return true;
+        }
+    }
+
+    @Test
+    public void testForgetClearsBoth() {
+        final HopperKnownContents known = new HopperKnownContents();
+        assertFalse(known.isEmpty());
+        assertFalse(known.isFull());
+        known.markEmpty();
+        known.markFull();
+        assertTrue(known.isEmpty());
+        assertTrue(known.isFull());
+        known.forget();
+        assertFalse(known.isEmpty());
+        assertFalse(known.isFull());
+    }
+
+    @Test
+    public void testIdleEmptyContainerIsScannedOnce() {
+        final Container container = new Container(27);
+        for (int tick = 0; tick < 1000; tick++) {
+            assertTrue(container.isEmptyForHopper());
+        }
+        assertEquals(1, container.scans);
+    }
+
+    @Test
+    public void testSetItemIsSeen() {
+        final Container container = new Container(27);
+        assertTrue(container.isEmptyForHopper());
+        container.setItem(5, 1);
+        assertFalse(container.isEmptyForHopper());
+    }
+
+    @Test
+    public void testStackChangedInPlaceIsSeen() {
+        final Container container = new Container(27);
+        assertTrue(container.isEmptyForHopper());
+        container.getItem(3)[0] = 4;
+        assertFalse(container.isEmptyForHopper());
+    }
+
+    @Test
+    public void testFullContainerIsSeenAfterShrink() {
+        final Container container = new Container(5);
+        for (int i = 0; i < 5; i++) {
+            container.setItem(i, 64);
+        }
+        assertTrue(container.isFullForHopper(64));
+        assertTrue(container.isFullForHopper(64));
+        assertEquals(1, container.scans);
+        container.getItem(2)[0]--;
+        assertFalse(container.isFullForHopper(64));
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+public final class DataProviderRegistryTest {
+
+    @Test
+    public void testLookupHolderTypesSkipsAbstractProviderTypes() {
+        // Providers commonly target interfaces and abstract bases, which are never the class of an instance
+        final List<Class<?>> holderTypes = new ArrayList<>(DataProviderRegistry.lookupHolderTypes(
+                Arrays.asList(List.class, AbstractList.class, ArrayList.class),
+                Collections.emptyList()));
+        assertEquals(Collections.singletonList(ArrayList.class), holderTypes);
+    }
+
+    @Test
+    public void testLookupHolderTypesIncludesInstanceTypes() {
+        final List<Class<?>> holderTypes = new ArrayList<>(DataProviderRegistry.lookupHolderTypes(
+                Arrays.asList(AbstractList.class, ArrayList.class),
+                Arrays.asList(LinkedList.class, ArrayList.class, LinkedList.class)));
+        assertEquals(Arrays.asList(ArrayList.class, LinkedList.class), holderTypes);
+    }
+}
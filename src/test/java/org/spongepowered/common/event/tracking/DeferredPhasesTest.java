@@ -0,0 +1,126 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class DeferredPhasesTest {
+
+    private final List<String> entered = new ArrayList<>();
+    private final DeferredPhases<String, String> phases = new DeferredPhases<>((phase, source) -> {
+        final String context = phase + ":" + source;
+        this.entered.add(context);
+        return context;
+    });
+    private final DeferredPhases<String, String> reentrant = new DeferredPhases<>((phase, source) -> {
+        // Switching to the phase accesses the tracker, which enters deferred phases
+        this.reentrant.enter();
+        final String context = phase + ":" + source;
+        this.entered.add(context);
+        return context;
+    });
+
+    @Test
+    void completingWithoutEnteringDiscardsThePhase() {
+        this.phases.defer("tick", "a");
+        assertNull(this.phases.complete("a"));
+        this.phases.enter();
+        assertEquals(0, this.entered.size());
+    }
+
+    @Test
+    void completingReturnsTheEnteredContext() {
+        this.phases.defer("tick", "a");
+        this.phases.enter();
+        this.phases.enter();
+        assertEquals(1, this.entered.size());
+        assertEquals("tick:a", this.phases.complete("a"));
+    }
+
+    @Test
+    void deferringEntersThePreviousPhase() {
+        this.phases.defer("tick", "outer");
+        this.phases.defer("tick", "inner");
+        assertEquals(1, this.entered.size());
+        assertNull(this.phases.complete("inner"));
+        assertEquals("tick:outer", this.phases.complete("outer"));
+    }
+
+    @Test
+    void nestedPhasesCloseTheirOwnContext() {
+        this.phases.defer("tick", "outer");
+        this.phases.enter();
+        this.phases.defer("ride", "inner");
+        this.phases.enter();
+        assertEquals("ride:inner", this.phases.complete("inner"));
+        assertEquals("tick:outer", this.phases.complete("outer"));
+    }
+
+    @Test
+    void completingAnotherSourceFails() {
+        this.phases.defer("tick", "outer");
+        this.phases.enter();
+        this.phases.defer("tick", "inner");
+        this.phases.enter();
+        assertThrows(IllegalStateException.class, () -> this.phases.complete("outer"));
+    }
+
+    @Test
+    void enteringAgainWhileEnteringDoesNothing() {
+        this.reentrant.defer("tick", "a");
+        this.reentrant.enter();
+        assertEquals(1, this.entered.size());
+        assertEquals("tick:a", this.reentrant.complete("a"));
+    }
+
+    @Test
+    void unobservedTicksNeverEnterAPhase() {
+        final Object[] sources = new Object[1024];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = new Object();
+        }
+        // Most ticks never touch the tracker, so their phase is only deferred and discarded
+        for (int i = 0; i < 4 * sources.length; i++) {
+            final Object source = sources[i & 1023];
+            this.phases.defer("tick", source);
+            assertNull(this.phases.complete(source));
+        }
+        this.phases.enter();
+        assertEquals(0, this.entered.size());
+        // Nothing is left behind either, so a tick that touches the tracker afterwards enters only its own phase
+        this.phases.defer("tick", "a");
+        this.phases.enter();
+        assertEquals(1, this.entered.size());
+        assertEquals("tick:a", this.phases.complete("a"));
+        assertThrows(IllegalStateException.class, () -> this.phases.complete(sources[0]));
+    }
+}
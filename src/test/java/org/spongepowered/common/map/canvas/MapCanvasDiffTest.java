@@ -0,0 +1,67 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.map.canvas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.common.util.Constants;
+
+public final class MapCanvasDiffTest {
+
+    @Test
+    public void testIdenticalCanvases() {
+        assertNull(MapCanvasDiff.between(new byte[Constants.Map.MAP_SIZE], new byte[Constants.Map.MAP_SIZE]));
+    }
+
+    @Test
+    public void testDirtyRectangle() {
+        final byte[] previous = new byte[Constants.Map.MAP_SIZE];
+        final byte[] current = new byte[Constants.Map.MAP_SIZE];
+        current[10 + 20 * Constants.Map.MAP_PIXELS] = 4;
+        current[30 + 5 * Constants.Map.MAP_PIXELS] = 4;
+        current[2 + 12 * Constants.Map.MAP_PIXELS] = 4;
+
+        final MapCanvasDiff diff = MapCanvasDiff.between(previous, current);
+        assertEquals(2, diff.minX());
+        assertEquals(5, diff.minY());
+        assertEquals(30, diff.maxX());
+        assertEquals(20, diff.maxY());
+        assertEquals(29 * 16, diff.area());
+    }
+
+    @Test
+    public void testCorners() {
+        final byte[] previous = new byte[Constants.Map.MAP_SIZE];
+        final byte[] current = new byte[Constants.Map.MAP_SIZE];
+        current[Constants.Map.MAP_SIZE - 1] = 4;
+
+        final MapCanvasDiff diff = MapCanvasDiff.between(previous, current);
+        assertEquals(Constants.Map.MAP_MAX_INDEX, diff.minX());
+        assertEquals(Constants.Map.MAP_MAX_INDEX, diff.minY());
+        assertEquals(1, diff.area());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.map.canvas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.common.util.Constants;
+
+import java.util.Arrays;
+
+public final class MapColorQuantizerTest {
+
+    private static final int[] PALETTE_RGB = {0x000000, 0xFFFFFF, 0xFF0000, 0x00FF00, 0x0000FF};
+    private static final byte[] PALETTE_COLORS = {4, 8, 12, 16, 20};
+
+    private final MapColorQuantizer quantizer = new MapColorQuantizer(MapColorQuantizerTest.PALETTE_RGB, MapColorQuantizerTest.PALETTE_COLORS);
+
+    @Test
+    public void testNearest() {
+        for (int i = 0; i < MapColorQuantizerTest.PALETTE_RGB.length; i++) {
+            assertEquals(MapColorQuantizerTest.PALETTE_COLORS[i], this.quantizer.nearest(0xFF000000 | MapColorQuantizerTest.PALETTE_RGB[i]));
+        }
+        assertEquals(4, this.quantizer.nearest(0xFF101010));
+        assertEquals(8, this.quantizer.nearest(0xFFF0E8F8));
+        assertEquals(12, this.quantizer.nearest(0xFFD02010));
+        assertEquals(0, this.quantizer.nearest(0x00FFFFFF));
+    }
+
+    @Test
+    public void testDitherKeepsAverage() {
+        final int size = Constants.Map.MAP_PIXELS;
+        final int[] pixels = new int[size * size];
+        // Mid grey has no palette match, dithering should mix black and white evenly
+        Arrays.fill(pixels, 0xFF808080);
+        final byte[] canvas = new byte[Constants.Map.MAP_SIZE];
+        this.quantizer.quantize(pixels, size, size, 0, 0, canvas, true);
+
+        int white = 0;
+        for (final byte color : canvas) {
+            assertTrue(color == 4 || color == 8);
+            if (color == 8) {
+                white++;
+            }
+        }
+        assertTrue(Math.abs(white - canvas.length / 2) < canvas.length / 20);
+    }
+
+    @Test
+    public void testQuantizeOutsideImageIsTransparent() {
+        final int[] pixels = new int[10 * 10];
+        Arrays.fill(pixels, 0xFFFF0000);
+        final byte[] canvas = new byte[Constants.Map.MAP_SIZE];
+        this.quantizer.quantize(pixels, 10, 10, 0, 0, canvas, false);
+
+        assertEquals(12, canvas[9 + 9 * Constants.Map.MAP_PIXELS]);
+        assertEquals(0, canvas[10 + 9 * Constants.Map.MAP_PIXELS]);
+        assertEquals(0, canvas[9 + 10 * Constants.Map.MAP_PIXELS]);
+    }
+}
@@ -0,0 +1,434 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scoreboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+public final class ScoreboardPacketCoalescerTest {
+
+    private static final String[] OBJECTIVES = {"kills", "deaths", "level"};
+    private static final String[] TEAMS = {"red", "blue", "green"};
+    private static final String[] PLAYERS = {"Alice", "Bob", "Carol"};
+    private static final int SLOTS = 3;
+
+    @Test
+    public void testLastScoreChangeWins() {
+        final List<Op> ops = Arrays.asList(
+                Op.addObjective("kills"),
+                Op.score("kills", "Alice", 1),
+                Op.score("kills", "Alice", 2),
+                Op.score("kills", "Alice", 3));
+        final List<Op> sent = this.assertSameState(new Client(), ops);
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    public void testAddedAndRemovedObjectiveIsNotSent() {
+        final List<Op> ops = Arrays.asList(
+                Op.addObjective("kills"),
+                Op.score("kills", "Alice", 1),
+                Op.changeObjective("kills", "Kills"),
+                Op.removeObjective("kills"));
+        assertEquals(Collections.emptyList(), this.assertSameState(new Client(), ops));
+    }
+
+    @Test
+    public void testAddedAndRemovedObjectiveClearsDisplaySlot() {
+        final Client initial = new Client();
+        Op.addObjective("deaths").apply(initial);
+        Op.display(0, "deaths").apply(initial);
+        final List<Op> ops = Arrays.asList(
+                Op.addObjective("kills"),
+                Op.display(0, "kills"),
+                Op.removeObjective("kills"));
+        assertEquals(ops, this.assertSameState(initial, ops));
+    }
+
+    @Test
+    public void testResetRemovesPendingScoresOfOwner() {
+        final Client initial = new Client();
+        Op.addObjective("kills").apply(initial);
+        Op.addObjective("deaths").apply(initial);
+        final List<Op> ops = Arrays.asList(
+                Op.score("kills", "Alice", 1),
+                Op.score("deaths", "Alice", 1),
+                Op.score("deaths", "Bob", 1),
+                Op.resetScore(null, "Alice"),
+                Op.score("kills", "Alice", 2));
+        final List<Op> sent = this.assertSameState(initial, ops);
+        assertEquals(3, sent.size());
+    }
+
+    @Test
+    public void testAddedAndRemovedTeamIsNotSent() {
+        final Client initial = new Client();
+        Op.addTeam("blue").apply(initial);
+        Op.join("blue", "Alice").apply(initial);
+        final List<Op> ops = Arrays.asList(
+                Op.addTeam("red"),
+                Op.leave("blue", "Alice"),
+                Op.join("red", "Alice"),
+                Op.changeTeam("red", "[R]"),
+                Op.removeTeam("red"));
+        assertEquals(Collections.singletonList(Op.leave("blue", "Alice")), this.assertSameState(initial, ops));
+    }
+
+    @Test
+    public void testQueuedCount() {
+        final ScoreboardPacketCoalescer<Op> coalescer = new ScoreboardPacketCoalescer<>();
+        Op.addObjective("kills").queue(coalescer);
+        Op.removeObjective("kills").queue(coalescer);
+        assertEquals(2, coalescer.queued());
+        assertEquals(Collections.emptyList(), coalescer.drain());
+        assertEquals(0, coalescer.queued());
+    }
+
+    @Test
+    public void testRandomSequencesMatchSendingInOrder() {
+        final Random random = new Random(0x5C0BE);
+        for (int i = 0; i < 5000; i++) {
+            final Client initial = new Client();
+            for (int j = 0; j < 20; j++) {
+                ScoreboardPacketCoalescerTest.randomOp(random, initial).apply(initial);
+            }
+            final Client server = initial.copy();
+            final List<Op> ops = new ArrayList<>();
+            for (int j = 0; j < 40; j++) {
+                final Op op = ScoreboardPacketCoalescerTest.randomOp(random, server);
+                op.apply(server);
+                ops.add(op);
+            }
+            this.assertSameState(initial, ops);
+        }
+    }
+
+    private List<Op> assertSameState(final Client initial, final List<Op> ops) {
+        final ScoreboardPacketCoalescer<Op> coalescer = new ScoreboardPacketCoalescer<>();
+        final Client inOrder = initial.copy();
+        for (final Op op : ops) {
+            op.apply(inOrder);
+            op.queue(coalescer);
+        }
+        final List<Op> sent = coalescer.drain();
+        final Client coalesced = initial.copy();
+        for (final Op op : sent) {
+            op.apply(coalesced);
+        }
+        assertEquals(inOrder, coalesced, () -> "Sent " + ops + " as " + sent);
+        return sent;
+    }
+
+    /**
+     * Picks a change the server could send to a client in the given state,
+     * joining a team first leaves the previous one like the server does.
+     */
+    private static Op randomOp(final Random random, final Client state) {
+        final String objective = ScoreboardPacketCoalescerTest.OBJECTIVES[random.nextInt(ScoreboardPacketCoalescerTest.OBJECTIVES.length)];
+        final String team = ScoreboardPacketCoalescerTest.TEAMS[random.nextInt(ScoreboardPacketCoalescerTest.TEAMS.length)];
+        final String player = ScoreboardPacketCoalescerTest.PLAYERS[random.nextInt(ScoreboardPacketCoalescerTest.PLAYERS.length)];
+        switch (random.nextInt(10)) {
+            case 0:
+                return state.objectives.containsKey(objective) ? Op.removeObjective(objective) : Op.addObjective(objective);
+            case 1:
+                return state.objectives.containsKey(objective) ? Op.changeObjective(objective, "#" + random.nextInt(3)) : Op.addObjective(objective);
+            case 2:
+            case 3:
+                return state.objectives.containsKey(objective) ? Op.score(objective, player, random.nextInt(3)) : Op.addObjective(objective);
+            case 4:
+                return Op.resetScore(random.nextBoolean() || !state.objectives.containsKey(objective) ? null : objective, player);
+            case 5:
+                return Op.display(random.nextInt(ScoreboardPacketCoalescerTest.SLOTS), random.nextInt(4) == 0 ? null : objective);
+            case 6:
+                return state.teams.containsKey(team) ? Op.removeTeam(team) : Op.addTeam(team);
+            case 7:
+                return state.teams.containsKey(team) ? Op.changeTeam(team, "#" + random.nextInt(3)) : Op.addTeam(team);
+            default:
+                final String current = state.playerTeams.get(player);
+                if (current != null) {
+                    return Op.leave(current, player);
+                }
+                return state.teams.containsKey(team) ? Op.join(team, player) : Op.addTeam(team);
+        }
+    }
+
+    /**
+     * What a client knows about the scoreboard, failing on changes a client
+     * could not apply.
+     */
+    private static final class Client {
+
+        final Map<String, String> objectives = new HashMap<>();
+        final Map<String, Map<String, Integer>> scores = new HashMap<>();
+        final Map<Integer, String> displays = new HashMap<>();
+        final Map<String, String> teams = new HashMap<>();
+        final Map<String, String> playerTeams = new HashMap<>();
+
+        Client copy() {
+            final Client copy = new Client();
+            copy.objectives.putAll(this.objectives);
+            this.scores.forEach((objective, scores) -> copy.scores.put(objective, new HashMap<>(scores)));
+            copy.displays.putAll(this.displays);
+            copy.teams.putAll(this.teams);
+            copy.playerTeams.putAll(this.playerTeams);
+            return copy;
+        }
+
+        void requireObjective(final String name) {
+            if (!this.objectives.containsKey(name)) {
+                throw new IllegalStateException("Unknown objective " + name);
+            }
+        }
+
+        void requireTeam(final String name) {
+            if (!this.teams.containsKey(name)) {
+                throw new IllegalStateException("Unknown team " + name);
+            }
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Client)) {
+                return false;
+            }
+            final Client other = (Client) o;
+            return this.objectives.equals(other.objectives) && this.scores.equals(other.scores) && this.displays.equals(other.displays)
+                    && this.teams.equals(other.teams) && this.playerTeams.equals(other.playerTeams);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.objectives, this.scores, this.displays, this.teams, this.playerTeams);
+        }
+
+        @Override
+        public String toString() {
+            return "Client{objectives=" + this.objectives + ", scores=" + this.scores + ", displays=" + this.displays
+                    + ", teams=" + this.teams + ", playerTeams=" + this.playerTeams + "}";
+        }
+    }
+
+    private enum Type {
+        ADD_OBJECTIVE,
+        CHANGE_OBJECTIVE,
+        REMOVE_OBJECTIVE,
+        SCORE,
+        RESET_SCORE,
+        DISPLAY,
+        ADD_TEAM,
+        CHANGE_TEAM,
+        REMOVE_TEAM,
+        JOIN,
+        LEAVE
+    }
+
+    private static final class Op {
+
+        final Type type;
+        final String name;
+        final String value;
+        final int number;
+
+        private Op(final Type type, final String name, final String value, final int number) {
+            this.type = type;
+            this.name = name;
+            this.value = value;
+            this.number = number;
+        }
+
+        static Op addObjective(final String name) {
+            return new Op(Type.ADD_OBJECTIVE, name, name, 0);
+        }
+
+        static Op changeObjective(final String name, final String displayName) {
+            return new Op(Type.CHANGE_OBJECTIVE, name, displayName, 0);
+        }
+
+        static Op removeObjective(final String name) {
+            return new Op(Type.REMOVE_OBJECTIVE, name, null, 0);
+        }
+
+        static Op score(final String objective, final String owner, final int score) {
+            return new Op(Type.SCORE, objective, owner, score);
+        }
+
+        static Op resetScore(final String objective, final String owner) {
+            return new Op(Type.RESET_SCORE, objective, owner, 0);
+        }
+
+        static Op display(final int slot, final String objective) {
+            return new Op(Type.DISPLAY, objective, null, slot);
+        }
+
+        static Op addTeam(final String name) {
+            return new Op(Type.ADD_TEAM, name, "", 0);
+        }
+
+        static Op changeTeam(final String name, final String prefix) {
+            return new Op(Type.CHANGE_TEAM, name, prefix, 0);
+        }
+
+        static Op removeTeam(final String name) {
+            return new Op(Type.REMOVE_TEAM, name, null, 0);
+        }
+
+        static Op join(final String team, final String player) {
+            return new Op(Type.JOIN, team, player, 0);
+        }
+
+        static Op leave(final String team, final String player) {
+            return new Op(Type.LEAVE, team, player, 0);
+        }
+
+        void apply(final Client client) {
+            switch (this.type) {
+                case ADD_OBJECTIVE:
+                    if (client.objectives.put(this.name, this.value) != null) {
+                        throw new IllegalStateException("Objective " + this.name + " already exists");
+                    }
+                    break;
+                case CHANGE_OBJECTIVE:
+                    client.requireObjective(this.name);
+                    client.objectives.put(this.name, this.value);
+                    break;
+                case REMOVE_OBJECTIVE:
+                    client.requireObjective(this.name);
+                    client.objectives.remove(this.name);
+                    client.scores.remove(this.name);
+                    client.displays.values().removeIf(this.name::equals);
+                    break;
+                case SCORE:
+                    client.requireObjective(this.name);
+                    client.scores.computeIfAbsent(this.name, k -> new HashMap<>()).put(this.value, this.number);
+                    break;
+                case RESET_SCORE:
+                    if (this.name == null) {
+                        client.scores.values().forEach(scores -> scores.remove(this.value));
+                    } else {
+                        client.requireObjective(this.name);
+                        client.scores.getOrDefault(this.name, Collections.emptyMap()).remove(this.value);
+                    }
+                    client.scores.values().removeIf(Map::isEmpty);
+                    break;
+                case DISPLAY:
+                    // Unknown objectives clear the slot
+                    if (this.name != null && client.objectives.containsKey(this.name)) {
+                        client.displays.put(this.number, this.name);
+                    } else {
+                        client.displays.remove(this.number);
+                    }
+                    break;
+                case ADD_TEAM:
+                    if (client.teams.put(this.name, this.value) != null) {
+                        throw new IllegalStateException("Team " + this.name + " already exists");
+                    }
+                    break;
+                case CHANGE_TEAM:
+                    client.requireTeam(this.name);
+                    client.teams.put(this.name, this.value);
+                    break;
+                case REMOVE_TEAM:
+                    client.requireTeam(this.name);
+                    client.teams.remove(this.name);
+                    client.playerTeams.values().removeIf(this.name::equals);
+                    break;
+                case JOIN:
+                    client.requireTeam(this.name);
+                    client.playerTeams.put(this.value, this.name);
+                    break;
+                case LEAVE:
+                    client.requireTeam(this.name);
+                    if (!this.name.equals(client.playerTeams.remove(this.value))) {
+                        throw new IllegalStateException(this.value + " is not on team " + this.name);
+                    }
+                    break;
+                default:
+                    throw new AssertionError(this.type);
+            }
+        }
+
+        void queue(final ScoreboardPacketCoalescer<Op> coalescer) {
+            switch (this.type) {
+                case ADD_OBJECTIVE:
+                    coalescer.addObjective(this.name, this);
+                    break;
+                case CHANGE_OBJECTIVE:
+                    coalescer.changeObjective(this.name, this);
+                    break;
+                case REMOVE_OBJECTIVE:
+                    coalescer.removeObjective(this.name, this);
+                    break;
+                case SCORE:
+                case RESET_SCORE:
+                    coalescer.score(this.name, this.value, this);
+                    break;
+                case DISPLAY:
+                    coalescer.display(this.number, this.name, this);
+                    break;
+                case ADD_TEAM:
+                    coalescer.addTeam(this.name, this);
+                    break;
+                case CHANGE_TEAM:
+                    coalescer.changeTeam(this.name, this);
+                    break;
+                case REMOVE_TEAM:
+                    coalescer.removeTeam(this.name, this);
+                    break;
+                default:
+                    coalescer.teamMembers(this.name, this);
+                    break;
+            }
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Op)) {
+                return false;
+            }
+            final Op op = (Op) o;
+            return this.type == op.type && this.number == op.number && Objects.equals(this.name, op.name) && Objects.equals(this.value, op.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.type, this.name, this.value, this.number);
+        }
+
+        @Override
+        public String toString() {
+            return this.type + "(" + this.name + ", " + this.value + ", " + this.number + ")";
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.common.service.server.ban.SpongeIpRangeBanList;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Path;
+import java.util.Date;
+
+public final class IpSetTrieTest {
+
+    @TempDir Path directory;
+
+    @Test
+    public void testLongestMatch() throws UnknownHostException {
+        final IpSetTrie<String> trie = new IpSetTrie<>();
+        trie.put(IpSet.fromCidr("10.0.0.0/8"), "a");
+        trie.put(IpSet.fromCidr("10.20.0.0/20"), "b");
+        trie.put(IpSet.fromCidr("2001:db8::/32"), "c");
+
+        assertEquals("a", trie.match(InetAddress.getByName("10.1.2.3")));
+        assertEquals("b", trie.match(InetAddress.getByName("10.20.15.255")));
+        assertEquals("a", trie.match(InetAddress.getByName("10.20.16.0")));
+        assertNull(trie.match(InetAddress.getByName("11.0.0.1")));
+        assertEquals("c", trie.match(InetAddress.getByName("2001:db8::1")));
+        assertNull(trie.match(InetAddress.getByName("2001:db9::1")));
+    }
+
+    @Test
+    public void testRemove() throws UnknownHostException {
+        final IpSetTrie<String> trie = new IpSetTrie<>();
+        trie.put(IpSet.fromCidr("192.168.0.0/16"), "a");
+        trie.put(IpSet.fromCidr("192.168.1.0/24"), "b");
+
+        assertEquals("b", trie.remove(IpSet.fromCidr("192.168.1.0/24")));
+        assertNull(trie.remove(IpSet.fromCidr("192.168.1.0/24")));
+        assertEquals("a", trie.match(InetAddress.getByName("192.168.1.1")));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    public void testMatchesIpSet() throws UnknownHostException {
+        final IpSet set = IpSet.fromCidr("10.20.0.0/20");
+        final IpSetTrie<IpSet> trie = new IpSetTrie<>();
+        trie.put(set, set);
+
+        for (final String address : new String[] {"10.20.0.1", "10.20.15.1", "10.20.16.1", "10.21.0.1"}) {
+            final InetAddress inet = InetAddress.getByName(address);
+            assertEquals(set.apply(inet), trie.match(inet) != null, address);
+        }
+    }
+
+    @Test
+    public void testHostBitsAreMasked() throws UnknownHostException {
+        assertEquals(IpSet.fromCidr("10.0.0.0/8"), IpSet.fromCidr("10.1.2.3/8"));
+        assertEquals("10.0.0.0/8", IpSet.fromCidr("10.1.2.3/8").toString());
+        assertEquals("192.168.0.0/20", IpSet.fromCidr("192.168.15.255/20").toString());
+        assertEquals(IpSet.fromCidr("2001:db8::/32"), IpSet.fromCidr("2001:db8:1::1/32"));
+        assertEquals(32, IpSet.fromCidr("10.1.2.3").getPrefixLength());
+        assertEquals(128, IpSet.fromCidr("2001:db8::1").getPrefixLength());
+
+        final IpSetTrie<String> trie = new IpSetTrie<>();
+        trie.put(IpSet.fromCidr("10.1.2.3/8"), "a");
+        assertEquals("a", trie.get(IpSet.fromCidr("10.0.0.0/8")));
+        assertEquals("a", trie.remove(IpSet.fromCidr("10.0.0.0/8")));
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    public void testPardonWithDifferentHostBits() throws UnknownHostException {
+        final SpongeIpRangeBanList bans = new SpongeIpRangeBanList(this.directory.resolve("banned-ip-ranges.json"));
+        bans.add(new SpongeIpRangeBanList.Entry(IpSet.fromCidr("10.1.2.3/8"), new Date(), null, null, null));
+        assertTrue(bans.match(InetAddress.getByName("10.200.0.1")).isPresent());
+
+        assertTrue(bans.remove(IpSet.fromCidr("10.0.0.0/8")));
+        assertFalse(bans.match(InetAddress.getByName("10.200.0.1")).isPresent());
+        assertTrue(bans.entries().isEmpty());
+    }
+}
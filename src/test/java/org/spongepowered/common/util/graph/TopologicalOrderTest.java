@@ -0,0 +1,121 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public final class TopologicalOrderTest {
+
+    @Test
+    public void testIndependentNodesShareAStage() {
+        final DirectedGraph<String> graph = new DirectedGraph<>();
+        graph.add("a");
+        graph.add("b");
+        graph.add("c");
+
+        final List<List<String>> stages = TopologicalOrder.createStages(graph);
+        assertEquals(1, stages.size());
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c")), new HashSet<>(stages.get(0)));
+        assertEquals(0, graph.getNodeCount());
+    }
+
+    @Test
+    public void testStagesFollowDependencies() {
+        // d depends on b and c, which both depend on a
+        final DirectedGraph<String> graph = new DirectedGraph<>();
+        graph.addEdge("b", "a");
+        graph.addEdge("c", "a");
+        graph.addEdge("d", "b");
+        graph.addEdge("d", "c");
+        graph.add("e");
+
+        final List<List<String>> stages = TopologicalOrder.createStages(graph);
+        assertEquals(3, stages.size());
+        assertEquals(new HashSet<>(Arrays.asList("a", "e")), new HashSet<>(stages.get(0)));
+        assertEquals(new HashSet<>(Arrays.asList("b", "c")), new HashSet<>(stages.get(1)));
+        assertEquals(Arrays.asList("d"), stages.get(2));
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        final Random random = new Random(0);
+        for (int run = 0; run < 200; run++) {
+            final int size = 1 + random.nextInt(30);
+            final DirectedGraph<Integer> graph = new DirectedGraph<>();
+            final Map<Integer, List<Integer>> dependencies = new HashMap<>();
+            for (int node = 0; node < size; node++) {
+                graph.add(node);
+                final Integer[] nodeDependencies = new Integer[node == 0 ? 0 : random.nextInt(Math.min(node, 4))];
+                for (int i = 0; i < nodeDependencies.length; i++) {
+                    // Only depending on lower nodes keeps the graph acyclic
+                    nodeDependencies[i] = random.nextInt(node);
+                    graph.addEdge(node, nodeDependencies[i]);
+                }
+                dependencies.put(node, Arrays.asList(nodeDependencies));
+            }
+
+            final Map<Integer, Integer> stageOf = new HashMap<>();
+            final List<List<Integer>> stages = TopologicalOrder.createStages(graph);
+            for (int stage = 0; stage < stages.size(); stage++) {
+                for (final Integer node : stages.get(stage)) {
+                    assertNull(stageOf.put(node, stage));
+                }
+            }
+            assertEquals(size, stageOf.size());
+            for (final Map.Entry<Integer, List<Integer>> entry : dependencies.entrySet()) {
+                int latest = -1;
+                for (final Integer dependency : entry.getValue()) {
+                    assertTrue(stageOf.get(dependency) < stageOf.get(entry.getKey()));
+                    latest = Math.max(latest, stageOf.get(dependency));
+                }
+                // No node waits longer than its dependencies require
+                assertEquals(latest + 1, (int) stageOf.get(entry.getKey()));
+            }
+        }
+    }
+
+    @Test
+    public void testCycle() {
+        final DirectedGraph<String> graph = new DirectedGraph<>();
+        graph.addEdge("a", "b");
+        graph.addEdge("b", "c");
+        graph.addEdge("c", "a");
+        graph.add("d");
+
+        assertThrows(CyclicGraphException.class, () -> TopologicalOrder.createStages(graph));
+    }
+}
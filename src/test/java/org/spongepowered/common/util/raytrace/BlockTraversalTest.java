@@ -0,0 +1,97 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.raytrace;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BlockTraversalTest {
+
+    private static List<int[]> walk(final double startX, final double startY, final double startZ,
+            final double endX, final double endY, final double endZ) {
+        final double x = endX - startX;
+        final double y = endY - startY;
+        final double z = endZ - startZ;
+        final double length = Math.sqrt(x * x + y * y + z * z);
+        final BlockTraversal traversal = new BlockTraversal(startX, startY, startZ, x / length, y / length, z / length, endX, endY, endZ);
+        final List<int[]> blocks = new ArrayList<>();
+        while (true) {
+            blocks.add(new int[] {traversal.blockX(), traversal.blockY(), traversal.blockZ()});
+            if (traversal.totalT() + traversal.nextStep() > length) {
+                return blocks;
+            }
+            traversal.advance();
+        }
+    }
+
+    @Test
+    public void testWalkAlongZ() {
+        // The Z axis used to advance by the X step, so a ray along Z never left its first block
+        final List<int[]> blocks = BlockTraversalTest.walk(3.5, 64.5, 0.5, 3.5, 64.5, 4.5);
+        assertEquals(5, blocks.size());
+        for (int i = 0; i < blocks.size(); i++) {
+            assertArrayEquals(new int[] {3, 64, i}, blocks.get(i));
+        }
+    }
+
+    @Test
+    public void testWalkAlongNegativeZ() {
+        final List<int[]> blocks = BlockTraversalTest.walk(-0.5, 10.5, -0.5, -0.5, 10.5, -3.5);
+        assertEquals(4, blocks.size());
+        for (int i = 0; i < blocks.size(); i++) {
+            assertArrayEquals(new int[] {-1, 10, -1 - i}, blocks.get(i));
+        }
+    }
+
+    @Test
+    public void testWalkAlongXAndZ() {
+        final List<int[]> blocks = BlockTraversalTest.walk(0.5, 0.5, 0.2, 3.5, 0.5, 6.2);
+        final int[] last = blocks.get(blocks.size() - 1);
+        assertArrayEquals(new int[] {3, 0, 6}, last);
+        // Each step moves to a neighbouring block
+        for (int i = 1; i < blocks.size(); i++) {
+            final int[] previous = blocks.get(i - 1);
+            final int[] current = blocks.get(i);
+            final int moved = Math.abs(current[0] - previous[0]) + Math.abs(current[1] - previous[1]) + Math.abs(current[2] - previous[2]);
+            assertEquals(1, moved);
+            assertTrue(current[0] >= previous[0] && current[2] >= previous[2]);
+        }
+        assertEquals(10, blocks.size());
+    }
+
+    @Test
+    public void testLongRayVisitsEachBlockOnce() {
+        final List<int[]> blocks = BlockTraversalTest.walk(0.5, 0.5, 0.2, 50_000.5, 0.5, 100_000.7);
+        assertArrayEquals(new int[] {50_000, 0, 100_000}, blocks.get(blocks.size() - 1));
+        // One step per block boundary crossed, so the work grows linearly with the length of the ray
+        assertEquals(50_000 + 100_000 + 1, blocks.size());
+    }
+}
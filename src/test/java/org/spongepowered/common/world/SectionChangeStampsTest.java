@@ -0,0 +1,101 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public final class SectionChangeStampsTest {
+
+    private final SectionChangeStamps stamps = new SectionChangeStamps();
+
+    @Test
+    public void testUnchangedWithoutChanges() {
+        final long stamp = this.stamps.current();
+        assertTrue(this.stamps.unchangedSince(stamp, -8, 60, -8, 8, 70, 8));
+    }
+
+    @Test
+    public void testChangeInsideRegion() {
+        final long stamp = this.stamps.current();
+        this.stamps.changed(3, 64, -5);
+        assertFalse(this.stamps.unchangedSince(stamp, -8, 60, -8, 8, 70, 8));
+    }
+
+    @Test
+    public void testChangeInOtherSection() {
+        final long stamp = this.stamps.current();
+        // x = 40 is in section 2, the region only covers sections -1 and 0
+        this.stamps.changed(40, 64, 0);
+        assertTrue(this.stamps.unchangedSince(stamp, -8, 60, -8, 8, 70, 8));
+        // A change elsewhere in the same section counts, even outside the region itself
+        this.stamps.changed(15, 79, 15);
+        assertFalse(this.stamps.unchangedSince(stamp, -8, 60, -8, 8, 70, 8));
+    }
+
+    @Test
+    public void testChangeBeforeStampIsIgnored() {
+        this.stamps.changed(0, 64, 0);
+        final long stamp = this.stamps.current();
+        assertTrue(this.stamps.unchangedSince(stamp, -8, 60, -8, 8, 70, 8));
+        this.stamps.changed(0, 64, 0);
+        assertFalse(this.stamps.unchangedSince(stamp, -8, 60, -8, 8, 70, 8));
+    }
+
+    @Test
+    public void testNegativeSections() {
+        final long stamp = this.stamps.current();
+        this.stamps.changed(-1, -1, -1);
+        assertTrue(this.stamps.unchangedSince(stamp, 0, 0, 0, 15, 15, 15));
+        assertFalse(this.stamps.unchangedSince(stamp, -16, -16, -16, -1, -1, -1));
+    }
+
+    @Test
+    public void testClearForgetsChanges() {
+        final long stamp = this.stamps.current();
+        this.stamps.changed(0, 64, 0);
+        this.stamps.clear();
+        assertTrue(this.stamps.unchangedSince(stamp, -8, 60, -8, 8, 70, 8));
+    }
+
+    @Test
+    public void testOnlyOverlappingSectionsInvalidate() {
+        final long stamp = this.stamps.current();
+        for (int i = 0; i < 10_000; i++) {
+            this.stamps.changed(i * 16, 64, 0);
+        }
+        this.stamps.changed(-100_000, 0, 0);
+        // A TNT explosion reaches about seven blocks, which covers at most two sections per axis
+        assertTrue(this.stamps.unchangedSince(stamp, 100, 17, 100, 114, 31, 114));
+        final int[] corners = {96, 16, 96, 112, 16, 96, 96, 16, 112, 112, 16, 112};
+        for (int i = 0; i < corners.length; i += 3) {
+            final long before = this.stamps.current();
+            this.stamps.changed(corners[i], corners[i + 1], corners[i + 2]);
+            assertFalse(this.stamps.unchangedSince(before, 100, 17, 100, 114, 31, 114));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.common.world.volume.buffer.block.BlockBackingData;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+public final class SchematicBlockDataTest {
+
+    private static int[][][] ids(final int seed, final int width, final int height, final int length, final int highestId) {
+        final Random random = new Random(seed);
+        final int[][][] ids = new int[width][height][length];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                for (int z = 0; z < length; z++) {
+                    ids[x][y][z] = random.nextInt(highestId + 1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static byte[] encode(final int[][][] ids, final int width, final int height, final int length) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SchematicBlockData.write(new DataOutputStream(bytes), (x, y, z) -> ids[x][y][z], width, height, length);
+        return bytes.toByteArray();
+    }
+
+    private static BlockBackingData decode(final byte[] encoded, final int width, final int height, final int length, final int highestId)
+        throws IOException {
+        return SchematicBlockData.read(new DataInputStream(new ByteArrayInputStream(encoded)), encoded.length, width, height, length, highestId);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        // Ids above 127 and 16383 take two and three bytes
+        for (final int highestId : new int[] {1, 200, 20000}) {
+            final int width = 7;
+            final int height = 5;
+            final int length = 3;
+            final int[][][] ids = SchematicBlockDataTest.ids(highestId, width, height, length, highestId);
+            final byte[] encoded = SchematicBlockDataTest.encode(ids, width, height, length);
+            assertEquals(encoded.length, SchematicBlockData.encodedLength((x, y, z) -> ids[x][y][z], width, height, length));
+
+            final BlockBackingData data = SchematicBlockDataTest.decode(encoded, width, height, length, highestId);
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y < height; y++) {
+                    for (int z = 0; z < length; z++) {
+                        assertEquals(ids[x][y][z], data.get(SchematicBlockData.index(x, y, z, height, length)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSchematicOrder() throws IOException {
+        // A 2x2x2 volume whose ids are their position in y, z, x order
+        final int[][][] ids = new int[2][2][2];
+        for (int x = 0; x < 2; x++) {
+            for (int y = 0; y < 2; y++) {
+                for (int z = 0; z < 2; z++) {
+                    ids[x][y][z] = (y * 2 + z) * 2 + x;
+                }
+            }
+        }
+        assertArrayEquals(new byte[] {0, 1, 2, 3, 4, 5, 6, 7}, SchematicBlockDataTest.encode(ids, 2, 2, 2));
+    }
+
+    @Test
+    public void testVarInts() throws IOException {
+        for (final int value : new int[] {0, 1, 127, 128, 16383, 16384, 2097151, 2097152, Integer.MAX_VALUE}) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            SchematicBlockData.writeVarInt(new DataOutputStream(bytes), value);
+            assertEquals(SchematicBlockData.varIntSize(value), bytes.size());
+
+            final int[] read = new int[1];
+            assertEquals(value, SchematicBlockData.readVarInt(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), read));
+            assertEquals(bytes.size(), read[0]);
+        }
+    }
+
+    @Test
+    public void testRejectsIdsOutsideOfThePalette() {
+        assertThrows(InvalidDataException.class, () -> SchematicBlockDataTest.decode(new byte[] {0, 3}, 2, 1, 1, 2));
+    }
+
+    @Test
+    public void testRejectsTheWrongNumberOfIds() {
+        assertThrows(InvalidDataException.class, () -> SchematicBlockDataTest.decode(new byte[] {0, 1, 0}, 2, 1, 1, 1));
+        assertThrows(InvalidDataException.class, () -> SchematicBlockDataTest.decode(new byte[] {0}, 2, 1, 1, 1));
+    }
+
+    @Test
+    public void testRejectsCorruptVarInts() {
+        final byte[] tooLong = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0};
+        assertThrows(InvalidDataException.class, () -> SchematicBlockDataTest.decode(tooLong, 1, 1, 1, 1));
+    }
+
+    @Test
+    public void testOnlyReadsTheBlockData() throws IOException {
+        final byte[] encoded = {1, 0, 1, 0, 42};
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(encoded));
+        SchematicBlockData.read(input, 4, 2, 2, 1, 1);
+        assertEquals(42, input.readByte());
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import org.junit.jupiter.api.Test;
+
+public final class DelayedChunkUnloadsTest {
+
+    private static final int DELAY = 100;
+
+    private final DelayedChunkUnloads unloads = new DelayedChunkUnloads();
+    private final LongSet loaded = new LongOpenHashSet();
+    private final LongSet requested = new LongOpenHashSet();
+    private final LongList ended = new LongArrayList();
+
+    private void tick(final long gameTime) {
+        this.unloads.tick(gameTime, DelayedChunkUnloadsTest.DELAY, this.loaded::contains, this.requested::contains, this.ended::add);
+    }
+
+    @Test
+    public void testUnloadReloadCycle() {
+        this.loaded.add(1L);
+        assertTrue(this.unloads.delay(1L, 0, 512, 0));
+        assertEquals(512, this.unloads.memory());
+
+        // Nothing wants the chunk, it waits for its delay
+        this.tick(10);
+        assertTrue(this.unloads.isDelayed(1L));
+        assertTrue(this.ended.isEmpty());
+
+        // A player walks back in, the unload is cancelled once
+        this.requested.add(1L);
+        this.tick(20);
+        this.tick(21);
+        assertFalse(this.unloads.isDelayed(1L));
+        assertFalse(this.unloads.isReleased(1L));
+        assertEquals(1, this.unloads.avoidedReloads());
+        assertEquals(1, this.ended.size());
+        assertEquals(0, this.unloads.memory());
+
+        // And leaves again, which starts a new delay
+        this.requested.remove(1L);
+        assertTrue(this.unloads.delay(1L, 30, 512, 0));
+        this.tick(30 + DelayedChunkUnloadsTest.DELAY - 1);
+        assertTrue(this.unloads.isDelayed(1L));
+
+        // The delay ran out, the chunk is released and must not be delayed again before it unloaded
+        this.tick(30 + DelayedChunkUnloadsTest.DELAY);
+        assertTrue(this.unloads.isReleased(1L));
+        assertEquals(2, this.ended.size());
+        for (int i = 1; i <= 5; i++) {
+            assertFalse(this.unloads.delay(1L, 30 + DelayedChunkUnloadsTest.DELAY + i, 512, 0));
+            this.tick(30 + DelayedChunkUnloadsTest.DELAY + i);
+        }
+        assertEquals(2, this.ended.size());
+        assertEquals(1, this.unloads.avoidedReloads());
+
+        // Once it actually unloaded, a later load may be delayed again
+        this.loaded.remove(1L);
+        this.unloads.unloaded(1L);
+        assertFalse(this.unloads.isReleased(1L));
+        this.loaded.add(1L);
+        assertTrue(this.unloads.delay(1L, 500, 512, 0));
+    }
+
+    @Test
+    public void testReleasedChunkRequestedAgain() {
+        this.loaded.add(1L);
+        this.unloads.delay(1L, 0, 0, 0);
+        this.tick(DelayedChunkUnloadsTest.DELAY);
+        assertTrue(this.unloads.isReleased(1L));
+
+        // Requested again before it got to unload, the next drop gets a delay of its own
+        this.requested.add(1L);
+        this.tick(DelayedChunkUnloadsTest.DELAY + 1);
+        assertFalse(this.unloads.isReleased(1L));
+        assertEquals(0, this.unloads.avoidedReloads());
+
+        this.requested.remove(1L);
+        assertTrue(this.unloads.delay(1L, DelayedChunkUnloadsTest.DELAY + 2, 0, 0));
+    }
+
+    @Test
+    public void testChunkGoneWhileDelayed() {
+        this.unloads.delay(1L, 0, 64, 0);
+        this.tick(1);
+        assertFalse(this.unloads.isDelayed(1L));
+        assertFalse(this.unloads.isReleased(1L));
+        assertEquals(1, this.ended.size());
+        assertEquals(0, this.unloads.memory());
+    }
+
+    @Test
+    public void testLimit() {
+        assertTrue(this.unloads.delay(1L, 0, 0, 2));
+        assertTrue(this.unloads.delay(2L, 0, 0, 2));
+        assertFalse(this.unloads.delay(3L, 0, 0, 2));
+        assertFalse(this.unloads.delay(1L, 0, 0, 2));
+        assertEquals(2, this.unloads.count());
+    }
+
+    @Test
+    public void testDisabledDelayReleasesEverything() {
+        this.loaded.add(1L);
+        this.loaded.add(2L);
+        this.unloads.delay(1L, 0, 0, 0);
+        this.unloads.delay(2L, 0, 0, 0);
+        this.unloads.tick(1, 0, this.loaded::contains, this.requested::contains, this.ended::add);
+        assertEquals(0, this.unloads.count());
+        assertTrue(this.unloads.isReleased(1L));
+        assertTrue(this.unloads.isReleased(2L));
+    }
+}
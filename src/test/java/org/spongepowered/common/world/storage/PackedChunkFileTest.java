@@ -0,0 +1,219 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+public final class PackedChunkFileTest {
+
+    @TempDir Path directory;
+
+    private Path file() {
+        return this.directory.resolve("p.0.0.spk");
+    }
+
+    private static byte[] data(final int seed, final int length) {
+        final byte[] data = new byte[length];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    private void append(final ByteBuffer bytes) throws IOException {
+        try (final FileChannel channel = FileChannel.open(this.file(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(bytes);
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final PackedChunkFile file = new PackedChunkFile(this.file());
+        file.write(0, PackedChunkFileTest.data(0, 100));
+        file.write(5, PackedChunkFileTest.data(5, 200));
+        file.write(0, PackedChunkFileTest.data(1, 50));
+        file.close();
+
+        final PackedChunkFile reopened = new PackedChunkFile(this.file());
+        assertArrayEquals(PackedChunkFileTest.data(1, 50), reopened.read(0));
+        assertArrayEquals(PackedChunkFileTest.data(5, 200), reopened.read(5));
+        assertFalse(reopened.contains(1));
+        assertNull(reopened.read(1));
+        reopened.close();
+    }
+
+    @Test
+    public void testEmptyDataIsRejected() throws IOException {
+        final PackedChunkFile file = new PackedChunkFile(this.file());
+        assertThrows(IllegalArgumentException.class, () -> file.write(0, new byte[0]));
+        file.close();
+    }
+
+    @Test
+    public void testCutOffRecord() throws IOException {
+        final PackedChunkFile file = new PackedChunkFile(this.file());
+        file.write(0, PackedChunkFileTest.data(0, 100));
+        file.close();
+        final long intact = Files.size(this.file());
+        this.append(ByteBuffer.wrap(Arrays.copyOf(PackedChunkFileTest.record(1, PackedChunkFileTest.data(1, 100)), 60)));
+
+        final PackedChunkFile reopened = new PackedChunkFile(this.file());
+        assertEquals(intact, Files.size(this.file()));
+        assertTrue(Files.exists(this.directory.resolve("p.0.0.spk.corrupt")));
+        assertArrayEquals(PackedChunkFileTest.data(0, 100), reopened.read(0));
+        assertFalse(reopened.contains(1));
+
+        // New records are appended right after the intact ones
+        reopened.write(1, PackedChunkFileTest.data(2, 10));
+        reopened.close();
+        assertArrayEquals(PackedChunkFileTest.data(2, 10), new PackedChunkFile(this.file()).read(1));
+    }
+
+    @Test
+    public void testStopsAtZeroLength() throws IOException {
+        final PackedChunkFile file = new PackedChunkFile(this.file());
+        file.write(0, PackedChunkFileTest.data(0, 100));
+        file.close();
+        final ByteBuffer header = ByteBuffer.allocate(PackedChunkFile.RECORD_HEADER);
+        header.putInt(PackedChunkFile.MAGIC).putInt(1).putInt(0).putInt(0).flip();
+        this.append(header);
+        this.append(ByteBuffer.wrap(PackedChunkFileTest.record(2, PackedChunkFileTest.data(2, 100))));
+
+        final PackedChunkFile reopened = new PackedChunkFile(this.file());
+        assertTrue(reopened.contains(0));
+        assertFalse(reopened.contains(1));
+        assertFalse(reopened.contains(2));
+        reopened.close();
+    }
+
+    @Test
+    public void testStopsAtMissingMagic() throws IOException {
+        final PackedChunkFile file = new PackedChunkFile(this.file());
+        file.write(0, PackedChunkFileTest.data(0, 100));
+        file.close();
+        final byte[] record = PackedChunkFileTest.record(1, PackedChunkFileTest.data(1, 100));
+        record[0] = 0;
+        this.append(ByteBuffer.wrap(record));
+
+        final PackedChunkFile reopened = new PackedChunkFile(this.file());
+        assertTrue(reopened.contains(0));
+        assertFalse(reopened.contains(1));
+        reopened.close();
+    }
+
+    @Test
+    public void testStopsAtChecksumMismatch() throws IOException {
+        final PackedChunkFile file = new PackedChunkFile(this.file());
+        file.write(0, PackedChunkFileTest.data(0, 100));
+        file.write(1, PackedChunkFileTest.data(1, 100));
+        file.write(2, PackedChunkFileTest.data(2, 100));
+        file.close();
+        PackedChunkFileTest.flip(this.file(), PackedChunkFile.RECORD_HEADER * 2 + 100 + 50);
+
+        final PackedChunkFile reopened = new PackedChunkFile(this.file());
+        assertTrue(reopened.contains(0));
+        assertFalse(reopened.contains(1));
+        assertFalse(reopened.contains(2));
+        assertEquals(PackedChunkFile.RECORD_HEADER + 100, Files.size(this.file()));
+        reopened.close();
+    }
+
+    @Test
+    public void testReadVerifiesChecksum() throws IOException {
+        final PackedChunkFile file = new PackedChunkFile(this.file());
+        file.write(0, PackedChunkFileTest.data(0, 100));
+        file.force();
+        PackedChunkFileTest.flip(this.file(), PackedChunkFile.RECORD_HEADER + 10);
+        assertThrows(IOException.class, () -> file.read(0));
+        file.close();
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        final PackedChunkFile file = new PackedChunkFile(this.file());
+        for (int i = 0; i < 40; i++) {
+            file.write(7, PackedChunkFileTest.data(i, 64 * 1024));
+        }
+        assertTrue(file.needsCompaction());
+        file.compact();
+        assertFalse(file.needsCompaction());
+        assertEquals(PackedChunkFile.RECORD_HEADER + 64 * 1024, file.size());
+        assertArrayEquals(PackedChunkFileTest.data(39, 64 * 1024), file.read(7));
+        file.close();
+    }
+
+    @Test
+    public void testIndexingAFullFile() throws IOException {
+        final PackedChunkFile file = new PackedChunkFile(this.file());
+        for (int index = 0; index < PackedChunkFile.CHUNKS_PER_FILE; index++) {
+            file.write(index, PackedChunkFileTest.data(index, 4096));
+        }
+        file.close();
+
+        // Every record is found again on open, and none of them counts as wasted space
+        final PackedChunkFile reopened = new PackedChunkFile(this.file());
+        for (int index = 0; index < PackedChunkFile.CHUNKS_PER_FILE; index++) {
+            assertTrue(reopened.contains(index));
+        }
+        assertEquals((long) PackedChunkFile.CHUNKS_PER_FILE * (PackedChunkFile.RECORD_HEADER + 4096), reopened.size());
+        assertFalse(reopened.needsCompaction());
+        assertArrayEquals(PackedChunkFileTest.data(PackedChunkFile.CHUNKS_PER_FILE - 1, 4096), reopened.read(PackedChunkFile.CHUNKS_PER_FILE - 1));
+        reopened.close();
+    }
+
+    private static byte[] record(final int index, final byte[] data) throws IOException {
+        final Path temp = Files.createTempFile("record", ".spk");
+        try {
+            Files.delete(temp);
+            final PackedChunkFile file = new PackedChunkFile(temp);
+            file.write(index, data);
+            file.close();
+            return Files.readAllBytes(temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void flip(final Path path, final int position) throws IOException {
+        final byte[] bytes = Files.readAllBytes(path);
+        bytes[position] ^= 0xFF;
+        Files.write(path, bytes);
+    }
+}
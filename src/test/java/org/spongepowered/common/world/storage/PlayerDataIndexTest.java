@@ -0,0 +1,156 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public final class PlayerDataIndexTest {
+
+    private static final UUID ALICE = new UUID(1, 1);
+    private static final UUID BOB = new UUID(2, 2);
+
+    @TempDir Path directory;
+
+    private Path file() {
+        return this.directory.resolve("players.idx");
+    }
+
+    private Map<UUID, PlayerDataIndex.Entry> read(final PlayerDataIndex index) throws IOException {
+        final Map<UUID, PlayerDataIndex.Entry> entries = new HashMap<>();
+        assertTrue(index.read(entries));
+        return entries;
+    }
+
+    private static void assertEntry(final PlayerDataIndex.Entry entry, final long firstJoined, final long lastJoined) {
+        assertEquals(firstJoined, entry.firstJoined);
+        assertEquals(lastJoined, entry.lastJoined);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final PlayerDataIndex index = new PlayerDataIndex(this.file());
+        index.write(Arrays.asList(new PlayerDataIndex.Entry(PlayerDataIndexTest.ALICE, 10, 20), new PlayerDataIndex.Entry(PlayerDataIndexTest.BOB, 30, 40)));
+
+        final PlayerDataIndex reopened = new PlayerDataIndex(this.file());
+        final Map<UUID, PlayerDataIndex.Entry> entries = this.read(reopened);
+        assertEquals(2, entries.size());
+        assertEquals(2, reopened.records());
+        PlayerDataIndexTest.assertEntry(entries.get(PlayerDataIndexTest.ALICE), 10, 20);
+        PlayerDataIndexTest.assertEntry(entries.get(PlayerDataIndexTest.BOB), 30, 40);
+    }
+
+    @Test
+    public void testLastAppendedRecordWins() throws IOException {
+        final PlayerDataIndex index = new PlayerDataIndex(this.file());
+        index.append(Collections.singletonList(new PlayerDataIndex.Entry(PlayerDataIndexTest.ALICE, 10, 20)));
+        index.append(Collections.singletonList(new PlayerDataIndex.Entry(PlayerDataIndexTest.ALICE, 10, 50)));
+
+        final PlayerDataIndex reopened = new PlayerDataIndex(this.file());
+        final Map<UUID, PlayerDataIndex.Entry> entries = this.read(reopened);
+        assertEquals(1, entries.size());
+        assertEquals(2, reopened.records());
+        PlayerDataIndexTest.assertEntry(entries.get(PlayerDataIndexTest.ALICE), 10, 50);
+    }
+
+    @Test
+    public void testIncompleteRecordIsDiscardedAndOverwritten() throws IOException {
+        final PlayerDataIndex index = new PlayerDataIndex(this.file());
+        index.append(Collections.singletonList(new PlayerDataIndex.Entry(PlayerDataIndexTest.ALICE, 10, 20)));
+        // A crash in the middle of appending a record
+        try (final FileChannel channel = FileChannel.open(this.file(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[PlayerDataIndex.RECORD_SIZE / 2]));
+        }
+
+        final PlayerDataIndex reopened = new PlayerDataIndex(this.file());
+        Map<UUID, PlayerDataIndex.Entry> entries = this.read(reopened);
+        assertTrue(reopened.hadIncompleteRecord());
+        assertEquals(1, entries.size());
+
+        reopened.append(Collections.singletonList(new PlayerDataIndex.Entry(PlayerDataIndexTest.BOB, 30, 40)));
+        assertEquals(PlayerDataIndex.HEADER_SIZE + 2 * PlayerDataIndex.RECORD_SIZE, Files.size(this.file()));
+        entries = this.read(new PlayerDataIndex(this.file()));
+        assertEquals(2, entries.size());
+        PlayerDataIndexTest.assertEntry(entries.get(PlayerDataIndexTest.BOB), 30, 40);
+    }
+
+    @Test
+    public void testOtherFileIsRejected() throws IOException {
+        Files.write(this.file(), new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        assertFalse(new PlayerDataIndex(this.file()).read(new HashMap<>()));
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        final PlayerDataIndex index = new PlayerDataIndex(this.file());
+        final List<PlayerDataIndex.Entry> rejoins = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            rejoins.add(new PlayerDataIndex.Entry(PlayerDataIndexTest.ALICE, 10, i));
+        }
+        index.append(rejoins);
+        assertFalse(index.shouldCompact(5000));
+        assertTrue(index.shouldCompact(1));
+
+        final Map<UUID, PlayerDataIndex.Entry> entries = this.read(index);
+        index.write(entries.values());
+        assertEquals(1, index.records());
+        assertFalse(index.shouldCompact(1));
+        assertEquals(PlayerDataIndex.HEADER_SIZE + PlayerDataIndex.RECORD_SIZE, Files.size(this.file()));
+        PlayerDataIndexTest.assertEntry(this.read(new PlayerDataIndex(this.file())).get(PlayerDataIndexTest.ALICE), 10, 4999);
+    }
+
+    @Test
+    public void testReadingManyPlayers() throws IOException {
+        final List<PlayerDataIndex.Entry> players = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            players.add(new PlayerDataIndex.Entry(new UUID(i, -i), i, i + 1));
+        }
+        new PlayerDataIndex(this.file()).write(players);
+        // One fixed size record per player, read back in a single pass
+        assertEquals(PlayerDataIndex.HEADER_SIZE + 200_000L * PlayerDataIndex.RECORD_SIZE, Files.size(this.file()));
+        final Map<UUID, PlayerDataIndex.Entry> entries = this.read(new PlayerDataIndex(this.file()));
+        assertEquals(200_000, entries.size());
+        PlayerDataIndexTest.assertEntry(entries.get(new UUID(0, 0)), 0, 1);
+        PlayerDataIndexTest.assertEntry(entries.get(new UUID(199_999, -199_999)), 199_999, 200_000);
+    }
+}
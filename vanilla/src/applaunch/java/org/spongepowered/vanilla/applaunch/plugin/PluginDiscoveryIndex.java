@@ -0,0 +1,257 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.vanilla.applaunch.plugin;
+
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remembers what was found in each plugin jar on the previous startup, so
+ * that unchanged jars don't need to be offered to every language service or
+ * have their manifest read again.
+ *
+ * <p>A jar is considered unchanged if its size and last modified time are the
+ * same as when it was indexed.</p>
+ */
+public final class PluginDiscoveryIndex {
+
+    private static final int MAGIC = 0x53504449; // SPDI
+    private static final int VERSION = 1;
+
+    private final Path file;
+    private final Logger logger;
+    private final Set<String> languageServices;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> current = new HashMap<>();
+
+    private PluginDiscoveryIndex(final Path file, final Logger logger, final Set<String> languageServices, final Map<String, Entry> previous) {
+        this.file = file;
+        this.logger = logger;
+        this.languageServices = languageServices;
+        this.previous = previous;
+    }
+
+    /**
+     * Loads the index, ignoring it entirely if it was written with a
+     * different set of language services as jars would then need to be
+     * offered to the new ones.
+     *
+     * @param file The index file
+     * @param logger The logger
+     * @param languageServices The names of the available language services
+     * @return The index
+     */
+    public static PluginDiscoveryIndex load(final Path file, final Logger logger, final Set<String> languageServices) {
+        final Map<String, Entry> entries = new HashMap<>();
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != PluginDiscoveryIndex.MAGIC || in.readInt() != PluginDiscoveryIndex.VERSION) {
+                logger.debug("Ignoring plugin discovery index '{}' from another version.", file);
+                return new PluginDiscoveryIndex(file, logger, languageServices, entries);
+            }
+            if (!new HashSet<>(PluginDiscoveryIndex.readStrings(in)).equals(languageServices)) {
+                logger.debug("Ignoring plugin discovery index '{}' as the language services have changed.", file);
+                return new PluginDiscoveryIndex(file, logger, languageServices, entries);
+            }
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                final String path = in.readUTF();
+                final long size = in.readLong();
+                final long lastModified = in.readLong();
+                final Set<String> languages = new HashSet<>(PluginDiscoveryIndex.readStrings(in));
+                final List<String> accessWideners = PluginDiscoveryIndex.readStrings(in);
+                final boolean mixins = in.readBoolean();
+                entries.put(path, new Entry(size, lastModified, languages, accessWideners, mixins));
+            }
+        } catch (final NoSuchFileException ignored) {
+        } catch (final IOException e) {
+            logger.warn("Unable to read the plugin discovery index '{}', all plugins will be scanned.", file, e);
+            entries.clear();
+        }
+        return new PluginDiscoveryIndex(file, logger, languageServices, entries);
+    }
+
+    /**
+     * Gets what was found in the jar on the previous startup, if the jar has
+     * not changed since.
+     *
+     * @param jar The jar
+     * @return The entry, or null if the jar is new, changed or not a file
+     */
+    public @Nullable Entry getUnchanged(final Path jar) {
+        final Entry entry = this.previous.get(jar.toAbsolutePath().toString());
+        if (entry == null) {
+            return null;
+        }
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+            if (attributes.isRegularFile() && attributes.size() == entry.size && attributes.lastModifiedTime().toMillis() == entry.lastModified) {
+                return entry;
+            }
+        } catch (final IOException ignored) {
+        }
+        return null;
+    }
+
+    /**
+     * Records what was found in a jar that had to be scanned.
+     *
+     * @param jar The jar
+     * @param languages The language services that found plugins in the jar
+     * @param accessWideners The access widener files declared in the manifest
+     * @param mixins Whether the manifest declares mixin configs
+     * @return The entry
+     */
+    public Entry put(final Path jar, final Set<String> languages, final List<String> accessWideners, final boolean mixins) {
+        long size = -1;
+        long lastModified = -1;
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+            if (attributes.isRegularFile()) {
+                size = attributes.size();
+                lastModified = attributes.lastModifiedTime().toMillis();
+            }
+        } catch (final IOException ignored) {
+        }
+        final Entry entry = new Entry(size, lastModified, languages, accessWideners, mixins);
+        if (size != -1) {
+            this.current.put(jar.toAbsolutePath().toString(), entry);
+        }
+        return entry;
+    }
+
+    public void put(final Path jar, final Entry entry) {
+        this.current.put(jar.toAbsolutePath().toString(), entry);
+    }
+
+    /**
+     * Writes every jar seen during this startup, dropping those that were
+     * removed.
+     */
+    public void save() {
+        try {
+            Files.createDirectories(this.file.getParent());
+            final Path temp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+            try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(PluginDiscoveryIndex.MAGIC);
+                out.writeInt(PluginDiscoveryIndex.VERSION);
+                PluginDiscoveryIndex.writeStrings(out, this.languageServices);
+                out.writeInt(this.current.size());
+                for (final Map.Entry<String, Entry> mapEntry : this.current.entrySet()) {
+                    final Entry entry = mapEntry.getValue();
+                    out.writeUTF(mapEntry.getKey());
+                    out.writeLong(entry.size);
+                    out.writeLong(entry.lastModified);
+                    PluginDiscoveryIndex.writeStrings(out, entry.languages);
+                    PluginDiscoveryIndex.writeStrings(out, entry.accessWideners);
+                    out.writeBoolean(entry.mixins);
+                }
+            }
+            Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            this.logger.warn("Unable to write the plugin discovery index '{}'.", this.file, e);
+        }
+    }
+
+    private static List<String> readStrings(final DataInputStream in) throws IOException {
+        final int count = in.readInt();
+        final List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            strings.add(in.readUTF());
+        }
+        return strings;
+    }
+
+    private static void writeStrings(final DataOutputStream out, final Iterable<String> strings) throws IOException {
+        final List<String> list = new ArrayList<>();
+        strings.forEach(list::add);
+        out.writeInt(list.size());
+        for (final String string : list) {
+            out.writeUTF(string);
+        }
+    }
+
+    public static final class Entry {
+
+        final long size;
+        final long lastModified;
+        final Set<String> languages;
+        final List<String> accessWideners;
+        final boolean mixins;
+
+        Entry(final long size, final long lastModified, final Set<String> languages, final List<String> accessWideners, final boolean mixins) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.languages = Collections.unmodifiableSet(languages);
+            this.accessWideners = Collections.unmodifiableList(accessWideners);
+            this.mixins = mixins;
+        }
+
+        /**
+         * Gets the names of the language services that found plugins in the
+         * jar.
+         *
+         * @return The language service names
+         */
+        public Set<String> getLanguages() {
+            return this.languages;
+        }
+
+        /**
+         * Gets the access widener files declared in the jar's manifest.
+         *
+         * @return The access widener paths
+         */
+        public List<String> getAccessWideners() {
+            return this.accessWideners;
+        }
+
+        /**
+         * Gets whether the jar's manifest declares mixin configs.
+         *
+         * @return True if the jar uses mixins
+         */
+        public boolean usesMixins() {
+            return this.mixins;
+        }
+    }
+}
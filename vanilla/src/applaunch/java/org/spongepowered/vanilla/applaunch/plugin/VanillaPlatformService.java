@@ -38,7 +38,6 @@
 import org.spongepowered.plugin.jvm.locator.JVMPluginResource;
 import org.spongepowered.vanilla.applaunch.Main;
 import org.spongepowered.vanilla.applaunch.service.AccessWidenerLaunchService;
-import org.spongepowered.vanilla.installer.Constants;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -69,51 +68,48 @@ public void beginScanning(final IEnvironment environment) {
 
     @Override
     public List<Map.Entry<String, Path>> runScan(final IEnvironment environment) {
-        VanillaPlatformService.pluginEngine.locatePluginResources();
-        VanillaPlatformService.pluginEngine.createPluginCandidates();
+        VanillaPlatformService.pluginEngine.timePhase("locate", VanillaPlatformService.pluginEngine::locatePluginResources);
+        VanillaPlatformService.pluginEngine.timePhase("candidates", VanillaPlatformService.pluginEngine::createPluginCandidates);
         final ILaunchPluginService accessWidener = environment.findLaunchPlugin(AccessWidenerLaunchService.NAME).orElse(null);
         final ILaunchPluginService mixin = environment.findLaunchPlugin(MixinLaunchPlugin.NAME).orElse(null);
 
 
         final List<Map.Entry<String, Path>> launchResources = new ArrayList<>();
 
-        for (final Map.Entry<String, List<PluginResource>> resourcesEntry : VanillaPlatformService.pluginEngine.getResources().entrySet()) {
-            final List<PluginResource> resources = resourcesEntry.getValue();
-            for (final PluginResource resource : resources) {
+        VanillaPlatformService.pluginEngine.timePhase("offer", () -> {
+            for (final Map.Entry<String, List<PluginResource>> resourcesEntry : VanillaPlatformService.pluginEngine.getResources().entrySet()) {
+                final List<PluginResource> resources = resourcesEntry.getValue();
+                for (final PluginResource resource : resources) {
 
-                // Handle Access Transformers
-                if ((accessWidener != null || mixin != null) && resource instanceof JVMPluginResource) {
-                    if (mixin != null) {
-                        // Offer jar to the Mixin service
-                        mixin.offerResource(resource.getPath(), resource.getPath().getFileName().toString());
-                    }
+                    // Handle Access Transformers
+                    if ((accessWidener != null || mixin != null) && resource instanceof JVMPluginResource) {
+                        if (mixin != null) {
+                            // Offer jar to the Mixin service
+                            mixin.offerResource(resource.getPath(), resource.getPath().getFileName().toString());
+                        }
 
-                    // Offer jar to the AW service
-                        ((JVMPluginResource) resource).getManifest().ifPresent(manifest -> {
+                        // Offer jar to the AW service, the manifest was already read while scanning for candidates
+                        VanillaPlatformService.pluginEngine.getDiscoveryEntry(resource).ifPresent(entry -> {
                             if (accessWidener != null) {
-                                final String atFiles = manifest.getMainAttributes().getValue(Constants.ManifestAttributes.ACCESS_WIDENER);
-                                if (atFiles != null) {
-                                    for (final String atFile : atFiles.split(",")) {
-                                        if (!atFile.endsWith(".accesswidener")) {
-                                            continue;
-                                        }
-                                        accessWidener.offerResource(resource.getFileSystem().getPath(atFile), atFile);
-                                    }
+                                for (final String atFile : entry.getAccessWideners()) {
+                                    accessWidener.offerResource(resource.getFileSystem().getPath(atFile), atFile);
                                 }
                             }
-                            if (mixin != null && manifest.getMainAttributes().getValue(org.spongepowered.asm.util.Constants.ManifestAttributes.MIXINCONFIGS) != null) {
+                            if (mixin != null && entry.usesMixins()) {
                                 VanillaPlatformService.pluginEngine.getPluginEnvironment().getLogger().warn(
                                     "Plugin from {} uses Mixins to modify the Minecraft Server. If something breaks, remove it before reporting the "
                                     + "problem to Sponge!", resource.getPath()
                                 );
                             }
                         });
-                }
+                    }
 
-                final Map.Entry<String, Path> entry = Maps.immutableEntry(resource.getPath().getFileName().toString(), resource.getPath());
-                launchResources.add(entry);
+                    final Map.Entry<String, Path> entry = Maps.immutableEntry(resource.getPath().getFileName().toString(), resource.getPath());
+                    launchResources.add(entry);
+                }
             }
-        }
+        });
+        VanillaPlatformService.pluginEngine.logPhaseTimings();
 
         return launchResources;
     }
@@ -125,10 +121,10 @@ public void onLoad(final IEnvironment env, final Set<String> otherServices) {
         pluginEngine.getPluginEnvironment().getLogger().info("SpongePowered PLUGIN Subsystem Version={} Source={}",
             pluginEngine.getPluginEnvironment().getBlackboard().get(PluginKeys.VERSION).get(), this.getCodeSource());
 
-        pluginEngine.discoverLocatorServices();
+        pluginEngine.timePhase("locators", pluginEngine::discoverLocatorServices);
         pluginEngine.getLocatorServices().forEach((k, v) -> pluginEngine.getPluginEnvironment()
                 .getLogger().info("Plugin resource locator '{}' found.", k));
-        pluginEngine.discoverLanguageServices();
+        pluginEngine.timePhase("languages", pluginEngine::discoverLanguageServices);
         pluginEngine.getLanguageServices().forEach((k, v) -> pluginEngine.getPluginEnvironment()
                 .getLogger().info("Plugin language loader '{}' found.", k));
     }
@@ -24,22 +24,35 @@
  */
 package org.spongepowered.vanilla.applaunch.plugin;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.common.applaunch.plugin.PluginEngine;
 import org.spongepowered.plugin.PluginCandidate;
 import org.spongepowered.plugin.PluginEnvironment;
+import org.spongepowered.plugin.PluginKeys;
 import org.spongepowered.plugin.PluginLanguageService;
 import org.spongepowered.plugin.PluginResource;
 import org.spongepowered.plugin.PluginResourceLocatorService;
+import org.spongepowered.plugin.jvm.locator.JVMPluginResource;
+import org.spongepowered.vanilla.installer.Constants;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
 
 public final class VanillaPluginEngine implements PluginEngine {
 
@@ -49,6 +62,9 @@ public final class VanillaPluginEngine implements PluginEngine {
 
     private final Map<String, List<PluginResource>> locatorResources;
     private final Map<PluginLanguageService<PluginResource>, List<PluginCandidate<PluginResource>>> pluginCandidates;
+    private final Map<Path, PluginDiscoveryIndex.Entry> discoveryEntries;
+    private final Map<String, Long> phaseTimings;
+    private int unchangedResources;
 
     public VanillaPluginEngine(final PluginEnvironment pluginEnvironment) {
         this.pluginEnvironment = pluginEnvironment;
@@ -56,6 +72,8 @@ public VanillaPluginEngine(final PluginEnvironment pluginEnvironment) {
         this.languageServices = new HashMap<>();
         this.locatorResources = new HashMap<>();
         this.pluginCandidates = new IdentityHashMap<>();
+        this.discoveryEntries = new HashMap<>();
+        this.phaseTimings = new LinkedHashMap<>();
     }
 
     @Override
@@ -132,11 +150,33 @@ public void locatePluginResources() {
     }
 
     public void createPluginCandidates() {
+        if (this.locatorResources.isEmpty()) {
+            return;
+        }
+
+        final PluginDiscoveryIndex index = PluginDiscoveryIndex.load(this.getDiscoveryIndexFile(), this.pluginEnvironment.getLogger(),
+            new HashSet<>(this.languageServices.keySet()));
+        final Map<Path, PluginDiscoveryIndex.Entry> unchanged = new HashMap<>();
+        for (final List<PluginResource> resources : this.locatorResources.values()) {
+            for (final PluginResource resource : resources) {
+                final PluginDiscoveryIndex.Entry entry = index.getUnchanged(resource.getPath());
+                if (entry != null) {
+                    unchanged.put(resource.getPath(), entry);
+                }
+            }
+        }
+
+        final Map<Path, Set<String>> languagesByResource = new HashMap<>();
         for (final Map.Entry<String, PluginLanguageService<PluginResource>> languageEntry : this.languageServices.entrySet()) {
             final PluginLanguageService<PluginResource> languageService = languageEntry.getValue();
             for (final Map.Entry<String, List<PluginResource>> resourcesEntry : this.locatorResources.entrySet()) {
 
                 for (final PluginResource pluginResource : resourcesEntry.getValue()) {
+                    // An unchanged jar will only have plugins for the same languages as last time
+                    final PluginDiscoveryIndex.Entry entry = unchanged.get(pluginResource.getPath());
+                    if (entry != null && !entry.getLanguages().contains(languageEntry.getKey())) {
+                        continue;
+                    }
                     try {
                         final List<PluginCandidate<PluginResource>> candidates =
                                 languageService.createPluginCandidates(this.pluginEnvironment, pluginResource);
@@ -145,10 +185,80 @@ public void createPluginCandidates() {
                         }
 
                         this.pluginCandidates.computeIfAbsent(languageService, k -> new LinkedList<>()).addAll(candidates);
+                        languagesByResource.computeIfAbsent(pluginResource.getPath(), k -> new HashSet<>()).add(languageEntry.getKey());
                     } catch (ClassCastException ignored) {
                     }
                 }
             }
         }
+
+        for (final List<PluginResource> resources : this.locatorResources.values()) {
+            for (final PluginResource resource : resources) {
+                this.indexResource(index, resource, unchanged.get(resource.getPath()),
+                    languagesByResource.getOrDefault(resource.getPath(), Collections.emptySet()));
+            }
+        }
+        index.save();
+    }
+
+    /**
+     * Gets what was found in the manifest of the given resource while
+     * scanning it.
+     *
+     * @param resource The resource
+     * @return The index entry, if the resource is a jar
+     */
+    public Optional<PluginDiscoveryIndex.Entry> getDiscoveryEntry(final PluginResource resource) {
+        return Optional.ofNullable(this.discoveryEntries.get(resource.getPath()));
+    }
+
+    public void timePhase(final String phase, final Runnable runnable) {
+        final long start = System.nanoTime();
+        try {
+            runnable.run();
+        } finally {
+            this.phaseTimings.put(phase, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    public void logPhaseTimings() {
+        final long total = this.phaseTimings.values().stream().mapToLong(Long::longValue).sum();
+        final StringJoiner phases = new StringJoiner(", ");
+        this.phaseTimings.forEach((phase, millis) -> phases.add(phase + "=" + millis + "ms"));
+        this.pluginEnvironment.getLogger().info("Plugin discovery took {}ms ({}), {} of {} plugin jar(s) were unchanged.", total, phases,
+            this.unchangedResources, this.discoveryEntries.size());
+    }
+
+    private void indexResource(final PluginDiscoveryIndex index, final PluginResource resource,
+        final PluginDiscoveryIndex.@Nullable Entry unchanged, final Set<String> languages
+    ) {
+        if (!(resource instanceof JVMPluginResource)) {
+            return;
+        }
+        final Path path = resource.getPath();
+        if (unchanged != null) {
+            this.unchangedResources++;
+            index.put(path, unchanged);
+            this.discoveryEntries.put(path, unchanged);
+            return;
+        }
+        final List<String> accessWideners = new ArrayList<>();
+        final boolean mixins = ((JVMPluginResource) resource).getManifest().map(manifest -> {
+            final String atFiles = manifest.getMainAttributes().getValue(Constants.ManifestAttributes.ACCESS_WIDENER);
+            if (atFiles != null) {
+                for (final String atFile : atFiles.split(",")) {
+                    if (atFile.endsWith(".accesswidener")) {
+                        accessWideners.add(atFile);
+                    }
+                }
+            }
+            return manifest.getMainAttributes().getValue(org.spongepowered.asm.util.Constants.ManifestAttributes.MIXINCONFIGS) != null;
+        }).orElse(false);
+        this.discoveryEntries.put(path, index.put(path, new HashSet<>(languages), accessWideners, mixins));
+    }
+
+    private Path getDiscoveryIndexFile() {
+        final Path baseDirectory = this.pluginEnvironment.getBlackboard().get(PluginKeys.BASE_DIRECTORY).orElse(Paths.get("."));
+        return baseDirectory.resolve(".cache").resolve("plugin-discovery.idx");
     }
 }
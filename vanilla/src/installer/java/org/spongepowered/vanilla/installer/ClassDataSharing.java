@@ -0,0 +1,108 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.vanilla.installer;
+
+import org.tinylog.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Prepares what is needed to start the server from an application class
+ * data sharing archive.
+ *
+ * <p>An archive can only be used when the JVM is started with exactly the
+ * same class path as when it was created, so the installer writes an
+ * argument file with the resolved libraries placed on the class path. A
+ * training run, started with {@code -Dsponge.cds.training=true}, stops the
+ * server as soon as it has finished starting so the JVM can write the
+ * archive of the classes it loaded.</p>
+ */
+public final class ClassDataSharing {
+
+    // Read by the server itself, which cannot see installer classes
+    private static final String TRAINING_PROPERTY = "sponge.cds.training";
+
+    private static final String DIRECTORY = "cds";
+    private static final String ARGUMENTS_FILE = "launch.args";
+    private static final String ARCHIVE_FILE = "sponge.jsa";
+
+    private ClassDataSharing() {
+    }
+
+    /**
+     * Writes the argument file for the given libraries, removing the archive
+     * if the class path has changed since it was created.
+     *
+     * @param installerDirectory The installer directory
+     * @param libraries The resolved libraries
+     */
+    public static void writeLaunchArguments(final Path installerDirectory, final Collection<Path> libraries) {
+        final Path directory = installerDirectory.resolve(ClassDataSharing.DIRECTORY);
+        final Path argumentsFile = directory.resolve(ClassDataSharing.ARGUMENTS_FILE);
+        final Path archiveFile = directory.resolve(ClassDataSharing.ARCHIVE_FILE);
+        try {
+            final Path installerJar = Paths.get(ClassDataSharing.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toAbsolutePath();
+            final List<String> classPath = new ArrayList<>();
+            classPath.add(installerJar.toString());
+            for (final Path library : libraries) {
+                classPath.add(library.toAbsolutePath().toString());
+            }
+
+            final List<String> lines = new ArrayList<>();
+            lines.add("-javaagent:" + ClassDataSharing.quote(installerJar.toString()));
+            lines.add("-cp");
+            lines.add(ClassDataSharing.quote(String.join(File.pathSeparator, classPath)));
+            lines.add(InstallerMain.class.getName());
+
+            if (Files.exists(argumentsFile) && Files.readAllLines(argumentsFile, StandardCharsets.UTF_8).equals(lines)) {
+                return;
+            }
+            Files.createDirectories(directory);
+            Files.write(argumentsFile, lines, StandardCharsets.UTF_8);
+            if (Files.deleteIfExists(archiveFile)) {
+                Logger.info("The libraries have changed, the class data sharing archive has been removed.");
+            }
+            Logger.info("To speed up startup on Java 13 or newer, create a class data sharing archive by running "
+                + "'java -XX:ArchiveClassesAtExit={} -D{}=true @{}' once, then start the server with "
+                + "'java -XX:SharedArchiveFile={} @{}'.", archiveFile, ClassDataSharing.TRAINING_PROPERTY, argumentsFile, archiveFile, argumentsFile);
+        } catch (final IOException | URISyntaxException ex) {
+            Logger.warn(ex, "Failed to write the class data sharing launch arguments to '{}'", argumentsFile);
+        }
+    }
+
+    private static String quote(final String argument) {
+        // Argument files treat backslashes as escapes inside quotes
+        return '"' + argument.replace("\\", "\\\\") + '"';
+    }
+}
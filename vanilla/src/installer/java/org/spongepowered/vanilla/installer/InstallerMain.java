@@ -50,6 +50,7 @@
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
 public final class InstallerMain {
 
@@ -83,6 +84,10 @@ public void run() throws Exception {
 
         Logger.info("Environment has been verified.");
 
+        ClassDataSharing.writeLaunchArguments(LauncherCommandLine.installerDirectory, this.installer.getLibraryManager().getAll().values().stream()
+            .map(LibraryManager.Library::getFile)
+            .collect(Collectors.toList()));
+
         this.installer.getLibraryManager().getAll().values().stream()
             .map(LibraryManager.Library::getFile)
             .forEach(path -> {
@@ -77,6 +77,7 @@ public abstract class IntegratedServerMixin_Vanilla extends MinecraftServerMixin
     @Inject(method = "initServer", at = @At("RETURN"))
     private void vanilla$callStartedEngineAndLoadedGame(final CallbackInfoReturnable<Boolean> cir) {
         final SpongeLifecycle lifecycle = SpongeBootstrap.getLifecycle();
+        lifecycle.establishEntityDataProviderLookups(this);
         lifecycle.callStartedEngineEvent(this);
     }
 
@@ -63,6 +63,7 @@ public abstract class MinecraftServerMixin_Vanilla implements VanillaServer {
     @Shadow protected abstract void shadow$detectBundledResources();
     @Shadow protected abstract void loadLevel();
     @Shadow public abstract boolean shadow$isRunning();
+    @Shadow public abstract void shadow$halt(boolean waitForShutdown);
     // @formatter:on
 
 
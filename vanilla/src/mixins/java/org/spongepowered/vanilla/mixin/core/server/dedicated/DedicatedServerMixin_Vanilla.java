@@ -33,6 +33,7 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.SpongeBootstrap;
+import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.SpongeLifecycle;
 import org.spongepowered.common.applaunch.config.core.ConfigHandle;
 import org.spongepowered.vanilla.VanillaServer;
@@ -60,9 +61,17 @@ public abstract class DedicatedServerMixin_Vanilla extends MinecraftServerMixin_
     @Inject(method = "initServer", at = @At("RETURN"))
     private void vanilla$callStartedEngineAndLoadedGame(final CallbackInfoReturnable<Boolean> cir) {
         final SpongeLifecycle lifecycle = SpongeBootstrap.getLifecycle();
+        lifecycle.establishEntityDataProviderLookups(this);
         lifecycle.callStartedEngineEvent(this);
 
         lifecycle.callLoadedGameEvent();
+
+        // A class data sharing training run only needs the classes loaded during startup, the installer
+        // explains how to start one but is not visible from here
+        if (Boolean.getBoolean("sponge.cds.training")) {
+            SpongeCommon.getLogger().info("Class data sharing training run complete, stopping the server so the archive can be written.");
+            this.shadow$halt(false);
+        }
     }
 
     @Override
@@ -70,7 +70,7 @@ private void onHandleCustomPayload(final ServerboundCustomPayloadPacket packet,
         ((ServerboundCustomPayloadPacketAccessor) packet).accessor$data().retain();
 
         final SpongeChannelRegistry channelRegistry = (SpongeChannelRegistry) Sponge.channelRegistry();
-        this.server.execute(() -> channelRegistry.handlePlayPayload((EngineConnection) this, packet));
+        channelRegistry.dispatchPlayPayload((EngineConnection) this, packet, this.server);
     }
 
     @Inject(method = "handleChat(Ljava/lang/String;)V",